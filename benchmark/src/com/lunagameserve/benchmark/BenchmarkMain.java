@@ -0,0 +1,43 @@
+package com.lunagameserve.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler always attached, so that every
+ * result also reports its allocation rate per operation
+ * ({@code gc.alloc.rate.norm}). Accepts the usual JMH command line, such as
+ * {@code AccelerationCodec -p samples=10000 -p dataset=recorded}.
+ *
+ * @author Six
+ * @since October 17, 2026
+ */
+public final class BenchmarkMain {
+
+    /**
+     * Not to be constructed.
+     */
+    private BenchmarkMain() {
+    }
+
+    /**
+     * Runs the benchmarks selected on the command line, or all of them.
+     *
+     * @param args The JMH command line.
+     *
+     * @throws RunnerException If a benchmark fails to run.
+     *
+     * @throws CommandLineOptionException If the command line is malformed.
+     */
+    public static void main(String[] args)
+            throws RunnerException, CommandLineOptionException {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
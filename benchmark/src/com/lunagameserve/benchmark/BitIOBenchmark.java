@@ -0,0 +1,131 @@
+package com.lunagameserve.benchmark;
+
+import com.lunagameserve.compression.BitReader;
+import com.lunagameserve.compression.BitWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how quickly a
+ * {@link com.lunagameserve.compression.BitWriter} and a
+ * {@link com.lunagameserve.compression.BitReader} move words of various
+ * widths. Each operation writes or reads {@code words} words, which the
+ * {@link Throughput} counters report as words per second and packed bytes
+ * per second.
+ *
+ * @author Six
+ * @since October 17, 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BitIOBenchmark {
+
+    /**
+     * The width, in bits, of every word.
+     */
+    @Param({"1", "3", "13", "32", "64"})
+    public int width;
+
+    /**
+     * The number of words moved by each operation.
+     */
+    @Param({"10000", "1000000", "100000000"})
+    public int words;
+
+    /**
+     * The words to write, already masked to {@link #width} bits.
+     */
+    private long[] values;
+
+    /**
+     * The words of {@link #values}, packed by a
+     * {@link com.lunagameserve.compression.BitWriter}.
+     */
+    private byte[] packed;
+
+    /**
+     * The sink every write goes into.
+     */
+    private final CountingOutputStream sink = new CountingOutputStream();
+
+    /**
+     * Generates the words to write, and packs them once for reading.
+     *
+     * @throws IOException Never, as only in-memory streams are used.
+     */
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        Random random = new Random(width);
+        long mask = width == 64 ? -1L : (1L << width) - 1;
+        values = new long[words];
+        for (int i = 0; i < words; i++) {
+            values[i] = random.nextLong() & mask;
+        }
+
+        ByteArrayOutputStream out =
+                new ByteArrayOutputStream((int)((long)words * width / 8) + 8);
+        BitWriter writer = new BitWriter(out);
+        for (long v : values) {
+            writer.writeBits(v, width);
+        }
+        writer.close();
+        packed = out.toByteArray();
+    }
+
+    /**
+     * Writes every word once.
+     *
+     * @param counters The counters to add the work done to.
+     *
+     * @return The number of bytes written.
+     *
+     * @throws IOException Never, as only in-memory streams are used.
+     */
+    @Benchmark
+    public long writeBits(Throughput counters) throws IOException {
+        sink.reset();
+        BitWriter writer = new BitWriter(sink);
+        for (long v : values) {
+            writer.writeBits(v, width);
+        }
+        writer.close();
+        counters.samples += words;
+        counters.bytes += sink.count();
+        return sink.count();
+    }
+
+    /**
+     * Reads every word once.
+     *
+     * @param counters The counters to add the work done to.
+     *
+     * @return A checksum of the words read.
+     *
+     * @throws IOException Never, as only in-memory streams are used.
+     */
+    @Benchmark
+    public long readBits(Throughput counters) throws IOException {
+        BitReader reader = new BitReader(new ByteArrayInputStream(packed));
+        long sum = 0L;
+        for (int i = 0; i < words; i++) {
+            sum += reader.readLongBits(width);
+        }
+        counters.samples += words;
+        counters.bytes += packed.length;
+        return sum;
+    }
+}
@@ -0,0 +1,159 @@
+package com.lunagameserve.benchmark;
+
+import com.lunagameserve.compression.ByteReader;
+import com.lunagameserve.compression.ByteWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how quickly a
+ * {@link com.lunagameserve.compression.ByteWriter} and a
+ * {@link com.lunagameserve.compression.ByteReader} move {@code float}s,
+ * one at a time and in bulk. Each operation moves {@code values} values,
+ * which the {@link Throughput} counters report as values per second and
+ * bytes per second.
+ *
+ * @author Six
+ * @since October 17, 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ByteIOBenchmark {
+
+    /**
+     * The number of values moved by each operation.
+     */
+    @Param({"10000", "1000000", "100000000"})
+    public int values;
+
+    /**
+     * The values to write.
+     */
+    private float[] floats;
+
+    /**
+     * The array every bulk read goes into.
+     */
+    private float[] readBack;
+
+    /**
+     * The values of {@link #floats}, written by a
+     * {@link com.lunagameserve.compression.ByteWriter}.
+     */
+    private byte[] encoded;
+
+    /**
+     * The sink every write goes into.
+     */
+    private final CountingOutputStream sink = new CountingOutputStream();
+
+    /**
+     * Generates the values to write, and writes them once for reading.
+     *
+     * @throws IOException Never, as only in-memory streams are used.
+     */
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        Random random = new Random(values);
+        floats = new float[values];
+        readBack = new float[values];
+        for (int i = 0; i < values; i++) {
+            floats[i] = (float)random.nextGaussian();
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(values * 4);
+        new ByteWriter(out).writeFloats(floats, 0, values);
+        encoded = out.toByteArray();
+    }
+
+    /**
+     * Writes every value with one call each.
+     *
+     * @param counters The counters to add the work done to.
+     *
+     * @throws IOException Never, as only in-memory streams are used.
+     */
+    @Benchmark
+    public void writeFloat(Throughput counters) throws IOException {
+        ByteWriter writer = new ByteWriter(sink);
+        for (float f : floats) {
+            writer.writeFloat(f);
+        }
+        count(counters);
+    }
+
+    /**
+     * Writes every value with a single bulk call.
+     *
+     * @param counters The counters to add the work done to.
+     *
+     * @throws IOException Never, as only in-memory streams are used.
+     */
+    @Benchmark
+    public void writeFloats(Throughput counters) throws IOException {
+        new ByteWriter(sink).writeFloats(floats, 0, values);
+        count(counters);
+    }
+
+    /**
+     * Reads every value with one call each.
+     *
+     * @param counters The counters to add the work done to.
+     *
+     * @return A checksum of the values read.
+     *
+     * @throws IOException Never, as only in-memory streams are used.
+     */
+    @Benchmark
+    public float readFloat(Throughput counters) throws IOException {
+        ByteReader reader =
+                new ByteReader(new ByteArrayInputStream(encoded));
+        float sum = 0f;
+        for (int i = 0; i < values; i++) {
+            sum += reader.readFloat();
+        }
+        count(counters);
+        return sum;
+    }
+
+    /**
+     * Reads every value with a single bulk call.
+     *
+     * @param counters The counters to add the work done to.
+     *
+     * @return The array read into.
+     *
+     * @throws IOException Never, as only in-memory streams are used.
+     */
+    @Benchmark
+    public float[] readFloats(Throughput counters) throws IOException {
+        new ByteReader(new ByteArrayInputStream(encoded))
+                .readFloats(readBack, 0, values);
+        count(counters);
+        return readBack;
+    }
+
+    /**
+     * Adds the work done by one operation to the counters.
+     *
+     * @param counters The counters to add to.
+     */
+    private void count(Throughput counters) {
+        counters.samples += values;
+        counters.bytes += values * 4L;
+    }
+}
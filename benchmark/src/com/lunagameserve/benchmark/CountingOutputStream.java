@@ -0,0 +1,47 @@
+package com.lunagameserve.benchmark;
+
+import java.io.OutputStream;
+
+/**
+ * An {@link java.io.OutputStream} which throws away everything written to
+ * it, counting only how many bytes it was given. Lets encoders be measured
+ * without the cost, or the size limit, of a growing {@code byte[]}.
+ *
+ * @author Six
+ * @since October 17, 2026
+ */
+public class CountingOutputStream extends OutputStream {
+
+    /**
+     * The number of bytes written since the last {@link #reset()}.
+     */
+    private long count = 0L;
+
+    /** {@inheritDoc} */
+    @Override
+    public void write(int b) {
+        count++;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void write(byte[] b, int off, int len) {
+        count += len;
+    }
+
+    /**
+     * Gets the number of bytes written since the last {@link #reset()}.
+     *
+     * @return The number of bytes written.
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Sets the count of bytes written back to zero.
+     */
+    public void reset() {
+        count = 0L;
+    }
+}
@@ -0,0 +1,182 @@
+package com.lunagameserve.benchmark;
+
+import com.lunagameserve.acceleration.AccelerationCollection;
+import com.lunagameserve.compression.ByteReader;
+import com.lunagameserve.compression.FloatSeries;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+
+/**
+ * Builds the datasets every benchmark runs over, at any size.
+ * <p>
+ *     {@code "synthetic"} datasets are generated from a fixed seed to look
+ *     like real captures: slow sine waves plus sensor noise, sampled every
+ *     5 milliseconds with a little jitter. {@code "recorded"} datasets are
+ *     read from a capture on disk and repeated until they reach the size
+ *     asked for. The capture is named by the {@code accelerama.recording}
+ *     system property for acceleration data, written by
+ *     {@link AccelerationCollection#writeColumnsAsBytes(java.io.OutputStream)},
+ *     and by {@code accelerama.light} for light data, written by
+ *     {@link FloatSeries#writeTo(com.lunagameserve.compression.ByteWriter)}.
+ * </p>
+ *
+ * @author Six
+ * @since October 17, 2026
+ */
+public final class Datasets {
+
+    /**
+     * The nominal time, in nanoseconds, between two synthetic samples.
+     */
+    private static final long CADENCE = 5000000L;
+
+    /**
+     * The seed every synthetic dataset is generated from.
+     */
+    private static final long SEED = 0x5EEDL;
+
+    /**
+     * Not to be constructed.
+     */
+    private Datasets() {
+    }
+
+    /**
+     * Builds an acceleration dataset.
+     *
+     * @param dataset Either {@code "synthetic"} or {@code "recorded"}.
+     *
+     * @param samples The number of samples the dataset should hold.
+     *
+     * @return A new collection of exactly {@code samples} points.
+     *
+     * @throws IOException If a recorded dataset cannot be read.
+     */
+    public static AccelerationCollection acceleration(String dataset,
+                                                      int samples)
+                                                      throws IOException {
+        AccelerationCollection out = new AccelerationCollection();
+        out.ensureCapacity(samples);
+
+        if ("recorded".equals(dataset)) {
+            AccelerationCollection recording = new AccelerationCollection();
+            InputStream in = open("accelerama.recording");
+            try {
+                recording.readColumnsFromBytes(in);
+            } finally {
+                in.close();
+            }
+            int n = recording.size();
+            if (n < 2) {
+                throw new IOException("The recording needs at least two" +
+                                      " samples.");
+            }
+            long span = recording.getTimestamp(n - 1) -
+                        recording.getTimestamp(0) + CADENCE;
+            for (int i = 0; i < samples; i++) {
+                int j = i % n;
+                out.addPoint(recording.getX(j), recording.getY(j),
+                             recording.getZ(j),
+                             recording.getTimestamp(j) + (i / n) * span);
+            }
+        } else if ("synthetic".equals(dataset)) {
+            Random random = new Random(SEED);
+            long t = 0L;
+            for (int i = 0; i < samples; i++) {
+                t += CADENCE + random.nextInt(200000) - 100000;
+                double x = Math.sin(i * 0.010);
+                double y = Math.sin(i * 0.003) * 2;
+                double z = 9.81;
+                out.addPoint((float)(x + random.nextGaussian() * 0.05),
+                             (float)(y + random.nextGaussian() * 0.05),
+                             (float)(z + random.nextGaussian() * 0.05), t);
+            }
+        } else {
+            throw new IllegalArgumentException("Unknown dataset: " + dataset);
+        }
+        return out;
+    }
+
+    /**
+     * Builds a light dataset.
+     *
+     * @param dataset Either {@code "synthetic"} or {@code "recorded"}.
+     *
+     * @param samples The number of samples the dataset should hold.
+     *
+     * @return A new series of exactly {@code samples} values.
+     *
+     * @throws IOException If a recorded dataset cannot be read.
+     */
+    public static FloatSeries light(String dataset, int samples)
+            throws IOException {
+        FloatSeries out = new FloatSeries(samples);
+
+        if ("recorded".equals(dataset)) {
+            File file = file("accelerama.light");
+            FloatSeries recording = new FloatSeries();
+            ByteReader reader = new ByteReader(new BufferedInputStream(
+                    new FileInputStream(file)));
+            try {
+                recording.readFrom(reader, (int)(file.length() / 4));
+            } finally {
+                reader.close();
+            }
+            if (recording.isEmpty()) {
+                throw new IOException("The recording holds no samples.");
+            }
+            while (out.size() < samples) {
+                out.addAll(recording.toArray(), 0,
+                           Math.min(recording.size(), samples - out.size()));
+            }
+        } else if ("synthetic".equals(dataset)) {
+            Random random = new Random(SEED);
+            float level = 300f;
+            for (int i = 0; i < samples; i++) {
+                if (random.nextInt(500) == 0) {
+                    level = 10f + random.nextFloat() * 1000f;
+                }
+                out.add(level + (float)random.nextGaussian());
+            }
+        } else {
+            throw new IllegalArgumentException("Unknown dataset: " + dataset);
+        }
+        return out;
+    }
+
+    /**
+     * Opens the file named by a system property for buffered reading.
+     *
+     * @param property The system property naming the file.
+     *
+     * @return A buffered stream over the file.
+     *
+     * @throws IOException If the file cannot be opened.
+     */
+    private static InputStream open(String property) throws IOException {
+        return new BufferedInputStream(new FileInputStream(file(property)));
+    }
+
+    /**
+     * Gets the file named by a system property.
+     *
+     * @param property The system property naming the file.
+     *
+     * @return The file named by {@code property}.
+     *
+     * @throws IOException If the property is not set.
+     */
+    private static File file(String property) throws IOException {
+        String path = System.getProperty(property);
+        if (path == null) {
+            throw new IOException("Set -D" + property + "=<file> to use a" +
+                                  " recorded dataset.");
+        }
+        return new File(path);
+    }
+}
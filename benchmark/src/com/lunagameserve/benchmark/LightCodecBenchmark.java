@@ -0,0 +1,152 @@
+package com.lunagameserve.benchmark;
+
+import com.lunagameserve.compression.FloatSeries;
+import com.lunagameserve.light.LightCompressor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the encode and decode speed of every
+ * {@link com.lunagameserve.light.LightCompressor}, in the same way as
+ * {@link AccelerationCodecBenchmark}.
+ *
+ * @author Six
+ * @since October 17, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class LightCodecBenchmark {
+
+    /**
+     * The largest encoded stream, in bytes, which is kept in memory to be
+     * decoded.
+     */
+    private static final long MAX_DECODE_BYTES = 1L << 30;
+
+    /**
+     * The compressor under test. Every constant is run by default.
+     */
+    @Param
+    public LightCompressor codec;
+
+    /**
+     * The number of samples in the dataset.
+     */
+    @Param({"10000", "1000000", "10000000", "100000000"})
+    public int samples;
+
+    /**
+     * The dataset to run over, as understood by {@link Datasets}.
+     */
+    @Param({"synthetic"})
+    public String dataset;
+
+    /**
+     * The dataset being encoded.
+     */
+    private FloatSeries series;
+
+    /**
+     * The dataset, encoded by {@link #codec}, or {@code null} if it is too
+     * large to keep in memory.
+     */
+    private byte[] encoded;
+
+    /**
+     * The size, in bytes, of the encoded dataset.
+     */
+    private long encodedSize;
+
+    /**
+     * The sink every encode writes into.
+     */
+    private final CountingOutputStream sink = new CountingOutputStream();
+
+    /**
+     * The series every decode writes into, reused so that only the codec's
+     * own allocations are measured.
+     */
+    private final FloatSeries decoded = new FloatSeries();
+
+    /**
+     * Builds the dataset, and encodes it once to find its size and to have
+     * something to decode.
+     *
+     * @throws IOException If the dataset cannot be built or encoded.
+     */
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        series = Datasets.light(dataset, samples);
+        sink.reset();
+        codec.write(sink, series);
+        encodedSize = sink.count();
+
+        encoded = null;
+        if (encodedSize <= MAX_DECODE_BYTES) {
+            ByteArrayOutputStream out =
+                    new ByteArrayOutputStream((int)encodedSize);
+            codec.write(out, series);
+            encoded = out.toByteArray();
+        }
+    }
+
+    /**
+     * Prints the number of compressed bytes each sample costs.
+     */
+    @TearDown(Level.Trial)
+    public void report() {
+        System.out.printf("%n%s, %d samples: %.3f bytes/sample%n",
+                          codec, samples, (double)encodedSize / samples);
+    }
+
+    /**
+     * Encodes the whole dataset once.
+     *
+     * @param counters The counters to add the work done to.
+     *
+     * @return The number of bytes written.
+     *
+     * @throws IOException If the dataset cannot be encoded.
+     */
+    @Benchmark
+    public long encode(Throughput counters) throws IOException {
+        sink.reset();
+        codec.write(sink, series);
+        counters.samples += samples;
+        counters.bytes += samples * 4L;
+        return sink.count();
+    }
+
+    /**
+     * Decodes the whole dataset once.
+     *
+     * @param counters The counters to add the work done to.
+     *
+     * @throws IOException If the dataset cannot be decoded.
+     */
+    @Benchmark
+    public void decode(Throughput counters) throws IOException {
+        if (encoded == null) {
+            throw new IllegalStateException(encodedSize + " encoded bytes" +
+                                            " is too large to decode in" +
+                                            " memory.");
+        }
+        codec.read(new ByteArrayInputStream(encoded), decoded);
+        counters.samples += samples;
+        counters.bytes += samples * 4L;
+    }
+}
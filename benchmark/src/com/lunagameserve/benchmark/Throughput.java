@@ -0,0 +1,40 @@
+package com.lunagameserve.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Counters reported by JMH alongside each benchmark's own score. Because
+ * they are operation counters, JMH reports them per second: {@link #samples}
+ * as samples per second, and {@link #bytes} as uncompressed bytes per
+ * second.
+ *
+ * @author Six
+ * @since October 17, 2026
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class Throughput {
+
+    /**
+     * The number of samples encoded or decoded during this iteration.
+     */
+    public long samples;
+
+    /**
+     * The number of uncompressed bytes those samples take up.
+     */
+    public long bytes;
+
+    /**
+     * Clears both counters before each iteration.
+     */
+    @Setup(Level.Iteration)
+    public void reset() {
+        samples = 0L;
+        bytes = 0L;
+    }
+}
@@ -12,13 +12,17 @@ import com.lunagameserve.accelerama.activities.util.ToastActivity;
 import com.lunagameserve.acceleration.AccelerationCollection;
 import com.lunagameserve.acceleration.AccelerationPoint;
 import com.lunagameserve.compression.ByteWriter;
+import com.lunagameserve.compression.FloatRingBuffer;
+import com.lunagameserve.compression.FloatSeries;
 import com.lunagameserve.gl.CubeRenderer;
 import com.lunagameserve.gl.geometry.Util;
+import com.lunagameserve.rotation.QuaternionSeries;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * Main activity for Accelerama, which gathers Accelerometer data
@@ -58,7 +62,7 @@ public class CollectionActivity extends ToastActivity
 
     private Sensor lightSensor;
 
-    private ArrayList<Float> lightPoints = new ArrayList<Float>();
+    private FloatSeries lightPoints = new FloatSeries();
 
     /**
      * A thread-safe flag which describes the current status of the
@@ -89,8 +93,50 @@ public class CollectionActivity extends ToastActivity
      */
     private AccelerationCollection points = new AccelerationCollection();
 
+    /**
+     * Every rotation vector sample, as a quaternion, stored without any
+     * conversion.
+     */
+    private QuaternionSeries rotationPoints = new QuaternionSeries();
+
+    /**
+     * The timestamp of each quaternion in {@link #rotationPoints}.
+     */
+    private long[] rotationTimestamps = new long[RING_CAPACITY];
+
     private final boolean COLLECT_ACCELERATION = false;
 
+    /**
+     * The number of samples each sensor ring holds, enough for several
+     * seconds of data should the encoder thread fall behind.
+     */
+    private static final int RING_CAPACITY = 4096;
+
+    /**
+     * Linear acceleration samples, waiting for the encoder thread.
+     */
+    private final FloatRingBuffer accelerationRing =
+            new FloatRingBuffer(RING_CAPACITY, 3);
+
+    /**
+     * Rotation vector samples, as raw quaternions, waiting for the encoder
+     * thread.
+     */
+    private final FloatRingBuffer rotationRing =
+            new FloatRingBuffer(RING_CAPACITY, 4);
+
+    /**
+     * Light samples, waiting for the encoder thread.
+     */
+    private final FloatRingBuffer lightRing =
+            new FloatRingBuffer(RING_CAPACITY, 1);
+
+    /**
+     * The thread which drains every ring into {@link #points} and
+     * {@link #lightPoints}.
+     */
+    private EncoderThread encoder;
+
     /** {@inheritDoc} */
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -108,6 +154,8 @@ public class CollectionActivity extends ToastActivity
             glView.setRenderer(this.renderer);
             this.setContentView(glView);
             toastLong("Collecting Accelerometer data. 2 minutes remain.");
+            encoder = new EncoderThread();
+            encoder.start();
             startTime = System.nanoTime();
             sensorManager.registerListener(this,
                              accelerometer, SensorManager.SENSOR_DELAY_FASTEST);
@@ -121,47 +169,158 @@ public class CollectionActivity extends ToastActivity
     /** {@inheritDoc} */
     @Override
     public void onSensorChanged(SensorEvent event) {
+        /* Runs at SENSOR_DELAY_FASTEST, so only copies raw values into a
+         * ring; everything else happens on the encoder thread. */
         if (collecting.get()) {
-            if (event.sensor.getType() == Sensor.TYPE_LINEAR_ACCELERATION) {
+            long now = System.nanoTime();
+            int type = event.sensor.getType();
+            if (type == Sensor.TYPE_LINEAR_ACCELERATION) {
+                accelerationRing.offer(event.values, now);
+
+                long maxTicks = 1000000000L * SECONDS;
+                if ((now - startTime) > maxTicks) {
+                    onCollectionFinished("Collection finished.", true);
+                }
+            } else if (type == Sensor.TYPE_ROTATION_VECTOR) {
+                rotationRing.offer(event.values, now);
+            } else if (type == Sensor.TYPE_LIGHT) {
+                lightRing.offer(event.values, now);
+            }
+        }
+    }
+
+    /**
+     * The {@link java.lang.Thread} which drains every sensor ring in
+     * batches, converting, validating and storing each sample, and moving
+     * the cube to the latest one.
+     */
+    private class EncoderThread extends Thread {
+
+        /**
+         * The largest number of samples taken from a ring at once.
+         */
+        private static final int BATCH = 256;
+
+        /**
+         * How long to wait, in nanoseconds, when every ring is empty.
+         */
+        private static final long IDLE_NANOS = 2000000L;
 
-                renderer.getCube().translate(event.values[0] * -0.1f,
-                                             event.values[1] * -0.1f,
-                                             event.values[2] * -0.1f);
+        /**
+         * The values of the batch being handled, up to four per sample.
+         */
+        private final float[] values = new float[BATCH * 4];
 
-                if (COLLECT_ACCELERATION) {
-                    AccelerationPoint pt =
-                            new AccelerationPoint(event.values,
-                                    System.nanoTime());
+        /**
+         * The timestamps of the batch being handled.
+         */
+        private final long[] timestamps = new long[BATCH];
 
-                    if (pt.valid()) {
-                        points.addPoint(pt);
-                    }
+        /**
+         * The Euler angles of the latest rotation sample, for the cube.
+         */
+        private final float[] eulers = new float[3];
+
+        /**
+         * Cleared by {@link #finish()} to stop this thread once the rings
+         * are empty.
+         */
+        private volatile boolean running = true;
+
+        /**
+         * Constructs a new {@link EncoderThread}.
+         */
+        EncoderThread() {
+            super("accelerama-encoder");
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void run() {
+            while (running) {
+                if (drainAll() == 0) {
+                    LockSupport.parkNanos(IDLE_NANOS);
                 }
+            }
+            while (drainAll() > 0) {
+                /* Take whatever arrived before the sensors stopped. */
+            }
+        }
 
-                long maxTicks = 1000000000L * SECONDS;
-                if ((System.nanoTime() - startTime) > maxTicks) {
-                    onCollectionFinished("Collection finished.", true);
+        /**
+         * Stops this thread once every ring has been drained, and waits for
+         * it to finish, so that {@link #points} and {@link #lightPoints}
+         * are complete.
+         */
+        void finish() {
+            running = false;
+            LockSupport.unpark(this);
+            boolean interrupted = false;
+            while (isAlive()) {
+                try {
+                    join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
                 }
-            } else if (event.sensor.getType() == Sensor.TYPE_ROTATION_VECTOR) {
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
 
-                float[] eulers = Util.quaternionToEuclidean(event.values);
+        /**
+         * Takes one batch from each ring.
+         *
+         * @return The number of samples taken.
+         */
+        private int drainAll() {
+            int total = 0;
 
+            int n = accelerationRing.drain(values, timestamps, BATCH);
+            for (int i = 0; COLLECT_ACCELERATION && i < n; i++) {
+                add(values[i * 3], values[i * 3 + 1], values[i * 3 + 2],
+                    timestamps[i]);
+            }
+            if (n > 0) {
+                int last = (n - 1) * 3;
+                renderer.getCube().translate(values[last] * -0.1f,
+                                             values[last + 1] * -0.1f,
+                                             values[last + 2] * -0.1f);
+            }
+            total += n;
+
+            n = rotationRing.drain(values, timestamps, BATCH);
+            int stored = rotationPoints.size();
+            if (stored + n > rotationTimestamps.length) {
+                rotationTimestamps = Arrays.copyOf(rotationTimestamps,
+                        Math.max(stored + n, stored * 2));
+            }
+            for (int i = 0; i < n; i++) {
+                rotationPoints.addRotationVector(values, i * 4);
+                rotationTimestamps[stored + i] = timestamps[i];
+            }
+            if (n > 0) {
+                Util.quaternionToEuclidean(values, (n - 1) * 4, eulers);
                 renderer.getCube().rotate(
                         Util.radToDeg((float)(eulers[0] * Math.PI)),
                         Util.radToDeg((float)(eulers[1] * Math.PI)),
                         Util.radToDeg((float)(eulers[2] * Math.PI)));
+            }
+            total += n;
 
-                if (!COLLECT_ACCELERATION) {
-                    AccelerationPoint pt =
-                            new AccelerationPoint(eulers,
-                                                  System.nanoTime());
+            n = lightRing.drain(values, timestamps, BATCH);
+            lightPoints.addAll(values, 0, n);
+            total += n;
 
-                    if (pt.valid()) {
-                        points.addPoint(pt);
-                    }
-                }
-            } else if (event.sensor.getType() == Sensor.TYPE_LIGHT) {
-                lightPoints.add(event.values[0]);
+            return total;
+        }
+
+        /**
+         * Stores a single sample in {@link #points}, if it is valid.
+         */
+        private void add(float x, float y, float z, long t) {
+            if (AccelerationPoint.valid(x, y, z)) {
+                points.addPoint(x, y, z, t);
             }
         }
     }
@@ -182,6 +341,14 @@ public class CollectionActivity extends ToastActivity
         collecting.set(false);
         sensorManager.unregisterListener(this, accelerometer);
         sensorManager.unregisterListener(this, rotation);
+        encoder.finish();
+        if (!COLLECT_ACCELERATION) {
+            addEulerPoints();
+        }
+        Log.d("Collection", "Dropped " + accelerationRing.overruns() +
+                            " acceleration, " + rotationRing.overruns() +
+                            " rotation and " + lightRing.overruns() +
+                            " light samples.");
         toastLong(message);
         Bundle bundle = null;
         if (pushResults) {
@@ -189,7 +356,7 @@ public class CollectionActivity extends ToastActivity
                 /* Write acceleration points to bundle */
                 ByteArrayOutputStream out = new ByteArrayOutputStream();
 
-                points.writeAsBytes(out);
+                points.writeColumnsAsBytes(out);
 
                 out.close();
                 byte[] accelBytes = out.toByteArray();
@@ -197,14 +364,19 @@ public class CollectionActivity extends ToastActivity
                 /* Write light points to bundle */
                 out = new ByteArrayOutputStream();
                 ByteWriter writer = new ByteWriter(out);
-                for (Float lightPoint : lightPoints) {
-                    writer.writeFloat(lightPoint);
-                }
+                lightPoints.writeTo(writer);
                 writer.close();
 
                 bundle = new Bundle();
                 bundle.putByteArray("lightPoints", out.toByteArray());
                 bundle.putByteArray("points", accelBytes);
+
+                /* Write rotation quaternions to bundle */
+                out = new ByteArrayOutputStream();
+                writer = new ByteWriter(out);
+                rotationPoints.writeTo(writer);
+                writer.close();
+                bundle.putByteArray("rotationPoints", out.toByteArray());
             } catch (IOException e) {
                 e.printStackTrace();
             }
@@ -218,6 +390,26 @@ public class CollectionActivity extends ToastActivity
         finish();
     }
 
+    /**
+     * Stores the Euler angles of every quaternion in
+     * {@link #rotationPoints} in {@link #points}, for the
+     * {@link com.lunagameserve.acceleration.AccelerationCompressor}s. This
+     * is done once collection is finished, so that capture does no
+     * trigonometry.
+     */
+    private void addEulerPoints() {
+        float[] quaternion = new float[4];
+        float[] eulers = new float[3];
+        for (int i = 0; i < rotationPoints.size(); i++) {
+            rotationPoints.get(i, quaternion, 0);
+            Util.quaternionToEuclidean(quaternion, 0, eulers);
+            if (AccelerationPoint.valid(eulers[0], eulers[1], eulers[2])) {
+                points.addPoint(eulers[0], eulers[1], eulers[2],
+                                rotationTimestamps[i]);
+            }
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public void onBackPressed() {
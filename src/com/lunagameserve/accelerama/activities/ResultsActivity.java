@@ -13,15 +13,19 @@ import com.lunagameserve.accelerama.R;
 import com.lunagameserve.accelerama.activities.util.ToastActivity;
 import com.lunagameserve.acceleration.AccelerationCollection;
 import com.lunagameserve.acceleration.AccelerationCompressor;
+import com.lunagameserve.acceleration.AccelerationSeries;
 import com.lunagameserve.compression.ByteReader;
 import com.lunagameserve.compression.Compressor;
+import com.lunagameserve.compression.FloatSeries;
+import com.lunagameserve.compression.QualityReport;
 import com.lunagameserve.compression.StreamStats;
 import com.lunagameserve.light.LightCompressor;
+import com.lunagameserve.rotation.QuaternionSeries;
+import com.lunagameserve.rotation.RotationCompressor;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.util.ArrayList;
 
 /**
  * The {@link android.app.Activity} which displays the results
@@ -40,7 +44,9 @@ public class ResultsActivity extends ToastActivity {
      */
     private AccelerationCollection points = new AccelerationCollection();
 
-    private ArrayList<Float> lightPoints = new ArrayList<Float>();
+    private FloatSeries lightPoints = new FloatSeries();
+
+    private QuaternionSeries rotationPoints = new QuaternionSeries();
 
     /**
      * The base {@link android.text.Layout} of this
@@ -87,6 +93,9 @@ public class ResultsActivity extends ToastActivity {
                 for (LightCompressor c : LightCompressor.values()) {
                     addImageView(c);
                 }
+                for (RotationCompressor c : RotationCompressor.values()) {
+                    addStatsView(c);
+                }
             }
         };
     }
@@ -118,16 +127,17 @@ public class ResultsActivity extends ToastActivity {
             compressor.write(out, points);
             ByteArrayInputStream in =
                     new ByteArrayInputStream(out.toByteArray());
-            compressor.read(in);
+            AccelerationSeries decoded =
+                    compressor.read(in, new AccelerationSeries());
             Bitmap finalBmp = Bitmap.createBitmap(
                     points.size(), 768,
                     Bitmap.Config.ARGB_8888);
             Canvas c = new Canvas(finalBmp);
-            compressor.render(c,
+            compressor.render(c, decoded,
                     AccelerationCompressor.X_POINTS, Color.RED);
-            compressor.render(c,
+            compressor.render(c, decoded,
                     AccelerationCompressor.Y_POINTS, Color.GREEN);
-            compressor.render(c,
+            compressor.render(c, decoded,
                     AccelerationCompressor.Z_POINTS, Color.BLUE);
             iv.setImageBitmap(finalBmp);
 
@@ -147,12 +157,13 @@ public class ResultsActivity extends ToastActivity {
                     compressor.write(out, lightPoints);
                     ByteArrayInputStream in =
                             new ByteArrayInputStream(out.toByteArray());
-                    compressor.read(in);
+                    FloatSeries decoded =
+                            compressor.read(in, new FloatSeries());
                     Bitmap finalBmp = Bitmap.createBitmap(
                             points.size(), 768,
                             Bitmap.Config.ARGB_8888);
                     Canvas c = new Canvas(finalBmp);
-                    compressor.render(c, Color.YELLOW);
+                    compressor.render(c, decoded, Color.YELLOW);
                     iv.setImageBitmap(finalBmp);
 
                     Log.d("Results", "Completed ViewBox");
@@ -181,12 +192,8 @@ public class ResultsActivity extends ToastActivity {
                 ViewGroup.LayoutParams.MATCH_PARENT,
                 ViewGroup.LayoutParams.WRAP_CONTENT
         ));
-        StreamStats stats = compressor.ratio(points);
         tv.setTextSize(20f);
-        tv.setText(compressor.toString() +
-                ": " + stats.ratio + " (" + stats.length + "b, or " +
-                ((float)stats.length / CollectionActivity.SECONDS) +
-                "b/s)");
+        tv.setText(statsText(compressor.toString(), quality(compressor)));
         baseLayout.addView(tv);
 
         ImageView iv = new ImageView(getBaseContext());
@@ -210,12 +217,8 @@ public class ResultsActivity extends ToastActivity {
                 ViewGroup.LayoutParams.MATCH_PARENT,
                 ViewGroup.LayoutParams.WRAP_CONTENT
         ));
-        StreamStats stats = compressor.ratio(lightPoints);
         tv.setTextSize(20f);
-        tv.setText(compressor.toString() +
-                ": " + stats.ratio + " (" + stats.length + "b, or " +
-                ((float)stats.length / CollectionActivity.SECONDS) +
-                "b/s)");
+        tv.setText(statsText(compressor.toString(), quality(compressor)));
         baseLayout.addView(tv);
 
         ImageView iv = new ImageView(getBaseContext());
@@ -230,6 +233,111 @@ public class ResultsActivity extends ToastActivity {
         iv.post(setupImageRunnable(compressor, iv));
     }
 
+    /**
+     * Adds the size and error of a
+     * {@link com.lunagameserve.rotation.RotationCompressor} on
+     * {@link #rotationPoints}. Quaternions have no plot, so there is no
+     * image.
+     *
+     * @param compressor The compressor to describe.
+     */
+    private void addStatsView(RotationCompressor compressor) {
+        TextView tv = new TextView(getBaseContext());
+        tv.setLayoutParams(new ViewGroup.LayoutParams(
+                ViewGroup.LayoutParams.MATCH_PARENT,
+                ViewGroup.LayoutParams.WRAP_CONTENT
+        ));
+        tv.setTextSize(20f);
+        tv.setText(statsText(compressor.toString(), quality(compressor)));
+        baseLayout.addView(tv);
+    }
+
+    /**
+     * Measures an {@link com.lunagameserve.acceleration.AccelerationCompressor}
+     * on {@link #points}.
+     *
+     * @param compressor The compressor to measure.
+     *
+     * @return The {@link com.lunagameserve.compression.QualityReport} of
+     *         {@code compressor}, or {@code null} if {@link #points} cannot
+     *         be round-tripped, which is logged.
+     */
+    private StreamStats quality(AccelerationCompressor compressor) {
+        try {
+            return compressor.quality(points);
+        } catch (IOException e) {
+            Log.e("Results", "Could not measure " + compressor, e);
+            return null;
+        }
+    }
+
+    /**
+     * Measures a {@link com.lunagameserve.light.LightCompressor} on
+     * {@link #lightPoints}.
+     *
+     * @param compressor The compressor to measure.
+     *
+     * @return The {@link com.lunagameserve.compression.QualityReport} of
+     *         {@code compressor}, or {@code null} if {@link #lightPoints}
+     *         cannot be round-tripped, which is logged.
+     */
+    private StreamStats quality(LightCompressor compressor) {
+        try {
+            return compressor.quality(lightPoints);
+        } catch (IOException e) {
+            Log.e("Results", "Could not measure " + compressor, e);
+            return null;
+        }
+    }
+
+    /**
+     * Measures a {@link com.lunagameserve.rotation.RotationCompressor} on
+     * {@link #rotationPoints}.
+     *
+     * @param compressor The compressor to measure.
+     *
+     * @return The {@link com.lunagameserve.compression.QualityReport} of
+     *         {@code compressor}, or {@code null} if {@link #rotationPoints}
+     *         cannot be round-tripped, which is logged.
+     */
+    private StreamStats quality(RotationCompressor compressor) {
+        try {
+            return compressor.quality(rotationPoints);
+        } catch (IOException e) {
+            Log.e("Results", "Could not measure " + compressor, e);
+            return null;
+        }
+    }
+
+    /**
+     * Describes the size, and if known the error, of a compressor's output.
+     *
+     * @param name The name of the compressor.
+     *
+     * @param stats The {@link StreamStats} of its output, or {@code null} if
+     *              it could not be measured.
+     *
+     * @return A single line of text to show above its rendering.
+     */
+    private String statsText(String name, StreamStats stats) {
+        if (stats == null) {
+            return name + ": could not be measured";
+        }
+        String text = name + ": " + stats.ratio + " (" + stats.length +
+                      "b, or " +
+                      ((float)stats.length / CollectionActivity.SECONDS) +
+                      "b/s)";
+        if (stats instanceof QualityReport) {
+            QualityReport report = (QualityReport)stats;
+            text += String.format(", %.2f bits/sample, rmse",
+                                  report.bitsPerSample);
+            for (double rmse : report.rmse) {
+                text += String.format(" %.4g", rmse);
+            }
+        }
+        return text;
+    }
+
     /**
      * Reads an {@link com.lunagameserve.acceleration.AccelerationCollection}
      * from the {@link android.content.Intent} {@code byte[]} extra named
@@ -243,14 +351,19 @@ public class ResultsActivity extends ToastActivity {
                         getIntent().getByteArrayExtra("points"));
 
         points.clear();
-        points.readFromBytes(in);
+        points.readColumnsFromBytes(in);
 
         lightPoints.clear();
         in = new ByteArrayInputStream(
                      getIntent().getByteArrayExtra("lightPoints"));
         ByteReader reader = new ByteReader(in);
-        while (in.available() > 0) {
-            lightPoints.add(reader.readFloat());
+        lightPoints.readFrom(reader, in.available() / 4);
+
+        rotationPoints.clear();
+        byte[] rotationBytes = getIntent().getByteArrayExtra("rotationPoints");
+        if (rotationBytes != null) {
+            rotationPoints.readFrom(
+                    new ByteReader(new ByteArrayInputStream(rotationBytes)));
         }
         toastLong("Points read!");
 
@@ -0,0 +1,529 @@
+package com.lunagameserve.acceleration;
+
+import com.lunagameserve.compression.CodecMetrics;
+import com.lunagameserve.compression.CodecOptions;
+import com.lunagameserve.compression.FloatSeries;
+import com.lunagameserve.compression.FrameReader;
+import com.lunagameserve.compression.FrameWriter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.EnumSet;
+
+/**
+ * Compresses an {@link com.lunagameserve.acceleration.AccelerationCollection}
+ * block by block, choosing the
+ * {@link com.lunagameserve.acceleration.AccelerationCompressor} which suits
+ * each block best. Still periods and violent motion in the same session
+ * often want different compressors.
+ * <p>
+ *     The first {@code trialSize} points of a block are encoded with every
+ *     candidate compressor, and, when there is an error bound, decoded
+ *     again. Candidates which drop points, or whose largest error on the
+ *     trial exceeds {@code maxError}, are not considered. Neither are
+ *     candidates whose mean encode cost on their trials so far exceeds
+ *     {@code maxNanosPerSample}. Of those left, the one which wrote the
+ *     fewest bytes compresses the whole block. If none are left, the
+ *     cheapest candidate within the error bound is used, or failing that
+ *     the most accurate.
+ *     When there is an error bound, the whole block is decoded again to
+ *     check it, since the trial may miss a change later in the block, and
+ *     the next candidate is tried if it fails.
+ * </p>
+ * <p>
+ *     Trying every candidate costs far more than compressing the block, so
+ *     only every {@link #FULL_TRIAL_INTERVAL}th block is trialled with every
+ *     candidate. The blocks in between only trial the
+ *     {@link #SHORTLIST_SIZE} best candidates of the last full trial, unless
+ *     the best of those no longer fits the bounds as well as it did.
+ *     Trials and blocks are encoded without going through
+ *     {@link AccelerationCompressor#write}, so they are not recorded in the
+ *     {@link com.lunagameserve.compression.CodecMetrics} of each candidate;
+ *     the whole stream is recorded once by
+ *     {@link AccelerationCompressor#Adaptive}.
+ * </p>
+ * <p>
+ *     By default only {@link #losslessCandidates()} are chosen from, so
+ *     every point reads back exactly. Lossy compressors must be allowed,
+ *     along with an error bound, through
+ *     {@link #AccelerationAdaptiveEncoder(EnumSet, int, int, float, double)}.
+ * </p>
+ * <p>
+ *     Each block is written as a frame through a
+ *     {@link com.lunagameserve.compression.FrameWriter}, holding the ordinal
+ *     of the chosen compressor in one byte followed by that compressor's
+ *     output. Read blocks back with
+ *     {@link #read(InputStream, FloatSeries, FloatSeries, FloatSeries)}.
+ * </p>
+ * <p>
+ *     An {@link AccelerationAdaptiveEncoder} reuses its buffers between
+ *     calls, so should be used by one thread at a time.
+ * </p>
+ *
+ * @author Six
+ * @since October 17, 2026
+ * @see com.lunagameserve.acceleration.AccelerationCompressor#Adaptive
+ */
+public class AccelerationAdaptiveEncoder {
+
+    /**
+     * The number of points in each block, unless told otherwise.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 256;
+
+    /**
+     * The number of points of each block trial-encoded, unless told
+     * otherwise.
+     */
+    public static final int DEFAULT_TRIAL_SIZE = 64;
+
+    /**
+     * The number of blocks from one trial of every candidate to the next.
+     */
+    public static final int FULL_TRIAL_INTERVAL = 16;
+
+    /**
+     * The number of the best candidates of the last full trial which are
+     * trialled again for each block in between.
+     */
+    public static final int SHORTLIST_SIZE = 3;
+
+    /**
+     * The compressors which may be chosen.
+     */
+    private final AccelerationCompressor[] candidates;
+
+    /**
+     * The number of points in each block.
+     */
+    private final int blockSize;
+
+    /**
+     * The number of points of each block trial-encoded.
+     */
+    private final int trialSize;
+
+    /**
+     * The largest absolute error allowed on any axis.
+     */
+    private final float maxError;
+
+    /**
+     * The largest mean encode cost, in nanoseconds per point, allowed.
+     */
+    private final double maxNanosPerSample;
+
+    /**
+     * The number of blocks each compressor has been chosen for, by ordinal.
+     */
+    private final long[] choices =
+            new long[AccelerationCompressor.values().length];
+
+    /**
+     * The points of the block being written.
+     */
+    private final AccelerationCollection block = new AccelerationCollection();
+
+    /**
+     * The points of the block being trial-encoded.
+     */
+    private final AccelerationCollection trial = new AccelerationCollection();
+
+    /**
+     * The decoded trial or block, for measuring error.
+     */
+    private final AccelerationSeries decoded = new AccelerationSeries();
+
+    /**
+     * The trial encoding of a single candidate.
+     */
+    private final ByteArrayOutputStream trialBytes =
+            new ByteArrayOutputStream();
+
+    /**
+     * The candidates, by index, in the order they will be tried for the
+     * block being written.
+     */
+    private final int[] order;
+
+    /**
+     * The size of each candidate's trial encoding.
+     */
+    private final int[] sizes;
+
+    /**
+     * The largest error of each candidate's trial encoding.
+     */
+    private final double[] errors;
+
+    /**
+     * The mean encode cost of each candidate, in nanoseconds per point.
+     */
+    private final double[] costs;
+
+    /**
+     * The cost of every trial encode of each candidate, kept apart from the
+     * {@link com.lunagameserve.compression.CodecMetrics} of the candidate
+     * itself.
+     */
+    private final CodecMetrics[] trialMetrics;
+
+    /**
+     * How each candidate fits the bounds: {@code 0} within both,
+     * {@code 1} within the error bound only, {@code 2} within neither.
+     */
+    private final int[] groups;
+
+    /**
+     * The group of the best candidate of the last full trial.
+     */
+    private int bestGroup;
+
+    /**
+     * The frame being written.
+     */
+    private final ByteArrayOutputStream frame = new ByteArrayOutputStream();
+
+    /**
+     * Constructs a new {@link AccelerationAdaptiveEncoder} which may choose
+     * any of the {@link #losslessCandidates()}, with no CPU budget.
+     */
+    public AccelerationAdaptiveEncoder() {
+        this(losslessCandidates(), DEFAULT_BLOCK_SIZE, DEFAULT_TRIAL_SIZE,
+             Float.POSITIVE_INFINITY, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Constructs a new {@link AccelerationAdaptiveEncoder}.
+     *
+     * @param candidates The compressors which may be chosen. This may not
+     *                   include {@link AccelerationCompressor#Adaptive}.
+     *
+     * @param blockSize The number of points in each block.
+     *
+     * @param trialSize The number of points of each block to trial-encode.
+     *
+     * @param maxError The largest absolute error allowed on any axis, or
+     *                 {@link Float#POSITIVE_INFINITY} for no bound, which
+     *                 should only be given with lossless candidates.
+     *
+     * @param maxNanosPerSample The largest mean encode cost allowed, in
+     *                          nanoseconds per point, or
+     *                          {@link Double#POSITIVE_INFINITY} for no
+     *                          budget.
+     *
+     * @throws IllegalArgumentException If {@code candidates} is empty or
+     *                                  includes
+     *                                  {@link AccelerationCompressor#Adaptive},
+     *                                  or a size is not positive.
+     */
+    public AccelerationAdaptiveEncoder(
+            EnumSet<AccelerationCompressor> candidates, int blockSize,
+            int trialSize, float maxError, double maxNanosPerSample) {
+        if (candidates.isEmpty() ||
+            candidates.contains(AccelerationCompressor.Adaptive)) {
+            throw new IllegalArgumentException(
+                    "Candidates must be non-empty and not Adaptive.");
+        }
+        if (blockSize <= 0 || trialSize <= 0) {
+            throw new IllegalArgumentException(
+                    "Block and trial sizes must be positive.");
+        }
+        this.candidates = candidates.toArray(
+                new AccelerationCompressor[candidates.size()]);
+        this.blockSize = blockSize;
+        this.trialSize = Math.min(trialSize, blockSize);
+        this.maxError = maxError;
+        this.maxNanosPerSample = maxNanosPerSample;
+
+        int n = this.candidates.length;
+        this.order = new int[n];
+        this.sizes = new int[n];
+        this.errors = new double[n];
+        this.costs = new double[n];
+        this.groups = new int[n];
+        this.trialMetrics = new CodecMetrics[n];
+        for (int i = 0; i < n; i++) {
+            this.trialMetrics[i] = new CodecMetrics();
+        }
+    }
+
+    /**
+     * Gets the compressors which read back exactly the points they were
+     * given, which a default {@link AccelerationAdaptiveEncoder} chooses
+     * among.
+     *
+     * @return A new set of the lossless compressors, which may be changed.
+     */
+    public static EnumSet<AccelerationCompressor> losslessCandidates() {
+        return EnumSet.of(AccelerationCompressor.UncompressedBuffer,
+                          AccelerationCompressor.StandardGZip,
+                          AccelerationCompressor.GorillaXor,
+                          AccelerationCompressor.LinearPrediction);
+    }
+
+    /**
+     * Writes every point of an
+     * {@link com.lunagameserve.acceleration.AccelerationCollection}, block
+     * by block with {@link CodecOptions#DEFAULT}, then the end of stream
+     * marker. Like every
+     * {@link com.lunagameserve.acceleration.AccelerationCompressor}, this
+     * closes {@code out} when done.
+     *
+     * @param out The {@link java.io.OutputStream} to write to.
+     *
+     * @param points The points to write.
+     *
+     * @throws IOException If {@code out} cannot be written to for any
+     *                     reason.
+     */
+    public void write(OutputStream out, AccelerationCollection points)
+            throws IOException {
+        write(out, points, CodecOptions.DEFAULT);
+    }
+
+    /**
+     * Writes every point of an
+     * {@link com.lunagameserve.acceleration.AccelerationCollection}, block
+     * by block, then the end of stream marker. Like every
+     * {@link com.lunagameserve.acceleration.AccelerationCompressor}, this
+     * closes {@code out} when done.
+     *
+     * @param out The {@link java.io.OutputStream} to write to.
+     *
+     * @param points The points to write.
+     *
+     * @param options The settings to write every block with.
+     *
+     * @throws IOException If {@code out} cannot be written to for any
+     *                     reason.
+     */
+    public void write(OutputStream out, AccelerationCollection points,
+                      CodecOptions options) throws IOException {
+        FrameWriter frames = new FrameWriter(out);
+        for (int start = 0; start < points.size(); start += blockSize) {
+            int len = Math.min(blockSize, points.size() - start);
+            copy(points, start, len, block);
+            copy(points, start, Math.min(trialSize, len), trial);
+
+            if (start / blockSize % FULL_TRIAL_INTERVAL == 0 ||
+                rank(SHORTLIST_SIZE, options) > bestGroup) {
+                bestGroup = rank(candidates.length, options);
+            }
+            AccelerationCompressor chosen = null;
+            for (int r = 0; chosen == null; r++) {
+                AccelerationCompressor c = candidates[order[r]];
+                frame.reset();
+                frame.write(c.ordinal());
+                c.encode(frame, block, options);
+                if (r == order.length - 1 || verify(c)) {
+                    chosen = c;
+                }
+            }
+            choices[chosen.ordinal()]++;
+            frames.writeFrame(frame);
+        }
+        frames.close();
+    }
+
+    /**
+     * Gets the number of blocks a compressor has been chosen for by this
+     * {@link AccelerationAdaptiveEncoder}.
+     *
+     * @param compressor The compressor to count.
+     *
+     * @return The number of blocks {@code compressor} has written.
+     */
+    public long getChoiceCount(AccelerationCompressor compressor) {
+        return choices[compressor.ordinal()];
+    }
+
+    /**
+     * Reads every block written by
+     * {@link #write(OutputStream, AccelerationCollection)}, appending the
+     * values of each axis.
+     *
+     * @param in The {@link java.io.InputStream} to read from.
+     *
+     * @param xPoints The x values to append to.
+     *
+     * @param yPoints The y values to append to.
+     *
+     * @param zPoints The z values to append to.
+     *
+     * @throws IOException If {@code in} cannot be read from, or names a
+     *                     compressor which does not exist.
+     */
+    public static void read(InputStream in, FloatSeries xPoints,
+                            FloatSeries yPoints, FloatSeries zPoints)
+                            throws IOException {
+        AccelerationCompressor[] all = AccelerationCompressor.values();
+        FrameReader frames = new FrameReader(in);
+        AccelerationSeries decoded = new AccelerationSeries();
+        int len;
+        while ((len = frames.readFrame()) >= 0) {
+            int ordinal = frames.frame()[0] & 0xFF;
+            if (ordinal >= all.length ||
+                all[ordinal] == AccelerationCompressor.Adaptive) {
+                throw new IOException("Unknown compressor: " + ordinal);
+            }
+            decoded.clear();
+            all[ordinal].decode(
+                    new ByteArrayInputStream(frames.frame(), 1, len - 1),
+                    decoded.getX(), decoded.getY(), decoded.getZ());
+            xPoints.addAll(decoded.getX());
+            yPoints.addAll(decoded.getY());
+            zPoints.addAll(decoded.getZ());
+        }
+    }
+
+    /**
+     * Trial-encodes {@link #trial} with the first candidates of
+     * {@link #order}, and sorts them into the order they should be tried
+     * in: those within both bounds, smallest first, then those within the
+     * error bound, cheapest first, then the rest, most accurate first. The
+     * candidates after them keep their place from an earlier trial.
+     *
+     * @param count The number of candidates to trial. If this is every
+     *              candidate, {@link #order} is filled afresh.
+     *
+     * @param options The settings to write each trial with.
+     *
+     * @return The group of the best candidate trialled.
+     *
+     * @throws IOException Never, as only in-memory streams are used.
+     */
+    private int rank(int count, CodecOptions options) throws IOException {
+        boolean full = count >= candidates.length;
+        count = Math.min(count, candidates.length);
+        for (int r = 0; r < count; r++) {
+            int i = full ? r : order[r];
+            AccelerationCompressor c = candidates[i];
+            trialBytes.reset();
+            long startNanos = System.nanoTime();
+            c.encode(trialBytes, trial, options);
+            trialMetrics[i].recordEncode(startNanos, -1L, trial.byteSize(),
+                                         trialBytes.size(), trial.size(),
+                                         false);
+            sizes[i] = trialBytes.size();
+            if (maxError == Float.POSITIVE_INFINITY) {
+                errors[i] = 0.0;
+            } else {
+                decoded.clear();
+                c.decode(new ByteArrayInputStream(trialBytes.toByteArray()),
+                         decoded.getX(), decoded.getY(), decoded.getZ());
+                errors[i] = error(trial, decoded);
+            }
+            costs[i] = trialMetrics[i].encodeNanosPerSample();
+            groups[i] = !(errors[i] <= maxError) ? 2
+                      : costs[i] <= maxNanosPerSample ? 0 : 1;
+
+            /* Insertion sort; there are only a handful of candidates. */
+            int j = r;
+            while (j > 0 && before(i, order[j - 1])) {
+                order[j] = order[j - 1];
+                j--;
+            }
+            order[j] = i;
+        }
+        return groups[order[0]];
+    }
+
+    /**
+     * Compares two candidates by the order they should be tried in.
+     *
+     * @param a The index of one candidate.
+     *
+     * @param b The index of another candidate.
+     *
+     * @return {@code true} if {@code a} should be tried before {@code b}.
+     */
+    private boolean before(int a, int b) {
+        if (groups[a] != groups[b]) {
+            return groups[a] < groups[b];
+        }
+        switch (groups[a]) {
+            case 0: return sizes[a] < sizes[b];
+            case 1: return costs[a] < costs[b];
+            default:
+                /* NaN errors sort last. */
+                return errors[a] < errors[b] ||
+                       (Double.isNaN(errors[b]) && !Double.isNaN(errors[a]));
+        }
+    }
+
+    /**
+     * Checks that the block just written into {@link #frame} is within the
+     * error bound. The trial only covers the start of a block, so a block
+     * which changes partway through may not be.
+     *
+     * @param c The compressor the block was written with.
+     *
+     * @return {@code true} if there is no error bound, or the block is
+     *         within it.
+     *
+     * @throws IOException Never, as only in-memory streams are used.
+     */
+    private boolean verify(AccelerationCompressor c) throws IOException {
+        if (maxError == Float.POSITIVE_INFINITY) {
+            return true;
+        }
+        byte[] bytes = frame.toByteArray();
+        decoded.clear();
+        c.decode(new ByteArrayInputStream(bytes, 1, bytes.length - 1),
+                 decoded.getX(), decoded.getY(), decoded.getZ());
+        return error(block, decoded) <= maxError;
+    }
+
+    /**
+     * Gets the largest absolute error between some points and their decoded
+     * values, on any axis.
+     *
+     * @param original The points which were written.
+     *
+     * @param decoded The values which were read back.
+     *
+     * @return The largest error, or {@code NaN}, which no bound accepts, if
+     *         any point was not read back or was read back as {@code NaN}.
+     */
+    private static double error(AccelerationCollection original,
+                                AccelerationSeries decoded) {
+        if (decoded.size() < original.size()) {
+            return Double.NaN;
+        }
+        double max = 0.0;
+        for (int i = 0; i < original.size(); i++) {
+            max = Math.max(max, Math.max(
+                    Math.abs(original.getX(i) - decoded.getX().get(i)),
+                    Math.max(Math.abs(original.getY(i) - decoded.getY().get(i)),
+                             Math.abs(original.getZ(i) -
+                                      decoded.getZ().get(i)))));
+        }
+        return max;
+    }
+
+    /**
+     * Replaces the contents of a collection with a run of points from
+     * another.
+     *
+     * @param src The collection to copy from.
+     *
+     * @param off The index in {@code src} of the first point to copy.
+     *
+     * @param len The number of points to copy.
+     *
+     * @param dst The collection to copy into, which is cleared first.
+     */
+    private static void copy(AccelerationCollection src, int off, int len,
+                             AccelerationCollection dst) {
+        dst.clear();
+        dst.ensureCapacity(len);
+        for (int i = off; i < off + len; i++) {
+            dst.addPoint(src.getX(i), src.getY(i), src.getZ(i),
+                         src.getTimestamp(i));
+        }
+    }
+}
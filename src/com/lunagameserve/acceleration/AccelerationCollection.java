@@ -9,12 +9,19 @@ import com.lunagameserve.nbt.Tag;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.util.ArrayList;
+import java.util.Arrays;
 
 /**
  * A collection of {@link com.lunagameserve.acceleration.AccelerationPoint}s
  * which provides some useful accessor methods. Note that this class does not
  * extend {@link java.util.Collection}.
+ * <p>
+ *     Points are stored column-wise in growable primitive arrays rather than
+ *     as individual {@link com.lunagameserve.acceleration.AccelerationPoint}
+ *     objects, so a capture costs 20 bytes per sample and no per-sample
+ *     allocation. Prefer {@link #getX(int)} and friends over
+ *     {@link #get(int)}, which has to build a new point.
+ * </p>
  *
  * @author Six
  * @since March 2, 2015
@@ -22,13 +29,56 @@ import java.util.ArrayList;
 public class AccelerationCollection extends NBTSerializableListAdapter {
 
     /**
-     * The {@link com.lunagameserve.nbt.Tag.List} of
-     * {@link com.lunagameserve.acceleration.AccelerationPoint}s which this
-     * {@link com.lunagameserve.acceleration.AccelerationCollection}
-     * is currently tracking.
+     * The number of elements that the columns of a new
+     * {@link com.lunagameserve.acceleration.AccelerationCollection} have room
+     * for before they first need to grow.
      */
-    private ArrayList<AccelerationPoint> points =
-            new ArrayList<AccelerationPoint>();
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * The x-axis values of every point held by this
+     * {@link com.lunagameserve.acceleration.AccelerationCollection}. Only the
+     * first {@link #size} elements are valid.
+     */
+    private float[] x = new float[INITIAL_CAPACITY];
+
+    /**
+     * The y-axis values of every point held by this
+     * {@link com.lunagameserve.acceleration.AccelerationCollection}. Only the
+     * first {@link #size} elements are valid.
+     */
+    private float[] y = new float[INITIAL_CAPACITY];
+
+    /**
+     * The z-axis values of every point held by this
+     * {@link com.lunagameserve.acceleration.AccelerationCollection}. Only the
+     * first {@link #size} elements are valid.
+     */
+    private float[] z = new float[INITIAL_CAPACITY];
+
+    /**
+     * The timestamps of every point held by this
+     * {@link com.lunagameserve.acceleration.AccelerationCollection}. Only the
+     * first {@link #size} elements are valid.
+     */
+    private long[] t = new long[INITIAL_CAPACITY];
+
+    /**
+     * The number of points held by this
+     * {@link com.lunagameserve.acceleration.AccelerationCollection}.
+     */
+    private int size = 0;
+
+    /**
+     * The running extremes of each axis, kept up to date as points are
+     * added so that {@link #maxX()} and friends never need a full pass.
+     */
+    private float maxX;
+    private float minX;
+    private float maxY;
+    private float minY;
+    private float maxZ;
+    private float minZ;
 
     /**
      * The size, in bytes, of all useful serializable data included in this
@@ -39,7 +89,7 @@ public class AccelerationCollection extends NBTSerializableListAdapter {
      *            {@link com.lunagameserve.acceleration.AccelerationCollection}.
      */
     public int byteSize() {
-        return points.size() * AccelerationPoint.SIZE;
+        return size * AccelerationPoint.SIZE;
     }
 
     /**
@@ -50,12 +100,64 @@ public class AccelerationCollection extends NBTSerializableListAdapter {
      *           add.
      */
     public void addPoint(AccelerationPoint pt) {
-        this.points.add(pt);
+        addPoint(pt.getX(), pt.getY(), pt.getZ(), pt.getTimestamp());
+    }
+
+    /**
+     * Adds a single point, given by its raw values, to this
+     * {@link com.lunagameserve.acceleration.AccelerationCollection} without
+     * creating an {@link com.lunagameserve.acceleration.AccelerationPoint}.
+     *
+     * @param px The x-axis value of the point.
+     *
+     * @param py The y-axis value of the point.
+     *
+     * @param pz The z-axis value of the point.
+     *
+     * @param pt The timestamp of the point.
+     */
+    public void addPoint(float px, float py, float pz, long pt) {
+        ensureCapacity(size + 1);
+        x[size] = px;
+        y[size] = py;
+        z[size] = pz;
+        t[size] = pt;
+        track(size++);
+    }
+
+    /**
+     * Adds a run of points, given as parallel column sections, to this
+     * {@link com.lunagameserve.acceleration.AccelerationCollection}. Each
+     * column is copied across in a single step.
+     *
+     * @param xs The x-axis values of the points to add.
+     *
+     * @param ys The y-axis values of the points to add.
+     *
+     * @param zs The z-axis values of the points to add.
+     *
+     * @param ts The timestamps of the points to add.
+     *
+     * @param off The index in each column of the first point to add.
+     *
+     * @param len The number of points to add.
+     */
+    public void addPoints(float[] xs, float[] ys, float[] zs, long[] ts,
+                          int off, int len) {
+        ensureCapacity(size + len);
+        System.arraycopy(xs, off, x, size, len);
+        System.arraycopy(ys, off, y, size, len);
+        System.arraycopy(zs, off, z, size, len);
+        System.arraycopy(ts, off, t, size, len);
+        for (int i = 0; i < len; i++) {
+            track(size++);
+        }
     }
 
     /**
      * Gets an {@link com.lunagameserve.acceleration.AccelerationPoint} from
-     * this collection, given its index.
+     * this collection, given its index. The returned point is a copy; use
+     * {@link #getX(int)} and friends to read values without allocating.
      *
      * @param i The index of the
      *          {@link com.lunagameserve.acceleration.AccelerationPoint} to
@@ -69,7 +171,140 @@ public class AccelerationCollection extends NBTSerializableListAdapter {
      *                                             this collection.
      */
     public AccelerationPoint get(int i) {
-        return points.get(i);
+        checkIndex(i);
+        return new AccelerationPoint(new float[] {x[i], y[i], z[i]}, t[i]);
+    }
+
+    /**
+     * Gets the x-axis value of the point at a specified index.
+     *
+     * @param i The index of the point.
+     *
+     * @return The x-axis value of the point at index {@code i}.
+     *
+     * @throws java.lang.IndexOutOfBoundsException if {@code i} is out of
+     *                                             the bounds of this
+     *                                             collection.
+     */
+    public float getX(int i) {
+        checkIndex(i);
+        return x[i];
+    }
+
+    /**
+     * Gets the y-axis value of the point at a specified index.
+     *
+     * @param i The index of the point.
+     *
+     * @return The y-axis value of the point at index {@code i}.
+     *
+     * @throws java.lang.IndexOutOfBoundsException if {@code i} is out of
+     *                                             the bounds of this
+     *                                             collection.
+     */
+    public float getY(int i) {
+        checkIndex(i);
+        return y[i];
+    }
+
+    /**
+     * Gets the z-axis value of the point at a specified index.
+     *
+     * @param i The index of the point.
+     *
+     * @return The z-axis value of the point at index {@code i}.
+     *
+     * @throws java.lang.IndexOutOfBoundsException if {@code i} is out of
+     *                                             the bounds of this
+     *                                             collection.
+     */
+    public float getZ(int i) {
+        checkIndex(i);
+        return z[i];
+    }
+
+    /**
+     * Gets the timestamp of the point at a specified index.
+     *
+     * @param i The index of the point.
+     *
+     * @return The timestamp of the point at index {@code i}.
+     *
+     * @throws java.lang.IndexOutOfBoundsException if {@code i} is out of
+     *                                             the bounds of this
+     *                                             collection.
+     */
+    public long getTimestamp(int i) {
+        checkIndex(i);
+        return t[i];
+    }
+
+    /**
+     * Copies a run of x-axis values out of this
+     * {@link com.lunagameserve.acceleration.AccelerationCollection}.
+     *
+     * @param from The index of the first point to copy.
+     *
+     * @param dst The {@code float[]} to copy into.
+     *
+     * @param dstOff The index in {@code dst} of the first value to write.
+     *
+     * @param len The number of values to copy.
+     */
+    public void copyX(int from, float[] dst, int dstOff, int len) {
+        checkRange(from, len);
+        System.arraycopy(x, from, dst, dstOff, len);
+    }
+
+    /**
+     * Copies a run of y-axis values out of this
+     * {@link com.lunagameserve.acceleration.AccelerationCollection}.
+     *
+     * @param from The index of the first point to copy.
+     *
+     * @param dst The {@code float[]} to copy into.
+     *
+     * @param dstOff The index in {@code dst} of the first value to write.
+     *
+     * @param len The number of values to copy.
+     */
+    public void copyY(int from, float[] dst, int dstOff, int len) {
+        checkRange(from, len);
+        System.arraycopy(y, from, dst, dstOff, len);
+    }
+
+    /**
+     * Copies a run of z-axis values out of this
+     * {@link com.lunagameserve.acceleration.AccelerationCollection}.
+     *
+     * @param from The index of the first point to copy.
+     *
+     * @param dst The {@code float[]} to copy into.
+     *
+     * @param dstOff The index in {@code dst} of the first value to write.
+     *
+     * @param len The number of values to copy.
+     */
+    public void copyZ(int from, float[] dst, int dstOff, int len) {
+        checkRange(from, len);
+        System.arraycopy(z, from, dst, dstOff, len);
+    }
+
+    /**
+     * Copies a run of timestamps out of this
+     * {@link com.lunagameserve.acceleration.AccelerationCollection}.
+     *
+     * @param from The index of the first point to copy.
+     *
+     * @param dst The {@code long[]} to copy into.
+     *
+     * @param dstOff The index in {@code dst} of the first value to write.
+     *
+     * @param len The number of values to copy.
+     */
+    public void copyTimestamps(int from, long[] dst, int dstOff, int len) {
+        checkRange(from, len);
+        System.arraycopy(t, from, dst, dstOff, len);
     }
 
     /**
@@ -82,13 +317,8 @@ public class AccelerationCollection extends NBTSerializableListAdapter {
      *         {@link com.lunagameserve.acceleration.AccelerationCollection}.
      */
     public float maxX() {
-        float max = points.get(0).getX();
-        for (AccelerationPoint p : points) {
-            if (p.getX() > max) {
-                max = p.getX();
-            }
-        }
-        return max;
+        checkIndex(0);
+        return maxX;
     }
 
     /**
@@ -101,13 +331,8 @@ public class AccelerationCollection extends NBTSerializableListAdapter {
      *         {@link com.lunagameserve.acceleration.AccelerationCollection}.
      */
     public float minX() {
-        float min = points.get(0).getX();
-        for (AccelerationPoint p : points) {
-            if (p.getX() < min) {
-                min = p.getX();
-            }
-        }
-        return min;
+        checkIndex(0);
+        return minX;
     }
 
     /**
@@ -120,13 +345,8 @@ public class AccelerationCollection extends NBTSerializableListAdapter {
      *         {@link com.lunagameserve.acceleration.AccelerationCollection}.
      */
     public float maxY() {
-        float max = points.get(0).getY();
-        for (AccelerationPoint p : points) {
-            if (p.getY() > max) {
-                max = p.getY();
-            }
-        }
-        return max;
+        checkIndex(0);
+        return maxY;
     }
 
     /**
@@ -139,13 +359,8 @@ public class AccelerationCollection extends NBTSerializableListAdapter {
      *         {@link com.lunagameserve.acceleration.AccelerationCollection}.
      */
     public float minY() {
-        float min = points.get(0).getY();
-        for (AccelerationPoint p : points) {
-            if (p.getY() < min) {
-                min = p.getY();
-            }
-        }
-        return min;
+        checkIndex(0);
+        return minY;
     }
 
     /**
@@ -158,13 +373,8 @@ public class AccelerationCollection extends NBTSerializableListAdapter {
      *         {@link com.lunagameserve.acceleration.AccelerationCollection}.
      */
     public float maxZ() {
-        float max = points.get(0).getZ();
-        for (AccelerationPoint p : points) {
-            if (p.getZ() > max) {
-                max = p.getZ();
-            }
-        }
-        return max;
+        checkIndex(0);
+        return maxZ;
     }
 
     /**
@@ -177,13 +387,8 @@ public class AccelerationCollection extends NBTSerializableListAdapter {
      *         {@link com.lunagameserve.acceleration.AccelerationCollection}.
      */
     public float minZ() {
-        float min = points.get(0).getZ();
-        for (AccelerationPoint p : points) {
-            if (p.getZ() < min) {
-                min = p.getZ();
-            }
-        }
-        return min;
+        checkIndex(0);
+        return minZ;
     }
 
     /**
@@ -195,14 +400,14 @@ public class AccelerationCollection extends NBTSerializableListAdapter {
      * {@link com.lunagameserve.acceleration.AccelerationCollection}.
      */
     public int size() {
-        return points.size();
+        return size;
     }
 
     /** {@inheritDoc} */
     @Override
     protected Tag listItemToTag(int i) {
         try {
-            return points.get(i).toCompound();
+            return get(i).toCompound();
         } catch (NBTException e) {
             e.printStackTrace();
             return null;
@@ -214,13 +419,13 @@ public class AccelerationCollection extends NBTSerializableListAdapter {
     protected void listItemFromTag(int i, Tag tag) {
         AccelerationPoint pt = new AccelerationPoint();
         pt.fromCompound((Tag.Compound)tag);
-        points.add(pt);
+        addPoint(pt);
     }
 
     /** {@inheritDoc} */
     @Override
     protected int listItemCount() {
-        return points.size();
+        return size;
     }
 
     /** {@inheritDoc} */
@@ -242,9 +447,12 @@ public class AccelerationCollection extends NBTSerializableListAdapter {
      */
     public void writeAsBytes(OutputStream out) throws IOException {
         ByteWriter writer = new ByteWriter(out);
-        writer.writeInt(size());
-        for (int i = 0; i < size(); i++) {
-            points.get(i).writeAsBytes(out);
+        writer.writeInt(size);
+        for (int i = 0; i < size; i++) {
+            writer.writeFloat(x[i]);
+            writer.writeFloat(y[i]);
+            writer.writeFloat(z[i]);
+            writer.writeLong(t[i]);
         }
     }
 
@@ -264,12 +472,66 @@ public class AccelerationCollection extends NBTSerializableListAdapter {
      */
     public void readFromBytes(InputStream in) throws IOException {
         ByteReader reader = new ByteReader(in);
-        points.clear();
-        int size = reader.readInt();
-        for (int i = 0; i < size; i++) {
-            AccelerationPoint pt = new AccelerationPoint();
-            pt.readFromBytes(in);
-            addPoint(pt);
+        clear();
+        int count = reader.readInt();
+        ensureCapacity(count);
+        for (int i = 0; i < count; i++) {
+            float px = reader.readFloat();
+            float py = reader.readFloat();
+            float pz = reader.readFloat();
+            addPoint(px, py, pz, reader.readLong());
+        }
+    }
+
+    /**
+     * Writes an output sequence, which can be
+     * {@link #readColumnsFromBytes(java.io.InputStream)}, to a specified
+     * {@link java.io.OutputStream}. Unlike
+     * {@link #writeAsBytes(java.io.OutputStream)}, each column is written
+     * whole, one after another, so the x, y, z and timestamp columns are each
+     * copied out in bulk.
+     *
+     * @param out The {@link java.io.OutputStream} to write to. It is the
+     *            caller's responsibility to close this when necessary.
+     *
+     * @throws IOException if {@code out} cannot be written to for any reason.
+     */
+    public void writeColumnsAsBytes(OutputStream out) throws IOException {
+        ByteWriter writer = new ByteWriter(out);
+        writer.writeInt(size);
+        writer.writeFloats(x, 0, size);
+        writer.writeFloats(y, 0, size);
+        writer.writeFloats(z, 0, size);
+        writer.writeLongs(t, 0, size);
+    }
+
+    /**
+     * Reads an input sequence, which should have been written by
+     * {@link #writeColumnsAsBytes(java.io.OutputStream)}, from a specified
+     * {@link java.io.InputStream}. This
+     * {@link com.lunagameserve.acceleration.AccelerationCollection} is first
+     * {@link #clear()}ed, and each column is then read straight into place.
+     *
+     * @param in The {@link java.io.InputStream} to read from. It is the
+     *            caller's responsibility to close this when necessary.
+     *
+     * @throws IOException if {@code in} cannot be read from for any reason,
+     *                     or holds a negative number of points.
+     */
+    public void readColumnsFromBytes(InputStream in) throws IOException {
+        ByteReader reader = new ByteReader(in);
+        clear();
+        int count = reader.readInt();
+        if (count < 0) {
+            throw new IOException("Invalid point count: " + count);
+        }
+        ensureCapacity(count);
+        reader.readFloats(x, 0, count);
+        reader.readFloats(y, 0, count);
+        reader.readFloats(z, 0, count);
+        reader.readLongs(t, 0, count);
+        for (int i = 0; i < count; i++) {
+            track(size++);
         }
     }
 
@@ -278,8 +540,88 @@ public class AccelerationCollection extends NBTSerializableListAdapter {
      * {@link com.lunagameserve.acceleration.AccelerationPoint}s, essentially
      * making this
      * {@link com.lunagameserve.acceleration.AccelerationCollection} empty.
+     * The columns keep their capacity.
      */
     public void clear() {
-        this.points.clear();
+        this.size = 0;
+    }
+
+    /**
+     * Makes sure that every column has room for at least a specified number
+     * of points, growing them geometrically if not.
+     *
+     * @param capacity The number of points which must fit.
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity > x.length) {
+            int newCapacity = Math.max(capacity, x.length + (x.length >> 1));
+            x = Arrays.copyOf(x, newCapacity);
+            y = Arrays.copyOf(y, newCapacity);
+            z = Arrays.copyOf(z, newCapacity);
+            t = Arrays.copyOf(t, newCapacity);
+        }
+    }
+
+    /**
+     * Folds the point at a specified index into the running extremes of
+     * each axis. As with a scan of every point, a {@code NaN} after the
+     * first point never compares greater or less, so it is ignored.
+     *
+     * @param i The index of the point which has just been added.
+     */
+    private void track(int i) {
+        if (i == 0) {
+            maxX = minX = x[0];
+            maxY = minY = y[0];
+            maxZ = minZ = z[0];
+        } else {
+            if (x[i] > maxX) {
+                maxX = x[i];
+            }
+            if (x[i] < minX) {
+                minX = x[i];
+            }
+            if (y[i] > maxY) {
+                maxY = y[i];
+            }
+            if (y[i] < minY) {
+                minY = y[i];
+            }
+            if (z[i] > maxZ) {
+                maxZ = z[i];
+            }
+            if (z[i] < minZ) {
+                minZ = z[i];
+            }
+        }
+    }
+
+    /**
+     * Throws an {@link java.lang.IndexOutOfBoundsException} if a specified
+     * index does not refer to a held point.
+     *
+     * @param i The index to check.
+     */
+    private void checkIndex(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("Index: " + i +
+                                                ", Size: " + size);
+        }
+    }
+
+    /**
+     * Throws an {@link java.lang.IndexOutOfBoundsException} if a specified
+     * run of indices does not lie entirely within the held points.
+     *
+     * @param from The first index of the run.
+     *
+     * @param len The length of the run.
+     */
+    private void checkRange(int from, int len) {
+        if (from < 0 || len < 0 || from + len > size) {
+            throw new IndexOutOfBoundsException("Range: [" + from + ", " +
+                                                (from + len) + "), Size: " +
+                                                size);
+        }
     }
 }
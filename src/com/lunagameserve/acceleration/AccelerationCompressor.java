@@ -5,13 +5,12 @@ import android.graphics.Color;
 import android.graphics.Paint;
 import com.lunagameserve.compression.*;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.util.ArrayList;
 import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
 
 /**
  * An enumeration of both lossless and lossy floating point stream compression
@@ -20,7 +19,8 @@ import java.util.zip.GZIPOutputStream;
  * @author Six
  * @since March 2, 2015
  */
-public enum AccelerationCompressor {
+public enum AccelerationCompressor
+        implements Compressor<AccelerationCollection, AccelerationSeries> {
     /**
      * A {@link AccelerationCompressor} which performs no
      * compression. Used as a benchmark.
@@ -29,39 +29,34 @@ public enum AccelerationCompressor {
 
         /** {@inheritDoc} */
         @Override
-        public void write(OutputStream out, AccelerationCollection collection)
+        protected void encode(OutputStream out,
+                              AccelerationCollection collection,
+                              CodecOptions options)
                 throws IOException {
             ByteWriter writer = new ByteWriter(out);
+            writer.writeInt(collection.size());
             for (int i = 0; i < collection.size(); i++) {
-                writer.writeFloat(collection.get(i).getX());
-                writer.writeFloat(collection.get(i).getY());
-                writer.writeFloat(collection.get(i).getZ());
-                writer.writeLong(collection.get(i).getTimestamp());
+                writer.writeFloat(collection.getX(i));
+                writer.writeFloat(collection.getY(i));
+                writer.writeFloat(collection.getZ(i));
+                writer.writeLong(collection.getTimestamp(i));
             }
             out.close();
         }
 
         /** {@inheritDoc} */
         @Override
-        public void read(InputStream in) throws IOException {
-            super.read(in);
-            ArrayList<AccelerationPoint> list =
-                    new ArrayList<AccelerationPoint>();
-            float[] floats = new float[3];
-            long timestamp;
+        protected void decode(InputStream in, FloatSeries xPoints,
+                              FloatSeries yPoints, FloatSeries zPoints)
+                throws IOException {
+            super.decode(in, xPoints, yPoints, zPoints);
             ByteReader reader = new ByteReader(in);
-            while(in.available() > 0) {
-                for (int i = 0; i < 3; i++) {
-                    floats[i] = reader.readFloat();
-                }
-                timestamp = reader.readLong();
-                list.add(new AccelerationPoint(floats, timestamp));
-            }
-
-            for (AccelerationPoint p : list) {
-                xPoints.add(p.getX());
-                yPoints.add(p.getY());
-                zPoints.add(p.getZ());
+            int size = reader.readInt();
+            for (int i = 0; i < size; i++) {
+                xPoints.add(reader.readFloat());
+                yPoints.add(reader.readFloat());
+                zPoints.add(reader.readFloat());
+                reader.readLong();
             }
             in.close();
         }
@@ -71,46 +66,40 @@ public enum AccelerationCompressor {
      * the uncompressed data through a {@link java.util.zip.GZIPOutputStream}.
      */
     StandardGZip {
-        private ArrayList<AccelerationPoint> list =
-                new ArrayList<AccelerationPoint>();
 
         /** {@inheritDoc} */
         @Override
-        public void write(OutputStream rOut, AccelerationCollection collection)
+        protected void encode(OutputStream rOut,
+                              AccelerationCollection collection,
+                              CodecOptions options)
                 throws IOException {
-            GZIPOutputStream out = new GZIPOutputStream(rOut);
+            OutputStream out = options.deflateMode().open(rOut);
 
             ByteWriter writer = new ByteWriter(out);
+            writer.writeInt(collection.size());
             for (int i = 0; i < collection.size(); i++) {
-                writer.writeFloat(collection.get(i).getX());
-                writer.writeFloat(collection.get(i).getY());
-                writer.writeFloat(collection.get(i).getZ());
-                writer.writeLong(collection.get(i).getTimestamp());
+                writer.writeFloat(collection.getX(i));
+                writer.writeFloat(collection.getY(i));
+                writer.writeFloat(collection.getZ(i));
+                writer.writeLong(collection.getTimestamp(i));
             }
             out.close();
         }
 
         /** {@inheritDoc} */
         @Override
-        public void read(InputStream rIn) throws IOException {
-            super.read(rIn);
-            GZIPInputStream in = new GZIPInputStream(rIn);
-            list.clear();
-            float[] floats = new float[3];
-            long timestamp;
+        protected void decode(InputStream rIn, FloatSeries xPoints,
+                              FloatSeries yPoints, FloatSeries zPoints)
+                throws IOException {
+            super.decode(rIn, xPoints, yPoints, zPoints);
+            InputStream in = new GZIPInputStream(rIn);
             ByteReader reader = new ByteReader(in);
-            while(in.available() > 0) {
-                for (int i = 0; i < 3; i++) {
-                    floats[i] = reader.readFloat();
-                }
-                timestamp = reader.readLong();
-                list.add(new AccelerationPoint(floats, timestamp));
-            }
-
-            for (AccelerationPoint p : list) {
-                xPoints.add(p.getX());
-                yPoints.add(p.getY());
-                zPoints.add(p.getZ());
+            int size = reader.readInt();
+            for (int i = 0; i < size; i++) {
+                xPoints.add(reader.readFloat());
+                yPoints.add(reader.readFloat());
+                zPoints.add(reader.readFloat());
+                reader.readLong();
             }
             in.close();
         }
@@ -120,23 +109,18 @@ public enum AccelerationCompressor {
      * floating point value to a byte value.
      */
     ByteDownscaling {
-        float maxX;
-        float minX;
-        float maxY;
-        float minY;
-        float maxZ;
-        float minZ;
-
         /** {@inheritDoc} */
         @Override
-        public void write(OutputStream out, AccelerationCollection collection)
+        protected void encode(OutputStream out,
+                              AccelerationCollection collection,
+                              CodecOptions options)
                 throws IOException {
-            maxX = collection.maxX();
-            minX = collection.minX();
-            maxY = collection.maxY();
-            minY = collection.minY();
-            maxZ = collection.maxZ();
-            minZ = collection.minZ();
+            float maxX = collection.maxX();
+            float minX = collection.minX();
+            float maxY = collection.maxY();
+            float minY = collection.minY();
+            float maxZ = collection.maxZ();
+            float minZ = collection.minZ();
 
             ByteWriter writer = new ByteWriter(out);
             writer.writeFloat(maxX);
@@ -145,15 +129,16 @@ public enum AccelerationCompressor {
             writer.writeFloat(minY);
             writer.writeFloat(maxZ);
             writer.writeFloat(minZ);
+            writer.writeInt(collection.size());
 
             for (int i = 0; i < collection.size(); i++) {
-                out.write(generatePoint(collection.get(i).getX(),
+                out.write(generatePoint(collection.getX(i),
                                         minX, maxX - minX));
 
-                out.write(generatePoint(collection.get(i).getY(),
+                out.write(generatePoint(collection.getY(i),
                         minY, maxY - minY));
 
-                out.write(generatePoint(collection.get(i).getZ(),
+                out.write(generatePoint(collection.getZ(i),
                         minZ, maxZ - minZ));
 
             }
@@ -172,20 +157,25 @@ public enum AccelerationCompressor {
 
         /** {@inheritDoc} */
         @Override
-        public void read(InputStream in) throws IOException {
-            super.read(in);
+        protected void decode(InputStream in, FloatSeries xPoints,
+                              FloatSeries yPoints, FloatSeries zPoints)
+                throws IOException {
+            super.decode(in, xPoints, yPoints, zPoints);
             ByteReader reader = new ByteReader(in);
-            maxX = reader.readFloat();
-            minX = reader.readFloat();
-            maxY = reader.readFloat();
-            minY = reader.readFloat();
-            maxZ = reader.readFloat();
-            minZ = reader.readFloat();
-
-            while (in.available() > 0) {
-                xPoints.add(fromPoint((byte)in.read(), minX, maxX - minX));
-                yPoints.add(fromPoint((byte)in.read(), minY, maxY - minY));
-                zPoints.add(fromPoint((byte)in.read(), minZ, maxZ - minZ));
+            float maxX = reader.readFloat();
+            float minX = reader.readFloat();
+            float maxY = reader.readFloat();
+            float minY = reader.readFloat();
+            float maxZ = reader.readFloat();
+            float minZ = reader.readFloat();
+
+            int size = reader.readInt();
+            byte[] point = new byte[3];
+            for (int i = 0; i < size; i++) {
+                reader.readFully(point, 0, 3);
+                xPoints.add(fromPoint(point[0], minX, maxX - minX));
+                yPoints.add(fromPoint(point[1], minY, maxY - minY));
+                zPoints.add(fromPoint(point[2], minZ, maxZ - minZ));
             }
             in.close();
         }
@@ -196,24 +186,19 @@ public enum AccelerationCompressor {
      * {@link java.util.zip.GZIPOutputStream}.
      */
     ByteDownscalingGZip {
-        float maxX;
-        float minX;
-        float maxY;
-        float minY;
-        float maxZ;
-        float minZ;
-
         /** {@inheritDoc} */
         @Override
-        public void write(OutputStream rOut, AccelerationCollection collection)
+        protected void encode(OutputStream rOut,
+                              AccelerationCollection collection,
+                              CodecOptions options)
                 throws IOException {
-            GZIPOutputStream out = new GZIPOutputStream(rOut);
-            maxX = collection.maxX();
-            minX = collection.minX();
-            maxY = collection.maxY();
-            minY = collection.minY();
-            maxZ = collection.maxZ();
-            minZ = collection.minZ();
+            OutputStream out = options.deflateMode().open(rOut);
+            float maxX = collection.maxX();
+            float minX = collection.minX();
+            float maxY = collection.maxY();
+            float minY = collection.minY();
+            float maxZ = collection.maxZ();
+            float minZ = collection.minZ();
 
             ByteWriter writer = new ByteWriter(out);
             writer.writeFloat(maxX);
@@ -222,15 +207,16 @@ public enum AccelerationCompressor {
             writer.writeFloat(minY);
             writer.writeFloat(maxZ);
             writer.writeFloat(minZ);
+            writer.writeInt(collection.size());
 
             for (int i = 0; i < collection.size(); i++) {
-                out.write(generatePoint(collection.get(i).getX(),
+                out.write(generatePoint(collection.getX(i),
                         minX, maxX - minX));
 
-                out.write(generatePoint(collection.get(i).getY(),
+                out.write(generatePoint(collection.getY(i),
                         minY, maxY - minY));
 
-                out.write(generatePoint(collection.get(i).getZ(),
+                out.write(generatePoint(collection.getZ(i),
                         minZ, maxZ - minZ));
 
             }
@@ -249,21 +235,26 @@ public enum AccelerationCompressor {
 
         /** {@inheritDoc} */
         @Override
-        public void read(InputStream rIn) throws IOException {
-            super.read(rIn);
-            GZIPInputStream in = new GZIPInputStream(rIn);
+        protected void decode(InputStream rIn, FloatSeries xPoints,
+                              FloatSeries yPoints, FloatSeries zPoints)
+                throws IOException {
+            super.decode(rIn, xPoints, yPoints, zPoints);
+            InputStream in = new GZIPInputStream(rIn);
             ByteReader reader = new ByteReader(in);
-            maxX = reader.readFloat();
-            minX = reader.readFloat();
-            maxY = reader.readFloat();
-            minY = reader.readFloat();
-            maxZ = reader.readFloat();
-            minZ = reader.readFloat();
-
-            while (in.available() > 0) {
-                xPoints.add(fromPoint((byte)in.read(), minX, maxX - minX));
-                yPoints.add(fromPoint((byte)in.read(), minY, maxY - minY));
-                zPoints.add(fromPoint((byte)in.read(), minZ, maxZ - minZ));
+            float maxX = reader.readFloat();
+            float minX = reader.readFloat();
+            float maxY = reader.readFloat();
+            float minY = reader.readFloat();
+            float maxZ = reader.readFloat();
+            float minZ = reader.readFloat();
+
+            int size = reader.readInt();
+            byte[] point = new byte[3];
+            for (int i = 0; i < size; i++) {
+                reader.readFully(point, 0, 3);
+                xPoints.add(fromPoint(point[0], minX, maxX - minX));
+                yPoints.add(fromPoint(point[1], minY, maxY - minY));
+                zPoints.add(fromPoint(point[2], minZ, maxZ - minZ));
             }
             in.close();
         }
@@ -273,23 +264,18 @@ public enum AccelerationCompressor {
      * floating point value to a nybble value.
      */
     NybbleDownsampling {
-        float maxX;
-        float minX;
-        float maxY;
-        float minY;
-        float maxZ;
-        float minZ;
-
         /** {@inheritDoc} */
         @Override
-        public void write(OutputStream out, AccelerationCollection collection)
+        protected void encode(OutputStream out,
+                              AccelerationCollection collection,
+                              CodecOptions options)
                 throws IOException {
-            maxX = collection.maxX();
-            minX = collection.minX();
-            maxY = collection.maxY();
-            minY = collection.minY();
-            maxZ = collection.maxZ();
-            minZ = collection.minZ();
+            float maxX = collection.maxX();
+            float minX = collection.minX();
+            float maxY = collection.maxY();
+            float minY = collection.minY();
+            float maxZ = collection.maxZ();
+            float minZ = collection.minZ();
 
             BitWriter bwrite = new BitWriter(out);
             ByteWriter writer = new ByteWriter(bwrite);
@@ -299,21 +285,22 @@ public enum AccelerationCompressor {
             writer.writeFloat(minY);
             writer.writeFloat(maxZ);
             writer.writeFloat(minZ);
+            writer.writeInt(collection.size());
 
             for (int i = 0; i < collection.size(); i++) {
                 byte nyb = (byte)(
-                        (generatePoint(collection.get(i).getX(),
+                        (generatePoint(collection.getX(i),
                                 minX, maxX - minX) >> NYBBLE_LEFT));
                 bwrite.writeBits(nyb, NYBBLE_SIZE);
 
                 bwrite.writeBits(
                         generatePoint(
-                                collection.get(i).getY(),
+                                collection.getY(i),
                                 minY, maxY - minY) >> NYBBLE_LEFT, NYBBLE_SIZE);
 
                 bwrite.writeBits(
                         generatePoint(
-                                collection.get(i).getZ(),
+                                collection.getZ(i),
                                 minZ, maxZ - minZ) >> NYBBLE_LEFT, NYBBLE_SIZE);
             }
             writer.close();
@@ -359,25 +346,28 @@ public enum AccelerationCompressor {
 
         /** {@inheritDoc} */
         @Override
-        public void read(InputStream in) throws IOException {
-            super.read(in);
+        protected void decode(InputStream in, FloatSeries xPoints,
+                              FloatSeries yPoints, FloatSeries zPoints)
+                throws IOException {
+            super.decode(in, xPoints, yPoints, zPoints);
             BitReader bread = new BitReader(in);
             ByteReader reader = new ByteReader(bread);
-            maxX = reader.readFloat();
-            minX = reader.readFloat();
-            maxY = reader.readFloat();
-            minY = reader.readFloat();
-            maxZ = reader.readFloat();
-            minZ = reader.readFloat();
-
-            while (in.available() > 0) {
-                xPoints.add(fromPoint((byte)(bread.readBits(NYBBLE_SIZE) <<
+            float maxX = reader.readFloat();
+            float minX = reader.readFloat();
+            float maxY = reader.readFloat();
+            float minY = reader.readFloat();
+            float maxZ = reader.readFloat();
+            float minZ = reader.readFloat();
+            int size = reader.readInt();
+
+            for (int i = 0; i < size; i++) {
+                xPoints.add(fromPoint((byte)((int)bread.readLongBits(NYBBLE_SIZE) <<
                                 NYBBLE_LEFT),
                         minX, maxX - minX));
-                yPoints.add(fromPoint((byte)(bread.readBits(NYBBLE_SIZE) <<
+                yPoints.add(fromPoint((byte)((int)bread.readLongBits(NYBBLE_SIZE) <<
                                 NYBBLE_LEFT),
                         minY, maxY - minY));
-                zPoints.add(fromPoint((byte)(bread.readBits(NYBBLE_SIZE) <<
+                zPoints.add(fromPoint((byte)((int)bread.readLongBits(NYBBLE_SIZE) <<
                                 NYBBLE_LEFT),
                         minZ, maxZ - minZ));
             }
@@ -390,24 +380,19 @@ public enum AccelerationCompressor {
      * {@link java.util.zip.GZIPOutputStream}.
      */
     NybbleDownsamplingGZip {
-        float maxX;
-        float minX;
-        float maxY;
-        float minY;
-        float maxZ;
-        float minZ;
-
         /** {@inheritDoc} */
         @Override
-        public void write(OutputStream rOut, AccelerationCollection collection)
+        protected void encode(OutputStream rOut,
+                              AccelerationCollection collection,
+                              CodecOptions options)
                 throws IOException {
-            GZIPOutputStream out = new GZIPOutputStream(rOut);
-            maxX = collection.maxX();
-            minX = collection.minX();
-            maxY = collection.maxY();
-            minY = collection.minY();
-            maxZ = collection.maxZ();
-            minZ = collection.minZ();
+            OutputStream out = options.deflateMode().open(rOut);
+            float maxX = collection.maxX();
+            float minX = collection.minX();
+            float maxY = collection.maxY();
+            float minY = collection.minY();
+            float maxZ = collection.maxZ();
+            float minZ = collection.minZ();
 
             BitWriter bwrite = new BitWriter(out);
             ByteWriter writer = new ByteWriter(bwrite);
@@ -417,21 +402,22 @@ public enum AccelerationCompressor {
             writer.writeFloat(minY);
             writer.writeFloat(maxZ);
             writer.writeFloat(minZ);
+            writer.writeInt(collection.size());
 
             for (int i = 0; i < collection.size(); i++) {
                 byte nyb = (byte)(
-                        (generatePoint(collection.get(i).getX(),
+                        (generatePoint(collection.getX(i),
                                 minX, maxX - minX) >> NYBBLE_LEFT));
                 bwrite.writeBits(nyb, NYBBLE_SIZE);
 
                 bwrite.writeBits(
                         generatePoint(
-                                collection.get(i).getY(),
+                                collection.getY(i),
                                 minY, maxY - minY) >> NYBBLE_LEFT, NYBBLE_SIZE);
 
                 bwrite.writeBits(
                         generatePoint(
-                                collection.get(i).getZ(),
+                                collection.getZ(i),
                                 minZ, maxZ - minZ) >> NYBBLE_LEFT, NYBBLE_SIZE);
             }
             writer.close();
@@ -477,37 +463,143 @@ public enum AccelerationCompressor {
 
         /** {@inheritDoc} */
         @Override
-        public void read(InputStream rIn) throws IOException {
-            super.read(rIn);
-            GZIPInputStream in = new GZIPInputStream(rIn);
+        protected void decode(InputStream rIn, FloatSeries xPoints,
+                              FloatSeries yPoints, FloatSeries zPoints)
+                throws IOException {
+            super.decode(rIn, xPoints, yPoints, zPoints);
+            InputStream in = new GZIPInputStream(rIn);
             BitReader bread = new BitReader(in);
             ByteReader reader = new ByteReader(bread);
-            maxX = reader.readFloat();
-            minX = reader.readFloat();
-            maxY = reader.readFloat();
-            minY = reader.readFloat();
-            maxZ = reader.readFloat();
-            minZ = reader.readFloat();
-
-            while (in.available() > 0) {
-                xPoints.add(fromPoint((byte)(bread.readBits(NYBBLE_SIZE) <<
+            float maxX = reader.readFloat();
+            float minX = reader.readFloat();
+            float maxY = reader.readFloat();
+            float minY = reader.readFloat();
+            float maxZ = reader.readFloat();
+            float minZ = reader.readFloat();
+            int size = reader.readInt();
+
+            for (int i = 0; i < size; i++) {
+                xPoints.add(fromPoint((byte)((int)bread.readLongBits(NYBBLE_SIZE) <<
                                 NYBBLE_LEFT),
                         minX, maxX - minX));
-                yPoints.add(fromPoint((byte)(bread.readBits(NYBBLE_SIZE) <<
+                yPoints.add(fromPoint((byte)((int)bread.readLongBits(NYBBLE_SIZE) <<
                                 NYBBLE_LEFT),
                         minY, maxY - minY));
-                zPoints.add(fromPoint((byte)(bread.readBits(NYBBLE_SIZE) <<
+                zPoints.add(fromPoint((byte)((int)bread.readLongBits(NYBBLE_SIZE) <<
                                 NYBBLE_LEFT),
                         minZ, maxZ - minZ));
             }
             reader.close();
         }
     },
+    /**
+     * A lossless {@link AccelerationCompressor} which XORs each axis value
+     * with the previous value on the same axis, and writes only the
+     * meaningful bits of the result, in the style of Facebook's Gorilla.
+     */
+    GorillaXor {
+
+        /** {@inheritDoc} */
+        @Override
+        protected void encode(OutputStream out,
+                              AccelerationCollection collection,
+                              CodecOptions options)
+                throws IOException {
+            BitWriter bwrite = new BitWriter(out);
+            ByteWriter writer = new ByteWriter(bwrite);
+            writer.writeInt(collection.size());
+
+            XorFloatWriter x = new XorFloatWriter(bwrite);
+            XorFloatWriter y = new XorFloatWriter(bwrite);
+            XorFloatWriter z = new XorFloatWriter(bwrite);
+            for (int i = 0; i < collection.size(); i++) {
+                x.writeFloat(collection.getX(i));
+                y.writeFloat(collection.getY(i));
+                z.writeFloat(collection.getZ(i));
+            }
+            writer.close();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void decode(InputStream in, FloatSeries xPoints,
+                              FloatSeries yPoints, FloatSeries zPoints)
+                throws IOException {
+            super.decode(in, xPoints, yPoints, zPoints);
+            BitReader bread = new BitReader(in);
+            ByteReader reader = new ByteReader(bread);
+            int size = reader.readInt();
+
+            XorFloatReader x = new XorFloatReader(bread);
+            XorFloatReader y = new XorFloatReader(bread);
+            XorFloatReader z = new XorFloatReader(bread);
+            for (int i = 0; i < size; i++) {
+                xPoints.add(x.readFloat());
+                yPoints.add(y.readFloat());
+                zPoints.add(z.readFloat());
+            }
+            reader.close();
+        }
+    },
+    /**
+     * A {@link AccelerationCompressor} which downscales each floating point
+     * value to a byte value, like {@link #ByteDownscaling}, but against the
+     * range of its own block of points rather than the range of the whole
+     * collection.
+     */
+    ByteDownscalingFramed {
+
+        /** {@inheritDoc} */
+        @Override
+        protected void encode(OutputStream out,
+                              AccelerationCollection collection,
+                              CodecOptions options)
+                throws IOException {
+            writeBlocks(out, collection, 8);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void decode(InputStream in, FloatSeries xPoints,
+                              FloatSeries yPoints, FloatSeries zPoints)
+                throws IOException {
+            super.decode(in, xPoints, yPoints, zPoints);
+            readBlocks(in, 8, xPoints, yPoints, zPoints);
+        }
+    },
+    /**
+     * A {@link AccelerationCompressor} which downscales each floating point
+     * value to a nybble value, like {@link #NybbleDownsampling}, but against
+     * the range of its own block of points rather than the range of the
+     * whole collection.
+     */
+    NybbleDownsamplingFramed {
+
+        /** {@inheritDoc} */
+        @Override
+        protected void encode(OutputStream out,
+                              AccelerationCollection collection,
+                              CodecOptions options)
+                throws IOException {
+            writeBlocks(out, collection, NYBBLE_SIZE);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void decode(InputStream in, FloatSeries xPoints,
+                              FloatSeries yPoints, FloatSeries zPoints)
+                throws IOException {
+            super.decode(in, xPoints, yPoints, zPoints);
+            readBlocks(in, NYBBLE_SIZE, xPoints, yPoints, zPoints);
+        }
+    },
     RotationRunLength {
         @Override
-        public void write(OutputStream rOut, AccelerationCollection collection)
+        protected void encode(OutputStream rOut,
+                              AccelerationCollection collection,
+                              CodecOptions options)
                 throws IOException {
-            GZIPOutputStream out = new GZIPOutputStream(rOut);
+            OutputStream out = options.deflateMode().open(rOut);
             BitWriter writer = new BitWriter(out);
             ByteWriter bwrite = new ByteWriter(writer);
 
@@ -522,9 +614,9 @@ public enum AccelerationCompressor {
             float binSize = (float)((Math.PI * 2) / Math.pow(2, NYBBLE_SIZE));
 
             for (int i = 0; i < collection.size(); i++) {
-                int newXBin = (int)(collection.get(i).getX() / binSize);
-                int newYBin = (int)(collection.get(i).getY() / binSize);
-                int newZBin = (int)(collection.get(i).getZ() / binSize);
+                int newXBin = (int)(collection.getX(i) / binSize);
+                int newYBin = (int)(collection.getY(i) / binSize);
+                int newZBin = (int)(collection.getZ(i) / binSize);
 
                 if (newXBin == currentXBin) {
                     xBinCount++;
@@ -559,10 +651,16 @@ public enum AccelerationCompressor {
             if (zBinCount > 0) {
                 writeBin(writer, bwrite, currentZBin, zBinCount, 2);
             }
+            writer.writeBits(END_OF_RUNS, 2);
 
             bwrite.close();
         }
 
+        /**
+         * The header which follows the last run, as no axis uses it.
+         */
+        private static final int END_OF_RUNS = 3;
+
         void writeBin(BitWriter w, ByteWriter b,
                       int amplitude, int binCount, int header)
             throws IOException {
@@ -583,34 +681,35 @@ public enum AccelerationCompressor {
         }
 
         @Override
-        public void read(InputStream rIn) throws IOException {
-            super.read(rIn);
-            GZIPInputStream in = new GZIPInputStream(rIn);
+        protected void decode(InputStream rIn, FloatSeries xPoints,
+                              FloatSeries yPoints, FloatSeries zPoints)
+                throws IOException {
+            super.decode(rIn, xPoints, yPoints, zPoints);
+            InputStream in = new GZIPInputStream(rIn);
             BitReader reader = new BitReader(in);
             ByteReader bread = new ByteReader(reader);
 
 
             float binSize = (float)((Math.PI * 2) / Math.pow(2, NYBBLE_SIZE));
 
-            ArrayList<Float> currentBuffer;
-            while (in.available() > 0) {
+            FloatSeries currentBuffer;
+            int header;
+            while ((header = (int)reader.readLongBits(2)) != END_OF_RUNS) {
                 /* Parse the header */
-                switch (reader.readBits(2)) {
+                switch (header) {
                     case 0: currentBuffer = xPoints; break;
                     case 1: currentBuffer = yPoints; break;
-                    case 2: currentBuffer = zPoints; break;
-                    default:
-                        throw new IllegalStateException("Should not read 4");
+                    default: currentBuffer = zPoints; break;
                 }
 
                 /* Read and convert relative height */
-                float height = binSize * reader.readBits(NYBBLE_SIZE);
+                float height = binSize * reader.readLongBits(NYBBLE_SIZE);
                 int length;
 
-                if (reader.readBit() == 1) {
+                if (reader.readLongBits(1) == 1) {
                     length = bread.readShort();
                 } else {
-                    length = reader.read();
+                    length = (int)reader.readLongBits(8);
                 }
 
                 for (int i = 0; i < length; i++) {
@@ -620,6 +719,510 @@ public enum AccelerationCompressor {
 
             bread.close();
         }
+    },
+    /**
+     * A {@link AccelerationCompressor} which splits points into blocks and
+     * writes each with whichever lossless compressor suits it best, as
+     * chosen by a default
+     * {@link com.lunagameserve.acceleration.AccelerationAdaptiveEncoder}.
+     */
+    Adaptive {
+
+        /** {@inheritDoc} */
+        @Override
+        protected void encode(OutputStream out,
+                              AccelerationCollection collection,
+                              CodecOptions options)
+                throws IOException {
+            new AccelerationAdaptiveEncoder().write(out, collection, options);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void decode(InputStream in, FloatSeries xPoints,
+                              FloatSeries yPoints, FloatSeries zPoints)
+                throws IOException {
+            super.decode(in, xPoints, yPoints, zPoints);
+            AccelerationAdaptiveEncoder.read(in, xPoints, yPoints, zPoints);
+        }
+    },
+    /**
+     * A {@link AccelerationCompressor} which quantizes each floating point
+     * value to a byte value, like {@link #ByteDownscaling}, but writes the
+     * zig-zag encoded difference from the previous value on the same axis
+     * as a varint of nybbles.
+     */
+    ByteDownscalingDelta {
+
+        /** {@inheritDoc} */
+        @Override
+        protected void encode(OutputStream out,
+                              AccelerationCollection collection,
+                              CodecOptions options)
+                throws IOException {
+            writeDeltas(out, collection, 0, 3);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void decode(InputStream in, FloatSeries xPoints,
+                              FloatSeries yPoints, FloatSeries zPoints)
+                throws IOException {
+            super.decode(in, xPoints, yPoints, zPoints);
+            readDeltas(in, 0, 3, xPoints, yPoints, zPoints);
+        }
+    },
+    /**
+     * A {@link AccelerationCompressor} which quantizes each floating point
+     * value to a nybble value, like {@link #NybbleDownsampling}, but writes
+     * the zig-zag encoded difference from the previous value on the same
+     * axis as a varint of single bits, so an unchanged value costs two bits.
+     */
+    NybbleDownsamplingDelta {
+
+        /** {@inheritDoc} */
+        @Override
+        protected void encode(OutputStream out,
+                              AccelerationCollection collection,
+                              CodecOptions options)
+                throws IOException {
+            writeDeltas(out, collection, NYBBLE_LEFT, 1);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void decode(InputStream in, FloatSeries xPoints,
+                              FloatSeries yPoints, FloatSeries zPoints)
+                throws IOException {
+            super.decode(in, xPoints, yPoints, zPoints);
+            readDeltas(in, NYBBLE_LEFT, 1, xPoints, yPoints, zPoints);
+        }
+    },
+    /**
+     * A {@link AccelerationCompressor} which quantizes each floating point
+     * value to a nybble value, like {@link #NybbleDownsampling}, then codes
+     * the zig-zag encoded difference from the previous value on the same
+     * axis with a {@link com.lunagameserve.compression.RansWriter} instead
+     * of GZIP.
+     */
+    NybbleDownsamplingRans {
+
+        /**
+         * The alphabet of every axis, which holds every zig-zag encoded
+         * difference between two nybble values.
+         */
+        private static final int ALPHABET = 2 << NYBBLE_SIZE;
+
+        /** {@inheritDoc} */
+        @Override
+        protected void encode(OutputStream out,
+                              AccelerationCollection collection,
+                              CodecOptions options)
+                throws IOException {
+            float maxX = collection.maxX();
+            float minX = collection.minX();
+            float maxY = collection.maxY();
+            float minY = collection.minY();
+            float maxZ = collection.maxZ();
+            float minZ = collection.minZ();
+
+            BitWriter bwrite = new BitWriter(out);
+            ByteWriter writer = new ByteWriter(bwrite);
+            writer.writeFloat(maxX);
+            writer.writeFloat(minX);
+            writer.writeFloat(maxY);
+            writer.writeFloat(minY);
+            writer.writeFloat(maxZ);
+            writer.writeFloat(minZ);
+            writer.writeInt(collection.size());
+
+            RansWriter rans =
+                    new RansWriter(bwrite, ALPHABET, ALPHABET, ALPHABET);
+            int x = 0;
+            int y = 0;
+            int z = 0;
+            for (int i = 0; i < collection.size(); i++) {
+                x = writeAxis(rans, 0, x,
+                              quantize(collection.getX(i), minX, maxX - minX));
+                y = writeAxis(rans, 1, y,
+                              quantize(collection.getY(i), minY, maxY - minY));
+                z = writeAxis(rans, 2, z,
+                              quantize(collection.getZ(i), minZ, maxZ - minZ));
+            }
+            rans.finish();
+            writer.close();
+        }
+
+        /**
+         * Writes the difference between a nybble value and the one before
+         * it on the same axis.
+         *
+         * @param rans The {@link com.lunagameserve.compression.RansWriter}
+         *             to write to.
+         *
+         * @param axis The model of the axis.
+         *
+         * @param previous The previous nybble value on the axis.
+         *
+         * @param quantized The value, quantized to a byte.
+         *
+         * @return The nybble value written.
+         */
+        private int writeAxis(RansWriter rans, int axis, int previous,
+                              int quantized) {
+            int nybble = quantized >> NYBBLE_LEFT;
+            rans.writeSymbol(axis, ZigZagDeltaWriter.zigZag(nybble - previous));
+            return nybble;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void decode(InputStream in, FloatSeries xPoints,
+                              FloatSeries yPoints, FloatSeries zPoints)
+                throws IOException {
+            super.decode(in, xPoints, yPoints, zPoints);
+            BitReader bread = new BitReader(in);
+            ByteReader reader = new ByteReader(bread);
+            float maxX = reader.readFloat();
+            float minX = reader.readFloat();
+            float maxY = reader.readFloat();
+            float minY = reader.readFloat();
+            float maxZ = reader.readFloat();
+            float minZ = reader.readFloat();
+            int size = reader.readInt();
+
+            RansReader rans =
+                    new RansReader(bread, ALPHABET, ALPHABET, ALPHABET);
+            int x = 0;
+            int y = 0;
+            int z = 0;
+            for (int i = 0; i < size; i++) {
+                x += ZigZagDeltaReader.unZigZag(rans.readSymbol(0));
+                y += ZigZagDeltaReader.unZigZag(rans.readSymbol(1));
+                z += ZigZagDeltaReader.unZigZag(rans.readSymbol(2));
+                xPoints.add(dequantize(x << NYBBLE_LEFT, minX, maxX - minX));
+                yPoints.add(dequantize(y << NYBBLE_LEFT, minY, maxY - minY));
+                zPoints.add(dequantize(z << NYBBLE_LEFT, minZ, maxZ - minZ));
+            }
+            reader.close();
+        }
+    },
+    /**
+     * A {@link AccelerationCompressor} which writes runs of rotation bins
+     * like {@link #RotationRunLength}, but codes each run's axis, bin and
+     * length with a {@link com.lunagameserve.compression.RansWriter} instead
+     * of GZIP. Each run holds every point of its bin, so no points are
+     * lost.
+     */
+    RotationRunLengthRans {
+
+        /**
+         * The model of the axis of each run, which is also used for
+         * {@link #END_OF_RUNS}.
+         */
+        private static final int HEADER = 0;
+
+        /**
+         * The model of the bin of each run.
+         */
+        private static final int AMPLITUDE = 1;
+
+        /**
+         * The model of the length of each run. Lengths from
+         * {@link #LONG_RUN} up are written as {@link #LONG_RUN} followed by
+         * 24 raw bits.
+         */
+        private static final int LENGTH = 2;
+
+        /**
+         * The header which follows the last run, as no axis uses it.
+         */
+        private static final int END_OF_RUNS = 3;
+
+        /**
+         * The shortest run length which is written as raw bits.
+         */
+        private static final int LONG_RUN = 255;
+
+        /**
+         * The longest run which may be written. Longer runs are split.
+         */
+        private static final int MAX_RUN = (1 << 24) - 1;
+
+        /** {@inheritDoc} */
+        @Override
+        protected void encode(OutputStream out,
+                              AccelerationCollection collection,
+                              CodecOptions options)
+                throws IOException {
+            BitWriter bwrite = new BitWriter(out);
+            RansWriter rans = new RansWriter(bwrite, 4, 1 << NYBBLE_SIZE,
+                                             LONG_RUN + 1);
+            float binSize = (float)((Math.PI * 2) / Math.pow(2, NYBBLE_SIZE));
+
+            int[] bins = new int[3];
+            int[] runs = new int[3];
+            for (int i = 0; i < collection.size(); i++) {
+                for (int axis = 0; axis < 3; axis++) {
+                    float value = axis == 0 ? collection.getX(i)
+                                : axis == 1 ? collection.getY(i)
+                                : collection.getZ(i);
+                    int bin = (int)(value / binSize);
+                    if (runs[axis] > 0 &&
+                        (bin != bins[axis] || runs[axis] == MAX_RUN)) {
+                        writeRun(rans, axis, bins[axis], runs[axis]);
+                        runs[axis] = 0;
+                    }
+                    bins[axis] = bin;
+                    runs[axis]++;
+                }
+            }
+            for (int axis = 0; axis < 3; axis++) {
+                if (runs[axis] > 0) {
+                    writeRun(rans, axis, bins[axis], runs[axis]);
+                }
+            }
+            rans.writeSymbol(HEADER, END_OF_RUNS);
+            rans.finish();
+            bwrite.close();
+        }
+
+        /**
+         * Writes a single run.
+         *
+         * @param rans The {@link com.lunagameserve.compression.RansWriter}
+         *             to write to.
+         *
+         * @param axis The axis of the run.
+         *
+         * @param bin The bin every point of the run falls in. Only its low
+         *            {@link #NYBBLE_SIZE} bits are kept, as by
+         *            {@link #RotationRunLength}.
+         *
+         * @param length The number of points in the run.
+         */
+        private void writeRun(RansWriter rans, int axis, int bin,
+                              int length) {
+            rans.writeSymbol(HEADER, axis);
+            rans.writeSymbol(AMPLITUDE, bin & ((1 << NYBBLE_SIZE) - 1));
+            if (length < LONG_RUN) {
+                rans.writeSymbol(LENGTH, length);
+            } else {
+                rans.writeSymbol(LENGTH, LONG_RUN);
+                rans.writeBits(length, 12);
+                rans.writeBits(length >>> 12, 12);
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void decode(InputStream in, FloatSeries xPoints,
+                              FloatSeries yPoints, FloatSeries zPoints)
+                throws IOException {
+            super.decode(in, xPoints, yPoints, zPoints);
+            BitReader bread = new BitReader(in);
+            RansReader rans = new RansReader(bread, 4, 1 << NYBBLE_SIZE,
+                                             LONG_RUN + 1);
+            float binSize = (float)((Math.PI * 2) / Math.pow(2, NYBBLE_SIZE));
+
+            FloatSeries[] axes = {xPoints, yPoints, zPoints};
+            int axis;
+            while ((axis = rans.readSymbol(HEADER)) != END_OF_RUNS) {
+                float height = binSize * rans.readSymbol(AMPLITUDE);
+                int length = rans.readSymbol(LENGTH);
+                if (length == LONG_RUN) {
+                    length = rans.readBits(12);
+                    length |= rans.readBits(12) << 12;
+                }
+                for (int i = 0; i < length; i++) {
+                    axes[axis].add(height);
+                }
+            }
+            bread.close();
+        }
+    },
+    /**
+     * A {@link AccelerationCompressor} which quantizes each floating point
+     * value to a byte value, like {@link #ByteDownscaling}, then codes it
+     * with an adaptive range coder whose contexts follow the previous value
+     * of the same axis and the current values of the other axes, through a
+     * {@link com.lunagameserve.compression.ContextModel}.
+     */
+    ByteDownscalingContext {
+
+        /** {@inheritDoc} */
+        @Override
+        protected void encode(OutputStream out,
+                              AccelerationCollection collection,
+                              CodecOptions options)
+                throws IOException {
+            writeContext(out, collection, 0);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void decode(InputStream in, FloatSeries xPoints,
+                              FloatSeries yPoints, FloatSeries zPoints)
+                throws IOException {
+            super.decode(in, xPoints, yPoints, zPoints);
+            readContext(in, 0, xPoints, yPoints, zPoints);
+        }
+    },
+    /**
+     * A {@link AccelerationCompressor} which quantizes each floating point
+     * value to a nybble value, like {@link #NybbleDownsampling}, then codes
+     * it like {@link #ByteDownscalingContext}.
+     */
+    NybbleDownsamplingContext {
+
+        /** {@inheritDoc} */
+        @Override
+        protected void encode(OutputStream out,
+                              AccelerationCollection collection,
+                              CodecOptions options)
+                throws IOException {
+            writeContext(out, collection, NYBBLE_LEFT);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void decode(InputStream in, FloatSeries xPoints,
+                              FloatSeries yPoints, FloatSeries zPoints)
+                throws IOException {
+            super.decode(in, xPoints, yPoints, zPoints);
+            readContext(in, NYBBLE_LEFT, xPoints, yPoints, zPoints);
+        }
+    },
+    /**
+     * A lossless {@link AccelerationCompressor} which predicts each axis
+     * value from the values before it with a per-block linear predictor,
+     * and Rice codes the prediction error, in the style of FLAC, through a
+     * {@link com.lunagameserve.compression.LinearPredictionWriter}.
+     */
+    LinearPrediction {
+
+        /** {@inheritDoc} */
+        @Override
+        protected void encode(OutputStream out,
+                              AccelerationCollection collection,
+                              CodecOptions options)
+                throws IOException {
+            BitWriter bwrite = new BitWriter(out);
+            ByteWriter writer = new ByteWriter(bwrite);
+            writer.writeInt(collection.size());
+
+            LinearPredictionWriter lpc = new LinearPredictionWriter(bwrite);
+            int blockSize = LinearPredictionWriter.BLOCK_SIZE;
+            float[] x = new float[blockSize];
+            float[] y = new float[blockSize];
+            float[] z = new float[blockSize];
+            for (int start = 0; start < collection.size();
+                 start += blockSize) {
+                int count = Math.min(blockSize, collection.size() - start);
+                for (int i = 0; i < count; i++) {
+                    x[i] = collection.getX(start + i);
+                    y[i] = collection.getY(start + i);
+                    z[i] = collection.getZ(start + i);
+                }
+                lpc.writeBlock(x, count);
+                lpc.writeBlock(y, count);
+                lpc.writeBlock(z, count);
+            }
+            writer.close();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void decode(InputStream in, FloatSeries xPoints,
+                              FloatSeries yPoints, FloatSeries zPoints)
+                throws IOException {
+            super.decode(in, xPoints, yPoints, zPoints);
+            BitReader bread = new BitReader(in);
+            ByteReader reader = new ByteReader(bread);
+            int size = reader.readInt();
+
+            LinearPredictionReader lpc = new LinearPredictionReader(bread);
+            int blockSize = LinearPredictionWriter.BLOCK_SIZE;
+            float[] x = new float[blockSize];
+            float[] y = new float[blockSize];
+            float[] z = new float[blockSize];
+            for (int start = 0; start < size; start += blockSize) {
+                int count = Math.min(blockSize, size - start);
+                lpc.readBlock(x, count);
+                lpc.readBlock(y, count);
+                lpc.readBlock(z, count);
+                xPoints.addAll(x, 0, count);
+                yPoints.addAll(y, 0, count);
+                zPoints.addAll(z, 0, count);
+            }
+            reader.close();
+        }
+    },
+    /**
+     * A {@link AccelerationCompressor} which quantizes each axis with its
+     * own {@link com.lunagameserve.compression.Quantizer}, fitted to the
+     * range of the axis as chosen by
+     * {@link com.lunagameserve.compression.CodecOptions#quantization(int)},
+     * and writes the quantizers as a header so that any stream can be read
+     * without knowing how it was configured. The levels are then coded like
+     * {@link #ByteDownscalingContext}.
+     */
+    Quantized {
+
+        /** {@inheritDoc} */
+        @Override
+        protected void encode(OutputStream out,
+                              AccelerationCollection collection,
+                              CodecOptions options)
+                throws IOException {
+            Quantizer x = options.quantization(0).fit(collection.minX(),
+                                                      collection.maxX());
+            Quantizer y = options.quantization(1).fit(collection.minY(),
+                                                      collection.maxY());
+            Quantizer z = options.quantization(2).fit(collection.minZ(),
+                                                      collection.maxZ());
+
+            BitWriter bwrite = new BitWriter(out);
+            ByteWriter writer = new ByteWriter(bwrite);
+            writer.writeInt(collection.size());
+            x.writeTo(writer);
+            y.writeTo(writer);
+            z.writeTo(writer);
+
+            RangeEncoder encoder = new RangeEncoder(bwrite);
+            ContextModel model = new ContextModel(3);
+            for (int i = 0; i < collection.size(); i++) {
+                model.write(encoder, 0, x.quantize(collection.getX(i)));
+                model.write(encoder, 1, y.quantize(collection.getY(i)));
+                model.write(encoder, 2, z.quantize(collection.getZ(i)));
+            }
+            encoder.finish();
+            writer.close();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void decode(InputStream in, FloatSeries xPoints,
+                              FloatSeries yPoints, FloatSeries zPoints)
+                throws IOException {
+            super.decode(in, xPoints, yPoints, zPoints);
+            BitReader bread = new BitReader(in);
+            ByteReader reader = new ByteReader(bread);
+            int size = reader.readInt();
+            Quantizer x = Quantizer.readFrom(reader);
+            Quantizer y = Quantizer.readFrom(reader);
+            Quantizer z = Quantizer.readFrom(reader);
+
+            RangeDecoder decoder = new RangeDecoder(bread);
+            ContextModel model = new ContextModel(3);
+            for (int i = 0; i < size; i++) {
+                xPoints.add(x.dequantize(model.read(decoder, 0)));
+                yPoints.add(y.dequantize(model.read(decoder, 1)));
+                zPoints.add(z.dequantize(model.read(decoder, 2)));
+            }
+            decoder.finish();
+            reader.close();
+        }
     };
 
     /**
@@ -633,74 +1236,600 @@ public enum AccelerationCompressor {
      */
     protected static final int NYBBLE_LEFT = 8 - NYBBLE_SIZE;
 
-    protected ArrayList<Float> xPoints = new ArrayList<Float>();
-    protected ArrayList<Float> yPoints = new ArrayList<Float>();
-    protected ArrayList<Float> zPoints = new ArrayList<Float>();
-
     public static final int X_POINTS = 1;
     public static final int Y_POINTS = 2;
     public static final int Z_POINTS = 3;
 
-    public abstract void write(OutputStream out,
-                               AccelerationCollection collection)
-                               throws IOException;
+    /**
+     * The cost of every encode and decode done by this
+     * {@link AccelerationCompressor}.
+     */
+    private final CodecMetrics metrics = new CodecMetrics();
 
-    public void read(InputStream in) throws IOException {
-        xPoints.clear();
-        yPoints.clear();
-        zPoints.clear();
+    /**
+     * Compresses an
+     * {@link com.lunagameserve.acceleration.AccelerationCollection} with
+     * {@link CodecOptions#DEFAULT}, and records its cost in
+     * {@link #metrics()}. This may be called from any number of threads at
+     * once.
+     *
+     * @param out The {@link java.io.OutputStream} to write to.
+     *
+     * @param collection The points to compress.
+     *
+     * @throws IOException If {@code out} cannot be written to for any
+     *                     reason.
+     */
+    @Override
+    public final void write(OutputStream out,
+                            AccelerationCollection collection)
+                            throws IOException {
+        write(out, collection, CodecOptions.DEFAULT);
     }
 
-    public StreamStats ratio(AccelerationCollection points) {
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
+    /**
+     * Compresses an
+     * {@link com.lunagameserve.acceleration.AccelerationCollection} with
+     * {@link #encode(OutputStream, AccelerationCollection, CodecOptions)},
+     * and records its cost in {@link #metrics()}. This may be called from
+     * any number of threads at once, each with its own settings.
+     *
+     * @param out The {@link java.io.OutputStream} to write to.
+     *
+     * @param collection The points to compress.
+     *
+     * @param options The settings to write with.
+     *
+     * @throws IOException If {@code out} cannot be written to for any
+     *                     reason.
+     */
+    public final void write(OutputStream out,
+                            AccelerationCollection collection,
+                            CodecOptions options) throws IOException {
+        long startNanos = System.nanoTime();
+        long startAllocated = CodecMetrics.allocatedBytes();
+        CountedOutputStream counted = new CountedOutputStream(out);
+        boolean failed = true;
         try {
-            write(out, points);
-        } catch (IOException e) {
-            e.printStackTrace();
+            encode(counted, collection, options);
+            failed = false;
+        } finally {
+            metrics.recordEncode(startNanos, startAllocated,
+                                 collection.byteSize(), counted.count(),
+                                 collection.size(), failed);
         }
+    }
 
-        byte[] bytes = out.toByteArray();
+    /**
+     * Decompresses points written by
+     * {@link #write(java.io.OutputStream, AccelerationCollection)} with
+     * {@link #decode}, and records its cost in {@link #metrics()}. This may
+     * be called from any number of threads at once, as long as each passes
+     * its own {@code dst}.
+     *
+     * @param in The {@link java.io.InputStream} to read from.
+     *
+     * @param dst The {@link AccelerationSeries} to decode into. This is
+     *            cleared first.
+     *
+     * @return {@code dst}.
+     *
+     * @throws IOException If {@code in} cannot be read from for any reason.
+     */
+    @Override
+    public final AccelerationSeries read(InputStream in,
+                                         AccelerationSeries dst)
+                                         throws IOException {
+        long startNanos = System.nanoTime();
+        long startAllocated = CodecMetrics.allocatedBytes();
+        CountedInputStream counted = new CountedInputStream(in);
+        boolean failed = true;
+        dst.clear();
+        try {
+            decode(counted, dst.getX(), dst.getY(), dst.getZ());
+            failed = false;
+        } finally {
+            int n = dst.getX().size();
+            metrics.recordDecode(startNanos, startAllocated, counted.count(),
+                                 (long)n * AccelerationPoint.SIZE, n, failed);
+        }
+        return dst;
+    }
 
-        return new StreamStats(
-                (double)bytes.length / points.byteSize(), bytes.length);
+    /** {@inheritDoc} */
+    @Override
+    public CodecMetrics metrics() {
+        return metrics;
     }
 
-    private float maxPoint(ArrayList<Float> pts) {
-        float max = pts.get(0);
-        for (float d : pts) {
-            if (max < d) {
-                max = d;
-            }
+    /**
+     * Encodes points. {@link #write} calls this, and records its cost in
+     * {@link #metrics()}.
+     *
+     * @param out The {@link java.io.OutputStream} to write to.
+     *
+     * @param collection The points to encode.
+     *
+     * @param options The settings to write with.
+     *
+     * @throws IOException If {@code out} cannot be written to for any
+     *                     reason.
+     */
+    protected abstract void encode(OutputStream out,
+                                   AccelerationCollection collection,
+                                   CodecOptions options)
+                                   throws IOException;
+
+    /**
+     * Decodes points into three empty axes. Overrides call this first, then
+     * append the values of each axis in order.
+     *
+     * @param in The {@link java.io.InputStream} to read from.
+     *
+     * @param xPoints The x values to append to.
+     *
+     * @param yPoints The y values to append to.
+     *
+     * @param zPoints The z values to append to.
+     *
+     * @throws IOException If {@code in} cannot be read from for any reason.
+     */
+    protected void decode(InputStream in, FloatSeries xPoints,
+                          FloatSeries yPoints, FloatSeries zPoints)
+                          throws IOException {
+    }
+
+    /**
+     * Writes the timestamps of an
+     * {@link com.lunagameserve.acceleration.AccelerationCollection} as a
+     * delta-of-delta channel, followed by the points themselves as written by
+     * {@link #write(java.io.OutputStream, AccelerationCollection)}. Any
+     * {@link AccelerationCompressor} can carry timestamps in this way.
+     * <p>
+     *     The channel is a point count, the resolution, and the byte length
+     *     of the encoded timestamps, followed by the timestamps as written by
+     *     a {@link com.lunagameserve.compression.TimestampWriter}. The byte
+     *     length lets the channel be read without reading into the points
+     *     which follow it.
+     * </p>
+     *
+     * @param out The {@link java.io.OutputStream} to write to.
+     *
+     * @param collection The points, and their timestamps, to write.
+     *
+     * @param resolution The resolution to round timestamps to, such as
+     *                   {@link TimestampWriter#MILLISECONDS} or
+     *                   {@link TimestampWriter#LOSSLESS}.
+     *
+     * @throws IOException If {@code out} cannot be written to for any reason.
+     */
+    public void writeTimestamped(OutputStream out,
+                                 AccelerationCollection collection,
+                                 long resolution) throws IOException {
+        long[] ts = new long[collection.size()];
+        collection.copyTimestamps(0, ts, 0, ts.length);
+
+        ByteArrayOutputStream channel = new ByteArrayOutputStream();
+        BitWriter bwrite = new BitWriter(channel);
+        new TimestampWriter(bwrite, resolution)
+                .writeTimestamps(ts, 0, ts.length);
+        bwrite.close();
+
+        ByteWriter writer = new ByteWriter(out);
+        writer.writeInt(ts.length);
+        writer.writeLong(resolution);
+        writer.writeInt(channel.size());
+        channel.writeTo(out);
+
+        write(out, collection);
+    }
+
+    /**
+     * Reads a stream written by
+     * {@link #writeTimestamped(OutputStream, AccelerationCollection, long)},
+     * decoding the points as if by
+     * {@link #read(java.io.InputStream, AccelerationSeries)} along with
+     * their timestamps.
+     *
+     * @param in The {@link java.io.InputStream} to read from.
+     *
+     * @param dst The {@link AccelerationSeries} to decode into. This is
+     *            cleared first.
+     *
+     * @return {@code dst}.
+     *
+     * @throws IOException If {@code in} cannot be read from for any reason.
+     */
+    public AccelerationSeries readTimestamped(InputStream in,
+                                              AccelerationSeries dst)
+                                              throws IOException {
+        ByteReader reader = new ByteReader(in);
+        int count = reader.readInt();
+        long resolution = reader.readLong();
+        byte[] channel = new byte[reader.readInt()];
+        reader.readFully(channel, 0, channel.length);
+
+        read(in, dst);
+
+        new TimestampReader(
+                new BitReader(new ByteArrayInputStream(channel)), resolution)
+                .readTimestamps(dst.timestampBuffer(count), 0, count);
+        return dst;
+    }
+
+    /**
+     * Writes every point of an
+     * {@link com.lunagameserve.acceleration.AccelerationCollection} through a
+     * {@link com.lunagameserve.compression.QuantizedBlockWriter}, with each
+     * axis as its own channel. Used by the framed compressors.
+     *
+     * @param out The {@link java.io.OutputStream} to write to. This is
+     *            closed once every block has been written.
+     *
+     * @param collection The points to write.
+     *
+     * @param bits The number of bits each axis value is quantized to.
+     *
+     * @throws IOException If {@code out} cannot be written to for any reason.
+     */
+    protected void writeBlocks(OutputStream out,
+                               AccelerationCollection collection, int bits)
+                               throws IOException {
+        BitWriter bwrite = new BitWriter(out);
+        QuantizedBlockWriter blocks = new QuantizedBlockWriter(bwrite, 3, bits,
+                QuantizedBlockWriter.DEFAULT_BLOCK_SIZE);
+        float[] sample = new float[3];
+        for (int i = 0; i < collection.size(); i++) {
+            sample[0] = collection.getX(i);
+            sample[1] = collection.getY(i);
+            sample[2] = collection.getZ(i);
+            blocks.append(sample);
         }
-        return max;
+        blocks.finish();
+        bwrite.close();
     }
 
-    private float minPoint(ArrayList<Float> pts) {
-        float min = pts.get(0);
-        for (float d : pts) {
-            if (min > d) {
-                min = d;
-            }
+    /**
+     * Reads every block written by
+     * {@link #writeBlocks(OutputStream, AccelerationCollection, int)}.
+     *
+     * @param in The {@link java.io.InputStream} to read from. This is closed
+     *           once the end of stream marker has been read.
+     *
+     * @param bits The number of bits each axis value was quantized to.
+     *
+     * @param xPoints The x values to append to.
+     *
+     * @param yPoints The y values to append to.
+     *
+     * @param zPoints The z values to append to.
+     *
+     * @throws IOException If {@code in} cannot be read from for any reason.
+     */
+    protected void readBlocks(InputStream in, int bits, FloatSeries xPoints,
+                              FloatSeries yPoints, FloatSeries zPoints)
+                              throws IOException {
+        BitReader bread = new BitReader(in);
+        QuantizedBlockReader blocks = new QuantizedBlockReader(bread, 3, bits);
+        FloatSeries[] axes = {xPoints, yPoints, zPoints};
+        while (blocks.readBlock(axes) >= 0) {
+            /* Each block appends to axes directly. */
         }
-        return min;
+        bread.close();
     }
 
-    private float heightDelta(ArrayList<Float> pts) {
-        return maxPoint(pts) - minPoint(pts);
+    /**
+     * Writes every point of an
+     * {@link com.lunagameserve.acceleration.AccelerationCollection} as the
+     * range of each axis, the point count, then each axis value quantized
+     * to a byte as {@link #ByteDownscaling} does, shifted right by
+     * {@code shift} bits, and written through a
+     * {@link com.lunagameserve.compression.ZigZagDeltaWriter} per axis. Used
+     * by the delta compressors.
+     *
+     * @param out The {@link java.io.OutputStream} to write to. This is
+     *            closed once every point has been written.
+     *
+     * @param collection The points to write.
+     *
+     * @param shift The number of low bits of each quantized byte to drop.
+     *
+     * @param groupBits The number of bits in each varint group.
+     *
+     * @throws IOException If {@code out} cannot be written to for any reason.
+     */
+    protected void writeDeltas(OutputStream out,
+                               AccelerationCollection collection, int shift,
+                               int groupBits) throws IOException {
+        float maxX = collection.maxX();
+        float minX = collection.minX();
+        float maxY = collection.maxY();
+        float minY = collection.minY();
+        float maxZ = collection.maxZ();
+        float minZ = collection.minZ();
+
+        BitWriter bwrite = new BitWriter(out);
+        ByteWriter writer = new ByteWriter(bwrite);
+        writer.writeFloat(maxX);
+        writer.writeFloat(minX);
+        writer.writeFloat(maxY);
+        writer.writeFloat(minY);
+        writer.writeFloat(maxZ);
+        writer.writeFloat(minZ);
+        writer.writeInt(collection.size());
+
+        float rangeX = maxX - minX;
+        float rangeY = maxY - minY;
+        float rangeZ = maxZ - minZ;
+        ZigZagDeltaWriter x = new ZigZagDeltaWriter(bwrite, groupBits);
+        ZigZagDeltaWriter y = new ZigZagDeltaWriter(bwrite, groupBits);
+        ZigZagDeltaWriter z = new ZigZagDeltaWriter(bwrite, groupBits);
+        for (int i = 0; i < collection.size(); i++) {
+            x.writeInt(quantize(collection.getX(i), minX, rangeX) >> shift);
+            y.writeInt(quantize(collection.getY(i), minY, rangeY) >> shift);
+            z.writeInt(quantize(collection.getZ(i), minZ, rangeZ) >> shift);
+        }
+        writer.close();
     }
 
-    public void render(Canvas c, int pointType, int color) {
-        ArrayList<Float> pts;
-        switch(pointType) {
-            case X_POINTS: pts = xPoints; break;
-            case Y_POINTS: pts = yPoints; break;
-            case Z_POINTS: pts = zPoints; break;
-            default: throw new IllegalArgumentException();
+    /**
+     * Reads every point written by
+     * {@link #writeDeltas(OutputStream, AccelerationCollection, int, int)}.
+     *
+     * @param in The {@link java.io.InputStream} to read from. This is closed
+     *           once every point has been read.
+     *
+     * @param shift The number of low bits dropped from each quantized byte.
+     *
+     * @param groupBits The number of bits in each varint group.
+     *
+     * @param xPoints The x values to append to.
+     *
+     * @param yPoints The y values to append to.
+     *
+     * @param zPoints The z values to append to.
+     *
+     * @throws IOException If {@code in} cannot be read from for any reason.
+     */
+    protected void readDeltas(InputStream in, int shift, int groupBits,
+                              FloatSeries xPoints, FloatSeries yPoints,
+                              FloatSeries zPoints) throws IOException {
+        BitReader bread = new BitReader(in);
+        ByteReader reader = new ByteReader(bread);
+        float maxX = reader.readFloat();
+        float minX = reader.readFloat();
+        float maxY = reader.readFloat();
+        float minY = reader.readFloat();
+        float maxZ = reader.readFloat();
+        float minZ = reader.readFloat();
+        int size = reader.readInt();
+
+        float rangeX = maxX - minX;
+        float rangeY = maxY - minY;
+        float rangeZ = maxZ - minZ;
+        ZigZagDeltaReader x = new ZigZagDeltaReader(bread, groupBits);
+        ZigZagDeltaReader y = new ZigZagDeltaReader(bread, groupBits);
+        ZigZagDeltaReader z = new ZigZagDeltaReader(bread, groupBits);
+        for (int i = 0; i < size; i++) {
+            xPoints.add(dequantize(x.readInt() << shift, minX, rangeX));
+            yPoints.add(dequantize(y.readInt() << shift, minY, rangeY));
+            zPoints.add(dequantize(z.readInt() << shift, minZ, rangeZ));
+        }
+        reader.close();
+    }
+
+    /**
+     * Writes every point of an
+     * {@link com.lunagameserve.acceleration.AccelerationCollection} as the
+     * range of each axis, the point count, then each axis value quantized
+     * to a byte as {@link #ByteDownscaling} does, shifted right by
+     * {@code shift} bits, and coded with a
+     * {@link com.lunagameserve.compression.RangeEncoder} through a
+     * {@link com.lunagameserve.compression.ContextModel} of the three axes.
+     * Used by the context compressors.
+     *
+     * @param out The {@link java.io.OutputStream} to write to. This is
+     *            closed once every point has been written.
+     *
+     * @param collection The points to write.
+     *
+     * @param shift The number of low bits of each quantized byte to drop.
+     *
+     * @throws IOException If {@code out} cannot be written to for any reason.
+     */
+    protected void writeContext(OutputStream out,
+                                AccelerationCollection collection, int shift)
+                                throws IOException {
+        float maxX = collection.maxX();
+        float minX = collection.minX();
+        float maxY = collection.maxY();
+        float minY = collection.minY();
+        float maxZ = collection.maxZ();
+        float minZ = collection.minZ();
+
+        BitWriter bwrite = new BitWriter(out);
+        ByteWriter writer = new ByteWriter(bwrite);
+        writer.writeFloat(maxX);
+        writer.writeFloat(minX);
+        writer.writeFloat(maxY);
+        writer.writeFloat(minY);
+        writer.writeFloat(maxZ);
+        writer.writeFloat(minZ);
+        writer.writeInt(collection.size());
+
+        float rangeX = maxX - minX;
+        float rangeY = maxY - minY;
+        float rangeZ = maxZ - minZ;
+        RangeEncoder encoder = new RangeEncoder(bwrite);
+        ContextModel model = new ContextModel(3);
+        for (int i = 0; i < collection.size(); i++) {
+            model.write(encoder, 0,
+                        quantize(collection.getX(i), minX, rangeX) >> shift);
+            model.write(encoder, 1,
+                        quantize(collection.getY(i), minY, rangeY) >> shift);
+            model.write(encoder, 2,
+                        quantize(collection.getZ(i), minZ, rangeZ) >> shift);
+        }
+        encoder.finish();
+        writer.close();
+    }
+
+    /**
+     * Reads every point written by
+     * {@link #writeContext(OutputStream, AccelerationCollection, int)}.
+     *
+     * @param in The {@link java.io.InputStream} to read from. This is closed
+     *           once every point has been read.
+     *
+     * @param shift The number of low bits dropped from each quantized byte.
+     *
+     * @param xPoints The x values to append to.
+     *
+     * @param yPoints The y values to append to.
+     *
+     * @param zPoints The z values to append to.
+     *
+     * @throws IOException If {@code in} cannot be read from for any reason.
+     */
+    protected void readContext(InputStream in, int shift, FloatSeries xPoints,
+                               FloatSeries yPoints, FloatSeries zPoints)
+                               throws IOException {
+        BitReader bread = new BitReader(in);
+        ByteReader reader = new ByteReader(bread);
+        float maxX = reader.readFloat();
+        float minX = reader.readFloat();
+        float maxY = reader.readFloat();
+        float minY = reader.readFloat();
+        float maxZ = reader.readFloat();
+        float minZ = reader.readFloat();
+        int size = reader.readInt();
+
+        float rangeX = maxX - minX;
+        float rangeY = maxY - minY;
+        float rangeZ = maxZ - minZ;
+        RangeDecoder decoder = new RangeDecoder(bread);
+        ContextModel model = new ContextModel(3);
+        for (int i = 0; i < size; i++) {
+            xPoints.add(dequantize(model.read(decoder, 0) << shift,
+                                   minX, rangeX));
+            yPoints.add(dequantize(model.read(decoder, 1) << shift,
+                                   minY, rangeY));
+            zPoints.add(dequantize(model.read(decoder, 2) << shift,
+                                   minZ, rangeZ));
         }
+        decoder.finish();
+        reader.close();
+    }
+
+    /**
+     * Quantizes a floating point value to a {@code byte} value, exactly as
+     * {@link #ByteDownscaling} does.
+     *
+     * @param realP The floating point value to quantize.
+     *
+     * @param min The minimum floating point value in the data set.
+     *
+     * @param maxDelta The range of the floating point values in the data
+     *                 set.
+     *
+     * @return The quantized value, from 0 to 127.
+     */
+    private static int quantize(float realP, float min, float maxDelta) {
+        return (byte)(((realP - min) / maxDelta) * 127);
+    }
+
+    /**
+     * Converts a value quantized by {@link #quantize(float, float, float)}
+     * back to a floating point value.
+     *
+     * @param pt The quantized value.
+     *
+     * @param min The minimum floating point value in the data set.
+     *
+     * @param maxDelta The range of the floating point values in the data
+     *                 set.
+     *
+     * @return The floating point value {@code pt} stands for.
+     */
+    private static float dequantize(int pt, float min, float maxDelta) {
+        return ((byte)pt / 127f) * maxDelta + min;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public StreamStats ratio(AccelerationCollection points)
+            throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        write(out, points);
+
+        byte[] bytes = out.toByteArray();
+
+        return new StreamStats(
+                (double)bytes.length / points.byteSize(), bytes.length);
+    }
+
+    /**
+     * Writes an
+     * {@link com.lunagameserve.acceleration.AccelerationCollection} with
+     * this {@link AccelerationCompressor}, reads it back, and reports both
+     * the compressed size and the error of each axis.
+     *
+     * @param points The points to evaluate this compressor on.
+     *
+     * @return A {@link com.lunagameserve.compression.QualityReport} whose
+     *         channels are the x, y and z axes, in that order.
+     *
+     * @throws IOException If {@code points} cannot be written or read back
+     *                     for any reason.
+     */
+    public QualityReport quality(AccelerationCollection points)
+            throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        write(out, points);
+        byte[] bytes = out.toByteArray();
+        AccelerationSeries decoded =
+                read(new ByteArrayInputStream(bytes), new AccelerationSeries());
+
+        return report(points, new FloatSeries[] {
+                decoded.getX(), decoded.getY(), decoded.getZ()
+        }, bytes.length);
+    }
+
+    /**
+     * Builds a {@link com.lunagameserve.compression.QualityReport} comparing
+     * an {@link com.lunagameserve.acceleration.AccelerationCollection} with
+     * its decoded axes.
+     *
+     * @param points The points which were written.
+     *
+     * @param decoded The x, y and z values which were read back.
+     *
+     * @param length The compressed size, in bytes.
+     *
+     * @return The {@link com.lunagameserve.compression.QualityReport}.
+     */
+    static QualityReport report(AccelerationCollection points,
+                                FloatSeries[] decoded, long length) {
+        int n = points.size();
+        float[][] original = new float[3][n];
+        points.copyX(0, original[0], 0, n);
+        points.copyY(0, original[1], 0, n);
+        points.copyZ(0, original[2], 0, n);
+        double ratio = n == 0 ? 0.0 : (double)length / points.byteSize();
+        return new QualityReport(original, decoded, ratio, length);
+    }
+
+    private float heightDelta(FloatSeries pts) {
+        return pts.max() - pts.min();
+    }
+
+    public void render(Canvas c, AccelerationSeries decoded, int pointType,
+                       int color) {
+        FloatSeries pts = decoded.getAxis(pointType);
 
         float dx = ((float)c.getWidth()) / ((float)pts.size());
         float dy = ((float) c.getHeight()) / (heightDelta(pts));
-        float sy = minPoint(pts);
+        float sy = pts.min();
 
         Paint paint = new Paint();
         paint.setColor(color);
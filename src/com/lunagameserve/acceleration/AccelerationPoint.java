@@ -54,27 +54,44 @@ public class AccelerationPoint implements NBTSerializableObject {
     }
 
     public void writeAsBytes(OutputStream out) throws IOException {
-        ByteWriter writer = new ByteWriter(out);
-        writer.writeFloat(values[0]);
-        writer.writeFloat(values[1]);
-        writer.writeFloat(values[2]);
+        writeAsBytes(new ByteWriter(out));
+    }
+
+    public void writeAsBytes(ByteWriter writer) throws IOException {
+        writer.writeFloats(values, 0, 3);
         writer.writeLong(timestamp);
     }
 
     public void readFromBytes(InputStream in) throws IOException {
-        ByteReader reader = new ByteReader(in);
+        readFromBytes(new ByteReader(in));
+    }
+
+    public void readFromBytes(ByteReader reader) throws IOException {
         values = new float[3];
-        values[0] = reader.readFloat();
-        values[1] = reader.readFloat();
-        values[2] = reader.readFloat();
+        reader.readFloats(values, 0, 3);
         timestamp = reader.readLong();
     }
 
     public boolean valid() {
-        double modulus = Math.sqrt(values[0] * values[0] +
-                                   values[1] * values[1] +
-                                   values[2] * values[2]);
-        return modulus < 1000;
+        return valid(values[0], values[1], values[2]);
+    }
+
+    /**
+     * Checks whether a sample is plausible, without needing an
+     * {@link AccelerationPoint}. Compares squared magnitudes, so no square
+     * root is taken.
+     *
+     * @param x The x value of the sample.
+     *
+     * @param y The y value of the sample.
+     *
+     * @param z The z value of the sample.
+     *
+     * @return {@code true} if the magnitude of the sample is under 1000.
+     */
+    public static boolean valid(float x, float y, float z) {
+        double squared = (double)x * x + (double)y * y + (double)z * z;
+        return squared < 1000.0 * 1000.0;
     }
 
     @Override
@@ -0,0 +1,159 @@
+package com.lunagameserve.acceleration;
+
+import com.lunagameserve.compression.FloatSeries;
+
+/**
+ * The x, y and z values, and optionally the timestamps, decoded by an
+ * {@link com.lunagameserve.acceleration.AccelerationCompressor}.
+ * <p>
+ *     An {@link AccelerationSeries} is the only state a decode touches, so
+ *     any number of threads may decode with the same
+ *     {@link com.lunagameserve.acceleration.AccelerationCompressor} at once
+ *     as long as each brings its own {@link AccelerationSeries}. Each decode
+ *     {@link #clear()}s it first but keeps its buffers, so reusing one, or
+ *     keeping several in a {@link com.lunagameserve.compression.Pool},
+ *     avoids reallocating them for every stream.
+ * </p>
+ *
+ * @author Six
+ * @since October 17, 2026
+ */
+public class AccelerationSeries {
+
+    /**
+     * The decoded x values.
+     */
+    private final FloatSeries x = new FloatSeries();
+
+    /**
+     * The decoded y values.
+     */
+    private final FloatSeries y = new FloatSeries();
+
+    /**
+     * The decoded z values.
+     */
+    private final FloatSeries z = new FloatSeries();
+
+    /**
+     * The decoded timestamps. Only the first {@link #timestampCount} are
+     * meaningful.
+     */
+    private long[] timestamps = new long[0];
+
+    /**
+     * The number of meaningful values in {@link #timestamps}.
+     */
+    private int timestampCount = 0;
+
+    /**
+     * Gets the decoded x values.
+     *
+     * @return The x values, which may be modified.
+     */
+    public FloatSeries getX() {
+        return x;
+    }
+
+    /**
+     * Gets the decoded y values.
+     *
+     * @return The y values, which may be modified.
+     */
+    public FloatSeries getY() {
+        return y;
+    }
+
+    /**
+     * Gets the decoded z values.
+     *
+     * @return The z values, which may be modified.
+     */
+    public FloatSeries getZ() {
+        return z;
+    }
+
+    /**
+     * Gets the decoded values of a single axis.
+     *
+     * @param pointType One of
+     *                  {@link AccelerationCompressor#X_POINTS},
+     *                  {@link AccelerationCompressor#Y_POINTS} or
+     *                  {@link AccelerationCompressor#Z_POINTS}.
+     *
+     * @return The values of the axis named by {@code pointType}.
+     */
+    public FloatSeries getAxis(int pointType) {
+        switch (pointType) {
+            case AccelerationCompressor.X_POINTS: return x;
+            case AccelerationCompressor.Y_POINTS: return y;
+            case AccelerationCompressor.Z_POINTS: return z;
+            default: throw new IllegalArgumentException();
+        }
+    }
+
+    /**
+     * Gets the number of whole points decoded, which is the length of the
+     * shortest axis. Lossy compressors may decode axes of different
+     * lengths.
+     *
+     * @return The number of points with a value on every axis.
+     */
+    public int size() {
+        return Math.min(x.size(), Math.min(y.size(), z.size()));
+    }
+
+    /**
+     * Gets the number of timestamps decoded. This is {@code 0} unless the
+     * stream was read with
+     * {@link AccelerationCompressor#readTimestamped(java.io.InputStream,
+     * AccelerationSeries)}.
+     *
+     * @return The number of decoded timestamps.
+     */
+    public int timestampCount() {
+        return timestampCount;
+    }
+
+    /**
+     * Gets a decoded timestamp.
+     *
+     * @param i The index of the point whose timestamp should be returned,
+     *          which must be less than {@link #timestampCount()}.
+     *
+     * @return The timestamp of the {@code i}th point.
+     */
+    public long getTimestamp(int i) {
+        if (i >= timestampCount) {
+            throw new IndexOutOfBoundsException(
+                    "Index: " + i + ", Timestamps: " + timestampCount);
+        }
+        return timestamps[i];
+    }
+
+    /**
+     * Removes every value and timestamp, keeping the buffers which hold
+     * them.
+     */
+    public void clear() {
+        x.clear();
+        y.clear();
+        z.clear();
+        timestampCount = 0;
+    }
+
+    /**
+     * Makes room for a number of timestamps, which the caller then fills.
+     *
+     * @param count The number of timestamps to be decoded.
+     *
+     * @return An array of at least {@code count} timestamps.
+     */
+    long[] timestampBuffer(int count) {
+        if (timestamps.length < count) {
+            timestamps = new long[count];
+        }
+        timestampCount = count;
+        return timestamps;
+    }
+}
@@ -0,0 +1,205 @@
+package com.lunagameserve.acceleration;
+
+import com.lunagameserve.compression.BitReader;
+import com.lunagameserve.compression.BlockIndex;
+import com.lunagameserve.compression.ByteReader;
+import com.lunagameserve.compression.FloatSeries;
+import com.lunagameserve.compression.QuantizedBlockReader;
+import com.lunagameserve.compression.TimestampReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads ranges of time out of a recording written by an
+ * {@link com.lunagameserve.acceleration.AccelerationSessionWriter}, using
+ * its {@link com.lunagameserve.compression.BlockIndex} to skip over every
+ * block which cannot hold a sample in range.
+ * <p>
+ *     The data stream is only ever read forwards, so ranges must be requested
+ *     in order of time. The last block decoded is kept, so a range may start
+ *     in the block the range before it ended in, as consecutive windows
+ *     usually do. Blocks which are skipped are skipped with
+ *     {@link java.io.InputStream#skip(long)}, which costs nothing for file
+ *     and in-memory streams.
+ * </p>
+ *
+ * @author Six
+ * @since October 17, 2026
+ * @see com.lunagameserve.acceleration.AccelerationSessionWriter
+ */
+public class AccelerationSessionReader {
+
+    /**
+     * The {@link com.lunagameserve.compression.BitReader} which the data
+     * stream is read from.
+     */
+    private final BitReader data;
+
+    /**
+     * The index of every block in the data stream.
+     */
+    private final BlockIndex index;
+
+    /**
+     * The reader which decodes the axis values of each block.
+     */
+    private final QuantizedBlockReader blocks;
+
+    /**
+     * The reader which decodes the timestamps of each block.
+     */
+    private final TimestampReader times;
+
+    /**
+     * The decoded axis values of the current block, one series per axis.
+     */
+    private final FloatSeries[] axes = {
+            new FloatSeries(), new FloatSeries(), new FloatSeries()
+    };
+
+    /**
+     * The decoded timestamps of the current block. Only the first
+     * {@link #blockCount} elements are valid.
+     */
+    private long[] stamps = new long[0];
+
+    /**
+     * The number of samples in the current block.
+     */
+    private int blockCount = 0;
+
+    /**
+     * The index of the current block, or {@code -1} if none has been
+     * decoded.
+     */
+    private int block = -1;
+
+    /**
+     * Constructs a new
+     * {@link com.lunagameserve.acceleration.AccelerationSessionReader},
+     * reading the whole index and the header of the data stream.
+     *
+     * @param dataIn The {@link java.io.InputStream} holding the data stream.
+     *
+     * @param indexIn The {@link java.io.InputStream} holding the index. This
+     *                is closed once the index has been read.
+     *
+     * @throws IOException If either stream cannot be read from for any
+     *                     reason.
+     */
+    public AccelerationSessionReader(InputStream dataIn, InputStream indexIn)
+            throws IOException {
+        ByteReader reader = new ByteReader(indexIn);
+        this.index = BlockIndex.readFrom(reader);
+        reader.close();
+
+        this.data = new BitReader(dataIn);
+        int bits = (int)data.readLongBits(8);
+        long resolution = data.readLongBits(64);
+        this.blocks = new QuantizedBlockReader(data, 3, bits);
+        this.times = new TimestampReader(data, resolution);
+    }
+
+    /**
+     * Gets the index of the recording being read.
+     *
+     * @return The {@link com.lunagameserve.compression.BlockIndex} of the
+     *         recording.
+     */
+    public BlockIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * Decodes every sample with a timestamp in {@code [t0, t1)}, appending
+     * them to an
+     * {@link com.lunagameserve.acceleration.AccelerationCollection}. Only the
+     * blocks which overlap the range are decoded. Timestamps are compared
+     * as decoded, that is, after rounding to the resolution of the
+     * recording.
+     *
+     * @param t0 The first timestamp in range.
+     *
+     * @param t1 The first timestamp after the range.
+     *
+     * @param dst The
+     *            {@link com.lunagameserve.acceleration.AccelerationCollection}
+     *            to append the decoded samples to.
+     *
+     * @return The number of samples appended to {@code dst}.
+     *
+     * @throws IOException If the data stream cannot be read from for any
+     *                     reason.
+     *
+     * @throws IllegalStateException if the range starts in a block before
+     *                               the last one decoded.
+     */
+    public int readRange(long t0, long t1, AccelerationCollection dst)
+            throws IOException {
+        int first = index.find(t0);
+        if (first < 0 || t1 <= t0) {
+            return 0;
+        }
+
+        int added = 0;
+        for (int b = first;
+             b < index.size() && index.getTimestamp(b) < t1; b++) {
+            if (b != block) {
+                readBlock(b);
+            }
+            for (int i = 0; i < blockCount; i++) {
+                long t = stamps[i];
+                if (t >= t0 && t < t1) {
+                    dst.addPoint(axes[0].get(i), axes[1].get(i),
+                                 axes[2].get(i), t);
+                    added++;
+                }
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Skips to a block and decodes its values and timestamps, making it the
+     * current block.
+     *
+     * @param b The index of the block to decode.
+     *
+     * @throws IOException If the data stream cannot be read from for any
+     *                     reason.
+     *
+     * @throws IllegalStateException if block {@code b} has already been
+     *                               read past.
+     */
+    private void readBlock(int b) throws IOException {
+        long skip = index.getBitOffset(b) - data.bitPosition();
+        if (skip < 0) {
+            throw new IllegalStateException("Ranges must be read in" +
+                                            " order of time.");
+        }
+        data.skipBits(skip);
+
+        for (FloatSeries axis : axes) {
+            axis.clear();
+        }
+        blockCount = blocks.readBlock(axes);
+        if (stamps.length < blockCount) {
+            stamps = new long[blockCount];
+        }
+        times.reset();
+        for (int i = 0; i < blockCount; i++) {
+            stamps[i] = times.readTimestamp();
+        }
+        block = b;
+    }
+
+    /**
+     * Closes the data stream of the recording being read.
+     *
+     * @throws IOException If the data stream cannot be closed for any reason.
+     */
+    public void close() throws IOException {
+        data.close();
+    }
+}
@@ -0,0 +1,172 @@
+package com.lunagameserve.acceleration;
+
+import com.lunagameserve.compression.BitWriter;
+import com.lunagameserve.compression.BlockIndex;
+import com.lunagameserve.compression.ByteWriter;
+import com.lunagameserve.compression.QuantizedBlockWriter;
+import com.lunagameserve.compression.TimestampWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes a seekable recording of acceleration samples, made up of a data
+ * stream and a {@link com.lunagameserve.compression.BlockIndex} written
+ * alongside it.
+ * <p>
+ *     The data stream starts with the number of bits each value is quantized
+ *     to (8 bits) and the timestamp resolution (64 bits). It is followed by
+ *     blocks of samples, each written as a
+ *     {@link com.lunagameserve.compression.QuantizedBlockWriter} block
+ *     followed by that block's timestamps, delta-of-delta coded from scratch.
+ *     Every block can therefore be decoded without any of the blocks before
+ *     it, and the index records the first timestamp and starting bit of each
+ *     block so that an
+ *     {@link com.lunagameserve.acceleration.AccelerationSessionReader} can
+ *     skip straight to the blocks it needs.
+ * </p>
+ *
+ * @author Six
+ * @since October 17, 2026
+ * @see com.lunagameserve.acceleration.AccelerationSessionReader
+ */
+public class AccelerationSessionWriter {
+
+    /**
+     * The {@link com.lunagameserve.compression.BitWriter} which the data
+     * stream is written to.
+     */
+    private final BitWriter data;
+
+    /**
+     * The {@link java.io.OutputStream} which the index is written to once
+     * the recording is closed.
+     */
+    private final OutputStream indexOut;
+
+    /**
+     * The index of every block written so far.
+     */
+    private final BlockIndex index = new BlockIndex();
+
+    /**
+     * The writer which quantizes the axis values of each block.
+     */
+    private final QuantizedBlockWriter blocks;
+
+    /**
+     * The writer which encodes the timestamps of each block.
+     */
+    private final TimestampWriter times;
+
+    /**
+     * The timestamps of the block being filled.
+     */
+    private final long[] pending;
+
+    /**
+     * A reusable holder for the axis values of one sample.
+     */
+    private final float[] sample = new float[3];
+
+    /**
+     * The number of samples held in the block being filled.
+     */
+    private int count = 0;
+
+    /**
+     * Constructs a new
+     * {@link com.lunagameserve.acceleration.AccelerationSessionWriter} and
+     * writes the header of its data stream.
+     *
+     * @param dataOut The {@link java.io.OutputStream} to write the data
+     *                stream to.
+     *
+     * @param indexOut The {@link java.io.OutputStream} to write the index to.
+     *
+     * @param bits The number of bits each axis value is quantized to, from
+     *             1 to 24.
+     *
+     * @param blockSize The number of samples in each block. Smaller blocks
+     *                  make seeking finer, at the cost of a larger index.
+     *
+     * @param resolution The resolution that timestamps are rounded to, as
+     *                   given to a
+     *                   {@link com.lunagameserve.compression.TimestampWriter}.
+     *
+     * @throws IOException If the header cannot be written for any reason.
+     */
+    public AccelerationSessionWriter(OutputStream dataOut,
+                                     OutputStream indexOut, int bits,
+                                     int blockSize, long resolution)
+                                     throws IOException {
+        this.data = new BitWriter(dataOut);
+        this.indexOut = indexOut;
+        this.blocks = new QuantizedBlockWriter(data, 3, bits, blockSize);
+        this.times = new TimestampWriter(data, resolution);
+        this.pending = new long[blockSize];
+
+        data.writeBits(bits, 8);
+        data.writeBits(resolution, 64);
+    }
+
+    /**
+     * Appends a single sample to the recording. Samples must be appended in
+     * order of time.
+     *
+     * @param x The x-axis value of the sample.
+     *
+     * @param y The y-axis value of the sample.
+     *
+     * @param z The z-axis value of the sample.
+     *
+     * @param t The timestamp of the sample.
+     *
+     * @throws IOException If a block cannot be written for any reason.
+     */
+    public void append(float x, float y, float z, long t) throws IOException {
+        if (count == 0) {
+            index.add(t, data.bitPosition());
+        }
+        pending[count] = t;
+        sample[0] = x;
+        sample[1] = y;
+        sample[2] = z;
+        blocks.append(sample);
+        if (++count == pending.length) {
+            endBlock();
+        }
+    }
+
+    /**
+     * Finishes the recording, writing the last block, the end of the data
+     * stream, and the index. Both underlying streams are then closed.
+     *
+     * @throws IOException If either stream cannot be written to or closed
+     *                     for any reason.
+     */
+    public void close() throws IOException {
+        endBlock();
+        blocks.finish();
+        data.close();
+
+        ByteWriter writer = new ByteWriter(indexOut);
+        index.writeTo(writer);
+        writer.close();
+    }
+
+    /**
+     * Writes the block being filled, followed by its timestamps, if it holds
+     * any samples.
+     *
+     * @throws IOException If the block cannot be written for any reason.
+     */
+    private void endBlock() throws IOException {
+        if (count > 0) {
+            blocks.endBlock();
+            times.reset();
+            times.writeTimestamps(pending, 0, count);
+            count = 0;
+        }
+    }
+}
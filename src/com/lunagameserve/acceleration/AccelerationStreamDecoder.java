@@ -0,0 +1,101 @@
+package com.lunagameserve.acceleration;
+
+import com.lunagameserve.compression.FrameReader;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Decodes a stream of frames written by an
+ * {@link com.lunagameserve.acceleration.AccelerationStreamEncoder}, one frame
+ * at a time.
+ *
+ * @author Six
+ * @since October 17, 2026
+ * @see com.lunagameserve.acceleration.AccelerationStreamEncoder
+ */
+public class AccelerationStreamDecoder {
+
+    /**
+     * The {@link com.lunagameserve.acceleration.AccelerationCompressor} which
+     * each frame was compressed with.
+     */
+    private final AccelerationCompressor compressor;
+
+    /**
+     * The {@link com.lunagameserve.compression.FrameReader} which frames are
+     * read through.
+     */
+    private final FrameReader frames;
+
+    /**
+     * The points of the frame last decoded, reused for every frame.
+     */
+    private final AccelerationSeries decoded = new AccelerationSeries();
+
+    /**
+     * Constructs a new
+     * {@link com.lunagameserve.acceleration.AccelerationStreamDecoder}.
+     *
+     * @param compressor The
+     *                   {@link com.lunagameserve.acceleration.AccelerationCompressor}
+     *                   which each frame was compressed with.
+     *
+     * @param in The {@link java.io.InputStream} to read all frames from.
+     */
+    public AccelerationStreamDecoder(AccelerationCompressor compressor,
+                                     InputStream in) {
+        this.compressor = compressor;
+        this.frames = new FrameReader(in);
+    }
+
+    /**
+     * Decodes the next frame of this stream, appending its samples to an
+     * {@link com.lunagameserve.acceleration.AccelerationCollection}. Some
+     * lossy compressors, such as
+     * {@link com.lunagameserve.acceleration.AccelerationCompressor#RotationRunLength},
+     * may decode fewer points than were written, in which case only the
+     * points decoded are appended.
+     *
+     * @param dst The
+     *            {@link com.lunagameserve.acceleration.AccelerationCollection}
+     *            to append the decoded samples to.
+     *
+     * @return {@code true} if a frame was decoded, or {@code false} if the
+     *         end of the stream has been reached.
+     *
+     * @throws IOException If the underlying {@link java.io.InputStream}
+     *                     cannot be read from, or a frame cannot be decoded,
+     *                     for any reason.
+     */
+    public boolean readFrame(AccelerationCollection dst) throws IOException {
+        int len = frames.readFrame();
+        if (len < 0) {
+            return false;
+        }
+        compressor.readTimestamped(
+                new ByteArrayInputStream(frames.frame(), 0, len), decoded);
+
+        int count = Math.min(decoded.timestampCount(), decoded.size());
+        dst.ensureCapacity(dst.size() + count);
+        for (int i = 0; i < count; i++) {
+            dst.addPoint(decoded.getX().get(i),
+                         decoded.getY().get(i),
+                         decoded.getZ().get(i),
+                         decoded.getTimestamp(i));
+        }
+        return true;
+    }
+
+    /**
+     * Closes this decoder, also closing its underlying
+     * {@link java.io.InputStream}.
+     *
+     * @throws IOException If the underlying {@link java.io.InputStream}
+     *                     cannot be closed for any reason.
+     */
+    public void close() throws IOException {
+        frames.close();
+    }
+}
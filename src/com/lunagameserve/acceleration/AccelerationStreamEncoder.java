@@ -0,0 +1,221 @@
+package com.lunagameserve.acceleration;
+
+import com.lunagameserve.compression.FrameWriter;
+import com.lunagameserve.compression.TimestampWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A push-style encoder which compresses acceleration samples as they arrive,
+ * rather than needing a whole
+ * {@link com.lunagameserve.acceleration.AccelerationCollection} up front.
+ * <p>
+ *     Samples are held until a frame is full, either because it holds
+ *     {@code frameSize} samples or because it spans {@code maxLatency}
+ *     nanoseconds. The frame is then compressed by an
+ *     {@link com.lunagameserve.acceleration.AccelerationCompressor}, along
+ *     with its timestamps, and written through a
+ *     {@link com.lunagameserve.compression.FrameWriter}. Every frame can be
+ *     decoded on its own, and no more than one frame is ever held in memory,
+ *     so a capture may run for as long as it likes.
+ * </p>
+ *
+ * @author Six
+ * @since October 17, 2026
+ * @see com.lunagameserve.acceleration.AccelerationStreamDecoder
+ */
+public class AccelerationStreamEncoder {
+
+    /**
+     * The number of samples held in a frame, unless told otherwise.
+     */
+    public static final int DEFAULT_FRAME_SIZE = 1024;
+
+    /**
+     * The {@link com.lunagameserve.acceleration.AccelerationCompressor} used
+     * to compress each frame.
+     */
+    private final AccelerationCompressor compressor;
+
+    /**
+     * The largest number of samples held in a single frame.
+     */
+    private final int frameSize;
+
+    /**
+     * The longest span of time, in nanoseconds, that a single frame may
+     * cover before it is written.
+     */
+    private final long maxLatency;
+
+    /**
+     * The resolution that the timestamps of each frame are rounded to.
+     */
+    private final long resolution;
+
+    /**
+     * The samples of the frame currently being filled. This is cleared, but
+     * never shrunk, each time a frame is written.
+     */
+    private final AccelerationCollection pending;
+
+    /**
+     * The buffer each frame is compressed into before being written.
+     */
+    private final ByteArrayOutputStream frameBytes =
+            new ByteArrayOutputStream();
+
+    /**
+     * The {@link com.lunagameserve.compression.FrameWriter} which frames are
+     * written through, or {@code null} if this encoder is not open.
+     */
+    private FrameWriter frames;
+
+    /**
+     * Constructs a new
+     * {@link com.lunagameserve.acceleration.AccelerationStreamEncoder} with
+     * frames of {@link #DEFAULT_FRAME_SIZE} samples, no latency bound, and
+     * timestamps rounded to {@link TimestampWriter#MILLISECONDS}.
+     *
+     * @param compressor The
+     *                   {@link com.lunagameserve.acceleration.AccelerationCompressor}
+     *                   used to compress each frame.
+     */
+    public AccelerationStreamEncoder(AccelerationCompressor compressor) {
+        this(compressor, DEFAULT_FRAME_SIZE, Long.MAX_VALUE,
+             TimestampWriter.MILLISECONDS);
+    }
+
+    /**
+     * Constructs a new
+     * {@link com.lunagameserve.acceleration.AccelerationStreamEncoder}.
+     *
+     * @param compressor The
+     *                   {@link com.lunagameserve.acceleration.AccelerationCompressor}
+     *                   used to compress each frame.
+     *
+     * @param frameSize The largest number of samples held in a single frame.
+     *
+     * @param maxLatency The longest span of time, in nanoseconds, that a
+     *                   single frame may cover before it is written. Use
+     *                   {@link Long#MAX_VALUE} to bound frames by
+     *                   {@code frameSize} alone.
+     *
+     * @param resolution The resolution that timestamps are rounded to, as
+     *                   given to a
+     *                   {@link com.lunagameserve.compression.TimestampWriter}.
+     *
+     * @throws IllegalArgumentException if {@code frameSize} is not positive.
+     */
+    public AccelerationStreamEncoder(AccelerationCompressor compressor,
+                                     int frameSize, long maxLatency,
+                                     long resolution) {
+        if (frameSize < 1) {
+            throw new IllegalArgumentException("Frame size must be at least" +
+                                               " 1.");
+        }
+        this.compressor = compressor;
+        this.frameSize = frameSize;
+        this.maxLatency = maxLatency;
+        this.resolution = resolution;
+        this.pending = new AccelerationCollection();
+        this.pending.ensureCapacity(Math.min(frameSize, DEFAULT_FRAME_SIZE));
+    }
+
+    /**
+     * Starts a new stream of frames.
+     *
+     * @param out The {@link java.io.OutputStream} to write all frames to.
+     *
+     * @throws IllegalStateException if this encoder is already open.
+     */
+    public void open(OutputStream out) {
+        if (frames != null) {
+            throw new IllegalStateException("Encoder is already open.");
+        }
+        frames = new FrameWriter(out);
+        pending.clear();
+    }
+
+    /**
+     * Appends a single sample to the frame being filled, writing the frame
+     * if it is now full.
+     *
+     * @param x The x-axis value of the sample.
+     *
+     * @param y The y-axis value of the sample.
+     *
+     * @param z The z-axis value of the sample.
+     *
+     * @param t The timestamp of the sample, in nanoseconds.
+     *
+     * @throws IOException If a frame cannot be written for any reason.
+     *
+     * @throws IllegalStateException if this encoder is not open.
+     */
+    public void append(float x, float y, float z, long t) throws IOException {
+        checkOpen();
+        pending.addPoint(x, y, z, t);
+        if (pending.size() >= frameSize ||
+            t - pending.getTimestamp(0) >= maxLatency) {
+            writeFrame();
+        }
+    }
+
+    /**
+     * Writes the frame being filled, however few samples it holds, and
+     * flushes the underlying {@link java.io.OutputStream}.
+     *
+     * @throws IOException If the frame cannot be written for any reason.
+     *
+     * @throws IllegalStateException if this encoder is not open.
+     */
+    public void flush() throws IOException {
+        checkOpen();
+        writeFrame();
+        frames.flush();
+    }
+
+    /**
+     * Writes the frame being filled and the end of stream marker, then
+     * closes the underlying {@link java.io.OutputStream}. This encoder may
+     * then be opened again.
+     *
+     * @throws IOException If the stream cannot be finished for any reason.
+     *
+     * @throws IllegalStateException if this encoder is not open.
+     */
+    public void close() throws IOException {
+        checkOpen();
+        writeFrame();
+        frames.close();
+        frames = null;
+    }
+
+    /**
+     * Compresses and writes every pending sample as a single frame, if
+     * there are any.
+     *
+     * @throws IOException If the frame cannot be written for any reason.
+     */
+    private void writeFrame() throws IOException {
+        if (pending.size() > 0) {
+            frameBytes.reset();
+            compressor.writeTimestamped(frameBytes, pending, resolution);
+            frames.writeFrame(frameBytes);
+            pending.clear();
+        }
+    }
+
+    /**
+     * Throws an {@link java.lang.IllegalStateException} if this encoder is
+     * not open.
+     */
+    private void checkOpen() {
+        if (frames == null) {
+            throw new IllegalStateException("Encoder is not open.");
+        }
+    }
+}
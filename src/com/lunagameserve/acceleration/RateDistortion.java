@@ -0,0 +1,187 @@
+package com.lunagameserve.acceleration;
+
+import com.lunagameserve.compression.BitReader;
+import com.lunagameserve.compression.BitWriter;
+import com.lunagameserve.compression.FloatSeries;
+import com.lunagameserve.compression.QualityReport;
+import com.lunagameserve.compression.QuantizedBlockReader;
+import com.lunagameserve.compression.QuantizedBlockWriter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds rate-distortion tables, which set the size of every
+ * {@link com.lunagameserve.acceleration.AccelerationCompressor} against the
+ * error it introduces on a given set of points.
+ * <p>
+ *     A table holds one row per compressor, followed by one row per bit
+ *     depth of the block-quantized format used by the framed compressors,
+ *     from 1 to {@link #MAX_BITS} bits per value. Tables may be exported as
+ *     CSV with {@link #writeCsv(java.util.List, java.io.Writer)}.
+ * </p>
+ *
+ * @author Six
+ * @since October 17, 2026
+ */
+public final class RateDistortion {
+
+    /**
+     * The deepest bit depth of the block-quantized format included in a
+     * table.
+     */
+    public static final int MAX_BITS = 16;
+
+    /**
+     * The name given to rows of the block-quantized format.
+     */
+    public static final String QUANTIZED = "QuantizedBlocks";
+
+    /**
+     * Not to be constructed.
+     */
+    private RateDistortion() {
+    }
+
+    /**
+     * A single row of a rate-distortion table.
+     */
+    public static class Row {
+
+        /**
+         * The name of the compressor this row measures.
+         */
+        public final String codec;
+
+        /**
+         * The number of bits each value was quantized to, or {@code 0} if
+         * the compressor uses its own fixed depth.
+         */
+        public final int bits;
+
+        /**
+         * The size and error measured for this row.
+         */
+        public final QualityReport report;
+
+        /**
+         * Constructs a new {@link Row}.
+         *
+         * @param codec The name of the compressor this row measures.
+         *
+         * @param bits The number of bits each value was quantized to, or
+         *             {@code 0} if the compressor uses its own depth.
+         *
+         * @param report The size and error measured for this row.
+         */
+        public Row(String codec, int bits, QualityReport report) {
+            this.codec = codec;
+            this.bits = bits;
+            this.report = report;
+        }
+    }
+
+    /**
+     * Measures every compressor, and every bit depth of the block-quantized
+     * format, on a set of points.
+     *
+     * @param points The points to measure on.
+     *
+     * @return The rows of the table, compressors first.
+     *
+     * @throws IOException If the points cannot be written or read back by
+     *                     any compressor.
+     */
+    public static List<Row> table(AccelerationCollection points)
+            throws IOException {
+        List<Row> rows = new ArrayList<Row>();
+        for (AccelerationCompressor c : AccelerationCompressor.values()) {
+            rows.add(new Row(c.toString(), 0, c.quality(points)));
+        }
+        for (int bits = 1; bits <= MAX_BITS; bits++) {
+            rows.add(new Row(QUANTIZED, bits, quantized(points, bits)));
+        }
+        return rows;
+    }
+
+    /**
+     * Writes a table as CSV, with a header line naming every column.
+     *
+     * @param rows The rows of the table.
+     *
+     * @param out The {@link java.io.Writer} to write to. This is flushed,
+     *            but not closed.
+     *
+     * @throws IOException If {@code out} cannot be written to for any
+     *                     reason.
+     */
+    public static void writeCsv(List<Row> rows, Writer out)
+            throws IOException {
+        out.write("codec,bits,bytes,ratio,bits_per_sample," +
+                  "rmse_x,rmse_y,rmse_z,max_x,max_y,max_z," +
+                  "snr_x,snr_y,snr_z\n");
+        for (Row row : rows) {
+            QualityReport r = row.report;
+            StringBuilder sb = new StringBuilder();
+            sb.append(row.codec).append(',')
+              .append(row.bits).append(',')
+              .append(r.length).append(',')
+              .append(r.ratio).append(',')
+              .append(r.bitsPerSample);
+            for (double v : r.rmse) {
+                sb.append(',').append(v);
+            }
+            for (double v : r.maxError) {
+                sb.append(',').append(v);
+            }
+            for (double v : r.snr) {
+                sb.append(',').append(v);
+            }
+            out.write(sb.append('\n').toString());
+        }
+        out.flush();
+    }
+
+    /**
+     * Measures the block-quantized format at a single bit depth.
+     *
+     * @param points The points to measure on.
+     *
+     * @param bits The number of bits each value is quantized to.
+     *
+     * @return The size and error of the format at {@code bits} bits.
+     *
+     * @throws IOException Never, as only in-memory streams are used.
+     */
+    private static QualityReport quantized(AccelerationCollection points,
+                                           int bits) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BitWriter bwrite = new BitWriter(out);
+        QuantizedBlockWriter writer = new QuantizedBlockWriter(bwrite, 3,
+                bits, QuantizedBlockWriter.DEFAULT_BLOCK_SIZE);
+        float[] sample = new float[3];
+        for (int i = 0; i < points.size(); i++) {
+            sample[0] = points.getX(i);
+            sample[1] = points.getY(i);
+            sample[2] = points.getZ(i);
+            writer.append(sample);
+        }
+        writer.finish();
+        bwrite.close();
+        byte[] bytes = out.toByteArray();
+
+        FloatSeries[] axes = {
+                new FloatSeries(), new FloatSeries(), new FloatSeries()
+        };
+        QuantizedBlockReader reader = new QuantizedBlockReader(
+                new BitReader(new ByteArrayInputStream(bytes)), 3, bits);
+        while (reader.readBlock(axes) >= 0) {
+            /* Each block appends to axes directly. */
+        }
+        return AccelerationCompressor.report(points, axes, bytes.length);
+    }
+}
@@ -1,5 +1,6 @@
 package com.lunagameserve.compression;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 
@@ -7,10 +8,20 @@ import java.io.InputStream;
  * An IO Construct used to read groups of bits from an
  * {@link java.io.InputStream}.
  * <p>
+ *     Bytes are pulled from the underlying {@link java.io.InputStream} into
+ *     an internal buffer in bulk, and from there into a 64-bit accumulator
+ *     which serves every bit-level read. Reads of up to 64 bits, lookahead
+ *     through {@link #peekBits(int)}, seeking through
+ *     {@link #skipBits(long)} and position queries through
+ *     {@link #bitPosition()} are all supported.
+ * </p>
+ * <p>
  *     <b><i>Note:</i></b>
- *     This stream is far slower than other
- *     {@link java.io.InputStream}s, and really should only be used when needing
- *     IO on the bit (not byte) level.
+ *     This reader may read ahead of the bits it has handed out, so the
+ *     underlying {@link java.io.InputStream} should not be read from directly
+ *     while this {@link com.lunagameserve.compression.BitReader} is in use.
+ *     Use {@link #available()} rather than the underlying stream's to find
+ *     out how much is left.
  * </p>
  *
  * @author Six
@@ -20,20 +31,63 @@ import java.io.InputStream;
 public class BitReader extends InputStream {
 
     /**
-     * The current byte which has technically been read from the underlying
-     * {@link java.io.InputStream}, though has not yet been read by the owner
-     * of this {@link com.lunagameserve.compression.BitReader}.
+     * The size, in bytes, of {@link #buffer}.
+     */
+    private static final int BUFFER_SIZE = 4096;
+
+    /**
+     * The largest number of bits which may be looked at using
+     * {@link #peekBits(int)}.
      */
-    private int currentByte = 0;
+    public static final int MAX_PEEK_BITS = 56;
 
     /**
-     * The bit number, in bits from the LSB of {@link #currentByte}, which
-     * will be read from next upon {@link #readBit()}.
+     * Bits which have technically been read from the underlying
+     * {@link java.io.InputStream}, though have not yet been read by the owner
+     * of this {@link com.lunagameserve.compression.BitReader}. The next bit
+     * to be read lives in the LSB.
      */
-    private int currentBytePos = 0;
+    private long accumulator = 0L;
 
     /**
-     * The underlying {@link java.io.InputStream} which all
+     * The number of valid bits held in {@link #accumulator}.
+     */
+    private int accumulatorBits = 0;
+
+    /**
+     * Bytes which have been read from the underlying
+     * {@link java.io.InputStream} but not yet moved into
+     * {@link #accumulator}.
+     */
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+
+    /**
+     * The index of the next byte in {@link #buffer} to be moved into
+     * {@link #accumulator}.
+     */
+    private int bufferPos = 0;
+
+    /**
+     * The number of valid bytes in {@link #buffer}.
+     */
+    private int bufferLimit = 0;
+
+    /**
+     * The number of bytes which have been moved into {@link #accumulator} or
+     * skipped over since this
+     * {@link com.lunagameserve.compression.BitReader} was constructed.
+     */
+    private long bytesLoaded = 0L;
+
+    /**
+     * {@code true} once the underlying {@link java.io.InputStream} has
+     * reported that it has no more bytes.
+     */
+    private boolean endOfStream = false;
+
+    /**
+     * The underlying {@link java.io.InputStream} which all bits are read
+     * from.
      */
     private final InputStream in;
 
@@ -61,21 +115,13 @@ public class BitReader extends InputStream {
      *                     be read from for any reason.
      */
     public int readBit() throws IOException {
-        if (currentBytePos == 0) {
-            currentByte = in.read();
-            if (currentByte == -1) {
-                return -1;
-            }
+        if (accumulatorBits == 0 && !refill(1)) {
+            return -1;
         }
-
-        int readVal = currentByte & (1 << currentBytePos);
-        if (readVal > 0) {
-            readVal = 1;
-        }
-        currentBytePos++;
-        currentBytePos %= 8;
-
-        return readVal;
+        int bit = (int)accumulator & 1;
+        accumulator >>>= 1;
+        accumulatorBits--;
+        return bit;
     }
 
     public boolean readBool() throws IOException {
@@ -83,15 +129,15 @@ public class BitReader extends InputStream {
     }
 
     /**
-     * Reads up to 32 bits from the underlying {@link java.io.InputStream}. If
-     * there are less than 32 bits to be read, pads the rest of the return value
-     * with zero bits.
+     * Reads up to 32 bits from the underlying {@link java.io.InputStream}.
      *
      * @param bits The number of bits to read from this
      *             {@link com.lunagameserve.compression.BitReader}.
      *
      * @return an {@code int} with {@code bits} LSB bits containing the bits
-     *         read from the internal {@link java.io.InputStream}.
+     *         read from the internal {@link java.io.InputStream}, or
+     *         {@code -1} if there are fewer than {@code bits} bits left to
+     *         be read.
      *
      * @throws IOException If the internal {@link java.io.InputStream} cannot
      *                     be read from for any reason.
@@ -105,21 +151,146 @@ public class BitReader extends InputStream {
                                                " is 32 bits. Split this call" +
                                                " up into smaller chunks.");
         }
-        int readByte = 0;
-        for (int i = 0; i < bits; i++) {
-            int bit = readBit();
+        if (accumulatorBits < bits && !refill(bits)) {
+            accumulator = 0L;
+            accumulatorBits = 0;
+            return -1;
+        }
+        return (int)take(bits);
+    }
+
+    /**
+     * Reads up to 64 bits from the underlying {@link java.io.InputStream}.
+     * Unlike {@link #readBits(int)}, running out of bits is reported with an
+     * exception, as every {@code long} value is a legal result.
+     *
+     * @param bits The number of bits to read from this
+     *             {@link com.lunagameserve.compression.BitReader}.
+     *
+     * @return a {@code long} with {@code bits} LSB bits containing the bits
+     *         read from the internal {@link java.io.InputStream}.
+     *
+     * @throws IOException If the internal {@link java.io.InputStream} cannot
+     *                     be read from for any reason.
+     *
+     * @throws EOFException If there are fewer than {@code bits} bits left
+     *                      to be read.
+     *
+     * @throws IllegalArgumentException if {@code bits} is not in the range
+     *                                  {@code [1,64]}.
+     */
+    public long readLongBits(int bits) throws IOException {
+        if (bits < 1 || bits > 64) {
+            throw new IllegalArgumentException("Maximum bits read at one time" +
+                                               " is 64 bits. Split this call" +
+                                               " up into smaller chunks.");
+        }
+        if (bits <= MAX_PEEK_BITS) {
+            requireBits(bits);
+            return take(bits);
+        }
+        requireBits(32);
+        long low = take(32);
+        requireBits(bits - 32);
+        return low | (take(bits - 32) << 32);
+    }
 
-            if (bit == -1) {
-                if (currentBytePos == 0) {
-                    return -1;
-                } else {
-                    return readByte;
+    /**
+     * Looks at the next bits of this
+     * {@link com.lunagameserve.compression.BitReader} without consuming them.
+     * If the stream ends before {@code bits} bits are available, the missing
+     * high bits are returned as zeros.
+     *
+     * @param bits The number of bits to look at, in the range
+     *             {@code [1,}{@link #MAX_PEEK_BITS}{@code ]}.
+     *
+     * @return a {@code long} whose {@code bits} LSB bits are the next bits
+     *         which would be read from this
+     *         {@link com.lunagameserve.compression.BitReader}.
+     *
+     * @throws IOException If the internal {@link java.io.InputStream} cannot
+     *                     be read from for any reason.
+     *
+     * @throws IllegalArgumentException if {@code bits} is not in the range
+     *                                  {@code [1,}{@link #MAX_PEEK_BITS}
+     *                                  {@code ]}.
+     */
+    public long peekBits(int bits) throws IOException {
+        if (bits < 1 || bits > MAX_PEEK_BITS) {
+            throw new IllegalArgumentException("Maximum bits peeked at one" +
+                                               " time is " + MAX_PEEK_BITS +
+                                               " bits.");
+        }
+        if (accumulatorBits < bits) {
+            refill(bits);
+        }
+        return accumulator & ((1L << bits) - 1);
+    }
+
+    /**
+     * Skips over a number of bits in this
+     * {@link com.lunagameserve.compression.BitReader}. Whole bytes are
+     * skipped in the internal buffer or in the underlying
+     * {@link java.io.InputStream} without being decoded.
+     *
+     * @param bits The number of bits to skip.
+     *
+     * @return The number of bits actually skipped, which is only less than
+     *         {@code bits} if the end of the stream was reached.
+     *
+     * @throws IOException If the internal {@link java.io.InputStream} cannot
+     *                     be read from or skipped for any reason.
+     */
+    public long skipBits(long bits) throws IOException {
+        if (bits <= 0) {
+            return 0;
+        }
+        if (bits <= accumulatorBits) {
+            take((int)bits);
+            return bits;
+        }
+        long skipped = accumulatorBits;
+        accumulator = 0L;
+        accumulatorBits = 0;
+
+        long bytes = (bits - skipped) >>> 3;
+        long fromBuffer = Math.min(bytes, bufferLimit - bufferPos);
+        bufferPos += (int)fromBuffer;
+        bytesLoaded += fromBuffer;
+        skipped += fromBuffer << 3;
+        bytes -= fromBuffer;
+
+        while (bytes > 0 && !endOfStream) {
+            long n = in.skip(bytes);
+            if (n <= 0) {
+                if (!fillBuffer()) {
+                    break;
                 }
+                n = Math.min(bytes, bufferLimit);
+                bufferPos = (int)n;
             }
+            bytesLoaded += n;
+            skipped += n << 3;
+            bytes -= n;
+        }
 
-            readByte |= (bit << i);
+        int rest = (int)(bits - skipped);
+        if (rest > 0 && rest < 8 && refill(rest)) {
+            take(rest);
+            skipped += rest;
         }
-        return readByte;
+        return skipped;
+    }
+
+    /**
+     * Gets the number of bits which have been read or skipped since this
+     * {@link com.lunagameserve.compression.BitReader} was constructed.
+     *
+     * @return The current position of this
+     *         {@link com.lunagameserve.compression.BitReader}, in bits.
+     */
+    public long bitPosition() {
+        return (bytesLoaded << 3) - accumulatorBits;
     }
 
     /** {@inheritDoc} */
@@ -127,4 +298,177 @@ public class BitReader extends InputStream {
     public int read() throws IOException {
         return readBits(8);
     }
+
+    /**
+     * Reads up to {@code len} bytes into a section of a {@code byte[]}. If
+     * this {@link com.lunagameserve.compression.BitReader} is currently
+     * aligned to a byte boundary, the bytes are copied across in bulk.
+     *
+     * @param b The {@code byte[]} to read into.
+     *
+     * @param off The index in {@code b} of the first byte to read.
+     *
+     * @param len The maximum number of bytes to read.
+     *
+     * @return The number of bytes read, or {@code -1} if there are no more
+     *         whole bytes to read.
+     *
+     * @throws IOException If the internal {@link java.io.InputStream} cannot
+     *                     be read from for any reason.
+     */
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if ((off | len | (off + len) | (b.length - (off + len))) < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len == 0) {
+            return 0;
+        }
+        int count = 0;
+        if ((accumulatorBits & 7) == 0) {
+            while (accumulatorBits > 0 && count < len) {
+                b[off + count++] = (byte)take(8);
+            }
+            int fromBuffer = Math.min(len - count, bufferLimit - bufferPos);
+            System.arraycopy(buffer, bufferPos, b, off + count, fromBuffer);
+            bufferPos += fromBuffer;
+            bytesLoaded += fromBuffer;
+            count += fromBuffer;
+            if (count < len && !endOfStream) {
+                int n = in.read(b, off + count, len - count);
+                if (n > 0) {
+                    bytesLoaded += n;
+                    count += n;
+                } else if (n < 0) {
+                    endOfStream = true;
+                }
+            }
+        } else {
+            while (count < len) {
+                int next = readBits(8);
+                if (next == -1) {
+                    break;
+                }
+                b[off + count++] = (byte)next;
+            }
+        }
+        return count == 0 && endOfStream ? -1 : count;
+    }
+
+    /**
+     * Gets the number of whole bytes which have not yet been touched by any
+     * read from this {@link com.lunagameserve.compression.BitReader}. A
+     * partially read byte is not counted.
+     *
+     * @return The number of untouched bytes which may be read without
+     *         blocking.
+     *
+     * @throws IOException If the internal {@link java.io.InputStream} cannot
+     *                     be queried for any reason.
+     */
+    @Override
+    public int available() throws IOException {
+        int buffered = (accumulatorBits >>> 3) + (bufferLimit - bufferPos);
+        return endOfStream ? buffered : buffered + in.available();
+    }
+
+    /**
+     * Closes this {@link com.lunagameserve.compression.BitReader}, also
+     * closing its held {@link java.io.InputStream}.
+     *
+     * @throws IOException If the underlying {@link java.io.InputStream}
+     *                     cannot be closed for any reason.
+     */
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /**
+     * Removes and returns the next {@code bits} bits from
+     * {@link #accumulator}, which must already hold at least that many.
+     *
+     * @param bits The number of bits to take, in the range {@code [1,64]}.
+     *
+     * @return The next {@code bits} bits, in the LSBs of a {@code long}.
+     */
+    private long take(int bits) {
+        /* Java masks shift distances to six bits, so a whole 64-bit
+         * accumulator is masked and shifted out in two steps */
+        long value = accumulator & (-1L >>> (64 - bits));
+        accumulator = (accumulator >>> 1) >>> (bits - 1);
+        accumulatorBits -= bits;
+        return value;
+    }
+
+    /**
+     * Makes sure at least {@code bits} bits are held in
+     * {@link #accumulator}, reporting the end of the stream otherwise.
+     *
+     * @param bits The number of bits needed, at most {@link #MAX_PEEK_BITS}.
+     *
+     * @throws IOException If the internal {@link java.io.InputStream} cannot
+     *                     be read from, or has fewer than {@code bits} bits
+     *                     left.
+     */
+    private void requireBits(int bits) throws IOException {
+        if (accumulatorBits < bits && !refill(bits)) {
+            throw new EOFException("Needed " + bits + " bits, but " +
+                                           "only " + accumulatorBits +
+                                           " remain.");
+        }
+    }
+
+    /**
+     * Moves whole bytes from {@link #buffer} into {@link #accumulator} until
+     * it is as full as possible, refilling {@link #buffer} as needed.
+     *
+     * @param needed The number of bits the caller needs to be held in
+     *               {@link #accumulator}.
+     *
+     * @return {@code true} if {@link #accumulator} now holds at least
+     *         {@code needed} bits.
+     *
+     * @throws IOException If the internal {@link java.io.InputStream} cannot
+     *                     be read from for any reason.
+     */
+    private boolean refill(int needed) throws IOException {
+        while (accumulatorBits <= 56) {
+            if (bufferPos == bufferLimit && !fillBuffer()) {
+                break;
+            }
+            accumulator |= (buffer[bufferPos++] & 0xFFL) << accumulatorBits;
+            accumulatorBits += 8;
+            bytesLoaded++;
+        }
+        return accumulatorBits >= needed;
+    }
+
+    /**
+     * Replaces the contents of {@link #buffer} with the next bytes of the
+     * underlying {@link java.io.InputStream}.
+     *
+     * @return {@code false} if the underlying {@link java.io.InputStream} has
+     *         no more bytes.
+     *
+     * @throws IOException If the internal {@link java.io.InputStream} cannot
+     *                     be read from for any reason.
+     */
+    private boolean fillBuffer() throws IOException {
+        bufferPos = 0;
+        bufferLimit = 0;
+        if (endOfStream) {
+            return false;
+        }
+        int n;
+        do {
+            n = in.read(buffer, 0, BUFFER_SIZE);
+        } while (n == 0);
+        if (n < 0) {
+            endOfStream = true;
+            return false;
+        }
+        bufferLimit = n;
+        return true;
+    }
 }
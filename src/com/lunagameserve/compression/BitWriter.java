@@ -7,10 +7,17 @@ import java.io.OutputStream;
  * An IO Construct used to writes groups of bits to an
  * {@link java.io.OutputStream}.
  * <p>
+ *     Bits are packed LSB-first into a 64-bit accumulator, and whole words
+ *     are spilled into an internal byte buffer which is handed to the
+ *     underlying {@link java.io.OutputStream} in bulk. Up to 64 bits may be
+ *     written per call using {@link #writeBits(long, int)}.
+ * </p>
+ * <p>
  *     <b><i>Note:</i></b>
- *     This stream is far slower than other
- *     {@link java.io.OutputStream}s, and really should only be used when
- *     needing IO on the bit (not byte) level.
+ *     Nothing is guaranteed to reach the underlying
+ *     {@link java.io.OutputStream} until this
+ *     {@link com.lunagameserve.compression.BitWriter} is {@link #flush()}ed
+ *     or {@link #close()}d.
  * </p>
  *
  * @author Six
@@ -20,16 +27,38 @@ import java.io.OutputStream;
 public class BitWriter extends OutputStream {
 
     /**
-     * The current byte which has technically been written to, but has not yet
-     * been written to the underlying {@link java.io.OutputStream}.
+     * The size, in bytes, of {@link #buffer}.
+     */
+    private static final int BUFFER_SIZE = 4096;
+
+    /**
+     * The bits which have technically been written to, but have not yet been
+     * moved into {@link #buffer}. The bit written first lives in the LSB.
+     */
+    private long accumulator = 0L;
+
+    /**
+     * The number of valid bits held in {@link #accumulator}. This is always
+     * in the range {@code [0,63]} between calls.
+     */
+    private int accumulatorBits = 0;
+
+    /**
+     * Whole bytes which are waiting to be written to the underlying
+     * {@link java.io.OutputStream}.
      */
-    private int currentByte = 0;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
 
     /**
-     * The position of the bit in {@link #currentByte} which will be written
-     * to next.
+     * The number of bytes in {@link #buffer} which are waiting to be written.
      */
-    private int currentBytePos = 0;
+    private int bufferPos = 0;
+
+    /**
+     * The number of bytes which have been handed to the underlying
+     * {@link java.io.OutputStream} so far.
+     */
+    private long bytesWritten = 0L;
 
     /**
      * The underlying {@link java.io.OutputStream} that this
@@ -62,14 +91,11 @@ public class BitWriter extends OutputStream {
      *                     be written to for any reason.
      */
     public void writeBit(int bit) throws IOException {
-        bit &= 1;
-
-        currentByte |= (bit << currentBytePos);
-
-        currentBytePos = (currentBytePos + 1) % 8;
-        if (currentBytePos == 0) {
-            out.write(currentByte);
-            currentByte = 0;
+        accumulator |= ((long)(bit & 1)) << accumulatorBits;
+        if (++accumulatorBits == 64) {
+            spillWord(accumulator);
+            accumulator = 0L;
+            accumulatorBits = 0;
         }
     }
 
@@ -95,17 +121,147 @@ public class BitWriter extends OutputStream {
      *
      * @throws IOException If the underlying {@link java.io.OutputStream} cannot
      *                     be written to for any reason.
+     *
+     * @throws IllegalArgumentException if {@code bits} is greater than
+     *                                  {@code 32}.
      */
     public void writeBits(int word, int bits) throws IOException {
-        for (int i = 0; i < bits; i++) {
-            writeBit(word >> i);
+        if (bits > 32) {
+            throw new IllegalArgumentException("Maximum bits written from an" +
+                                               " int is 32 bits. Use" +
+                                               " writeBits(long, int).");
+        }
+        writeBits(word & 0xFFFFFFFFL, bits);
+    }
+
+    /**
+     * Writes a specified number of bits, specified by the LSBs of a specified
+     * {@code long}, packing them into the internal 64-bit accumulator in a
+     * single step.
+     *
+     * @param word The {@code long} containing the bits to write. These will
+     *             be written from the LSB end, with the LSB written first.
+     *
+     * @param bits The number of bits from {@code word}'s LSBs to write. A
+     *             value of {@code 0} or less writes nothing.
+     *
+     * @throws IOException If the underlying {@link java.io.OutputStream} cannot
+     *                     be written to for any reason.
+     *
+     * @throws IllegalArgumentException if {@code bits} is greater than
+     *                                  {@code 64}.
+     */
+    public void writeBits(long word, int bits) throws IOException {
+        if (bits <= 0) {
+            return;
+        }
+        if (bits > 64) {
+            throw new IllegalArgumentException("Maximum bits written at one" +
+                                               " time is 64 bits. Split this" +
+                                               " call up into smaller" +
+                                               " chunks.");
+        }
+        long value = bits == 64 ? word : word & ((1L << bits) - 1);
+        int free = 64 - accumulatorBits;
+
+        if (bits < free) {
+            accumulator |= value << accumulatorBits;
+            accumulatorBits += bits;
+        } else {
+            spillWord(accumulator | (value << accumulatorBits));
+            accumulator = free == 64 ? 0L : value >>> free;
+            accumulatorBits = bits - free;
         }
     }
 
     /** {@inheritDoc} */
     @Override
     public void write(int oneByte) throws IOException {
-        writeBits(oneByte, 8);
+        writeBits(oneByte & 0xFFL, 8);
+    }
+
+    /**
+     * Writes a section of a {@code byte[]} to this
+     * {@link com.lunagameserve.compression.BitWriter}. If this
+     * {@link com.lunagameserve.compression.BitWriter} is currently aligned to
+     * a byte boundary, the bytes are copied across in bulk, else they are
+     * packed eight at a time into the accumulator.
+     *
+     * @param b The {@code byte[]} holding the bytes to write.
+     *
+     * @param off The index of the first byte in {@code b} to write.
+     *
+     * @param len The number of bytes from {@code b} to write.
+     *
+     * @throws IOException If the underlying {@link java.io.OutputStream} cannot
+     *                     be written to for any reason.
+     */
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if ((off | len | (off + len) | (b.length - (off + len))) < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+        if ((accumulatorBits & 7) == 0) {
+            drainAccumulator();
+            if (len >= BUFFER_SIZE) {
+                flushBuffer();
+                out.write(b, off, len);
+                bytesWritten += len;
+            } else {
+                if (len > BUFFER_SIZE - bufferPos) {
+                    flushBuffer();
+                }
+                System.arraycopy(b, off, buffer, bufferPos, len);
+                bufferPos += len;
+            }
+            return;
+        }
+
+        int end = off + len;
+        while (end - off >= 8) {
+            long word = 0L;
+            for (int i = 0; i < 8; i++) {
+                word |= (b[off + i] & 0xFFL) << (i << 3);
+            }
+            writeBits(word, 64);
+            off += 8;
+        }
+        while (off < end) {
+            writeBits(b[off++] & 0xFFL, 8);
+        }
+    }
+
+    /**
+     * Gets the number of bits which have been written since this
+     * {@link com.lunagameserve.compression.BitWriter} was constructed. A
+     * {@link com.lunagameserve.compression.BitReader} over the same stream
+     * reaches the same bit after
+     * {@link com.lunagameserve.compression.BitReader#skipBits(long)} of this
+     * many bits.
+     *
+     * @return The current position of this
+     *         {@link com.lunagameserve.compression.BitWriter}, in bits.
+     */
+    public long bitPosition() {
+        return ((bytesWritten + bufferPos) << 3) + accumulatorBits;
+    }
+
+    /**
+     * Writes all complete bytes held by this
+     * {@link com.lunagameserve.compression.BitWriter} to the underlying
+     * {@link java.io.OutputStream}, then flushes it. Any trailing bits which
+     * do not yet make up a whole byte are kept until more bits are written or
+     * this {@link com.lunagameserve.compression.BitWriter} is
+     * {@link #close()}d.
+     *
+     * @throws IOException If the underlying {@link java.io.OutputStream}
+     *                     cannot be written to or flushed for any reason.
+     */
+    @Override
+    public void flush() throws IOException {
+        drainAccumulator();
+        flushBuffer();
+        out.flush();
     }
 
     /** {@inheritDoc} */
@@ -113,10 +269,66 @@ public class BitWriter extends OutputStream {
     public void close() throws IOException {
         super.close();
 
-        while(currentBytePos > 0) {
-            writeBit(0);
+        if ((accumulatorBits & 7) != 0) {
+            accumulatorBits += 8 - (accumulatorBits & 7);
         }
+        drainAccumulator();
+        flushBuffer();
 
         out.close();
     }
+
+    /**
+     * Moves a full 64-bit word into {@link #buffer}, LSB byte first.
+     *
+     * @param word The word to move into {@link #buffer}.
+     *
+     * @throws IOException If {@link #buffer} needs to be flushed to the
+     *                     underlying {@link java.io.OutputStream} and cannot
+     *                     be for any reason.
+     */
+    private void spillWord(long word) throws IOException {
+        if (bufferPos > BUFFER_SIZE - 8) {
+            flushBuffer();
+        }
+        for (int i = 0; i < 8; i++) {
+            buffer[bufferPos++] = (byte)word;
+            word >>>= 8;
+        }
+    }
+
+    /**
+     * Moves every complete byte held in {@link #accumulator} into
+     * {@link #buffer}, leaving at most seven bits behind.
+     *
+     * @throws IOException If {@link #buffer} needs to be flushed to the
+     *                     underlying {@link java.io.OutputStream} and cannot
+     *                     be for any reason.
+     */
+    private void drainAccumulator() throws IOException {
+        int bytes = accumulatorBits >>> 3;
+        if (bufferPos > BUFFER_SIZE - bytes) {
+            flushBuffer();
+        }
+        for (int i = 0; i < bytes; i++) {
+            buffer[bufferPos++] = (byte)accumulator;
+            accumulator >>>= 8;
+        }
+        accumulatorBits &= 7;
+    }
+
+    /**
+     * Hands every byte waiting in {@link #buffer} to the underlying
+     * {@link java.io.OutputStream} with a single bulk write.
+     *
+     * @throws IOException If the underlying {@link java.io.OutputStream}
+     *                     cannot be written to for any reason.
+     */
+    private void flushBuffer() throws IOException {
+        if (bufferPos > 0) {
+            out.write(buffer, 0, bufferPos);
+            bytesWritten += bufferPos;
+            bufferPos = 0;
+        }
+    }
 }
@@ -0,0 +1,211 @@
+package com.lunagameserve.compression;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * An index over a stream of independently decodable blocks, mapping the
+ * first timestamp of each block to the bit at which that block starts. The
+ * byte holding that bit, and the bit within that byte, are available through
+ * {@link #getByteOffset(int)} and {@link #getBitInByte(int)}.
+ * <p>
+ *     Entries must be added in increasing order of timestamp, which lets
+ *     {@link #find(long)} locate the block holding any timestamp with a
+ *     binary search.
+ * </p>
+ *
+ * @author Six
+ * @since October 17, 2026
+ */
+public class BlockIndex {
+
+    /**
+     * The number of entries that a new
+     * {@link com.lunagameserve.compression.BlockIndex} has room for before it
+     * first needs to grow.
+     */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * The first timestamp of each block. Only the first {@link #size}
+     * elements are valid.
+     */
+    private long[] timestamps = new long[INITIAL_CAPACITY];
+
+    /**
+     * The bit at which each block starts. Only the first {@link #size}
+     * elements are valid.
+     */
+    private long[] bitOffsets = new long[INITIAL_CAPACITY];
+
+    /**
+     * The number of entries held by this
+     * {@link com.lunagameserve.compression.BlockIndex}.
+     */
+    private int size = 0;
+
+    /**
+     * Adds an entry for the next block of the stream.
+     *
+     * @param timestamp The timestamp of the first sample of the block.
+     *
+     * @param bitOffset The bit at which the block starts.
+     *
+     * @throws IllegalArgumentException if {@code timestamp} comes before the
+     *                                  timestamp of the previous entry.
+     */
+    public void add(long timestamp, long bitOffset) {
+        if (size > 0 && timestamp < timestamps[size - 1]) {
+            throw new IllegalArgumentException("Blocks must be indexed in" +
+                                               " order of time.");
+        }
+        if (size == timestamps.length) {
+            /* An index read back may be too small to grow by half */
+            int capacity = Math.max(INITIAL_CAPACITY, size + (size >> 1));
+            timestamps = Arrays.copyOf(timestamps, capacity);
+            bitOffsets = Arrays.copyOf(bitOffsets, capacity);
+        }
+        timestamps[size] = timestamp;
+        bitOffsets[size] = bitOffset;
+        size++;
+    }
+
+    /**
+     * Gets the number of entries held by this
+     * {@link com.lunagameserve.compression.BlockIndex}.
+     *
+     * @return The number of indexed blocks.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the timestamp of the first sample of a block.
+     *
+     * @param i The index of the block.
+     *
+     * @return The first timestamp of block {@code i}.
+     */
+    public long getTimestamp(int i) {
+        checkIndex(i);
+        return timestamps[i];
+    }
+
+    /**
+     * Gets the bit at which a block starts.
+     *
+     * @param i The index of the block.
+     *
+     * @return The offset of block {@code i}, in bits.
+     */
+    public long getBitOffset(int i) {
+        checkIndex(i);
+        return bitOffsets[i];
+    }
+
+    /**
+     * Gets the byte holding the first bit of a block.
+     *
+     * @param i The index of the block.
+     *
+     * @return The offset of block {@code i}, in whole bytes.
+     */
+    public long getByteOffset(int i) {
+        return getBitOffset(i) >>> 3;
+    }
+
+    /**
+     * Gets the position of the first bit of a block within the byte given by
+     * {@link #getByteOffset(int)}.
+     *
+     * @param i The index of the block.
+     *
+     * @return The bit, from {@code 0} to {@code 7}, LSB first, within its
+     *         byte at which block {@code i} starts.
+     */
+    public int getBitInByte(int i) {
+        return (int)(getBitOffset(i) & 7);
+    }
+
+    /**
+     * Finds the block which holds a specified timestamp, being the last
+     * block which starts no later than it.
+     *
+     * @param timestamp The timestamp to look for.
+     *
+     * @return The index of the block which holds {@code timestamp}, or
+     *         {@code 0} if {@code timestamp} comes before every block, or
+     *         {@code -1} if this index is empty.
+     */
+    public int find(long timestamp) {
+        if (size == 0) {
+            return -1;
+        }
+        int i = Arrays.binarySearch(timestamps, 0, size, timestamp);
+        if (i < 0) {
+            return Math.max(0, -i - 2);
+        }
+        /* Step back over blocks which start on the same timestamp. */
+        while (i > 0 && timestamps[i - 1] == timestamp) {
+            i--;
+        }
+        return i;
+    }
+
+    /**
+     * Writes every entry of this
+     * {@link com.lunagameserve.compression.BlockIndex} to a
+     * {@link com.lunagameserve.compression.ByteWriter}.
+     *
+     * @param writer The {@link com.lunagameserve.compression.ByteWriter} to
+     *               write to.
+     *
+     * @throws IOException If {@code writer} cannot be written to for any
+     *                     reason.
+     */
+    public void writeTo(ByteWriter writer) throws IOException {
+        writer.writeInt(size);
+        writer.writeLongs(timestamps, 0, size);
+        writer.writeLongs(bitOffsets, 0, size);
+    }
+
+    /**
+     * Reads a {@link com.lunagameserve.compression.BlockIndex} which was
+     * written by {@link #writeTo(ByteWriter)}.
+     *
+     * @param reader The {@link com.lunagameserve.compression.ByteReader} to
+     *               read from.
+     *
+     * @return The {@link com.lunagameserve.compression.BlockIndex} read.
+     *
+     * @throws IOException If {@code reader} cannot be read from for any
+     *                     reason, or the number of entries is not valid.
+     */
+    public static BlockIndex readFrom(ByteReader reader) throws IOException {
+        BlockIndex index = new BlockIndex();
+        int count = reader.readInt();
+        if (count < 0) {
+            throw new IOException("Invalid block index size: " + count);
+        }
+        index.timestamps = new long[Math.max(count, 1)];
+        index.bitOffsets = new long[Math.max(count, 1)];
+        reader.readLongs(index.timestamps, 0, count);
+        reader.readLongs(index.bitOffsets, 0, count);
+        index.size = count;
+        return index;
+    }
+
+    /**
+     * Throws an {@link java.lang.IndexOutOfBoundsException} if a specified
+     * index does not refer to a held entry.
+     *
+     * @param i The index to check.
+     */
+    private void checkIndex(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("Index: " + i +
+                                                ", Size: " + size);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.lunagameserve.compression;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * An {@link java.io.InputStream} which reads directly from a
+ * {@link java.nio.ByteBuffer}, such as a slice of a
+ * {@link java.nio.MappedByteBuffer}, so that any compressor may decode from
+ * it without first copying it into a {@code byte[]}. Reading advances the
+ * position of the buffer.
+ *
+ * @author Six
+ * @since October 17, 2026
+ */
+public class ByteBufferInputStream extends InputStream {
+
+    /**
+     * The {@link java.nio.ByteBuffer} which all bytes are read from.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * Constructs a new
+     * {@link com.lunagameserve.compression.ByteBufferInputStream} which reads
+     * the remaining bytes of a specified {@link java.nio.ByteBuffer}.
+     *
+     * @param buffer The {@link java.nio.ByteBuffer} to read from.
+     */
+    public ByteBufferInputStream(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int read() {
+        return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int read(byte[] b, int off, int len) {
+        if (len == 0) {
+            return 0;
+        }
+        if (!buffer.hasRemaining()) {
+            return -1;
+        }
+        int n = Math.min(len, buffer.remaining());
+        buffer.get(b, off, n);
+        return n;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long skip(long n) {
+        int skipped = (int)Math.max(0, Math.min(n, buffer.remaining()));
+        buffer.position(buffer.position() + skipped);
+        return skipped;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int available() {
+        return buffer.remaining();
+    }
+}
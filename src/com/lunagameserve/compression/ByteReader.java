@@ -1,13 +1,19 @@
 package com.lunagameserve.compression;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.ByteBuffer;
 
 /**
  * A small {@link java.io.InputStream} wrapper which reads larger data types
  * as a series of bytes. These data types are guaranteed to be read correctly
  * is they are written by a {@link com.lunagameserve.compression.ByteWriter}.
+ * <p>
+ *     All values are read into a single internal buffer which is reused for
+ *     every call, so no allocation takes place per value. This reader never
+ *     reads further ahead than the value being read, so the underlying
+ *     {@link java.io.InputStream} may still be used directly between calls.
+ * </p>
  *
  * @author Six
  * @since March 2, 2015
@@ -15,12 +21,24 @@ import java.nio.ByteBuffer;
  */
 public class ByteReader {
 
+    /**
+     * The size, in bytes, that {@link #buffer} is grown to the first time a
+     * bulk method is used.
+     */
+    private static final int BULK_SIZE = 1024;
+
     /**
      * The underlying {@link java.io.InputStream} which all bytes will be read
      * from.
      */
     private final InputStream in;
 
+    /**
+     * The buffer which every value is read into before being decoded. This
+     * starts large enough to hold a single {@code long}.
+     */
+    private byte[] buffer = new byte[8];
+
     /**
      * Constructs a new {@link com.lunagameserve.compression.ByteReader} which
      * will read bytes from a specified {@link java.io.InputStream}.
@@ -41,9 +59,12 @@ public class ByteReader {
      *
      * @throws IOException If the underlying {@link java.io.InputStream} cannot
      *                     be read from for any reason.
+     *
+     * @throws EOFException If the underlying {@link java.io.InputStream} ends
+     *                      before four bytes are read.
      */
     public float readFloat() throws IOException {
-        return ByteBuffer.wrap(readBytes(4)).getFloat();
+        return Float.intBitsToFloat(readInt());
     }
 
     /**
@@ -55,9 +76,13 @@ public class ByteReader {
      *
      * @throws IOException If the underlying {@link java.io.InputStream} cannot
      *                     be read from for any reason.
+     *
+     * @throws EOFException If the underlying {@link java.io.InputStream} ends
+     *                      before eight bytes are read.
      */
     public long readLong() throws IOException {
-        return ByteBuffer.wrap(readBytes(8)).getLong();
+        readFully(buffer, 0, 8);
+        return getLong(buffer, 0);
     }
 
     /**
@@ -69,9 +94,13 @@ public class ByteReader {
      *
      * @throws IOException If the underlying {@link java.io.InputStream} cannot
      *                     be read from for any reason.
+     *
+     * @throws EOFException If the underlying {@link java.io.InputStream} ends
+     *                      before four bytes are read.
      */
     public int readInt() throws IOException {
-        return ByteBuffer.wrap(readBytes(4)).getInt();
+        readFully(buffer, 0, 4);
+        return getInt(buffer, 0);
     }
 
     /**
@@ -83,30 +112,137 @@ public class ByteReader {
      *
      * @throws IOException If the underlying {@link java.io.InputStream} cannot
      *                     be read from for any reason.
+     *
+     * @throws EOFException If the underlying {@link java.io.InputStream} ends
+     *                      before two bytes are read.
      */
     public int readShort() throws IOException {
-        return ByteBuffer.wrap(readBytes(2)).getShort();
+        readFully(buffer, 0, 2);
+        return (short)((buffer[0] << 8) | (buffer[1] & 0xFF));
     }
 
     /**
-     * Reads a {@code byte[]} from the next specified number of bytes from the
-     * underlying {@link java.io.InputStream}.
+     * Reads {@code len} {@code float}s from the next {@code 4 * len} bytes of
+     * the underlying {@link java.io.InputStream} into a section of a
+     * {@code float[]}. The result is identical to calling
+     * {@link #readFloat()} once per value.
      *
-     * @param count The number of {@code byte}s which should be read from the
-     *              underlying {@link java.io.InputStream}.
+     * @param dst The {@code float[]} to read into.
      *
-     * @return The {@code byte[]} represented by the next four bytes of the
-     *         underling {@link java.io.InputStream}.
+     * @param off The index in {@code dst} of the first value to read.
+     *
+     * @param len The number of values to read.
      *
      * @throws IOException If the underlying {@link java.io.InputStream} cannot
      *                     be read from for any reason.
+     *
+     * @throws EOFException If the underlying {@link java.io.InputStream} ends
+     *                      before all values are read.
      */
-    private byte[] readBytes(int count) throws IOException {
-        byte[] bytes = new byte[count];
-        for (int i = 0; i < count; i++) {
-            bytes[i] = (byte)in.read();
+    public void readFloats(float[] dst, int off, int len) throws IOException {
+        byte[] buf = bulkBuffer();
+        int per = buf.length / 4;
+        while (len > 0) {
+            int n = Math.min(len, per);
+            readFully(buf, 0, n << 2);
+            for (int i = 0; i < n; i++) {
+                dst[off + i] = Float.intBitsToFloat(getInt(buf, i << 2));
+            }
+            off += n;
+            len -= n;
+        }
+    }
+
+    /**
+     * Reads {@code len} {@code int}s from the next {@code 4 * len} bytes of
+     * the underlying {@link java.io.InputStream} into a section of an
+     * {@code int[]}. The result is identical to calling {@link #readInt()}
+     * once per value.
+     *
+     * @param dst The {@code int[]} to read into.
+     *
+     * @param off The index in {@code dst} of the first value to read.
+     *
+     * @param len The number of values to read.
+     *
+     * @throws IOException If the underlying {@link java.io.InputStream} cannot
+     *                     be read from for any reason.
+     *
+     * @throws EOFException If the underlying {@link java.io.InputStream} ends
+     *                      before all values are read.
+     */
+    public void readInts(int[] dst, int off, int len) throws IOException {
+        byte[] buf = bulkBuffer();
+        int per = buf.length / 4;
+        while (len > 0) {
+            int n = Math.min(len, per);
+            readFully(buf, 0, n << 2);
+            for (int i = 0; i < n; i++) {
+                dst[off + i] = getInt(buf, i << 2);
+            }
+            off += n;
+            len -= n;
+        }
+    }
+
+    /**
+     * Reads {@code len} {@code long}s from the next {@code 8 * len} bytes of
+     * the underlying {@link java.io.InputStream} into a section of a
+     * {@code long[]}. The result is identical to calling {@link #readLong()}
+     * once per value.
+     *
+     * @param dst The {@code long[]} to read into.
+     *
+     * @param off The index in {@code dst} of the first value to read.
+     *
+     * @param len The number of values to read.
+     *
+     * @throws IOException If the underlying {@link java.io.InputStream} cannot
+     *                     be read from for any reason.
+     *
+     * @throws EOFException If the underlying {@link java.io.InputStream} ends
+     *                      before all values are read.
+     */
+    public void readLongs(long[] dst, int off, int len) throws IOException {
+        byte[] buf = bulkBuffer();
+        int per = buf.length / 8;
+        while (len > 0) {
+            int n = Math.min(len, per);
+            readFully(buf, 0, n << 3);
+            for (int i = 0; i < n; i++) {
+                dst[off + i] = getLong(buf, i << 3);
+            }
+            off += n;
+            len -= n;
+        }
+    }
+
+    /**
+     * Reads exactly {@code len} bytes from the underlying
+     * {@link java.io.InputStream} into a section of a {@code byte[]}.
+     *
+     * @param dst The {@code byte[]} to read into.
+     *
+     * @param off The index in {@code dst} of the first byte to read.
+     *
+     * @param len The number of bytes to read.
+     *
+     * @throws IOException If the underlying {@link java.io.InputStream} cannot
+     *                     be read from for any reason.
+     *
+     * @throws EOFException If the underlying {@link java.io.InputStream} ends
+     *                      before {@code len} bytes are read.
+     */
+    public void readFully(byte[] dst, int off, int len) throws IOException {
+        int read = 0;
+        while (read < len) {
+            int n = in.read(dst, off + read, len - read);
+            if (n < 0) {
+                throw new EOFException("Expected " + len + " bytes, but the" +
+                                       " stream ended after " + read + ".");
+            }
+            read += n;
         }
-        return bytes;
     }
 
     /**
@@ -119,4 +255,48 @@ public class ByteReader {
     public void close() throws IOException {
         in.close();
     }
+
+    /**
+     * Gets {@link #buffer}, first growing it to {@link #BULK_SIZE} bytes if
+     * it has not been grown yet.
+     *
+     * @return {@link #buffer}, at least {@link #BULK_SIZE} bytes long.
+     */
+    private byte[] bulkBuffer() {
+        if (buffer.length < BULK_SIZE) {
+            buffer = new byte[BULK_SIZE];
+        }
+        return buffer;
+    }
+
+    /**
+     * Decodes a big-endian {@code int} from four bytes of a {@code byte[]}.
+     *
+     * @param b The {@code byte[]} to decode from.
+     *
+     * @param pos The index of the first of the four bytes.
+     *
+     * @return The decoded value.
+     */
+    private static int getInt(byte[] b, int pos) {
+        return (b[pos] << 24) |
+               ((b[pos + 1] & 0xFF) << 16) |
+               ((b[pos + 2] & 0xFF) << 8) |
+               (b[pos + 3] & 0xFF);
+    }
+
+    /**
+     * Decodes a big-endian {@code long} from eight bytes of a
+     * {@code byte[]}.
+     *
+     * @param b The {@code byte[]} to decode from.
+     *
+     * @param pos The index of the first of the eight bytes.
+     *
+     * @return The decoded value.
+     */
+    private static long getLong(byte[] b, int pos) {
+        return ((long)getInt(b, pos) << 32) |
+               (getInt(b, pos + 4) & 0xFFFFFFFFL);
+    }
 }
@@ -2,12 +2,18 @@ package com.lunagameserve.compression;
 
 import java.io.IOException;
 import java.io.OutputStream;
-import java.nio.ByteBuffer;
 
 /**
  * A small {@link java.io.OutputStream} wrapper which writes larger data types
  * as a series of bytes. These data types are guaranteed to be read correctly
  * by a {@link com.lunagameserve.compression.ByteReader}.
+ * <p>
+ *     All values are encoded big-endian into a single internal buffer which
+ *     is reused for every call, so no allocation takes place per value.
+ *     Arrays of values should be written using the bulk methods such as
+ *     {@link #writeFloats(float[], int, int)}, which hand whole chunks to the
+ *     underlying {@link java.io.OutputStream} at once.
+ * </p>
  *
  * @author Six
  * @since March 2, 2015
@@ -15,12 +21,24 @@ import java.nio.ByteBuffer;
  */
 public class ByteWriter {
 
+    /**
+     * The size, in bytes, that {@link #buffer} is grown to the first time a
+     * bulk method is used.
+     */
+    private static final int BULK_SIZE = 1024;
+
     /**
      * The underlying {@link java.io.OutputStream} which all bytes will be
      * written to.
      */
     private final OutputStream out;
 
+    /**
+     * The buffer which every value is encoded into before being written.
+     * This starts large enough to hold a single {@code long}.
+     */
+    private byte[] buffer = new byte[8];
+
     /**
      * Constructs a new {@link com.lunagameserve.compression.ByteWriter} which
      * will write bytes to a specified {@link java.io.OutputStream}.
@@ -43,9 +61,7 @@ public class ByteWriter {
      *                     be written to for any reason.
      */
     public void writeFloat(float f) throws IOException {
-        byte[] bytes = new byte[4];
-        ByteBuffer.wrap(bytes).putFloat(f);
-        out.write(bytes);
+        writeInt(Float.floatToRawIntBits(f));
     }
 
     /**
@@ -59,9 +75,8 @@ public class ByteWriter {
      *                     be written to for any reason.
      */
     public void writeLong(long l) throws IOException {
-        byte[] bytes = new byte[8];
-        ByteBuffer.wrap(bytes).putLong(l);
-        out.write(bytes);
+        putLong(buffer, 0, l);
+        out.write(buffer, 0, 8);
     }
 
     /**
@@ -75,9 +90,8 @@ public class ByteWriter {
      *                     be written to for any reason.
      */
     public void writeInt(int i) throws IOException {
-        byte[] bytes = new byte[4];
-        ByteBuffer.wrap(bytes).putInt(i);
-        out.write(bytes);
+        putInt(buffer, 0, i);
+        out.write(buffer, 0, 4);
     }
 
     /**
@@ -91,9 +105,110 @@ public class ByteWriter {
      *                     be written to for any reason.
      */
     public void writeShort(short s) throws IOException {
-        byte[] bytes = new byte[2];
-        ByteBuffer.wrap(bytes).putShort(s);
-        out.write(bytes);
+        buffer[0] = (byte)(s >> 8);
+        buffer[1] = (byte)s;
+        out.write(buffer, 0, 2);
+    }
+
+    /**
+     * Writes a section of a {@code float[]} as the next {@code 4 * len} bytes
+     * of the underlying {@link java.io.OutputStream}. The result is identical
+     * to calling {@link #writeFloat(float)} once per value.
+     *
+     * @param src The {@code float[]} holding the values to write.
+     *
+     * @param off The index of the first value in {@code src} to write.
+     *
+     * @param len The number of values from {@code src} to write.
+     *
+     * @throws IOException If the underlying {@link java.io.OutputStream} cannot
+     *                     be written to for any reason.
+     */
+    public void writeFloats(float[] src, int off, int len) throws IOException {
+        byte[] buf = bulkBuffer();
+        int per = buf.length / 4;
+        while (len > 0) {
+            int n = Math.min(len, per);
+            for (int i = 0; i < n; i++) {
+                putInt(buf, i << 2, Float.floatToRawIntBits(src[off + i]));
+            }
+            out.write(buf, 0, n << 2);
+            off += n;
+            len -= n;
+        }
+    }
+
+    /**
+     * Writes a section of an {@code int[]} as the next {@code 4 * len} bytes
+     * of the underlying {@link java.io.OutputStream}. The result is identical
+     * to calling {@link #writeInt(int)} once per value.
+     *
+     * @param src The {@code int[]} holding the values to write.
+     *
+     * @param off The index of the first value in {@code src} to write.
+     *
+     * @param len The number of values from {@code src} to write.
+     *
+     * @throws IOException If the underlying {@link java.io.OutputStream} cannot
+     *                     be written to for any reason.
+     */
+    public void writeInts(int[] src, int off, int len) throws IOException {
+        byte[] buf = bulkBuffer();
+        int per = buf.length / 4;
+        while (len > 0) {
+            int n = Math.min(len, per);
+            for (int i = 0; i < n; i++) {
+                putInt(buf, i << 2, src[off + i]);
+            }
+            out.write(buf, 0, n << 2);
+            off += n;
+            len -= n;
+        }
+    }
+
+    /**
+     * Writes a section of a {@code long[]} as the next {@code 8 * len} bytes
+     * of the underlying {@link java.io.OutputStream}. The result is identical
+     * to calling {@link #writeLong(long)} once per value.
+     *
+     * @param src The {@code long[]} holding the values to write.
+     *
+     * @param off The index of the first value in {@code src} to write.
+     *
+     * @param len The number of values from {@code src} to write.
+     *
+     * @throws IOException If the underlying {@link java.io.OutputStream} cannot
+     *                     be written to for any reason.
+     */
+    public void writeLongs(long[] src, int off, int len) throws IOException {
+        byte[] buf = bulkBuffer();
+        int per = buf.length / 8;
+        while (len > 0) {
+            int n = Math.min(len, per);
+            for (int i = 0; i < n; i++) {
+                putLong(buf, i << 3, src[off + i]);
+            }
+            out.write(buf, 0, n << 3);
+            off += n;
+            len -= n;
+        }
+    }
+
+    /**
+     * Writes a section of a {@code byte[]} directly to the underlying
+     * {@link java.io.OutputStream}.
+     *
+     * @param src The {@code byte[]} holding the bytes to write.
+     *
+     * @param off The index of the first byte in {@code src} to write.
+     *
+     * @param len The number of bytes from {@code src} to write.
+     *
+     * @throws IOException If the underlying {@link java.io.OutputStream} cannot
+     *                     be written to for any reason.
+     */
+    public void writeBytes(byte[] src, int off, int len) throws IOException {
+        out.write(src, off, len);
     }
 
     /**
@@ -106,4 +221,48 @@ public class ByteWriter {
     public void close() throws IOException {
         out.close();
     }
+
+    /**
+     * Gets {@link #buffer}, first growing it to {@link #BULK_SIZE} bytes if
+     * it has not been grown yet.
+     *
+     * @return {@link #buffer}, at least {@link #BULK_SIZE} bytes long.
+     */
+    private byte[] bulkBuffer() {
+        if (buffer.length < BULK_SIZE) {
+            buffer = new byte[BULK_SIZE];
+        }
+        return buffer;
+    }
+
+    /**
+     * Encodes an {@code int} big-endian into four bytes of a {@code byte[]}.
+     *
+     * @param b The {@code byte[]} to encode into.
+     *
+     * @param pos The index of the first of the four bytes.
+     *
+     * @param v The value to encode.
+     */
+    private static void putInt(byte[] b, int pos, int v) {
+        b[pos] = (byte)(v >> 24);
+        b[pos + 1] = (byte)(v >> 16);
+        b[pos + 2] = (byte)(v >> 8);
+        b[pos + 3] = (byte)v;
+    }
+
+    /**
+     * Encodes a {@code long} big-endian into eight bytes of a
+     * {@code byte[]}.
+     *
+     * @param b The {@code byte[]} to encode into.
+     *
+     * @param pos The index of the first of the eight bytes.
+     *
+     * @param v The value to encode.
+     */
+    private static void putLong(byte[] b, int pos, long v) {
+        putInt(b, pos, (int)(v >> 32));
+        putInt(b, pos + 4, (int)v);
+    }
 }
@@ -0,0 +1,421 @@
+package com.lunagameserve.compression;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counters kept by a single {@link Compressor}, describing what its encodes
+ * and decodes have cost so far. Every call to {@link Compressor#write} and
+ * {@link Compressor#read} is recorded, so the cost of each codec can be
+ * reported from a running application without attaching a profiler.
+ * <p>
+ *     Each direction keeps its number of calls and failures, its total wall
+ *     time, bytes in and out, samples, and bytes allocated by the calling
+ *     {@link java.lang.Thread}, along with a histogram of call latencies.
+ *     Allocation is measured through the JVM's thread allocation counter
+ *     where one exists; elsewhere, such as on Android, it is reported as
+ *     {@code -1}.
+ * </p>
+ * <p>
+ *     Recording is lock free and safe to call from any number of threads.
+ *     Read the counters with {@link #encodes()} and {@link #decodes()}.
+ * </p>
+ *
+ * @author Six
+ * @since October 17, 2026
+ */
+public class CodecMetrics {
+
+    /**
+     * The number of buckets in a latency histogram. Bucket {@code i} counts
+     * calls which took fewer than {@code 2^i} nanoseconds, but at least
+     * {@code 2^(i - 1)}.
+     */
+    public static final int BUCKETS = 64;
+
+    /**
+     * Whether the thread allocation counter may be used. Cleared the first
+     * time it turns out to be missing.
+     */
+    private static volatile boolean allocationSupported = true;
+
+    /**
+     * The counters of every encode.
+     */
+    private final Recorder encodes = new Recorder();
+
+    /**
+     * The counters of every decode.
+     */
+    private final Recorder decodes = new Recorder();
+
+    /**
+     * Gets the number of bytes allocated by the current
+     * {@link java.lang.Thread} so far. Pass the value to
+     * {@link #recordEncode} or {@link #recordDecode} once the call it
+     * started is done.
+     *
+     * @return The number of bytes allocated, or {@code -1} if this cannot
+     *         be measured.
+     */
+    public static long allocatedBytes() {
+        if (!allocationSupported) {
+            return -1L;
+        }
+        try {
+            long allocated = ThreadAllocation.current();
+            if (allocated < 0) {
+                allocationSupported = false;
+            }
+            return allocated;
+        } catch (LinkageError e) {
+            /* No java.lang.management on this platform. */
+            allocationSupported = false;
+            return -1L;
+        }
+    }
+
+    /**
+     * Records a single encode.
+     *
+     * @param startNanos The value of {@link System#nanoTime()} when the
+     *                   encode started.
+     *
+     * @param startAllocated The value of {@link #allocatedBytes()} when the
+     *                       encode started.
+     *
+     * @param bytesIn The uncompressed size of what was encoded.
+     *
+     * @param bytesOut The number of compressed bytes written.
+     *
+     * @param samples The number of samples encoded.
+     *
+     * @param failed {@code true} if the encode threw.
+     */
+    public void recordEncode(long startNanos, long startAllocated,
+                             long bytesIn, long bytesOut, long samples,
+                             boolean failed) {
+        encodes.record(startNanos, startAllocated, bytesIn, bytesOut,
+                       samples, failed);
+    }
+
+    /**
+     * Records a single decode.
+     *
+     * @param startNanos The value of {@link System#nanoTime()} when the
+     *                   decode started.
+     *
+     * @param startAllocated The value of {@link #allocatedBytes()} when the
+     *                       decode started.
+     *
+     * @param bytesIn The number of compressed bytes read.
+     *
+     * @param bytesOut The uncompressed size of what was decoded.
+     *
+     * @param samples The number of samples decoded.
+     *
+     * @param failed {@code true} if the decode threw.
+     */
+    public void recordDecode(long startNanos, long startAllocated,
+                             long bytesIn, long bytesOut, long samples,
+                             boolean failed) {
+        decodes.record(startNanos, startAllocated, bytesIn, bytesOut,
+                       samples, failed);
+    }
+
+    /**
+     * Takes a {@link Snapshot} of every encode recorded so far.
+     *
+     * @return The counters of every encode.
+     */
+    public Snapshot encodes() {
+        return encodes.snapshot();
+    }
+
+    /**
+     * Takes a {@link Snapshot} of every decode recorded so far.
+     *
+     * @return The counters of every decode.
+     */
+    public Snapshot decodes() {
+        return decodes.snapshot();
+    }
+
+    /**
+     * Gets the mean number of nanoseconds an encode has spent on each
+     * sample so far, without taking a {@link Snapshot}.
+     *
+     * @return The mean encode cost of a sample, or {@code 0} if nothing has
+     *         been encoded.
+     */
+    public double encodeNanosPerSample() {
+        return encodes.nanosPerSample();
+    }
+
+    /**
+     * Sets every counter back to zero.
+     */
+    public void reset() {
+        encodes.reset();
+        decodes.reset();
+    }
+
+    /**
+     * Gets the latency histogram bucket of a duration.
+     *
+     * @param nanos A duration, in nanoseconds.
+     *
+     * @return The index of the bucket counting {@code nanos}.
+     */
+    static int bucket(long nanos) {
+        return nanos <= 0 ? 0 : Math.min(BUCKETS - 1,
+                64 - Long.numberOfLeadingZeros(nanos));
+    }
+
+    /**
+     * An immutable copy of the counters of one direction of a
+     * {@link CodecMetrics}.
+     */
+    public static class Snapshot {
+
+        /**
+         * The number of calls, including failed ones.
+         */
+        public final long calls;
+
+        /**
+         * The number of calls which threw.
+         */
+        public final long failures;
+
+        /**
+         * The total wall time of every call, in nanoseconds.
+         */
+        public final long nanos;
+
+        /**
+         * The total number of bytes read by every call.
+         */
+        public final long bytesIn;
+
+        /**
+         * The total number of bytes produced by every call.
+         */
+        public final long bytesOut;
+
+        /**
+         * The total number of samples handled by every call.
+         */
+        public final long samples;
+
+        /**
+         * The total number of bytes allocated by every call, or {@code -1}
+         * if allocation cannot be measured.
+         */
+        public final long allocatedBytes;
+
+        /**
+         * The latency histogram, of {@link #BUCKETS} buckets.
+         */
+        private final long[] histogram;
+
+        /**
+         * Constructs a new {@link Snapshot}.
+         */
+        Snapshot(long calls, long failures, long nanos, long bytesIn,
+                 long bytesOut, long samples, long allocatedBytes,
+                 long[] histogram) {
+            this.calls = calls;
+            this.failures = failures;
+            this.nanos = nanos;
+            this.bytesIn = bytesIn;
+            this.bytesOut = bytesOut;
+            this.samples = samples;
+            this.allocatedBytes = allocatedBytes;
+            this.histogram = histogram;
+        }
+
+        /**
+         * Gets the number of calls counted by a single latency bucket.
+         *
+         * @param bucket The index of the bucket, from {@code 0} to
+         *               {@link #BUCKETS} - 1.
+         *
+         * @return The number of calls whose latency fell in
+         *         {@code bucket}.
+         */
+        public long histogram(int bucket) {
+            return histogram[bucket];
+        }
+
+        /**
+         * Estimates a latency percentile from the histogram. The estimate
+         * is the upper bound of the bucket holding the percentile, so is at
+         * most twice the true latency.
+         *
+         * @param p The percentile, from {@code 0} to {@code 100}.
+         *
+         * @return The estimated latency, in nanoseconds, or {@code 0} if
+         *         nothing has been recorded.
+         */
+        public long percentileNanos(double p) {
+            long total = 0L;
+            for (long count : histogram) {
+                total += count;
+            }
+            if (total == 0) {
+                return 0L;
+            }
+            long rank = (long)Math.ceil(total * p / 100.0);
+            long seen = 0L;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += histogram[i];
+                if (seen >= rank && seen > 0) {
+                    return i >= 63 ? Long.MAX_VALUE : 1L << i;
+                }
+            }
+            return Long.MAX_VALUE;
+        }
+
+        /**
+         * Gets the mean number of nanoseconds spent on each sample.
+         *
+         * @return The mean cost of a sample, or {@code 0} if no samples
+         *         have been recorded.
+         */
+        public double nanosPerSample() {
+            return samples == 0 ? 0.0 : (double)nanos / samples;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public String toString() {
+            return String.format("%d calls (%d failed), %.3fms, " +
+                                 "%db in, %db out, %d samples, " +
+                                 "%.1fns/sample, p50 %dns, p99 %dns, " +
+                                 "%db allocated",
+                                 calls, failures, nanos / 1e6, bytesIn,
+                                 bytesOut, samples, nanosPerSample(),
+                                 percentileNanos(50), percentileNanos(99),
+                                 allocatedBytes);
+        }
+    }
+
+    /**
+     * The live counters of one direction of a {@link CodecMetrics}.
+     */
+    private static class Recorder {
+        private final AtomicLong calls = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+        private final AtomicLong nanos = new AtomicLong();
+        private final AtomicLong bytesIn = new AtomicLong();
+        private final AtomicLong bytesOut = new AtomicLong();
+        private final AtomicLong samples = new AtomicLong();
+        private final AtomicLong allocated = new AtomicLong();
+        private final AtomicLongArray histogram =
+                new AtomicLongArray(BUCKETS);
+
+        /**
+         * Records a single call which has just finished.
+         */
+        void record(long startNanos, long startAllocated, long in, long out,
+                    long count, boolean failed) {
+            long elapsed = System.nanoTime() - startNanos;
+            long endAllocated = allocatedBytes();
+
+            calls.incrementAndGet();
+            if (failed) {
+                failures.incrementAndGet();
+            }
+            nanos.addAndGet(elapsed);
+            bytesIn.addAndGet(in);
+            bytesOut.addAndGet(out);
+            samples.addAndGet(count);
+            if (startAllocated >= 0 && endAllocated >= 0) {
+                allocated.addAndGet(endAllocated - startAllocated);
+            }
+            histogram.incrementAndGet(bucket(elapsed));
+        }
+
+        /**
+         * Gets the mean wall time spent on each sample.
+         */
+        double nanosPerSample() {
+            long n = samples.get();
+            return n == 0 ? 0.0 : (double)nanos.get() / n;
+        }
+
+        /**
+         * Copies every counter into a new {@link Snapshot}.
+         */
+        Snapshot snapshot() {
+            long[] copy = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) {
+                copy[i] = histogram.get(i);
+            }
+            return new Snapshot(calls.get(), failures.get(), nanos.get(),
+                                bytesIn.get(), bytesOut.get(), samples.get(),
+                                allocationSupported ? allocated.get() : -1L,
+                                copy);
+        }
+
+        /**
+         * Sets every counter back to zero.
+         */
+        void reset() {
+            calls.set(0L);
+            failures.set(0L);
+            nanos.set(0L);
+            bytesIn.set(0L);
+            bytesOut.set(0L);
+            samples.set(0L);
+            allocated.set(0L);
+            for (int i = 0; i < BUCKETS; i++) {
+                histogram.set(i, 0L);
+            }
+        }
+    }
+
+    /**
+     * Reads the thread allocation counter of the JVM. Kept in its own class
+     * so that platforms without {@code java.lang.management} only fail when
+     * it is first used, which {@link #allocatedBytes()} catches.
+     */
+    private static class ThreadAllocation {
+
+        /**
+         * The JVM's extended thread bean, or {@code null} if it does not
+         * count allocation.
+         */
+        private static final com.sun.management.ThreadMXBean BEAN = find();
+
+        /**
+         * Finds the extended thread bean, enabling allocation counting.
+         */
+        private static com.sun.management.ThreadMXBean find() {
+            java.lang.management.ThreadMXBean bean =
+                    ManagementFactory.getThreadMXBean();
+            if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+                return null;
+            }
+            com.sun.management.ThreadMXBean sun =
+                    (com.sun.management.ThreadMXBean)bean;
+            if (!sun.isThreadAllocatedMemorySupported()) {
+                return null;
+            }
+            if (!sun.isThreadAllocatedMemoryEnabled()) {
+                sun.setThreadAllocatedMemoryEnabled(true);
+            }
+            return sun;
+        }
+
+        /**
+         * Gets the number of bytes allocated by the current thread.
+         */
+        static long current() {
+            return BEAN == null ? -1L : BEAN.getThreadAllocatedBytes(
+                    Thread.currentThread().getId());
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.lunagameserve.compression;
+
+import java.util.Arrays;
+
+/**
+ * The settings a stream is written with, such as its
+ * {@link com.lunagameserve.compression.DeflateMode} and the
+ * {@link com.lunagameserve.compression.Quantization} of each channel.
+ * Settings are passed along with each write rather than held by a codec, so
+ * a codec shared by many threads may be used with different settings by
+ * each.
+ * <p>
+ *     A {@link CodecOptions} is immutable. Each {@code with} method returns
+ *     a copy with one setting changed, starting from {@link #DEFAULT}.
+ *     Streams written with any settings are read the same way.
+ * </p>
+ *
+ * @author Six
+ * @since October 17, 2026
+ */
+public final class CodecOptions {
+
+    /**
+     * The settings used when none are given: {@link DeflateMode#Serial},
+     * and every channel quantized to 8 bits.
+     */
+    public static final CodecOptions DEFAULT = new CodecOptions(
+            DeflateMode.Serial, new Quantization[] {Quantization.bits(8)});
+
+    /**
+     * How every gzip-based codec deflates its output.
+     */
+    private final DeflateMode deflateMode;
+
+    /**
+     * The {@link com.lunagameserve.compression.Quantization} of each
+     * channel. The last one also applies to every channel after it.
+     */
+    private final Quantization[] quantization;
+
+    /**
+     * Constructs a new {@link CodecOptions}.
+     *
+     * @param deflateMode How every gzip-based codec deflates its output.
+     *
+     * @param quantization The quantization of each channel, which is not
+     *                     copied.
+     */
+    private CodecOptions(DeflateMode deflateMode,
+                         Quantization[] quantization) {
+        this.deflateMode = deflateMode;
+        this.quantization = quantization;
+    }
+
+    /**
+     * Makes a copy of these {@link CodecOptions} with a different
+     * {@link com.lunagameserve.compression.DeflateMode}.
+     *
+     * @param mode How every gzip-based codec should deflate its output.
+     *
+     * @return The new {@link CodecOptions}.
+     *
+     * @throws NullPointerException If {@code mode} is {@code null}.
+     */
+    public CodecOptions withDeflateMode(DeflateMode mode) {
+        if (mode == null) {
+            throw new NullPointerException("Deflate mode must not be null.");
+        }
+        return new CodecOptions(mode, quantization);
+    }
+
+    /**
+     * Makes a copy of these {@link CodecOptions} which quantizes each
+     * channel differently, for codecs which quantize, such as
+     * {@link com.lunagameserve.acceleration.AccelerationCompressor#Quantized}.
+     *
+     * @param channels The {@link com.lunagameserve.compression.Quantization}
+     *                 of each channel in order, such as the x, y and z axes.
+     *                 The last one also applies to any channel after it, so
+     *                 a single one applies to every channel.
+     *
+     * @return The new {@link CodecOptions}.
+     *
+     * @throws IllegalArgumentException If {@code channels} is empty.
+     *
+     * @throws NullPointerException If any of {@code channels} is
+     *                              {@code null}.
+     */
+    public CodecOptions withQuantization(Quantization... channels) {
+        if (channels.length == 0) {
+            throw new IllegalArgumentException(
+                    "At least one quantization must be given.");
+        }
+        Quantization[] copy = channels.clone();
+        for (Quantization q : copy) {
+            if (q == null) {
+                throw new NullPointerException(
+                        "Quantization must not be null.");
+            }
+        }
+        return new CodecOptions(deflateMode, copy);
+    }
+
+    /**
+     * Gets how every gzip-based codec deflates its output.
+     *
+     * @return The {@link com.lunagameserve.compression.DeflateMode}.
+     */
+    public DeflateMode deflateMode() {
+        return deflateMode;
+    }
+
+    /**
+     * Gets how finely a single channel is quantized.
+     *
+     * @param channel The index of the channel, from {@code 0}.
+     *
+     * @return The {@link com.lunagameserve.compression.Quantization} of
+     *         {@code channel}.
+     */
+    public Quantization quantization(int channel) {
+        return quantization[Math.min(channel, quantization.length - 1)];
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return "deflate " + deflateMode + ", quantization " +
+               Arrays.toString(quantization);
+    }
+}
@@ -1,8 +1,78 @@
 package com.lunagameserve.compression;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
 /**
  * Created by sixstring982 on 4/8/15.
+ *
+ * <p>
+ *     A {@link Compressor} holds no state between calls, so one may be
+ *     shared by any number of threads. Everything a decode produces goes
+ *     into a value object supplied by the caller, which may be reused or
+ *     kept in a {@link com.lunagameserve.compression.Pool}.
+ * </p>
+ * <p>
+ *     Every stream a {@link Compressor} writes says where it ends, with a
+ *     count of the points it holds or an end marker, so it may be read
+ *     straight from a pipe, socket or file. No decoder relies on
+ *     {@link java.io.InputStream#available()}, which is only a hint on most
+ *     streams.
+ * </p>
+ *
+ * @param <T> The kind of series this {@link Compressor} writes, such as a
+ *            {@link com.lunagameserve.compression.FloatSeries}.
+ *
+ * @param <D> The kind of series this {@link Compressor} decodes into.
  */
-public interface Compressor {
-    public StreamStats ratio();
+public interface Compressor<T, D> {
+
+    /**
+     * Compresses a series of points to an {@link java.io.OutputStream}.
+     * Every call is recorded in {@link #metrics()}.
+     *
+     * @param out The {@link java.io.OutputStream} to write to.
+     *
+     * @param points The points to compress.
+     *
+     * @throws IOException If {@code out} cannot be written to for any
+     *                     reason.
+     */
+    public void write(OutputStream out, T points) throws IOException;
+
+    /**
+     * Decompresses a series of points written by
+     * {@link #write(java.io.OutputStream, Object)}. Every call is recorded
+     * in {@link #metrics()}.
+     *
+     * @param in The {@link java.io.InputStream} to read from.
+     *
+     * @param dst The series to decode into. This is cleared first.
+     *
+     * @return {@code dst}.
+     *
+     * @throws IOException If {@code in} cannot be read from for any reason.
+     */
+    public D read(InputStream in, D dst) throws IOException;
+
+    /**
+     * Compresses a series of points, measuring only the compressed size.
+     *
+     * @param points The points to compress.
+     *
+     * @return The size of the compressed points.
+     *
+     * @throws IOException If {@code points} cannot be compressed for any
+     *                     reason.
+     */
+    public StreamStats ratio(T points) throws IOException;
+
+    /**
+     * Gets the counters describing what this {@link Compressor}'s encodes
+     * and decodes have cost so far.
+     *
+     * @return The {@link CodecMetrics} of this {@link Compressor}.
+     */
+    public CodecMetrics metrics();
 }
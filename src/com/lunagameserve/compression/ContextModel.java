@@ -0,0 +1,170 @@
+package com.lunagameserve.compression;
+
+import java.io.IOException;
+
+/**
+ * An adaptive model of several channels of quantized values, such as the
+ * axes of an accelerometer, for coding with a
+ * {@link com.lunagameserve.compression.RangeEncoder}. Each value is
+ * predicted by the previous value of its channel, and only the zig-zag
+ * encoded residual is coded.
+ * <p>
+ *     A residual is coded as its class, the number of bits it needs, in
+ *     unary, then the bits below its leading one. Small classes are by far
+ *     the most common, so most residuals cost one or two binary decisions,
+ *     each of which can cost well under a bit. The class is coded in a
+ *     context made of the class of the channel's previous residual and the
+ *     largest class of the other channels' most recent residuals. Channels
+ *     are coded in order within each sample, so for every channel but the
+ *     first this sees the other channels of the same sample. A still device
+ *     keeps every class small and a shaken one keeps them all large, and
+ *     each context learns its own odds for both.
+ * </p>
+ * <p>
+ *     A {@link com.lunagameserve.compression.ContextModel} is changed by
+ *     everything it codes, so a stream must be decoded with a new model
+ *     made in the same way as the one it was encoded with.
+ * </p>
+ *
+ * @author Six
+ * @since October 17, 2026
+ */
+public class ContextModel {
+
+    /**
+     * The largest class, that of a residual using all 32 bits.
+     */
+    private static final int MAX_CLASS = 32;
+
+    /**
+     * The number of distinct classes a context tells apart. Larger classes
+     * share the last context.
+     */
+    private static final int CONTEXT_CLASSES = 10;
+
+    /**
+     * The last value of each channel.
+     */
+    private final int[] previous;
+
+    /**
+     * The class of the last residual of each channel.
+     */
+    private final int[] classes;
+
+    /**
+     * The probabilities of each unary decision of the class of each
+     * channel, for every context.
+     */
+    private final short[][] classProbs;
+
+    /**
+     * The probabilities of each bit below the leading one of each channel,
+     * by class and position.
+     */
+    private final short[][] mantissaProbs;
+
+    /**
+     * Constructs a new {@link com.lunagameserve.compression.ContextModel}.
+     *
+     * @param channels The number of channels in each sample.
+     */
+    public ContextModel(int channels) {
+        this.previous = new int[channels];
+        this.classes = new int[channels];
+        this.classProbs = new short[channels][];
+        this.mantissaProbs = new short[channels][];
+        for (int c = 0; c < channels; c++) {
+            classProbs[c] = RangeEncoder.newModel(
+                    CONTEXT_CLASSES * CONTEXT_CLASSES * MAX_CLASS);
+            mantissaProbs[c] = RangeEncoder.newModel((MAX_CLASS + 1) * 32);
+        }
+    }
+
+    /**
+     * Encodes the next value of a channel.
+     *
+     * @param encoder The {@link com.lunagameserve.compression.RangeEncoder}
+     *                to encode with.
+     *
+     * @param channel The channel of the value.
+     *
+     * @param value The value to encode.
+     */
+    public void write(RangeEncoder encoder, int channel, int value) {
+        int residual = ZigZagDeltaWriter.zigZag(value - previous[channel]);
+        previous[channel] = value;
+
+        int cls = 32 - Integer.numberOfLeadingZeros(residual);
+        int context = context(channel);
+        for (int i = 0; i < MAX_CLASS; i++) {
+            int more = i < cls ? 1 : 0;
+            encoder.encodeBit(classProbs[channel], context + i, more);
+            if (more == 0) {
+                break;
+            }
+        }
+        for (int i = cls - 2; i >= 0; i--) {
+            encoder.encodeBit(mantissaProbs[channel], (cls << 5) + i,
+                              (residual >>> i) & 1);
+        }
+        classes[channel] = cls;
+    }
+
+    /**
+     * Decodes the next value of a channel.
+     *
+     * @param decoder The {@link com.lunagameserve.compression.RangeDecoder}
+     *                to decode with.
+     *
+     * @param channel The channel of the value.
+     *
+     * @return The value decoded.
+     *
+     * @throws IOException If the underlying
+     *                     {@link com.lunagameserve.compression.BitReader}
+     *                     cannot be read from for any reason.
+     */
+    public int read(RangeDecoder decoder, int channel) throws IOException {
+        int context = context(channel);
+        int cls = 0;
+        while (cls < MAX_CLASS &&
+               decoder.decodeBit(classProbs[channel], context + cls) == 1) {
+            cls++;
+        }
+        int residual = 0;
+        if (cls > 0) {
+            residual = 1;
+            for (int i = cls - 2; i >= 0; i--) {
+                residual = (residual << 1) |
+                        decoder.decodeBit(mantissaProbs[channel],
+                                          (cls << 5) + i);
+            }
+        }
+        classes[channel] = cls;
+
+        previous[channel] += ZigZagDeltaReader.unZigZag(residual);
+        return previous[channel];
+    }
+
+    /**
+     * Gets the offset of the unary class decisions to use for the next
+     * value of a channel.
+     *
+     * @param channel The channel of the next value.
+     *
+     * @return The offset of the decisions within the channel's class
+     *         probabilities.
+     */
+    private int context(int channel) {
+        int others = 0;
+        for (int c = 0; c < classes.length; c++) {
+            if (c != channel) {
+                others = Math.max(others, classes[c]);
+            }
+        }
+        int same = Math.min(classes[channel], CONTEXT_CLASSES - 1);
+        others = Math.min(others, CONTEXT_CLASSES - 1);
+        return (same * CONTEXT_CLASSES + others) * MAX_CLASS;
+    }
+}
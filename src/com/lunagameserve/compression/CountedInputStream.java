@@ -0,0 +1,79 @@
+package com.lunagameserve.compression;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A {@link java.io.FilterInputStream} which passes everything through from
+ * the stream it wraps, counting how many bytes were read or skipped.
+ *
+ * @author Six
+ * @since October 17, 2026
+ */
+public class CountedInputStream extends FilterInputStream {
+
+    /**
+     * The number of bytes read or skipped so far.
+     */
+    private long count = 0L;
+
+    /**
+     * Constructs a new {@link CountedInputStream}.
+     *
+     * @param in The {@link java.io.InputStream} to pass bytes through from.
+     */
+    public CountedInputStream(InputStream in) {
+        super(in);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int read() throws IOException {
+        int b = in.read();
+        if (b >= 0) {
+            count++;
+        }
+        return b;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = in.read(b, off, len);
+        if (n > 0) {
+            count += n;
+        }
+        return n;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = in.skip(n);
+        if (skipped > 0) {
+            count += skipped;
+        }
+        return skipped;
+    }
+
+    /**
+     * Marking is not supported, as a reset would make {@link #count()}
+     * meaningless.
+     *
+     * @return {@code false}.
+     */
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    /**
+     * Gets the number of bytes read or skipped so far.
+     *
+     * @return The number of bytes read.
+     */
+    public long count() {
+        return count;
+    }
+}
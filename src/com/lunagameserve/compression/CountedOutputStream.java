@@ -0,0 +1,52 @@
+package com.lunagameserve.compression;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A {@link java.io.FilterOutputStream} which passes everything through to
+ * the stream it wraps, counting how many bytes went by.
+ *
+ * @author Six
+ * @since October 17, 2026
+ */
+public class CountedOutputStream extends FilterOutputStream {
+
+    /**
+     * The number of bytes written so far.
+     */
+    private long count = 0L;
+
+    /**
+     * Constructs a new {@link CountedOutputStream}.
+     *
+     * @param out The {@link java.io.OutputStream} to pass bytes through to.
+     */
+    public CountedOutputStream(OutputStream out) {
+        super(out);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void write(int b) throws IOException {
+        out.write(b);
+        count++;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+        count += len;
+    }
+
+    /**
+     * Gets the number of bytes written so far.
+     *
+     * @return The number of bytes written.
+     */
+    public long count() {
+        return count;
+    }
+}
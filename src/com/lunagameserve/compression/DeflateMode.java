@@ -0,0 +1,56 @@
+package com.lunagameserve.compression;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * An enumeration of the ways the gzip-based compressors may deflate their
+ * output. Every mode writes a standard gzip member, so the mode used to
+ * write a stream never needs to be known to read it.
+ *
+ * @author Six
+ * @since October 17, 2026
+ */
+public enum DeflateMode {
+    /**
+     * A {@link DeflateMode} which deflates on the calling thread, using a
+     * {@link java.util.zip.GZIPOutputStream}. Best for the small streams
+     * made on a device.
+     */
+    Serial {
+        /** {@inheritDoc} */
+        @Override
+        public OutputStream open(OutputStream out) throws IOException {
+            return new GZIPOutputStream(out);
+        }
+    },
+    /**
+     * A {@link DeflateMode} which deflates blocks on every core at once,
+     * using a
+     * {@link com.lunagameserve.compression.ParallelGZIPOutputStream}. Best
+     * for re-encoding large archives on a server.
+     */
+    Parallel {
+        /** {@inheritDoc} */
+        @Override
+        public OutputStream open(OutputStream out) throws IOException {
+            return new ParallelGZIPOutputStream(out);
+        }
+    };
+
+    /**
+     * Opens a gzip stream over a specified {@link java.io.OutputStream}.
+     *
+     * @param out The {@link java.io.OutputStream} to write the gzip member
+     *            to.
+     *
+     * @return An {@link java.io.OutputStream} which deflates everything
+     *         written to it into {@code out}, and finishes the gzip member
+     *         when closed.
+     *
+     * @throws IOException If the gzip header cannot be written for any
+     *                     reason.
+     */
+    public abstract OutputStream open(OutputStream out) throws IOException;
+}
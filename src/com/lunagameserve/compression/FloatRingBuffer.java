@@ -0,0 +1,234 @@
+package com.lunagameserve.compression;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A preallocated, lock free ring buffer of timestamped samples, for
+ * handing sensor data from exactly one producer thread to exactly one
+ * consumer thread.
+ * <p>
+ *     Each sample is a fixed number of {@code float}s, its width, plus a
+ *     {@code long} timestamp, all stored in primitive arrays allocated up
+ *     front. {@link #offer(float[], long)} neither allocates nor locks, so
+ *     it is safe to call from a sensor callback; when the buffer is full the
+ *     sample is dropped and counted in {@link #overruns()} rather than
+ *     blocking the producer. The consumer takes samples in batches with
+ *     {@link #drain(float[], long[], int)}.
+ * </p>
+ * <p>
+ *     Each index is written by only one side, and published with an
+ *     ordered store. Each side also caches the other side's index, so the
+ *     shared indices are only read again when the cached one says the
+ *     buffer is full or empty.
+ * </p>
+ *
+ * @author Six
+ * @since October 17, 2026
+ */
+public class FloatRingBuffer {
+
+    /**
+     * The number of {@code float}s in each sample.
+     */
+    private final int width;
+
+    /**
+     * The number of samples this buffer holds, which is a power of two.
+     */
+    private final int capacity;
+
+    /**
+     * {@link #capacity} - 1, for wrapping indices into slots.
+     */
+    private final int mask;
+
+    /**
+     * The values of every slot, {@link #width} per slot.
+     */
+    private final float[] values;
+
+    /**
+     * The timestamp of every slot.
+     */
+    private final long[] timestamps;
+
+    /**
+     * The index of the next sample to be written. Written only by the
+     * producer.
+     */
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * The index of the next sample to be read. Written only by the
+     * consumer.
+     */
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * The number of samples dropped because this buffer was full. Written
+     * only by the producer.
+     */
+    private final AtomicLong overruns = new AtomicLong();
+
+    /**
+     * The producer's last view of {@link #head}.
+     */
+    private long cachedHead = 0L;
+
+    /**
+     * The consumer's last view of {@link #tail}.
+     */
+    private long cachedTail = 0L;
+
+    /**
+     * Constructs a new {@link FloatRingBuffer}.
+     *
+     * @param capacity The number of samples to hold, which is rounded up to
+     *                 a power of two.
+     *
+     * @param width The number of {@code float}s in each sample.
+     *
+     * @throws IllegalArgumentException If {@code capacity} or {@code width}
+     *                                  is not positive, or {@code capacity}
+     *                                  is larger than {@code 2^30}.
+     */
+    public FloatRingBuffer(int capacity, int width) {
+        if (capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException(
+                    "Capacity must be between 1 and 2^30: " + capacity);
+        }
+        if (width <= 0) {
+            throw new IllegalArgumentException(
+                    "Width must be positive: " + width);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.width = width;
+        this.capacity = size;
+        this.mask = size - 1;
+        this.values = new float[size * width];
+        this.timestamps = new long[size];
+    }
+
+    /**
+     * Adds a sample to this buffer. Must only be called by the producer.
+     *
+     * @param src The values of the sample. The first {@link #width()} are
+     *            copied; if {@code src} is shorter, the rest of the sample
+     *            is zero.
+     *
+     * @param timestamp The timestamp of the sample.
+     *
+     * @return {@code true} if the sample was added, or {@code false} if
+     *         this buffer was full and the sample was dropped.
+     */
+    public boolean offer(float[] src, long timestamp) {
+        long t = tail.get();
+        if (t - cachedHead >= capacity) {
+            cachedHead = head.get();
+            if (t - cachedHead >= capacity) {
+                overruns.lazySet(overruns.get() + 1);
+                return false;
+            }
+        }
+        int slot = (int)t & mask;
+        int base = slot * width;
+        int n = Math.min(width, src.length);
+        System.arraycopy(src, 0, values, base, n);
+        for (int i = n; i < width; i++) {
+            values[base + i] = 0f;
+        }
+        timestamps[slot] = timestamp;
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    /**
+     * Removes up to a number of samples from this buffer, oldest first.
+     * Must only be called by the consumer.
+     *
+     * @param dst The array to copy sample values into, {@link #width()} per
+     *            sample. Must hold at least {@code max * width()} values.
+     *
+     * @param dstTimestamps The array to copy sample timestamps into. Must
+     *                      hold at least {@code max} values.
+     *
+     * @param max The largest number of samples to remove.
+     *
+     * @return The number of samples removed, which is {@code 0} if this
+     *         buffer was empty.
+     */
+    public int drain(float[] dst, long[] dstTimestamps, int max) {
+        long h = head.get();
+        if (cachedTail - h < max) {
+            cachedTail = tail.get();
+        }
+        int n = (int)Math.min(max, cachedTail - h);
+        if (n <= 0) {
+            return 0;
+        }
+
+        int slot = (int)h & mask;
+        int first = Math.min(n, capacity - slot);
+        System.arraycopy(values, slot * width, dst, 0, first * width);
+        System.arraycopy(timestamps, slot, dstTimestamps, 0, first);
+        if (first < n) {
+            System.arraycopy(values, 0, dst, first * width,
+                             (n - first) * width);
+            System.arraycopy(timestamps, 0, dstTimestamps, first, n - first);
+        }
+        head.lazySet(h + n);
+        return n;
+    }
+
+    /**
+     * Gets the number of samples waiting to be drained. This is only a
+     * snapshot when called while either side is running.
+     *
+     * @return The number of samples in this buffer.
+     */
+    public int size() {
+        return (int)(tail.get() - head.get());
+    }
+
+    /**
+     * Gets the number of samples this buffer can hold.
+     *
+     * @return The capacity of this buffer.
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets the number of {@code float}s in each sample.
+     *
+     * @return The width of each sample.
+     */
+    public int width() {
+        return width;
+    }
+
+    /**
+     * Gets the number of samples added so far.
+     *
+     * @return The number of samples accepted by
+     *         {@link #offer(float[], long)}.
+     */
+    public long accepted() {
+        return tail.get();
+    }
+
+    /**
+     * Gets the number of samples dropped so far because this buffer was
+     * full.
+     *
+     * @return The number of samples rejected by
+     *         {@link #offer(float[], long)}.
+     */
+    public long overruns() {
+        return overruns.get();
+    }
+}
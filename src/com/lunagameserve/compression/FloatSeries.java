@@ -0,0 +1,291 @@
+package com.lunagameserve.compression;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A growable series of primitive {@code float}s, used in place of an
+ * {@link java.util.ArrayList} of {@link java.lang.Float}s for one-dimensional
+ * streams. Values are never boxed, so each sample costs four bytes, and the
+ * extremes of the series are tracked as values are added, so
+ * {@link #min()} and {@link #max()} never need a full pass.
+ *
+ * @author Six
+ * @since October 17, 2026
+ */
+public class FloatSeries {
+
+    /**
+     * The number of values that a new
+     * {@link com.lunagameserve.compression.FloatSeries} has room for before
+     * it first needs to grow, unless told otherwise.
+     */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * The values of this {@link com.lunagameserve.compression.FloatSeries}.
+     * Only the first {@link #size} elements are valid.
+     */
+    private float[] values;
+
+    /**
+     * The number of values held by this
+     * {@link com.lunagameserve.compression.FloatSeries}.
+     */
+    private int size = 0;
+
+    /**
+     * The largest value held, valid only while {@link #size} is not zero.
+     */
+    private float max;
+
+    /**
+     * The smallest value held, valid only while {@link #size} is not zero.
+     */
+    private float min;
+
+    /**
+     * Constructs a new, empty {@link com.lunagameserve.compression.FloatSeries}.
+     */
+    public FloatSeries() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs a new, empty {@link com.lunagameserve.compression.FloatSeries}
+     * with room for a specified number of values before it needs to grow.
+     *
+     * @param capacity The number of values to make room for.
+     */
+    public FloatSeries(int capacity) {
+        this.values = new float[Math.max(capacity, 1)];
+    }
+
+    /**
+     * Appends a single value to the end of this
+     * {@link com.lunagameserve.compression.FloatSeries}.
+     *
+     * @param value The value to append.
+     */
+    public void add(float value) {
+        ensureCapacity(size + 1);
+        values[size] = value;
+        track(size++);
+    }
+
+    /**
+     * Appends a section of a {@code float[]} to the end of this
+     * {@link com.lunagameserve.compression.FloatSeries} in a single copy.
+     *
+     * @param src The {@code float[]} holding the values to append.
+     *
+     * @param off The index in {@code src} of the first value to append.
+     *
+     * @param len The number of values to append.
+     */
+    public void addAll(float[] src, int off, int len) {
+        ensureCapacity(size + len);
+        System.arraycopy(src, off, values, size, len);
+        for (int i = 0; i < len; i++) {
+            track(size++);
+        }
+    }
+
+    /**
+     * Appends every value of another
+     * {@link com.lunagameserve.compression.FloatSeries} to the end of this
+     * one in a single copy.
+     *
+     * @param other The {@link com.lunagameserve.compression.FloatSeries}
+     *              whose values should be appended.
+     */
+    public void addAll(FloatSeries other) {
+        addAll(other.values, 0, other.size);
+    }
+
+    /**
+     * Gets the value at a specified index.
+     *
+     * @param i The index of the value to get.
+     *
+     * @return The value at index {@code i}.
+     *
+     * @throws java.lang.IndexOutOfBoundsException if {@code i} is out of
+     *                                             the bounds of this series.
+     */
+    public float get(int i) {
+        checkIndex(i);
+        return values[i];
+    }
+
+    /**
+     * Gets the number of values held by this
+     * {@link com.lunagameserve.compression.FloatSeries}.
+     *
+     * @return The number of values held by this
+     *         {@link com.lunagameserve.compression.FloatSeries}.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether this {@link com.lunagameserve.compression.FloatSeries}
+     * holds no values.
+     *
+     * @return {@code true} if this series is empty, else {@code false}.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets the largest value held by this
+     * {@link com.lunagameserve.compression.FloatSeries}.
+     *
+     * @return The largest value held by this series.
+     *
+     * @throws java.lang.IndexOutOfBoundsException if this series is empty.
+     */
+    public float max() {
+        checkIndex(0);
+        return max;
+    }
+
+    /**
+     * Gets the smallest value held by this
+     * {@link com.lunagameserve.compression.FloatSeries}.
+     *
+     * @return The smallest value held by this series.
+     *
+     * @throws java.lang.IndexOutOfBoundsException if this series is empty.
+     */
+    public float min() {
+        checkIndex(0);
+        return min;
+    }
+
+    /**
+     * Copies a run of values out of this
+     * {@link com.lunagameserve.compression.FloatSeries}.
+     *
+     * @param from The index of the first value to copy.
+     *
+     * @param dst The {@code float[]} to copy into.
+     *
+     * @param dstOff The index in {@code dst} of the first value to write.
+     *
+     * @param len The number of values to copy.
+     */
+    public void copyTo(int from, float[] dst, int dstOff, int len) {
+        if (from < 0 || len < 0 || from + len > size) {
+            throw new IndexOutOfBoundsException("Range: [" + from + ", " +
+                                                (from + len) + "), Size: " +
+                                                size);
+        }
+        System.arraycopy(values, from, dst, dstOff, len);
+    }
+
+    /**
+     * Gets a copy of every value held by this
+     * {@link com.lunagameserve.compression.FloatSeries}.
+     *
+     * @return A new {@code float[]} of length {@link #size()}.
+     */
+    public float[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    /**
+     * Writes every value held by this
+     * {@link com.lunagameserve.compression.FloatSeries} to a
+     * {@link com.lunagameserve.compression.ByteWriter} in bulk.
+     *
+     * @param writer The {@link com.lunagameserve.compression.ByteWriter} to
+     *               write to.
+     *
+     * @throws IOException If {@code writer} cannot be written to for any
+     *                     reason.
+     */
+    public void writeTo(ByteWriter writer) throws IOException {
+        writer.writeFloats(values, 0, size);
+    }
+
+    /**
+     * Reads a specified number of values from a
+     * {@link com.lunagameserve.compression.ByteReader} in bulk, appending
+     * them to this {@link com.lunagameserve.compression.FloatSeries}.
+     *
+     * @param reader The {@link com.lunagameserve.compression.ByteReader} to
+     *               read from.
+     *
+     * @param count The number of values to read.
+     *
+     * @throws IOException If {@code reader} cannot be read from for any
+     *                     reason.
+     */
+    public void readFrom(ByteReader reader, int count) throws IOException {
+        ensureCapacity(size + count);
+        reader.readFloats(values, size, count);
+        for (int i = 0; i < count; i++) {
+            track(size++);
+        }
+    }
+
+    /**
+     * Removes every value from this
+     * {@link com.lunagameserve.compression.FloatSeries}. The capacity of the
+     * series is kept.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Makes sure this {@link com.lunagameserve.compression.FloatSeries} has
+     * room for at least a specified number of values, growing it
+     * geometrically if not.
+     *
+     * @param capacity The number of values which must fit.
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity > values.length) {
+            values = Arrays.copyOf(values,
+                    Math.max(capacity, values.length + (values.length >> 1)));
+        }
+    }
+
+    /**
+     * Folds the value at a specified index into {@link #min} and
+     * {@link #max}. As with a scan of every value, a {@code NaN} after the
+     * first value never compares greater or less, so it is ignored.
+     *
+     * @param i The index of the value which has just been added.
+     */
+    private void track(int i) {
+        float v = values[i];
+        if (i == 0) {
+            max = min = v;
+        } else {
+            if (v > max) {
+                max = v;
+            }
+            if (v < min) {
+                min = v;
+            }
+        }
+    }
+
+    /**
+     * Throws an {@link java.lang.IndexOutOfBoundsException} if a specified
+     * index does not refer to a held value.
+     *
+     * @param i The index to check.
+     */
+    private void checkIndex(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("Index: " + i +
+                                                ", Size: " + size);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.lunagameserve.compression;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads a stream of self-contained frames which was written by a
+ * {@link com.lunagameserve.compression.FrameWriter}.
+ *
+ * @author Six
+ * @since October 17, 2026
+ * @see com.lunagameserve.compression.FrameWriter
+ */
+public class FrameReader {
+
+    /**
+     * The {@link com.lunagameserve.compression.ByteReader} which all frames
+     * are read from.
+     */
+    private final ByteReader reader;
+
+    /**
+     * The buffer which each frame is read into. This is reused between
+     * frames, and grown only when a frame does not fit.
+     */
+    private byte[] frame = new byte[0];
+
+    /**
+     * {@code true} once the end of stream marker has been read.
+     */
+    private boolean finished = false;
+
+    /**
+     * Constructs a new {@link com.lunagameserve.compression.FrameReader}
+     * which reads frames from a specified {@link java.io.InputStream}.
+     *
+     * @param in The {@link java.io.InputStream} to read all frames from.
+     */
+    public FrameReader(InputStream in) {
+        this.reader = new ByteReader(in);
+    }
+
+    /**
+     * Reads the next frame of this stream into an internal buffer, which
+     * may then be accessed through {@link #frame()}.
+     *
+     * @return The length of the frame read, in bytes, or {@code -1} if the
+     *         end of stream marker has been reached.
+     *
+     * @throws IOException If the underlying {@link java.io.InputStream}
+     *                     cannot be read from for any reason.
+     *
+     * @throws java.io.EOFException If the underlying
+     *                              {@link java.io.InputStream} ends before
+     *                              the end of stream marker.
+     */
+    public int readFrame() throws IOException {
+        if (finished) {
+            return -1;
+        }
+        int len = reader.readInt();
+        if (len == 0) {
+            finished = true;
+            return -1;
+        } else if (len < 0) {
+            throw new IOException("Invalid frame length: " + len);
+        }
+        if (frame.length < len) {
+            frame = new byte[len];
+        }
+        reader.readFully(frame, 0, len);
+        return len;
+    }
+
+    /**
+     * Gets the buffer holding the frame most recently read by
+     * {@link #readFrame()}. Only as many bytes as that call returned are
+     * valid, and the buffer is overwritten by the next call.
+     *
+     * @return The buffer holding the last frame read.
+     */
+    public byte[] frame() {
+        return frame;
+    }
+
+    /**
+     * Closes this {@link com.lunagameserve.compression.FrameReader}, also
+     * closing its underlying {@link java.io.InputStream}.
+     *
+     * @throws IOException If the underlying {@link java.io.InputStream}
+     *                     cannot be closed for any reason.
+     */
+    public void close() throws IOException {
+        reader.close();
+    }
+}
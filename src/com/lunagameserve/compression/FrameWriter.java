@@ -0,0 +1,101 @@
+package com.lunagameserve.compression;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes a stream of self-contained frames to an {@link java.io.OutputStream}.
+ * Each frame is written as its length in bytes, as an {@code int}, followed
+ * by its bytes. A length of zero marks the end of the stream, so a reader
+ * never needs to know how many frames to expect.
+ *
+ * @author Six
+ * @since October 17, 2026
+ * @see com.lunagameserve.compression.FrameReader
+ */
+public class FrameWriter {
+
+    /**
+     * The underlying {@link java.io.OutputStream} which all frames will be
+     * written to.
+     */
+    private final OutputStream out;
+
+    /**
+     * The {@link com.lunagameserve.compression.ByteWriter} used to write the
+     * length of each frame to {@link #out}.
+     */
+    private final ByteWriter writer;
+
+    /**
+     * Constructs a new {@link com.lunagameserve.compression.FrameWriter}
+     * which writes frames to a specified {@link java.io.OutputStream}.
+     *
+     * @param out The {@link java.io.OutputStream} to write all frames to.
+     */
+    public FrameWriter(OutputStream out) {
+        this.out = out;
+        this.writer = new ByteWriter(out);
+    }
+
+    /**
+     * Writes a section of a {@code byte[]} as a single frame. Empty frames
+     * are skipped, since a length of zero marks the end of the stream.
+     *
+     * @param frame The {@code byte[]} holding the frame.
+     *
+     * @param off The index of the first byte of the frame.
+     *
+     * @param len The length of the frame, in bytes.
+     *
+     * @throws IOException If the underlying {@link java.io.OutputStream}
+     *                     cannot be written to for any reason.
+     */
+    public void writeFrame(byte[] frame, int off, int len) throws IOException {
+        if (len > 0) {
+            writer.writeInt(len);
+            writer.writeBytes(frame, off, len);
+        }
+    }
+
+    /**
+     * Writes everything held by a {@link java.io.ByteArrayOutputStream} as a
+     * single frame, without first copying it into a new {@code byte[]}.
+     *
+     * @param frame The {@link java.io.ByteArrayOutputStream} holding the
+     *              frame.
+     *
+     * @throws IOException If the underlying {@link java.io.OutputStream}
+     *                     cannot be written to for any reason.
+     */
+    public void writeFrame(ByteArrayOutputStream frame) throws IOException {
+        if (frame.size() > 0) {
+            writer.writeInt(frame.size());
+            frame.writeTo(out);
+        }
+    }
+
+    /**
+     * Flushes the underlying {@link java.io.OutputStream}, so that every
+     * frame written so far may be seen by a reader.
+     *
+     * @throws IOException If the underlying {@link java.io.OutputStream}
+     *                     cannot be flushed for any reason.
+     */
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    /**
+     * Writes the end of stream marker and closes the underlying
+     * {@link java.io.OutputStream}.
+     *
+     * @throws IOException If the underlying {@link java.io.OutputStream}
+     *                     cannot be written to or closed for any reason.
+     */
+    public void close() throws IOException {
+        writer.writeInt(0);
+        writer.close();
+    }
+}
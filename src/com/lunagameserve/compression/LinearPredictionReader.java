@@ -0,0 +1,141 @@
+package com.lunagameserve.compression;
+
+import java.io.IOException;
+
+/**
+ * Reads blocks of {@code float}s which were written by a
+ * {@link com.lunagameserve.compression.LinearPredictionWriter}. Decoding a
+ * value is a short integer dot product, a Rice code and a scale by a power
+ * of two.
+ *
+ * @author Six
+ * @since October 17, 2026
+ * @see com.lunagameserve.compression.LinearPredictionWriter
+ */
+public class LinearPredictionReader {
+
+    /**
+     * The {@link com.lunagameserve.compression.BitReader} that all blocks
+     * are read from.
+     */
+    private final BitReader in;
+
+    /**
+     * Constructs a new
+     * {@link com.lunagameserve.compression.LinearPredictionReader} which
+     * reads its blocks from a specified
+     * {@link com.lunagameserve.compression.BitReader}.
+     *
+     * @param in The {@link com.lunagameserve.compression.BitReader} to read
+     *           all blocks from.
+     */
+    public LinearPredictionReader(BitReader in) {
+        this.in = in;
+    }
+
+    /**
+     * Reads a block of values.
+     *
+     * @param values The array to store the values in, from its start.
+     *
+     * @param count The number of values the block was written with.
+     *
+     * @throws IOException If the underlying
+     *                     {@link com.lunagameserve.compression.BitReader}
+     *                     cannot be read from for any reason, or the block
+     *                     is not valid.
+     */
+    public void readBlock(float[] values, int count) throws IOException {
+        if (count == 0) {
+            return;
+        }
+        if (in.readBit() == 1) {
+            for (int i = 0; i < count; i++) {
+                values[i] = Float.intBitsToFloat((int)in.readLongBits(32));
+            }
+            return;
+        }
+
+        int exponent = (int)in.readLongBits(8) +
+                LinearPredictionWriter.MIN_EXPONENT;
+        int order = (int)in.readLongBits(4);
+        if (order > LinearPredictionWriter.MAX_ORDER || order >= count) {
+            throw new IOException("Invalid predictor order: " + order);
+        }
+        int[] coefficients = new int[order];
+        int shift = 0;
+        if (order > 0) {
+            shift = (int)in.readLongBits(5);
+            for (int j = 0; j < order; j++) {
+                coefficients[j] = (int)signExtend(
+                        in.readLongBits(LinearPredictionWriter.PRECISION),
+                        LinearPredictionWriter.PRECISION);
+            }
+        }
+
+        long[] samples = new long[count];
+        int width = (int)in.readLongBits(6);
+        if (width == 0) {
+            throw new IOException("Invalid warm-up width: " + width);
+        }
+        for (int i = 0; i < order; i++) {
+            samples[i] = signExtend(in.readLongBits(width), width);
+        }
+
+        for (int from = order; from < count;
+             from += LinearPredictionWriter.PARTITION_SIZE) {
+            int to = Math.min(count,
+                              from + LinearPredictionWriter.PARTITION_SIZE);
+            int k = (int)in.readLongBits(6);
+            for (int i = from; i < to; i++) {
+                long prediction = 0;
+                for (int j = 0; j < order; j++) {
+                    prediction += coefficients[j] * samples[i - 1 - j];
+                }
+                long residual = readRice(k);
+                samples[i] = (prediction >> shift) +
+                        ((residual >>> 1) ^ -(residual & 1));
+            }
+        }
+
+        for (int i = 0; i < count; i++) {
+            values[i] = Math.scalb((float)samples[i], exponent);
+        }
+    }
+
+    /**
+     * Reads a single Rice coded value, as written by the
+     * {@link com.lunagameserve.compression.LinearPredictionWriter}.
+     *
+     * @param k The Rice parameter.
+     *
+     * @return The value.
+     *
+     * @throws IOException If the underlying
+     *                     {@link com.lunagameserve.compression.BitReader}
+     *                     cannot be read from for any reason.
+     */
+    private long readRice(int k) throws IOException {
+        long unary = in.peekBits(LinearPredictionWriter.ESCAPE);
+        if (unary == 0) {
+            in.skipBits(LinearPredictionWriter.ESCAPE);
+            return in.readLongBits(64);
+        }
+        int quotient = Long.numberOfTrailingZeros(unary);
+        in.skipBits(quotient + 1);
+        return k == 0 ? quotient : ((long)quotient << k) | in.readLongBits(k);
+    }
+
+    /**
+     * Sign extends a two's complement value.
+     *
+     * @param value The value, in its {@code bits} LSBs.
+     *
+     * @param bits The number of bits of the value, sign included.
+     *
+     * @return The value as a {@code long}.
+     */
+    private static long signExtend(long value, int bits) {
+        return (value << (64 - bits)) >> (64 - bits);
+    }
+}
@@ -0,0 +1,498 @@
+package com.lunagameserve.compression;
+
+import java.io.IOException;
+
+/**
+ * Losslessly writes blocks of {@code float}s to a
+ * {@link com.lunagameserve.compression.BitWriter}, in the style of FLAC.
+ * Sensor axes are smooth, band-limited signals, so each sample is predicted
+ * from the samples before it, and only the prediction error is written.
+ * <p>
+ *     Each block is first made exact integers: every value is a multiple of
+ *     the smallest power of two any value of the block is a multiple of, so
+ *     the block is written as that power and the multiples. A linear
+ *     predictor of up to {@link #MAX_ORDER} taps is then fitted to the
+ *     block's autocorrelation, its coefficients are quantized to
+ *     {@link #PRECISION} bits, and the order which writes the fewest bits is
+ *     kept. The residuals are Rice coded in partitions of
+ *     {@link #PARTITION_SIZE}, each with its own parameter, so a burst of
+ *     motion only costs bits where it happens.
+ * </p>
+ * <p>
+ *     Prediction uses only integer arithmetic, so the
+ *     {@link com.lunagameserve.compression.LinearPredictionReader} rebuilds
+ *     every value exactly. A block whose multiples would not fit in
+ *     {@link #MAX_WIDTH} bits, whose unit is above
+ *     {@code 2^}{@link #MAX_EXPONENT}, or which holds a negative zero, an
+ *     infinity or a NaN, is written verbatim instead, as is any block which
+ *     prediction would not make smaller.
+ * </p>
+ *
+ * @author Six
+ * @since October 17, 2026
+ * @see com.lunagameserve.compression.LinearPredictionReader
+ */
+public class LinearPredictionWriter {
+
+    /**
+     * The number of values in each block written by the codecs which use a
+     * {@link com.lunagameserve.compression.LinearPredictionWriter}.
+     */
+    public static final int BLOCK_SIZE = 1024;
+
+    /**
+     * The largest number of taps of a predictor.
+     */
+    static final int MAX_ORDER = 12;
+
+    /**
+     * The number of bits of each quantized coefficient, sign included.
+     */
+    static final int PRECISION = 15;
+
+    /**
+     * The number of residuals coded with each Rice parameter.
+     */
+    static final int PARTITION_SIZE = 64;
+
+    /**
+     * The largest number of bits, sign included, of any multiple of a
+     * predicted block. This keeps every prediction within a {@code long}.
+     */
+    static final int MAX_WIDTH = 40;
+
+    /**
+     * The largest Rice quotient written in unary. A residual whose quotient
+     * reaches this is written as this many zeros and then its 64 bits.
+     */
+    static final int ESCAPE = 32;
+
+    /**
+     * The smallest exponent of the unit of a block, that of the smallest
+     * subnormal {@code float}.
+     */
+    static final int MIN_EXPONENT = -149;
+
+    /**
+     * The largest exponent of the unit of a predicted block, the largest
+     * the 8 bit field of its header can hold.
+     */
+    static final int MAX_EXPONENT = MIN_EXPONENT + 255;
+
+    /**
+     * The {@link com.lunagameserve.compression.BitWriter} that all blocks
+     * are written to.
+     */
+    private final BitWriter out;
+
+    /**
+     * Constructs a new
+     * {@link com.lunagameserve.compression.LinearPredictionWriter} which
+     * writes its blocks to a specified
+     * {@link com.lunagameserve.compression.BitWriter}.
+     *
+     * @param out The {@link com.lunagameserve.compression.BitWriter} to write
+     *            all blocks to.
+     */
+    public LinearPredictionWriter(BitWriter out) {
+        this.out = out;
+    }
+
+    /**
+     * Writes a block of values. The reader must be told how many values
+     * the block holds.
+     *
+     * @param values The values to write.
+     *
+     * @param count The number of values, from the start of {@code values},
+     *              to write.
+     *
+     * @throws IOException If the underlying
+     *                     {@link com.lunagameserve.compression.BitWriter}
+     *                     cannot be written to for any reason.
+     */
+    public void writeBlock(float[] values, int count) throws IOException {
+        if (count == 0) {
+            return;
+        }
+        long[] samples = new long[count];
+        int exponent = toSamples(values, count, samples);
+        if (exponent < MIN_EXPONENT || exponent > MAX_EXPONENT) {
+            writeVerbatim(values, count);
+            return;
+        }
+
+        int maxOrder = Math.min(MAX_ORDER, count - 1);
+        double[][] lpc = levinsonDurbin(autocorrelation(samples, maxOrder),
+                                        maxOrder);
+        long[] residuals = new long[count];
+        int[][] coefficients = new int[maxOrder + 1][];
+        int[] shifts = new int[maxOrder + 1];
+        int bestOrder = -1;
+        long bestBits = 32L * count;
+        int width = 1;
+        for (int order = 0; order <= maxOrder; order++) {
+            coefficients[order] = new int[order];
+            if (order > 0) {
+                if (lpc[order] == null) {
+                    break;
+                }
+                shifts[order] = quantize(lpc[order], coefficients[order]);
+                width = Math.max(width, width(samples[order - 1]));
+            }
+            residuals(samples, coefficients[order], shifts[order], residuals);
+            long bits = order * (long)(PRECISION + width) +
+                    riceBits(residuals, order);
+            if (bits < bestBits) {
+                bestBits = bits;
+                bestOrder = order;
+            }
+        }
+        if (bestOrder < 0) {
+            writeVerbatim(values, count);
+            return;
+        }
+
+        out.writeBit(0);
+        out.writeBits(exponent - MIN_EXPONENT, 8);
+        out.writeBits(bestOrder, 4);
+        int[] coefs = coefficients[bestOrder];
+        if (bestOrder > 0) {
+            out.writeBits(shifts[bestOrder], 5);
+            for (int c : coefs) {
+                out.writeBits(c, PRECISION);
+            }
+        }
+
+        width = 1;
+        for (int i = 0; i < bestOrder; i++) {
+            width = Math.max(width, width(samples[i]));
+        }
+        out.writeBits(width, 6);
+        for (int i = 0; i < bestOrder; i++) {
+            out.writeBits(samples[i], width);
+        }
+
+        residuals(samples, coefs, shifts[bestOrder], residuals);
+        for (int from = bestOrder; from < count; from += PARTITION_SIZE) {
+            int to = Math.min(count, from + PARTITION_SIZE);
+            int k = riceParameter(residuals, from, to);
+            out.writeBits(k, 6);
+            for (int i = from; i < to; i++) {
+                writeRice(zigZag(residuals[i]), k);
+            }
+        }
+    }
+
+    /**
+     * Writes a block as the raw bits of each value, behind a set flag bit.
+     *
+     * @param values The values to write.
+     *
+     * @param count The number of values to write.
+     *
+     * @throws IOException If the underlying
+     *                     {@link com.lunagameserve.compression.BitWriter}
+     *                     cannot be written to for any reason.
+     */
+    private void writeVerbatim(float[] values, int count) throws IOException {
+        out.writeBit(1);
+        for (int i = 0; i < count; i++) {
+            out.writeBits(Float.floatToRawIntBits(values[i]), 32);
+        }
+    }
+
+    /**
+     * Writes a single unsigned value as a Rice code: its quotient by
+     * {@code 2^k} in unary as zeros ended by a one, then its {@code k} low
+     * bits. A quotient of {@link #ESCAPE} or more is written as
+     * {@link #ESCAPE} zeros and then all 64 bits of the value.
+     *
+     * @param value The value to write.
+     *
+     * @param k The Rice parameter.
+     *
+     * @throws IOException If the underlying
+     *                     {@link com.lunagameserve.compression.BitWriter}
+     *                     cannot be written to for any reason.
+     */
+    private void writeRice(long value, int k) throws IOException {
+        long quotient = value >>> k;
+        if (quotient >= ESCAPE) {
+            out.writeBits(0L, ESCAPE);
+            out.writeBits(value, 64);
+        } else {
+            out.writeBits(1L << quotient, (int)quotient + 1);
+            out.writeBits(value, k);
+        }
+    }
+
+    /**
+     * Converts a block to integer multiples of a single power of two.
+     *
+     * @param values The values to convert.
+     *
+     * @param count The number of values to convert.
+     *
+     * @param samples The array to store each multiple in.
+     *
+     * @return The exponent of the power of two, or
+     *         {@link Integer#MIN_VALUE} if the block cannot be converted
+     *         exactly within {@link #MAX_WIDTH} bits.
+     */
+    private static int toSamples(float[] values, int count, long[] samples) {
+        int exponent = Integer.MAX_VALUE;
+        int top = Integer.MIN_VALUE;
+        for (int i = 0; i < count; i++) {
+            int bits = Float.floatToRawIntBits(values[i]);
+            int biased = (bits >>> 23) & 0xFF;
+            int mantissa = bits & 0x7FFFFF;
+            if (biased == 0xFF || bits == Integer.MIN_VALUE) {
+                return Integer.MIN_VALUE;
+            }
+            if (bits == 0) {
+                continue;
+            }
+            int significand = biased == 0 ? mantissa : mantissa | 0x800000;
+            int low = Math.max(biased, 1) - 150 +
+                    Integer.numberOfTrailingZeros(significand);
+            exponent = Math.min(exponent, low);
+            top = Math.max(top, Math.max(biased, 1) - 150 +
+                    32 - Integer.numberOfLeadingZeros(significand));
+        }
+        if (exponent == Integer.MAX_VALUE) {
+            exponent = 0;
+        } else if (top - exponent + 1 > MAX_WIDTH) {
+            return Integer.MIN_VALUE;
+        }
+        for (int i = 0; i < count; i++) {
+            samples[i] = (long)Math.scalb((double)values[i], -exponent);
+        }
+        return exponent;
+    }
+
+    /**
+     * Finds the Welch-windowed autocorrelation of a block.
+     *
+     * @param samples The block.
+     *
+     * @param maxLag The largest lag to find.
+     *
+     * @return The autocorrelation at each lag from {@code 0} to
+     *         {@code maxLag}.
+     */
+    private static double[] autocorrelation(long[] samples, int maxLag) {
+        int n = samples.length;
+        double[] windowed = new double[n];
+        double half = (n - 1) / 2.0;
+        for (int i = 0; i < n; i++) {
+            double t = half == 0 ? 0 : (i - half) / half;
+            windowed[i] = samples[i] * (1 - t * t * 0.9);
+        }
+        double[] r = new double[maxLag + 1];
+        for (int lag = 0; lag <= maxLag; lag++) {
+            double sum = 0;
+            for (int i = lag; i < n; i++) {
+                sum += windowed[i] * windowed[i - lag];
+            }
+            r[lag] = sum;
+        }
+        return r;
+    }
+
+    /**
+     * Solves for the predictor of every order with the Levinson-Durbin
+     * recursion.
+     *
+     * @param r The autocorrelation of the block.
+     *
+     * @param maxOrder The largest order to solve for.
+     *
+     * @return The coefficients of each order, indexed by order, nearest tap
+     *         first. An order which could not be solved, and every order
+     *         above it, is {@code null}.
+     */
+    private static double[][] levinsonDurbin(double[] r, int maxOrder) {
+        double[][] lpc = new double[maxOrder + 1][];
+        lpc[0] = new double[0];
+        double error = r[0];
+        double[] a = new double[maxOrder];
+        for (int order = 1; order <= maxOrder; order++) {
+            if (error <= 0) {
+                break;
+            }
+            double k = r[order];
+            for (int j = 0; j < order - 1; j++) {
+                k -= a[j] * r[order - 1 - j];
+            }
+            k /= error;
+
+            double[] next = new double[order];
+            for (int j = 0; j < order - 1; j++) {
+                next[j] = a[j] - k * a[order - 2 - j];
+            }
+            next[order - 1] = k;
+            System.arraycopy(next, 0, a, 0, order);
+            error *= 1 - k * k;
+            lpc[order] = next;
+        }
+        return lpc;
+    }
+
+    /**
+     * Quantizes predictor coefficients to {@link #PRECISION} bits, carrying
+     * each rounding error into the next coefficient.
+     *
+     * @param lpc The coefficients to quantize.
+     *
+     * @param quantized The array to store the quantized coefficients in.
+     *
+     * @return The number of fraction bits of the quantized coefficients,
+     *         from 0 to 31.
+     */
+    private static int quantize(double[] lpc, int[] quantized) {
+        double largest = 0;
+        for (double c : lpc) {
+            largest = Math.max(largest, Math.abs(c));
+        }
+        int shift = PRECISION - 2;
+        if (largest > 0) {
+            shift -= Math.getExponent(largest);
+        }
+        shift = Math.max(0, Math.min(31, shift));
+
+        int limit = 1 << (PRECISION - 1);
+        double error = 0;
+        for (int j = 0; j < lpc.length; j++) {
+            error += lpc[j] * (1L << shift);
+            long q = Math.round(error);
+            q = Math.max(-limit, Math.min(limit - 1, q));
+            quantized[j] = (int)q;
+            error -= q;
+        }
+        return shift;
+    }
+
+    /**
+     * Finds the residual of every sample after the first
+     * {@code coefficients.length}, which are written as they are.
+     *
+     * @param samples The block.
+     *
+     * @param coefficients The quantized coefficients, nearest tap first.
+     *
+     * @param shift The number of fraction bits of the coefficients.
+     *
+     * @param residuals The array to store each residual in.
+     */
+    static void residuals(long[] samples, int[] coefficients, int shift,
+                          long[] residuals) {
+        int order = coefficients.length;
+        for (int i = order; i < samples.length; i++) {
+            long prediction = 0;
+            for (int j = 0; j < order; j++) {
+                prediction += coefficients[j] * samples[i - 1 - j];
+            }
+            residuals[i] = samples[i] - (prediction >> shift);
+        }
+    }
+
+    /**
+     * Counts the bits of the partitioned Rice codes of a block's residuals.
+     *
+     * @param residuals The residuals of the block.
+     *
+     * @param order The order they were predicted with.
+     *
+     * @return The number of bits.
+     */
+    private static long riceBits(long[] residuals, int order) {
+        long bits = 0;
+        for (int from = order; from < residuals.length;
+             from += PARTITION_SIZE) {
+            int to = Math.min(residuals.length, from + PARTITION_SIZE);
+            bits += 6 + riceBits(residuals, from, to,
+                                 riceParameter(residuals, from, to));
+        }
+        return bits;
+    }
+
+    /**
+     * Chooses the Rice parameter which writes a partition of residuals in
+     * the fewest bits.
+     *
+     * @param residuals The residuals.
+     *
+     * @param from The index of the first residual of the partition.
+     *
+     * @param to The index after the last residual of the partition.
+     *
+     * @return The Rice parameter, from 0 to 63.
+     */
+    private static int riceParameter(long[] residuals, int from, int to) {
+        long sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += zigZag(residuals[i]);
+        }
+        long mean = sum / (to - from);
+        int guess = 64 - Long.numberOfLeadingZeros(mean);
+
+        int best = 0;
+        long bestBits = Long.MAX_VALUE;
+        for (int k = Math.max(0, guess - 2); k <= Math.min(63, guess + 1);
+             k++) {
+            long bits = riceBits(residuals, from, to, k);
+            if (bits < bestBits) {
+                bestBits = bits;
+                best = k;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Counts the bits of a partition of Rice coded residuals.
+     *
+     * @param residuals The residuals.
+     *
+     * @param from The index of the first residual of the partition.
+     *
+     * @param to The index after the last residual of the partition.
+     *
+     * @param k The Rice parameter.
+     *
+     * @return The number of bits.
+     */
+    private static long riceBits(long[] residuals, int from, int to, int k) {
+        long bits = 0;
+        for (int i = from; i < to; i++) {
+            long quotient = zigZag(residuals[i]) >>> k;
+            bits += quotient >= ESCAPE ? ESCAPE + 64 : quotient + 1 + k;
+        }
+        return bits;
+    }
+
+    /**
+     * Counts the bits needed to hold a value in two's complement.
+     *
+     * @param value The value.
+     *
+     * @return The number of bits, sign included.
+     */
+    private static int width(long value) {
+        return 65 - Long.numberOfLeadingZeros(value ^ (value >> 63));
+    }
+
+    /**
+     * Maps a signed {@code long} to an unsigned one, as
+     * {@link ZigZagDeltaWriter#zigZag(int)} does for an {@code int}.
+     *
+     * @param value The value to map.
+     *
+     * @return {@code 2 * value} if {@code value} is not negative, else
+     *         {@code -2 * value - 1}.
+     */
+    static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+}
@@ -0,0 +1,407 @@
+package com.lunagameserve.compression;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveTask;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * A drop-in replacement for {@link java.util.zip.GZIPOutputStream} which
+ * deflates on many cores at once, in the style of {@code pigz}.
+ * <p>
+ *     The input is cut into blocks which are deflated independently on a
+ *     {@link java.util.concurrent.ForkJoinPool}. Each block is primed with
+ *     the last 32 KiB of the block before it as a preset dictionary, so
+ *     matches may still reach back across block boundaries, and each block
+ *     but the last ends with a {@link java.util.zip.Deflater#SYNC_FLUSH} so
+ *     that the deflated blocks may simply be written one after another. The
+ *     result is a single, standard gzip member which any
+ *     {@link java.util.zip.GZIPInputStream} can read.
+ * </p>
+ *
+ * @author Six
+ * @since October 17, 2026
+ */
+public class ParallelGZIPOutputStream extends OutputStream {
+
+    /**
+     * The size, in bytes, of each block of input, unless told otherwise.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 128 * 1024;
+
+    /**
+     * The size, in bytes, of the deflate window, and therefore of the
+     * dictionary each block is primed with.
+     */
+    private static final int DICTIONARY_SIZE = 32 * 1024;
+
+    /**
+     * The fixed gzip member header: deflate, no flags, no modification time,
+     * no extra flags and an unknown operating system.
+     */
+    private static final byte[] HEADER = {
+            0x1f, (byte)0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte)0xff
+    };
+
+    /**
+     * The pool shared by every stream which is not given one, created the
+     * first time it is needed.
+     */
+    private static ForkJoinPool sharedPool;
+
+    /**
+     * The underlying {@link java.io.OutputStream} which the gzip member is
+     * written to.
+     */
+    private final OutputStream out;
+
+    /**
+     * The pool which blocks are deflated on.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * The deflate compression level used for every block.
+     */
+    private final int level;
+
+    /**
+     * The largest number of blocks which may be waiting to be written at
+     * once, which bounds the memory held by this stream.
+     */
+    private final int maxPending;
+
+    /**
+     * The blocks which have been handed to {@link #pool}, oldest first.
+     */
+    private final ArrayDeque<Future<byte[]>> pending =
+            new ArrayDeque<Future<byte[]>>();
+
+    /**
+     * The checksum of every byte of input so far.
+     */
+    private final CRC32 crc = new CRC32();
+
+    /**
+     * The block of input currently being filled.
+     */
+    private byte[] block;
+
+    /**
+     * The number of bytes held in {@link #block}.
+     */
+    private int blockPos = 0;
+
+    /**
+     * The input block submitted most recently, whose tail primes the next
+     * block, or {@code null} before the first block is submitted.
+     */
+    private byte[] previous;
+
+    /**
+     * The number of valid bytes in {@link #previous}.
+     */
+    private int previousLen = 0;
+
+    /**
+     * The total number of bytes of input so far.
+     */
+    private long inputSize = 0L;
+
+    /**
+     * {@code true} once this stream has been closed.
+     */
+    private boolean closed = false;
+
+    /**
+     * Constructs a new
+     * {@link com.lunagameserve.compression.ParallelGZIPOutputStream} with
+     * blocks of {@link #DEFAULT_BLOCK_SIZE} bytes, deflated at the default
+     * level on a pool shared by every such stream.
+     *
+     * @param out The {@link java.io.OutputStream} to write the gzip member
+     *            to.
+     *
+     * @throws IOException If the gzip header cannot be written for any
+     *                     reason.
+     */
+    public ParallelGZIPOutputStream(OutputStream out) throws IOException {
+        this(out, DEFAULT_BLOCK_SIZE, Deflater.DEFAULT_COMPRESSION,
+             sharedPool());
+    }
+
+    /**
+     * Constructs a new
+     * {@link com.lunagameserve.compression.ParallelGZIPOutputStream}.
+     *
+     * @param out The {@link java.io.OutputStream} to write the gzip member
+     *            to.
+     *
+     * @param blockSize The size, in bytes, of each block of input. Blocks
+     *                  much smaller than the 32 KiB deflate window cost
+     *                  ratio, while larger blocks cost memory.
+     *
+     * @param level The deflate compression level, as given to a
+     *              {@link java.util.zip.Deflater}.
+     *
+     * @param pool The pool to deflate blocks on.
+     *
+     * @throws IOException If the gzip header cannot be written for any
+     *                     reason.
+     */
+    public ParallelGZIPOutputStream(OutputStream out, int blockSize,
+                                    int level, ForkJoinPool pool)
+                                    throws IOException {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be at" +
+                                               " least 1.");
+        }
+        this.out = out;
+        this.pool = pool;
+        this.level = level;
+        this.maxPending = 2 * pool.getParallelism();
+        this.block = new byte[blockSize];
+        out.write(HEADER);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void write(int b) throws IOException {
+        if (blockPos == block.length) {
+            submit(false);
+        }
+        block[blockPos++] = (byte)b;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            if (blockPos == block.length) {
+                submit(false);
+            }
+            int n = Math.min(len, block.length - blockPos);
+            System.arraycopy(b, off, block, blockPos, n);
+            blockPos += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    /**
+     * Deflates the last block, waits for every block to be written, then
+     * writes the gzip trailer and closes the underlying
+     * {@link java.io.OutputStream}.
+     *
+     * @throws IOException If the underlying {@link java.io.OutputStream}
+     *                     cannot be written to or closed, or a block could
+     *                     not be deflated, for any reason.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        submit(true);
+        while (!pending.isEmpty()) {
+            writeOldest();
+        }
+
+        byte[] trailer = new byte[8];
+        putIntLE(trailer, 0, (int)crc.getValue());
+        putIntLE(trailer, 4, (int)inputSize);
+        out.write(trailer);
+        out.close();
+    }
+
+    /**
+     * Hands {@link #block} to {@link #pool} to be deflated, and starts a new
+     * block. If too many blocks are already waiting, the oldest is written
+     * first.
+     *
+     * @param last {@code true} if this is the last block of the member.
+     *
+     * @throws IOException If a waiting block cannot be written for any
+     *                     reason.
+     */
+    private void submit(boolean last) throws IOException {
+        crc.update(block, 0, blockPos);
+        inputSize += blockPos;
+
+        byte[] dictionary = null;
+        if (previous != null) {
+            int n = Math.min(DICTIONARY_SIZE, previousLen);
+            dictionary = Arrays.copyOfRange(previous, previousLen - n,
+                                            previousLen);
+        }
+        pending.add(pool.submit(
+                new DeflateTask(block, blockPos, dictionary, level, last)));
+
+        previous = block;
+        previousLen = blockPos;
+        block = new byte[block.length];
+        blockPos = 0;
+
+        while (pending.size() > maxPending) {
+            writeOldest();
+        }
+    }
+
+    /**
+     * Waits for the oldest waiting block to be deflated and writes it to
+     * the underlying {@link java.io.OutputStream}.
+     *
+     * @throws IOException If the block cannot be deflated or written for any
+     *                     reason.
+     */
+    private void writeOldest() throws IOException {
+        try {
+            out.write(pending.poll().get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while deflating.", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Could not deflate a block.", e.getCause());
+        }
+    }
+
+    /**
+     * Gets the pool shared by every stream which is not given one, creating
+     * it with one thread per processor the first time it is needed.
+     *
+     * @return The shared {@link java.util.concurrent.ForkJoinPool}.
+     */
+    private static synchronized ForkJoinPool sharedPool() {
+        if (sharedPool == null) {
+            sharedPool = new ForkJoinPool();
+        }
+        return sharedPool;
+    }
+
+    /**
+     * Encodes an {@code int} little-endian into four bytes of a
+     * {@code byte[]}, as gzip trailers require.
+     *
+     * @param b The {@code byte[]} to encode into.
+     *
+     * @param pos The index of the first of the four bytes.
+     *
+     * @param v The value to encode.
+     */
+    private static void putIntLE(byte[] b, int pos, int v) {
+        b[pos] = (byte)v;
+        b[pos + 1] = (byte)(v >> 8);
+        b[pos + 2] = (byte)(v >> 16);
+        b[pos + 3] = (byte)(v >> 24);
+    }
+
+    /**
+     * Deflates a single block of input into raw deflate data which may be
+     * written directly after the block before it.
+     */
+    private static class DeflateTask extends RecursiveTask<byte[]> {
+
+        /**
+         * The version of this task's serialized form. Tasks are never
+         * serialized, but {@link java.util.concurrent.ForkJoinTask} is
+         * {@link java.io.Serializable}.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The input to deflate. Only the first {@link #len} bytes are valid.
+         */
+        private final byte[] input;
+
+        /**
+         * The number of bytes of {@link #input} to deflate.
+         */
+        private final int len;
+
+        /**
+         * The end of the block before this one, or {@code null} if this is
+         * the first block.
+         */
+        private final byte[] dictionary;
+
+        /**
+         * The deflate compression level.
+         */
+        private final int level;
+
+        /**
+         * {@code true} if this is the last block of the member.
+         */
+        private final boolean last;
+
+        /**
+         * Constructs a new task for a single block.
+         *
+         * @param input The input to deflate.
+         *
+         * @param len The number of bytes of {@code input} to deflate.
+         *
+         * @param dictionary The end of the block before this one, or
+         *                   {@code null} if this is the first block.
+         *
+         * @param level The deflate compression level.
+         *
+         * @param last {@code true} if this is the last block of the member.
+         */
+        DeflateTask(byte[] input, int len, byte[] dictionary, int level,
+                    boolean last) {
+            this.input = input;
+            this.len = len;
+            this.dictionary = dictionary;
+            this.level = level;
+            this.last = last;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected byte[] compute() {
+            Deflater deflater = new Deflater(level, true);
+            try {
+                if (dictionary != null) {
+                    deflater.setDictionary(dictionary);
+                }
+                deflater.setInput(input, 0, len);
+
+                byte[] buf = new byte[Math.max(64, len + (len >> 3) + 64)];
+                int size = 0;
+                if (last) {
+                    deflater.finish();
+                    while (!deflater.finished()) {
+                        if (size == buf.length) {
+                            buf = Arrays.copyOf(buf, buf.length * 2);
+                        }
+                        size += deflater.deflate(buf, size,
+                                                 buf.length - size);
+                    }
+                } else {
+                    while (true) {
+                        if (size == buf.length) {
+                            buf = Arrays.copyOf(buf, buf.length * 2);
+                        }
+                        int n = deflater.deflate(buf, size, buf.length - size,
+                                                 Deflater.SYNC_FLUSH);
+                        size += n;
+                        if (size < buf.length) {
+                            break;
+                        }
+                    }
+                }
+                return Arrays.copyOf(buf, size);
+            } finally {
+                deflater.end();
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.lunagameserve.compression;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * A lock free pool of reusable objects, such as the series a
+ * {@link Compressor} decodes into. Threads {@link #acquire()} an object,
+ * use it alone, then {@link #release(Object)} it for another thread to
+ * reuse, so that buffers grown by one decode are not thrown away.
+ *
+ * @param <T> The kind of object pooled.
+ *
+ * @author Six
+ * @since October 17, 2026
+ */
+public abstract class Pool<T> {
+
+    /**
+     * The objects not currently acquired.
+     */
+    private final ConcurrentLinkedQueue<T> idle =
+            new ConcurrentLinkedQueue<T>();
+
+    /**
+     * Creates a new object, when none are idle.
+     *
+     * @return A new object.
+     */
+    protected abstract T create();
+
+    /**
+     * Takes an idle object from this {@link Pool}, or creates one if none
+     * are idle.
+     *
+     * @return An object which no other thread holds.
+     */
+    public T acquire() {
+        T t = idle.poll();
+        return t == null ? create() : t;
+    }
+
+    /**
+     * Returns an object to this {@link Pool}. The caller must not use it
+     * again until it is acquired again.
+     *
+     * @param t An object previously returned by {@link #acquire()}.
+     */
+    public void release(T t) {
+        idle.offer(t);
+    }
+}
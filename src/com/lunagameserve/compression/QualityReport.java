@@ -0,0 +1,124 @@
+package com.lunagameserve.compression;
+
+/**
+ * {@link com.lunagameserve.compression.StreamStats} for a stream which has
+ * been written and read back again, describing how much signal a
+ * compressor destroyed as well as how much space it saved.
+ * <p>
+ *     Every error figure is kept per channel, such as per axis of
+ *     acceleration data. Only samples which were decoded are compared, so a
+ *     compressor which drops samples reports fewer {@link #decodedSamples}
+ *     than {@link #samples}.
+ * </p>
+ *
+ * @author Six
+ * @since October 17, 2026
+ */
+public class QualityReport extends StreamStats {
+
+    /**
+     * The number of samples which were written.
+     */
+    public final int samples;
+
+    /**
+     * The number of samples which were read back.
+     */
+    public final int decodedSamples;
+
+    /**
+     * The number of compressed bits each written sample costs.
+     */
+    public final double bitsPerSample;
+
+    /**
+     * The root mean square error of each channel.
+     */
+    public final double[] rmse;
+
+    /**
+     * The largest absolute error of each channel.
+     */
+    public final double[] maxError;
+
+    /**
+     * The signal to noise ratio of each channel, in decibels, taking the
+     * variance of the original channel as the signal. This is
+     * {@link Double#POSITIVE_INFINITY} for a channel read back exactly.
+     */
+    public final double[] snr;
+
+    /**
+     * Constructs a new {@link com.lunagameserve.compression.QualityReport}
+     * by comparing original channels with their decoded counterparts.
+     *
+     * @param original The values which were written, one {@code float[]}
+     *                 per channel.
+     *
+     * @param decoded The values which were read back, one
+     *                {@link com.lunagameserve.compression.FloatSeries} per
+     *                channel.
+     *
+     * @param ratio The ratio of compressed to uncompressed size.
+     *
+     * @param length The compressed size, in bytes.
+     */
+    public QualityReport(float[][] original, FloatSeries[] decoded,
+                         double ratio, long length) {
+        super(ratio, length);
+        int channels = original.length;
+        int n = original[0].length;
+        int m = n;
+        for (FloatSeries d : decoded) {
+            m = Math.min(m, d.size());
+        }
+
+        this.samples = n;
+        this.decodedSamples = m;
+        this.bitsPerSample = n == 0 ? 0.0 : length * 8.0 / n;
+        this.rmse = new double[channels];
+        this.maxError = new double[channels];
+        this.snr = new double[channels];
+
+        for (int c = 0; c < channels; c++) {
+            double mean = 0.0;
+            for (int i = 0; i < m; i++) {
+                mean += original[c][i];
+            }
+            mean = m == 0 ? 0.0 : mean / m;
+
+            double signal = 0.0;
+            double noise = 0.0;
+            double max = 0.0;
+            for (int i = 0; i < m; i++) {
+                double x = original[c][i];
+                double e = x - decoded[c].get(i);
+                signal += (x - mean) * (x - mean);
+                noise += e * e;
+                max = Math.max(max, Math.abs(e));
+            }
+            rmse[c] = m == 0 ? 0.0 : Math.sqrt(noise / m);
+            maxError[c] = max;
+            snr[c] = noise == 0.0 ? Double.POSITIVE_INFINITY
+                                  : 10.0 * Math.log10(signal / noise);
+        }
+    }
+
+    /**
+     * Gets a short, human readable summary of this report, giving the
+     * size and the error of each channel.
+     *
+     * @return A one-line summary of this report.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%.3f (%db, %.2f bits/sample)",
+                                ratio, length, bitsPerSample));
+        for (int c = 0; c < rmse.length; c++) {
+            sb.append(String.format(", [rmse %.4g, max %.4g, %.1fdB]",
+                                    rmse[c], maxError[c], snr[c]));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,153 @@
+package com.lunagameserve.compression;
+
+/**
+ * How finely a channel of {@code float}s should be quantized: either to a
+ * fixed number of bits, or as coarsely as a maximum absolute error allows.
+ * A {@link Quantization} knows nothing of the values themselves; once their
+ * range is known, {@link #fit(float, float)} makes the
+ * {@link com.lunagameserve.compression.Quantizer} which does the work.
+ *
+ * @author Six
+ * @since October 17, 2026
+ * @see com.lunagameserve.compression.Quantizer
+ */
+public final class Quantization {
+
+    /**
+     * The fewest bits a channel may be quantized to.
+     */
+    public static final int MIN_BITS = 1;
+
+    /**
+     * The most bits a channel may be quantized to.
+     */
+    public static final int MAX_BITS = 24;
+
+    /**
+     * The number of bits to quantize to, or {@code 0} if this
+     * {@link Quantization} is bounded by {@link #maxError} instead.
+     */
+    private final int bits;
+
+    /**
+     * The largest absolute error allowed, or {@link Float#NaN} if this
+     * {@link Quantization} is a fixed number of {@link #bits}.
+     */
+    private final float maxError;
+
+    /**
+     * Constructs a new {@link Quantization}.
+     *
+     * @param bits The number of bits, or {@code 0}.
+     *
+     * @param maxError The largest absolute error, or {@link Float#NaN}.
+     */
+    private Quantization(int bits, float maxError) {
+        this.bits = bits;
+        this.maxError = maxError;
+    }
+
+    /**
+     * Makes a {@link Quantization} to a fixed number of bits. The range of
+     * the values is split into {@code 2^bits - 1} equal bins, whose edges
+     * are the values which can be decoded.
+     *
+     * @param bits The number of bits, from {@link #MIN_BITS} to
+     *             {@link #MAX_BITS}.
+     *
+     * @return The {@link Quantization}.
+     *
+     * @throws IllegalArgumentException If {@code bits} is out of range.
+     */
+    public static Quantization bits(int bits) {
+        if (bits < MIN_BITS || bits > MAX_BITS) {
+            throw new IllegalArgumentException(
+                    "Bits must be between " + MIN_BITS + " and " + MAX_BITS +
+                    ": " + bits);
+        }
+        return new Quantization(bits, Float.NaN);
+    }
+
+    /**
+     * Makes a {@link Quantization} which uses the fewest bits that keep
+     * every decoded value within a specified distance of the value written.
+     *
+     * @param maxError The largest absolute error allowed, which must be
+     *                 positive.
+     *
+     * @return The {@link Quantization}.
+     *
+     * @throws IllegalArgumentException If {@code maxError} is not positive
+     *                                  and finite.
+     */
+    public static Quantization maxError(float maxError) {
+        if (!(maxError > 0) || Float.isInfinite(maxError)) {
+            throw new IllegalArgumentException(
+                    "Maximum error must be positive: " + maxError);
+        }
+        return new Quantization(0, maxError);
+    }
+
+    /**
+     * Makes the {@link com.lunagameserve.compression.Quantizer} for values
+     * within a range. A range which is not finite is treated as zero.
+     *
+     * @param min The smallest value to quantize.
+     *
+     * @param max The largest value to quantize.
+     *
+     * @return The {@link com.lunagameserve.compression.Quantizer}.
+     *
+     * @throws IllegalArgumentException If this {@link Quantization} is
+     *                                  bounded by an error which would need
+     *                                  more than {@link #MAX_BITS} bits, or
+     *                                  which is below the precision of a
+     *                                  {@code float} near the range.
+     */
+    public Quantizer fit(float min, float max) {
+        if (Float.isNaN(min) || Float.isInfinite(min) ||
+            Float.isNaN(max) || Float.isInfinite(max) || min > max) {
+            min = 0f;
+            max = 0f;
+        }
+        double range = (double)max - min;
+
+        if (bits > 0) {
+            float step = (float)(range / ((1 << bits) - 1));
+            if (step < range / ((1 << bits) - 1)) {
+                step = Math.nextUp(step);
+            }
+            return new Quantizer(min, step, bits);
+        }
+
+        /* Leave room for the rounding of the decoded float itself, up to
+         * the largest value the fitted bits could decode to */
+        float magnitude = Math.nextUp(
+                5 * Math.max(Math.abs(min), Math.abs(max)) + 4 * maxError);
+        double exact = 2 * ((double)maxError - Math.ulp(magnitude));
+        float step = (float)exact;
+        if (step > exact) {
+            step = Math.nextAfter(step, 0.0);
+        }
+        if (!(step > 0)) {
+            throw new IllegalArgumentException(
+                    "Maximum error " + maxError + " is below the precision" +
+                    " of values near " + magnitude + ".");
+        }
+        double levels = Math.ceil(range / step);
+        if (levels >= 1 << MAX_BITS) {
+            throw new IllegalArgumentException(
+                    "Maximum error " + maxError + " needs more than " +
+                    MAX_BITS + " bits over a range of " + range + ".");
+        }
+        int fitted = Math.max(MIN_BITS,
+                32 - Integer.numberOfLeadingZeros((int)levels));
+        return new Quantizer(min, step, fitted);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return bits > 0 ? bits + " bits" : "max error " + maxError;
+    }
+}
@@ -0,0 +1,98 @@
+package com.lunagameserve.compression;
+
+import java.io.IOException;
+
+/**
+ * Reads multi-channel floating point samples which were written by a
+ * {@link com.lunagameserve.compression.QuantizedBlockWriter} from a
+ * {@link com.lunagameserve.compression.BitReader}, one block at a time.
+ *
+ * @author Six
+ * @since October 17, 2026
+ * @see com.lunagameserve.compression.QuantizedBlockWriter
+ */
+public class QuantizedBlockReader {
+
+    /**
+     * The {@link com.lunagameserve.compression.BitReader} which all blocks
+     * are read from.
+     */
+    private final BitReader in;
+
+    /**
+     * The number of values in each sample.
+     */
+    private final int channels;
+
+    /**
+     * The number of bits each quantized value was written with.
+     */
+    private final int bits;
+
+    /**
+     * The minimum of each channel within the block being read.
+     */
+    private final float[] min;
+
+    /**
+     * The size of one quantization step of each channel within the block
+     * being read.
+     */
+    private final float[] step;
+
+    /**
+     * Constructs a new
+     * {@link com.lunagameserve.compression.QuantizedBlockReader}.
+     *
+     * @param in The {@link com.lunagameserve.compression.BitReader} to read
+     *           all blocks from.
+     *
+     * @param channels The number of values in each sample, which must match
+     *                 the number the blocks were written with.
+     *
+     * @param bits The number of bits each quantized value was written with.
+     */
+    public QuantizedBlockReader(BitReader in, int channels, int bits) {
+        this.in = in;
+        this.channels = channels;
+        this.bits = bits;
+        this.min = new float[channels];
+        this.step = new float[channels];
+    }
+
+    /**
+     * Decodes the next block of this stream, appending the values of each
+     * channel to its own {@link com.lunagameserve.compression.FloatSeries}.
+     *
+     * @param dst One {@link com.lunagameserve.compression.FloatSeries} per
+     *            channel, in the order the channels were written.
+     *
+     * @return The number of samples decoded, or {@code -1} if the end of
+     *         stream marker has been reached.
+     *
+     * @throws IOException If the underlying
+     *                     {@link com.lunagameserve.compression.BitReader}
+     *                     cannot be read from for any reason.
+     */
+    public int readBlock(FloatSeries[] dst) throws IOException {
+        int count = (int)in.readLongBits(32);
+        if (count == 0) {
+            return -1;
+        }
+        int levels = QuantizedBlockWriter.levels(bits);
+        for (int c = 0; c < channels; c++) {
+            float lo = Float.intBitsToFloat((int)in.readLongBits(32));
+            float hi = Float.intBitsToFloat((int)in.readLongBits(32));
+            min[c] = lo;
+            step[c] = (hi - lo) / levels;
+            dst[c].ensureCapacity(dst[c].size() + count);
+        }
+
+        for (int i = 0; i < count; i++) {
+            for (int c = 0; c < channels; c++) {
+                dst[c].add(min[c] + in.readLongBits(bits) * step[c]);
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,184 @@
+package com.lunagameserve.compression;
+
+import java.io.IOException;
+
+/**
+ * Writes multi-channel floating point samples to a
+ * {@link com.lunagameserve.compression.BitWriter} as a series of
+ * independently quantized blocks.
+ * <p>
+ *     Samples are held until a block of {@code blockSize} samples is full.
+ *     The block is then written as its sample count (32 bits), the minimum
+ *     and maximum of each channel (32 raw float bits each), and finally
+ *     every sample, channels interleaved, each quantized to {@code bits} bits
+ *     against its channel's range within the block. A block with a count of
+ *     zero marks the end of the stream.
+ * </p>
+ * <p>
+ *     Because each block carries its own range, an outlier only costs
+ *     precision within its own block, and a block may be written as soon as
+ *     it fills, without knowing the range of the whole stream.
+ * </p>
+ *
+ * @author Six
+ * @since October 17, 2026
+ * @see com.lunagameserve.compression.QuantizedBlockReader
+ */
+public class QuantizedBlockWriter {
+
+    /**
+     * The number of samples in a block, unless told otherwise.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 256;
+
+    /**
+     * The {@link com.lunagameserve.compression.BitWriter} which all blocks
+     * are written to.
+     */
+    private final BitWriter out;
+
+    /**
+     * The number of bits each quantized value is written with.
+     */
+    private final int bits;
+
+    /**
+     * The values of the block being filled, one {@code float[]} per channel.
+     */
+    private final float[][] block;
+
+    /**
+     * The minimum of each channel within the block being written.
+     */
+    private final float[] min;
+
+    /**
+     * The factor which maps each channel's range within the block being
+     * written onto the quantized levels.
+     */
+    private final float[] scale;
+
+    /**
+     * The number of samples held in {@link #block}.
+     */
+    private int count = 0;
+
+    /**
+     * Constructs a new
+     * {@link com.lunagameserve.compression.QuantizedBlockWriter}.
+     *
+     * @param out The {@link com.lunagameserve.compression.BitWriter} to write
+     *            all blocks to.
+     *
+     * @param channels The number of values in each sample.
+     *
+     * @param bits The number of bits each quantized value is written with,
+     *             from 1 to 24.
+     *
+     * @param blockSize The number of samples in each full block.
+     *
+     * @throws IllegalArgumentException if any argument is out of range.
+     */
+    public QuantizedBlockWriter(BitWriter out, int channels, int bits,
+                                int blockSize) {
+        if (channels < 1 || blockSize < 1) {
+            throw new IllegalArgumentException("Channels and block size must" +
+                                               " be at least 1.");
+        }
+        if (bits < 1 || bits > 24) {
+            throw new IllegalArgumentException("Bits must be from 1 to 24.");
+        }
+        this.out = out;
+        this.bits = bits;
+        this.block = new float[channels][blockSize];
+        this.min = new float[channels];
+        this.scale = new float[channels];
+    }
+
+    /**
+     * Appends a single sample to the block being filled, writing the block
+     * if it is now full.
+     *
+     * @param sample The values of the sample, one per channel.
+     *
+     * @throws IOException If a block cannot be written for any reason.
+     */
+    public void append(float[] sample) throws IOException {
+        for (int c = 0; c < block.length; c++) {
+            block[c][count] = sample[c];
+        }
+        if (++count == block[0].length) {
+            endBlock();
+        }
+    }
+
+    /**
+     * Writes the block being filled, however few samples it holds, followed
+     * by the end of stream marker.
+     *
+     * @throws IOException If the stream cannot be finished for any reason.
+     */
+    public void finish() throws IOException {
+        endBlock();
+        out.writeBits(0L, 32);
+    }
+
+    /**
+     * Writes every pending sample as a single block, if there are any,
+     * without waiting for the block to fill. The next sample appended starts
+     * a new block.
+     *
+     * @throws IOException If the block cannot be written for any reason.
+     */
+    public void endBlock() throws IOException {
+        if (count == 0) {
+            return;
+        }
+        int channels = block.length;
+        int levels = levels(bits);
+
+        out.writeBits((long)count, 32);
+        for (int c = 0; c < channels; c++) {
+            /* A NaN never compares greater or less, so it is left out of
+             * the range, and is written as its lowest level. */
+            float lo = Float.POSITIVE_INFINITY;
+            float hi = Float.NEGATIVE_INFINITY;
+            for (int i = 0; i < count; i++) {
+                if (block[c][i] < lo) {
+                    lo = block[c][i];
+                }
+                if (block[c][i] > hi) {
+                    hi = block[c][i];
+                }
+            }
+            if (lo > hi) {
+                lo = 0f;
+                hi = 0f;
+            }
+            out.writeBits(Float.floatToRawIntBits(lo) & 0xFFFFFFFFL, 32);
+            out.writeBits(Float.floatToRawIntBits(hi) & 0xFFFFFFFFL, 32);
+            min[c] = lo;
+            scale[c] = hi > lo ? levels / (hi - lo) : 0f;
+        }
+
+        for (int i = 0; i < count; i++) {
+            for (int c = 0; c < channels; c++) {
+                int q = (int)((block[c][i] - min[c]) * scale[c] + 0.5f);
+                out.writeBits(Math.max(0, Math.min(levels, q)), bits);
+            }
+        }
+        count = 0;
+    }
+
+    /**
+     * Gets the largest value that can be quantized to a specified number of
+     * bits.
+     *
+     * @param bits The number of bits each quantized value is written with.
+     *
+     * @return {@code 2^bits - 1}.
+     */
+    static int levels(int bits) {
+        return (1 << bits) - 1;
+    }
+}
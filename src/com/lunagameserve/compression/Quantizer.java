@@ -0,0 +1,158 @@
+package com.lunagameserve.compression;
+
+import java.io.IOException;
+
+/**
+ * Maps {@code float}s within a known range to evenly spaced levels, and
+ * back. A {@link Quantizer} is made by
+ * {@link com.lunagameserve.compression.Quantization#fit(float, float)}, and
+ * is wholly described by the smallest value it decodes to, the distance
+ * between levels and its number of bits, which
+ * {@link #writeTo(ByteWriter)} writes as a stream header so that a reader
+ * needs no configuration of its own.
+ * <p>
+ *     Every value within the range it was fitted to decodes to within
+ *     {@link #maxError()} of itself, including the rounding of the decoded
+ *     {@code float}. Values outside the range are clamped to its ends.
+ * </p>
+ *
+ * @author Six
+ * @since October 17, 2026
+ * @see com.lunagameserve.compression.Quantization
+ */
+public final class Quantizer {
+
+    /**
+     * The value of level zero.
+     */
+    private final float min;
+
+    /**
+     * The distance between neighbouring levels.
+     */
+    private final float step;
+
+    /**
+     * The number of bits of each level.
+     */
+    private final int bits;
+
+    /**
+     * The highest level.
+     */
+    private final int maxLevel;
+
+    /**
+     * Constructs a new {@link Quantizer}.
+     *
+     * @param min The value of level zero.
+     *
+     * @param step The distance between neighbouring levels, which must not
+     *             be negative.
+     *
+     * @param bits The number of bits of each level, from
+     *             {@link Quantization#MIN_BITS} to
+     *             {@link Quantization#MAX_BITS}.
+     */
+    Quantizer(float min, float step, int bits) {
+        this.min = min;
+        this.step = step;
+        this.bits = bits;
+        this.maxLevel = (1 << bits) - 1;
+    }
+
+    /**
+     * Quantizes a value to the nearest level.
+     *
+     * @param value The value to quantize.
+     *
+     * @return The level, from {@code 0} to {@code 2^bits() - 1}.
+     */
+    public int quantize(float value) {
+        if (step == 0) {
+            return 0;
+        }
+        long level = Math.round(((double)value - min) / step);
+        return (int)Math.max(0, Math.min(maxLevel, level));
+    }
+
+    /**
+     * Gets the value a level stands for.
+     *
+     * @param level The level, as returned by {@link #quantize(float)}.
+     *
+     * @return The value.
+     */
+    public float dequantize(int level) {
+        return (float)(min + level * (double)step);
+    }
+
+    /**
+     * Gets the number of bits of each level.
+     *
+     * @return The number of bits.
+     */
+    public int bits() {
+        return bits;
+    }
+
+    /**
+     * Gets the distance between neighbouring levels.
+     *
+     * @return The distance.
+     */
+    public float step() {
+        return step;
+    }
+
+    /**
+     * Gets the largest absolute error of any value within the range this
+     * {@link Quantizer} was fitted to, once decoded.
+     *
+     * @return The largest error.
+     */
+    public double maxError() {
+        float top = dequantize(maxLevel);
+        return step / 2.0 + Math.ulp(Math.max(Math.abs(min), Math.abs(top)));
+    }
+
+    /**
+     * Writes this {@link Quantizer} as a stream header: the value of level
+     * zero and the distance between levels as {@code float}s, then the
+     * number of bits as a {@code short}.
+     *
+     * @param writer The {@link com.lunagameserve.compression.ByteWriter} to
+     *               write to.
+     *
+     * @throws IOException If {@code writer} cannot be written to for any
+     *                     reason.
+     */
+    public void writeTo(ByteWriter writer) throws IOException {
+        writer.writeFloat(min);
+        writer.writeFloat(step);
+        writer.writeShort((short)bits);
+    }
+
+    /**
+     * Reads a {@link Quantizer} written by {@link #writeTo(ByteWriter)}.
+     *
+     * @param reader The {@link com.lunagameserve.compression.ByteReader} to
+     *               read from.
+     *
+     * @return The {@link Quantizer}.
+     *
+     * @throws IOException If {@code reader} cannot be read from for any
+     *                     reason, or the header is not valid.
+     */
+    public static Quantizer readFrom(ByteReader reader) throws IOException {
+        float min = reader.readFloat();
+        float step = reader.readFloat();
+        int bits = reader.readShort();
+        if (bits < Quantization.MIN_BITS || bits > Quantization.MAX_BITS ||
+            !(step >= 0) || Float.isInfinite(step)) {
+            throw new IOException("Invalid quantizer: " + bits + " bits of " +
+                                  step + ".");
+        }
+        return new Quantizer(min, step, bits);
+    }
+}
@@ -0,0 +1,154 @@
+package com.lunagameserve.compression;
+
+import java.io.IOException;
+
+/**
+ * Reads a stream which was written by a
+ * {@link com.lunagameserve.compression.RangeEncoder}. Bits must be decoded
+ * in the same order, and against probabilities made and adapted in the same
+ * way, as they were encoded.
+ *
+ * @author Six
+ * @since October 17, 2026
+ * @see com.lunagameserve.compression.RangeEncoder
+ */
+public class RangeDecoder {
+
+    /**
+     * The {@link com.lunagameserve.compression.BitReader} that the encoded
+     * bytes are read from.
+     */
+    private final BitReader in;
+
+    /**
+     * The number of encoded bytes not yet read.
+     */
+    private int remaining;
+
+    /**
+     * The width of the current interval, as an unsigned {@code int}.
+     */
+    private int range = 0xFFFFFFFF;
+
+    /**
+     * The position of the encoded value within the current interval, as an
+     * unsigned {@code int}.
+     */
+    private int code = 0;
+
+    /**
+     * Constructs a new {@link com.lunagameserve.compression.RangeDecoder},
+     * reading the length and the start of the encoded bytes.
+     *
+     * @param in The {@link com.lunagameserve.compression.BitReader} to read
+     *           the stream from.
+     *
+     * @throws IOException If {@code in} cannot be read from, or the stream
+     *                     is not valid.
+     */
+    public RangeDecoder(BitReader in) throws IOException {
+        this.in = in;
+        this.remaining = (int)in.readLongBits(32);
+        if (remaining < 5) {
+            throw new IOException("Invalid range coder length: " + remaining);
+        }
+        for (int i = 0; i < 5; i++) {
+            code = (code << 8) | nextByte();
+        }
+    }
+
+    /**
+     * Decodes a single bit against a probability, then adapts it.
+     *
+     * @param probs The probabilities to use.
+     *
+     * @param index The index of the probability within {@code probs}.
+     *
+     * @return The bit decoded.
+     *
+     * @throws IOException If the underlying
+     *                     {@link com.lunagameserve.compression.BitReader}
+     *                     cannot be read from for any reason.
+     */
+    public int decodeBit(short[] probs, int index) throws IOException {
+        int prob = probs[index];
+        int bound = (range >>> RangeEncoder.PROBABILITY_BITS) * prob;
+        int bit;
+        /* Unsigned code < bound */
+        if ((code ^ Integer.MIN_VALUE) < (bound ^ Integer.MIN_VALUE)) {
+            range = bound;
+            probs[index] = (short)(prob +
+                    (((1 << RangeEncoder.PROBABILITY_BITS) - prob) >>>
+                     RangeEncoder.ADAPT_SHIFT));
+            bit = 0;
+        } else {
+            code -= bound;
+            range -= bound;
+            probs[index] = (short)(prob - (prob >>> RangeEncoder.ADAPT_SHIFT));
+            bit = 1;
+        }
+        while ((range & 0xFF000000) == 0) {
+            range <<= 8;
+            code = (code << 8) | nextByte();
+        }
+        return bit;
+    }
+
+    /**
+     * Decodes a multi-bit symbol written by
+     * {@link RangeEncoder#encodeTree(short[], int, int, int)}.
+     *
+     * @param probs The probabilities to use.
+     *
+     * @param offset The index of the first of the {@code 1 << bits}
+     *               probabilities of the tree within {@code probs}.
+     *
+     * @param bits The number of bits in the symbol.
+     *
+     * @return The symbol decoded.
+     *
+     * @throws IOException If the underlying
+     *                     {@link com.lunagameserve.compression.BitReader}
+     *                     cannot be read from for any reason.
+     */
+    public int decodeTree(short[] probs, int offset, int bits)
+            throws IOException {
+        int node = 1;
+        for (int i = 0; i < bits; i++) {
+            node = (node << 1) | decodeBit(probs, offset + node);
+        }
+        return node - (1 << bits);
+    }
+
+    /**
+     * Skips any encoded bytes which decoding did not need, so that the
+     * underlying {@link com.lunagameserve.compression.BitReader} is left at
+     * the end of the stream.
+     *
+     * @throws IOException If the underlying
+     *                     {@link com.lunagameserve.compression.BitReader}
+     *                     cannot be read from for any reason.
+     */
+    public void finish() throws IOException {
+        while (remaining > 0) {
+            nextByte();
+        }
+    }
+
+    /**
+     * Reads the next encoded byte, or zero past the end of the stream.
+     *
+     * @return The next encoded byte.
+     *
+     * @throws IOException If the underlying
+     *                     {@link com.lunagameserve.compression.BitReader}
+     *                     cannot be read from for any reason.
+     */
+    private int nextByte() throws IOException {
+        if (remaining == 0) {
+            return 0;
+        }
+        remaining--;
+        return (int)in.readLongBits(8);
+    }
+}
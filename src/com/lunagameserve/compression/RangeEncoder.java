@@ -0,0 +1,185 @@
+package com.lunagameserve.compression;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * An adaptive binary range coder, in the style of LZMA's, which writes to a
+ * {@link com.lunagameserve.compression.BitWriter}. Each bit is coded
+ * against a probability which is then nudged towards the bit, so a model
+ * learns the statistics of its stream as it goes and needs no table.
+ * <p>
+ *     Probabilities are kept by the caller, in {@code short[]}s made by
+ *     {@link #newModel(int)}, so that any number of contexts may be used.
+ *     Multi-bit symbols are coded as a tree of bits with
+ *     {@link #encodeTree(short[], int, int, int)}.
+ * </p>
+ * <p>
+ *     Encoded bytes are buffered until {@link #finish()}, which writes their
+ *     count as 32 bits followed by the bytes, so the stream ends where it
+ *     says it does.
+ * </p>
+ *
+ * @author Six
+ * @since October 17, 2026
+ * @see com.lunagameserve.compression.RangeDecoder
+ */
+public class RangeEncoder {
+
+    /**
+     * The number of bits of precision of every probability.
+     */
+    static final int PROBABILITY_BITS = 11;
+
+    /**
+     * The probability which stands for one half.
+     */
+    static final short HALF = 1 << (PROBABILITY_BITS - 1);
+
+    /**
+     * How quickly probabilities adapt. Each coded bit moves its probability
+     * {@code 1 / (1 << ADAPT_SHIFT)} of the way towards it.
+     */
+    static final int ADAPT_SHIFT = 5;
+
+    /**
+     * The {@link com.lunagameserve.compression.BitWriter} that the stream is
+     * written to.
+     */
+    private final BitWriter out;
+
+    /**
+     * The encoded bytes, until {@link #finish()}.
+     */
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+    /**
+     * The low end of the current interval, with room for a carry in bit 32.
+     */
+    private long low = 0;
+
+    /**
+     * The width of the current interval, as an unsigned {@code int}.
+     */
+    private int range = 0xFFFFFFFF;
+
+    /**
+     * The last byte shifted out of {@link #low}, held back in case a carry
+     * reaches it.
+     */
+    private int cache = 0;
+
+    /**
+     * The number of bytes held back: {@link #cache} and any {@code 0xFF}s
+     * after it.
+     */
+    private long cacheSize = 1;
+
+    /**
+     * Constructs a new {@link com.lunagameserve.compression.RangeEncoder}.
+     *
+     * @param out The {@link com.lunagameserve.compression.BitWriter} to write
+     *            the stream to.
+     */
+    public RangeEncoder(BitWriter out) {
+        this.out = out;
+    }
+
+    /**
+     * Makes a set of probabilities, each starting at one half.
+     *
+     * @param size The number of probabilities.
+     *
+     * @return The probabilities.
+     */
+    public static short[] newModel(int size) {
+        short[] probs = new short[size];
+        Arrays.fill(probs, HALF);
+        return probs;
+    }
+
+    /**
+     * Encodes a single bit against a probability, then adapts it.
+     *
+     * @param probs The probabilities to use.
+     *
+     * @param index The index of the probability within {@code probs}.
+     *
+     * @param bit The bit to encode.
+     */
+    public void encodeBit(short[] probs, int index, int bit) {
+        int prob = probs[index];
+        int bound = (range >>> PROBABILITY_BITS) * prob;
+        if (bit == 0) {
+            range = bound;
+            probs[index] = (short)(prob +
+                    (((1 << PROBABILITY_BITS) - prob) >>> ADAPT_SHIFT));
+        } else {
+            low += bound & 0xFFFFFFFFL;
+            range -= bound;
+            probs[index] = (short)(prob - (prob >>> ADAPT_SHIFT));
+        }
+        while ((range & 0xFF000000) == 0) {
+            range <<= 8;
+            shiftLow();
+        }
+    }
+
+    /**
+     * Encodes a multi-bit symbol, most significant bit first, with each bit
+     * coded against the probability of the bits before it.
+     *
+     * @param probs The probabilities to use.
+     *
+     * @param offset The index of the first of the {@code 1 << bits}
+     *               probabilities of the tree within {@code probs}.
+     *
+     * @param bits The number of bits in the symbol.
+     *
+     * @param symbol The symbol to encode.
+     */
+    public void encodeTree(short[] probs, int offset, int bits, int symbol) {
+        int node = 1;
+        for (int i = bits - 1; i >= 0; i--) {
+            int bit = (symbol >>> i) & 1;
+            encodeBit(probs, offset + node, bit);
+            node = (node << 1) | bit;
+        }
+    }
+
+    /**
+     * Writes every encoded byte to the underlying
+     * {@link com.lunagameserve.compression.BitWriter}. No more bits may be
+     * encoded afterwards.
+     *
+     * @throws IOException If the underlying
+     *                     {@link com.lunagameserve.compression.BitWriter}
+     *                     cannot be written to for any reason.
+     */
+    public void finish() throws IOException {
+        for (int i = 0; i < 5; i++) {
+            shiftLow();
+        }
+        out.writeBits(bytes.size(), 32);
+        bytes.writeTo(out);
+    }
+
+    /**
+     * Moves the top byte of {@link #low} out, holding it back while a carry
+     * could still change it.
+     */
+    private void shiftLow() {
+        if (low < 0xFF000000L || low > 0xFFFFFFFFL) {
+            int carry = (int)(low >>> 32);
+            int temp = cache;
+            do {
+                bytes.write(temp + carry);
+                temp = 0xFF;
+            } while (--cacheSize != 0);
+            cache = (int)(low >>> 24) & 0xFF;
+        }
+        cacheSize++;
+        low = (low & 0x00FFFFFFL) << 8;
+    }
+}
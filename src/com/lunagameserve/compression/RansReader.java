@@ -0,0 +1,168 @@
+package com.lunagameserve.compression;
+
+import java.io.IOException;
+
+/**
+ * Reads a stream of symbols which was written by a
+ * {@link com.lunagameserve.compression.RansWriter}. Symbols and raw bits
+ * must be read in the same order, and from the same models, as they were
+ * written.
+ *
+ * @author Six
+ * @since October 17, 2026
+ * @see com.lunagameserve.compression.RansWriter
+ */
+public class RansReader {
+
+    /**
+     * The {@link com.lunagameserve.compression.BitReader} that the encoded
+     * bytes are read from.
+     */
+    private final BitReader in;
+
+    /**
+     * The frequency of each symbol of each model.
+     */
+    private final int[][] freqs;
+
+    /**
+     * The sum of the frequencies of the symbols before each symbol of each
+     * model.
+     */
+    private final int[][] cums;
+
+    /**
+     * For each model, the symbol which owns each of the
+     * {@link RansWriter#TOTAL} slots of the coder's state.
+     */
+    private final byte[][] slots;
+
+    /**
+     * The number of encoded bytes not yet read.
+     */
+    private int remaining;
+
+    /**
+     * The coder's state.
+     */
+    private int x;
+
+    /**
+     * Constructs a new {@link com.lunagameserve.compression.RansReader},
+     * reading the frequency tables and the start of the encoded bytes.
+     *
+     * @param in The {@link com.lunagameserve.compression.BitReader} to read
+     *           the stream from.
+     *
+     * @param alphabets The number of symbols in the alphabet of each model.
+     *                  These must match the
+     *                  {@link com.lunagameserve.compression.RansWriter}
+     *                  which wrote the stream.
+     *
+     * @throws IOException If {@code in} cannot be read from, or the stream
+     *                     is not valid.
+     */
+    public RansReader(BitReader in, int... alphabets) throws IOException {
+        this.in = in;
+        this.freqs = new int[alphabets.length][];
+        this.cums = new int[alphabets.length][];
+        this.slots = new byte[alphabets.length][];
+
+        for (int m = 0; m < alphabets.length; m++) {
+            if (alphabets[m] < 1 || alphabets[m] > RansWriter.MAX_ALPHABET) {
+                throw new IllegalArgumentException(
+                        "Alphabets must have 1 to " + RansWriter.MAX_ALPHABET +
+                        " symbols: " + alphabets[m]);
+            }
+            freqs[m] = new int[alphabets[m]];
+            cums[m] = new int[alphabets[m]];
+            slots[m] = new byte[RansWriter.TOTAL];
+
+            ZigZagDeltaReader table = new ZigZagDeltaReader(in, 3);
+            int cum = 0;
+            for (int s = 0; s < alphabets[m]; s++) {
+                int freq = table.readInt();
+                if (freq < 0 || cum + freq > RansWriter.TOTAL) {
+                    throw new IOException("Invalid frequency table.");
+                }
+                freqs[m][s] = freq;
+                cums[m][s] = cum;
+                for (int i = cum; i < cum + freq; i++) {
+                    slots[m][i] = (byte)s;
+                }
+                cum += freq;
+            }
+            if (cum != 0 && cum != RansWriter.TOTAL) {
+                throw new IOException("Invalid frequency table.");
+            }
+        }
+
+        remaining = (int)in.readLongBits(32);
+        if (remaining < 4) {
+            throw new IOException("Invalid rANS length: " + remaining);
+        }
+        x = 0;
+        for (int i = 0; i < 4; i++) {
+            x = (x << 8) | (int)in.readLongBits(8);
+        }
+        remaining -= 4;
+    }
+
+    /**
+     * Decodes the next symbol, which must be from a specified model.
+     *
+     * @param model The index of the model the symbol is from.
+     *
+     * @return The symbol.
+     *
+     * @throws IOException If the underlying
+     *                     {@link com.lunagameserve.compression.BitReader}
+     *                     cannot be read from for any reason.
+     */
+    public int readSymbol(int model) throws IOException {
+        int slot = x & (RansWriter.TOTAL - 1);
+        int symbol = slots[model][slot] & 0xFF;
+        advance(freqs[model][symbol], slot - cums[model][symbol]);
+        return symbol;
+    }
+
+    /**
+     * Decodes the next raw bits.
+     *
+     * @param bits The number of bits to read, from 1 to
+     *             {@link RansWriter#PROBABILITY_BITS}.
+     *
+     * @return The bits, in the LSBs of an {@code int}.
+     *
+     * @throws IOException If the underlying
+     *                     {@link com.lunagameserve.compression.BitReader}
+     *                     cannot be read from for any reason.
+     */
+    public int readBits(int bits) throws IOException {
+        int shift = RansWriter.PROBABILITY_BITS - bits;
+        int slot = x & (RansWriter.TOTAL - 1);
+        advance(1 << shift, slot & ((1 << shift) - 1));
+        return slot >>> shift;
+    }
+
+    /**
+     * Removes a decoded symbol from the coder's state, then reads bytes
+     * until the state is back in range.
+     *
+     * @param freq The frequency of the decoded symbol.
+     *
+     * @param offset The position of the state's slot within the symbol's
+     *               slots.
+     *
+     * @throws IOException If the underlying
+     *                     {@link com.lunagameserve.compression.BitReader}
+     *                     cannot be read from for any reason.
+     */
+    private void advance(int freq, int offset) throws IOException {
+        x = freq * (x >>> RansWriter.PROBABILITY_BITS) + offset;
+        while (x < RansWriter.LOWER_BOUND && remaining > 0) {
+            x = (x << 8) | (int)in.readLongBits(8);
+            remaining--;
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package com.lunagameserve.compression;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * An entropy coding stage which writes streams of small symbols to a
+ * {@link com.lunagameserve.compression.BitWriter} with table-based rANS
+ * (range asymmetric numeral systems). Unlike a Huffman code, a symbol may
+ * cost less than one bit, so the mostly-zero symbol streams made by sensor
+ * codecs shrink well below one bit per sample. Decoding is a table lookup,
+ * a multiply and an occasional byte read per symbol.
+ * <p>
+ *     Symbols are drawn from one or more models, each with its own alphabet
+ *     and its own frequency table, so that unrelated fields of one codec,
+ *     such as a header and a run length, may be interleaved in a single
+ *     stream. Raw bits may be interleaved too, for rare values which do not
+ *     fit an alphabet. Everything written is buffered until
+ *     {@link #finish()}, which counts the frequencies of each model,
+ *     writes them as a table, and encodes the symbols in reverse, as rANS
+ *     requires.
+ * </p>
+ * <p>
+ *     The stream is each model's frequencies, as a
+ *     {@link com.lunagameserve.compression.ZigZagDeltaWriter} channel of
+ *     3-bit groups, then the number of encoded bytes as 32 bits, then the
+ *     encoded bytes.
+ * </p>
+ *
+ * @author Six
+ * @since October 17, 2026
+ * @see com.lunagameserve.compression.RansReader
+ */
+public class RansWriter {
+
+    /**
+     * The number of bits of precision of every frequency table. The
+     * frequencies of each model sum to {@code 1 << PROBABILITY_BITS}.
+     */
+    public static final int PROBABILITY_BITS = 12;
+
+    /**
+     * The largest alphabet a model may have.
+     */
+    public static final int MAX_ALPHABET = 256;
+
+    /**
+     * The sum of the frequencies of each model.
+     */
+    static final int TOTAL = 1 << PROBABILITY_BITS;
+
+    /**
+     * The lower bound of the coder's state. The state is kept within
+     * {@code [LOWER_BOUND, LOWER_BOUND << 8)} by moving whole bytes in and
+     * out.
+     */
+    static final int LOWER_BOUND = 1 << 23;
+
+    /**
+     * The {@link com.lunagameserve.compression.BitWriter} that the stream is
+     * written to.
+     */
+    private final BitWriter out;
+
+    /**
+     * The number of symbols in the alphabet of each model.
+     */
+    private final int[] alphabets;
+
+    /**
+     * For each buffered entry, the model its symbol is from, or the number
+     * of raw bits it holds, negated.
+     */
+    private int[] models = new int[256];
+
+    /**
+     * For each buffered entry, its symbol or raw bits.
+     */
+    private int[] values = new int[256];
+
+    /**
+     * The number of buffered entries.
+     */
+    private int count = 0;
+
+    /**
+     * Constructs a new {@link com.lunagameserve.compression.RansWriter}.
+     *
+     * @param out The {@link com.lunagameserve.compression.BitWriter} to write
+     *            the stream to.
+     *
+     * @param alphabets The number of symbols in the alphabet of each model,
+     *                  from 1 to {@link #MAX_ALPHABET}.
+     *
+     * @throws IllegalArgumentException If an alphabet is out of range.
+     */
+    public RansWriter(BitWriter out, int... alphabets) {
+        for (int a : alphabets) {
+            if (a < 1 || a > MAX_ALPHABET) {
+                throw new IllegalArgumentException(
+                        "Alphabets must have 1 to " + MAX_ALPHABET +
+                        " symbols: " + a);
+            }
+        }
+        this.out = out;
+        this.alphabets = alphabets.clone();
+    }
+
+    /**
+     * Buffers a symbol of a model.
+     *
+     * @param model The index of the model {@code symbol} is from.
+     *
+     * @param symbol The symbol to write, within the model's alphabet.
+     *
+     * @throws IllegalArgumentException If {@code symbol} is outside the
+     *                                  model's alphabet.
+     */
+    public void writeSymbol(int model, int symbol) {
+        if (symbol < 0 || symbol >= alphabets[model]) {
+            throw new IllegalArgumentException(
+                    "Symbol " + symbol + " is outside model " + model + ".");
+        }
+        append(model, symbol);
+    }
+
+    /**
+     * Buffers up to {@link #PROBABILITY_BITS} raw bits, each costing
+     * exactly one bit.
+     *
+     * @param word The {@code int} whose {@code bits} LSBs are written.
+     *
+     * @param bits The number of bits to write, from 1 to
+     *             {@link #PROBABILITY_BITS}.
+     *
+     * @throws IllegalArgumentException If {@code bits} is out of range.
+     */
+    public void writeBits(int word, int bits) {
+        if (bits < 1 || bits > PROBABILITY_BITS) {
+            throw new IllegalArgumentException(
+                    "Raw bits must number 1 to " + PROBABILITY_BITS + ".");
+        }
+        append(-bits, word & ((1 << bits) - 1));
+    }
+
+    /**
+     * Writes every buffered symbol to the underlying
+     * {@link com.lunagameserve.compression.BitWriter}, and empties the
+     * buffer so that another stream may be written.
+     *
+     * @throws IOException If the underlying
+     *                     {@link com.lunagameserve.compression.BitWriter}
+     *                     cannot be written to for any reason.
+     */
+    public void finish() throws IOException {
+        int[][] freqs = new int[alphabets.length][];
+        int[][] cums = new int[alphabets.length][];
+        for (int m = 0; m < alphabets.length; m++) {
+            freqs[m] = new int[alphabets[m]];
+        }
+        for (int i = 0; i < count; i++) {
+            if (models[i] >= 0) {
+                freqs[models[i]][values[i]]++;
+            }
+        }
+        for (int m = 0; m < alphabets.length; m++) {
+            normalize(freqs[m]);
+            cums[m] = new int[alphabets[m]];
+            ZigZagDeltaWriter table = new ZigZagDeltaWriter(out, 3);
+            for (int s = 0, cum = 0; s < alphabets[m]; s++) {
+                cums[m][s] = cum;
+                cum += freqs[m][s];
+                table.writeInt(freqs[m][s]);
+            }
+        }
+
+        /* rANS encodes last to first, so that the reader decodes in order */
+        byte[] encoded = new byte[Math.max(16, count)];
+        int pos = encoded.length;
+        int x = LOWER_BOUND;
+        for (int i = count - 1; i >= 0; i--) {
+            int freq;
+            int cum;
+            if (models[i] >= 0) {
+                freq = freqs[models[i]][values[i]];
+                cum = cums[models[i]][values[i]];
+            } else {
+                int shift = PROBABILITY_BITS + models[i];
+                freq = 1 << shift;
+                cum = values[i] << shift;
+            }
+
+            /* x is always below 1 << 31, so no step can overflow an int */
+            while ((x >>> (31 - PROBABILITY_BITS)) >= freq) {
+                if (pos == 0) {
+                    encoded = grow(encoded);
+                    pos = encoded.length / 2;
+                }
+                encoded[--pos] = (byte)x;
+                x >>>= 8;
+            }
+            x = ((x / freq) << PROBABILITY_BITS) + (x % freq) + cum;
+        }
+        for (int i = 0; i < 4; i++) {
+            if (pos == 0) {
+                encoded = grow(encoded);
+                pos = encoded.length / 2;
+            }
+            encoded[--pos] = (byte)x;
+            x >>>= 8;
+        }
+
+        out.writeBits(encoded.length - pos, 32);
+        out.write(encoded, pos, encoded.length - pos);
+        count = 0;
+    }
+
+    /**
+     * Appends an entry to the buffer, growing it if needed.
+     *
+     * @param model The model of the entry, or its raw bit count negated.
+     *
+     * @param value The symbol or raw bits of the entry.
+     */
+    private void append(int model, int value) {
+        if (count == models.length) {
+            models = Arrays.copyOf(models, count * 2);
+            values = Arrays.copyOf(values, count * 2);
+        }
+        models[count] = model;
+        values[count] = value;
+        count++;
+    }
+
+    /**
+     * Doubles the size of the encoded buffer, which is filled from its end,
+     * keeping its contents at the end.
+     *
+     * @param encoded The full buffer.
+     *
+     * @return A buffer twice the size, whose second half is {@code encoded}.
+     */
+    private static byte[] grow(byte[] encoded) {
+        byte[] grown = new byte[encoded.length * 2];
+        System.arraycopy(encoded, 0, grown, encoded.length, encoded.length);
+        return grown;
+    }
+
+    /**
+     * Scales symbol counts to frequencies which sum to {@link #TOTAL},
+     * keeping every symbol which occurred at a frequency of at least one.
+     * A model with no symbols is left all zeros.
+     *
+     * @param freqs The count of each symbol, replaced by its frequency.
+     */
+    static void normalize(int[] freqs) {
+        long total = 0;
+        for (int f : freqs) {
+            total += f;
+        }
+        if (total == 0) {
+            return;
+        }
+
+        int sum = 0;
+        int largest = 0;
+        for (int s = 0; s < freqs.length; s++) {
+            if (freqs[s] > 0) {
+                freqs[s] = (int)Math.max(1, freqs[s] * (long)TOTAL / total);
+            }
+            sum += freqs[s];
+            if (freqs[s] > freqs[largest]) {
+                largest = s;
+            }
+        }
+
+        /* Give or take the rounding error from the most common symbols */
+        int error = TOTAL - sum;
+        while (error != 0) {
+            if (error > 0) {
+                freqs[largest] += error;
+                error = 0;
+            } else {
+                int take = Math.min(-error, freqs[largest] - 1);
+                freqs[largest] -= take;
+                error += take;
+                for (int s = 0; s < freqs.length; s++) {
+                    if (freqs[s] > freqs[largest]) {
+                        largest = s;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.lunagameserve.compression;
+
+import java.io.IOException;
+
+/**
+ * Reads a stream of {@code long} timestamps which was written by a
+ * {@link com.lunagameserve.compression.TimestampWriter} from a
+ * {@link com.lunagameserve.compression.BitReader}.
+ *
+ * @author Six
+ * @since October 17, 2026
+ * @see com.lunagameserve.compression.TimestampWriter
+ */
+public class TimestampReader {
+
+    /**
+     * The {@link com.lunagameserve.compression.BitReader} which all encoded
+     * timestamps are read from.
+     */
+    private final BitReader in;
+
+    /**
+     * The length, in the units of the timestamps read, of one tick.
+     */
+    private final long resolution;
+
+    /**
+     * The first timestamp read, which all later timestamps are measured from.
+     */
+    private long origin = 0L;
+
+    /**
+     * The number of ticks between {@link #origin} and the last timestamp
+     * read.
+     */
+    private long previousTicks = 0L;
+
+    /**
+     * The number of ticks between the last two timestamps read.
+     */
+    private long previousDelta = 0L;
+
+    /**
+     * {@code true} until the first timestamp has been read.
+     */
+    private boolean first = true;
+
+    /**
+     * Constructs a new {@link com.lunagameserve.compression.TimestampReader}
+     * which reads from a specified
+     * {@link com.lunagameserve.compression.BitReader}.
+     *
+     * @param in The {@link com.lunagameserve.compression.BitReader} to read
+     *           all encoded timestamps from.
+     *
+     * @param resolution The length of one tick, which must match the
+     *                   resolution the timestamps were written with.
+     */
+    public TimestampReader(BitReader in, long resolution) {
+        this.in = in;
+        this.resolution = resolution;
+    }
+
+    /**
+     * Decodes the next timestamp of this stream.
+     *
+     * @return The next timestamp, rounded to the resolution it was written
+     *         with.
+     *
+     * @throws IOException If the underlying
+     *                     {@link com.lunagameserve.compression.BitReader}
+     *                     cannot be read from for any reason.
+     *
+     * @throws java.io.EOFException If the stream ends part way through a
+     *                              timestamp.
+     */
+    public long readTimestamp() throws IOException {
+        if (first) {
+            origin = in.readLongBits(64);
+            first = false;
+            return origin;
+        }
+
+        long zigzag;
+        if (in.readLongBits(1) == 0) {
+            zigzag = 0;
+        } else if (in.readLongBits(1) == 0) {
+            zigzag = in.readLongBits(4);
+        } else if (in.readLongBits(1) == 0) {
+            zigzag = in.readLongBits(9);
+        } else if (in.readLongBits(1) == 0) {
+            zigzag = in.readLongBits(16);
+        } else {
+            zigzag = in.readLongBits(64);
+        }
+
+        long dod = (zigzag >>> 1) ^ -(zigzag & 1);
+        previousDelta += dod;
+        previousTicks += previousDelta;
+        return origin + previousTicks * resolution;
+    }
+
+    /**
+     * Decodes the next {@code len} timestamps of this stream into a section
+     * of a {@code long[]}.
+     *
+     * @param dst The {@code long[]} to read into.
+     *
+     * @param off The index in {@code dst} of the first timestamp to read.
+     *
+     * @param len The number of timestamps to read.
+     *
+     * @throws IOException If the underlying
+     *                     {@link com.lunagameserve.compression.BitReader}
+     *                     cannot be read from for any reason.
+     */
+    public void readTimestamps(long[] dst, int off, int len)
+            throws IOException {
+        for (int i = off; i < off + len; i++) {
+            dst[i] = readTimestamp();
+        }
+    }
+
+    /**
+     * Forgets all history, so that the next timestamp read is decoded as the
+     * first timestamp of a new stream.
+     */
+    public void reset() {
+        origin = 0L;
+        previousTicks = 0L;
+        previousDelta = 0L;
+        first = true;
+    }
+}
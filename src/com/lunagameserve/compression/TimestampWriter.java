@@ -0,0 +1,188 @@
+package com.lunagameserve.compression;
+
+import java.io.IOException;
+
+/**
+ * Writes a stream of {@code long} timestamps to a
+ * {@link com.lunagameserve.compression.BitWriter} using delta-of-delta
+ * coding, tuned for the near-regular cadence of {@link System#nanoTime()}
+ * samples taken from a sensor.
+ * <p>
+ *     Each timestamp is first rounded to a whole number of ticks of a fixed
+ *     resolution. The difference between consecutive deltas is then
+ *     zig-zag encoded and written into the smallest of the following
+ *     buckets, LSB first:
+ * </p>
+ * <ul>
+ *     <li>{@code 0}: the delta did not change.</li>
+ *     <li>{@code 1 0} then 4 bits.</li>
+ *     <li>{@code 1 1 0} then 9 bits.</li>
+ *     <li>{@code 1 1 1 0} then 16 bits.</li>
+ *     <li>{@code 1 1 1 1} then 64 bits.</li>
+ * </ul>
+ * <p>
+ *     With a resolution of {@link #MILLISECONDS} and a sensor delivering
+ *     events every few milliseconds, almost every sample lands in one of the
+ *     first two buckets. A resolution of {@link #LOSSLESS} keeps every
+ *     nanosecond, at a higher cost per sample. The first timestamp is always
+ *     written exactly, as 64 raw bits.
+ * </p>
+ *
+ * @author Six
+ * @since October 17, 2026
+ * @see com.lunagameserve.compression.TimestampReader
+ */
+public class TimestampWriter {
+
+    /**
+     * A resolution which keeps every nanosecond of every timestamp.
+     */
+    public static final long LOSSLESS = 1L;
+
+    /**
+     * A resolution which rounds every timestamp to the nearest millisecond
+     * relative to the first timestamp written.
+     */
+    public static final long MILLISECONDS = 1000000L;
+
+    /**
+     * The {@link com.lunagameserve.compression.BitWriter} which all encoded
+     * timestamps are written to.
+     */
+    private final BitWriter out;
+
+    /**
+     * The length, in the units of the timestamps written, of one tick.
+     */
+    private final long resolution;
+
+    /**
+     * The first timestamp written, which all later timestamps are measured
+     * from.
+     */
+    private long origin = 0L;
+
+    /**
+     * The number of ticks between {@link #origin} and the last timestamp
+     * written.
+     */
+    private long previousTicks = 0L;
+
+    /**
+     * The number of ticks between the last two timestamps written.
+     */
+    private long previousDelta = 0L;
+
+    /**
+     * {@code true} until the first timestamp has been written.
+     */
+    private boolean first = true;
+
+    /**
+     * Constructs a new {@link com.lunagameserve.compression.TimestampWriter}
+     * which writes to a specified
+     * {@link com.lunagameserve.compression.BitWriter}.
+     *
+     * @param out The {@link com.lunagameserve.compression.BitWriter} to write
+     *            all encoded timestamps to.
+     *
+     * @param resolution The length of one tick, which every timestamp after
+     *                   the first is rounded to. This must be used again
+     *                   when reading the timestamps back.
+     *
+     * @throws IllegalArgumentException if {@code resolution} is not positive.
+     */
+    public TimestampWriter(BitWriter out, long resolution) {
+        if (resolution < 1) {
+            throw new IllegalArgumentException("Resolution must be at least" +
+                                               " 1.");
+        }
+        this.out = out;
+        this.resolution = resolution;
+    }
+
+    /**
+     * Encodes a single timestamp against the timestamps written before it.
+     *
+     * @param timestamp The timestamp to write.
+     *
+     * @throws IOException If the underlying
+     *                     {@link com.lunagameserve.compression.BitWriter}
+     *                     cannot be written to for any reason.
+     */
+    public void writeTimestamp(long timestamp) throws IOException {
+        if (first) {
+            out.writeBits(timestamp, 64);
+            origin = timestamp;
+            first = false;
+            return;
+        }
+
+        long ticks = toTicks(timestamp - origin);
+        long delta = ticks - previousTicks;
+        long dod = delta - previousDelta;
+        previousTicks = ticks;
+        previousDelta = delta;
+
+        long zigzag = (dod << 1) ^ (dod >> 63);
+        if (zigzag == 0) {
+            out.writeZero();
+        } else if (zigzag < (1L << 4)) {
+            out.writeBits(1L | zigzag << 2, 6);
+        } else if (zigzag < (1L << 9)) {
+            out.writeBits(3L | zigzag << 3, 12);
+        } else if (zigzag < (1L << 16)) {
+            out.writeBits(7L | zigzag << 4, 20);
+        } else {
+            out.writeBits(15L, 4);
+            out.writeBits(zigzag, 64);
+        }
+    }
+
+    /**
+     * Encodes a section of a {@code long[]}, one timestamp at a time.
+     *
+     * @param src The {@code long[]} holding the timestamps to write.
+     *
+     * @param off The index of the first timestamp in {@code src} to write.
+     *
+     * @param len The number of timestamps from {@code src} to write.
+     *
+     * @throws IOException If the underlying
+     *                     {@link com.lunagameserve.compression.BitWriter}
+     *                     cannot be written to for any reason.
+     */
+    public void writeTimestamps(long[] src, int off, int len)
+            throws IOException {
+        for (int i = off; i < off + len; i++) {
+            writeTimestamp(src[i]);
+        }
+    }
+
+    /**
+     * Forgets all history, so that the next timestamp written is encoded as
+     * the first timestamp of a new stream.
+     */
+    public void reset() {
+        origin = 0L;
+        previousTicks = 0L;
+        previousDelta = 0L;
+        first = true;
+    }
+
+    /**
+     * Rounds a span of time to the nearest whole number of ticks.
+     *
+     * @param span The span of time, in the units of the timestamps written.
+     *
+     * @return The number of ticks nearest to {@code span}.
+     */
+    private long toTicks(long span) {
+        if (resolution == 1) {
+            return span;
+        }
+        long half = resolution / 2;
+        return span >= 0 ? (span + half) / resolution
+                         : -((half - span) / resolution);
+    }
+}
@@ -0,0 +1,118 @@
+package com.lunagameserve.compression;
+
+import java.io.IOException;
+
+/**
+ * Reads a stream of {@code float}s which was written by a
+ * {@link com.lunagameserve.compression.XorFloatWriter} from a
+ * {@link com.lunagameserve.compression.BitReader}. One
+ * {@link com.lunagameserve.compression.XorFloatReader} should be used per
+ * channel, matching the writers used to encode the stream.
+ *
+ * @author Six
+ * @since October 17, 2026
+ * @see com.lunagameserve.compression.XorFloatWriter
+ */
+public class XorFloatReader {
+
+    /**
+     * The {@link com.lunagameserve.compression.BitReader} that all encoded
+     * values are read from.
+     */
+    private final BitReader in;
+
+    /**
+     * The raw bits of the last value read.
+     */
+    private int previous = 0;
+
+    /**
+     * {@code true} until the first value has been read.
+     */
+    private boolean first = true;
+
+    /**
+     * The number of leading zeros of the current window of meaningful bits.
+     */
+    private int leading = 0;
+
+    /**
+     * The number of trailing zeros of the current window of meaningful bits.
+     */
+    private int trailing = 0;
+
+    /**
+     * Constructs a new {@link com.lunagameserve.compression.XorFloatReader}
+     * which reads its encoded values from a specified
+     * {@link com.lunagameserve.compression.BitReader}.
+     *
+     * @param in The {@link com.lunagameserve.compression.BitReader} to read
+     *           all encoded values from.
+     */
+    public XorFloatReader(BitReader in) {
+        this.in = in;
+    }
+
+    /**
+     * Decodes the next {@code float} of this channel.
+     *
+     * @return The next {@code float} of this channel.
+     *
+     * @throws IOException If the underlying
+     *                     {@link com.lunagameserve.compression.BitReader}
+     *                     cannot be read from for any reason.
+     *
+     * @throws java.io.EOFException If the stream ends part way through a
+     *                              value.
+     */
+    public float readFloat() throws IOException {
+        if (first) {
+            previous = (int)in.readLongBits(32);
+            first = false;
+            return Float.intBitsToFloat(previous);
+        }
+
+        if (in.readLongBits(1) == 0) {
+            return Float.intBitsToFloat(previous);
+        }
+        if (in.readLongBits(1) == 1) {
+            int window = (int)in.readLongBits(10);
+            leading = window & 0x1F;
+            trailing = 32 - leading - ((window >>> 5) + 1);
+        }
+        int meaningful = 32 - leading - trailing;
+        previous ^= (int)in.readLongBits(meaningful) << trailing;
+        return Float.intBitsToFloat(previous);
+    }
+
+    /**
+     * Decodes the next {@code len} values of this channel into a section of
+     * a {@code float[]}.
+     *
+     * @param dst The {@code float[]} to read into.
+     *
+     * @param off The index in {@code dst} of the first value to read.
+     *
+     * @param len The number of values to read.
+     *
+     * @throws IOException If the underlying
+     *                     {@link com.lunagameserve.compression.BitReader}
+     *                     cannot be read from for any reason.
+     */
+    public void readFloats(float[] dst, int off, int len) throws IOException {
+        for (int i = off; i < off + len; i++) {
+            dst[i] = readFloat();
+        }
+    }
+
+    /**
+     * Forgets all history, so that the next value read is decoded as the
+     * first value of a new stream.
+     */
+    public void reset() {
+        previous = 0;
+        first = true;
+        leading = 0;
+        trailing = 0;
+    }
+}
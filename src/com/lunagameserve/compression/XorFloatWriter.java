@@ -0,0 +1,147 @@
+package com.lunagameserve.compression;
+
+import java.io.IOException;
+
+/**
+ * Writes a stream of {@code float}s to a
+ * {@link com.lunagameserve.compression.BitWriter} losslessly, in the style of
+ * Facebook's Gorilla time series store. Each value is XORed with the value
+ * before it; a repeated value costs a single bit, and any other value costs
+ * only the bits between the leading and trailing zeros of the XOR.
+ * <p>
+ *     Each value written is encoded as one of the following, LSB first:
+ * </p>
+ * <ul>
+ *     <li>{@code 0}: the value is the same as the previous value.</li>
+ *     <li>{@code 1 0} then the meaningful bits: the XOR fits inside the
+ *         previous window of meaningful bits.</li>
+ *     <li>{@code 1 1}, five bits of leading zero count, five bits of
+ *         meaningful bit count minus one, then the meaningful bits: a new
+ *         window is opened.</li>
+ * </ul>
+ * <p>
+ *     The first value of a stream is written as 32 raw bits. One
+ *     {@link com.lunagameserve.compression.XorFloatWriter} should be used per
+ *     channel, so that each channel is XORed against its own history.
+ * </p>
+ *
+ * @author Six
+ * @since October 17, 2026
+ * @see com.lunagameserve.compression.XorFloatReader
+ */
+public class XorFloatWriter {
+
+    /**
+     * The {@link com.lunagameserve.compression.BitWriter} that all encoded
+     * values are written to.
+     */
+    private final BitWriter out;
+
+    /**
+     * The raw bits of the last value written.
+     */
+    private int previous = 0;
+
+    /**
+     * {@code true} until the first value has been written.
+     */
+    private boolean first = true;
+
+    /**
+     * The number of leading zeros of the current window of meaningful bits,
+     * or {@code -1} if no window has been opened yet.
+     */
+    private int leading = -1;
+
+    /**
+     * The number of trailing zeros of the current window of meaningful bits.
+     */
+    private int trailing = 0;
+
+    /**
+     * Constructs a new {@link com.lunagameserve.compression.XorFloatWriter}
+     * which writes its encoded values to a specified
+     * {@link com.lunagameserve.compression.BitWriter}.
+     *
+     * @param out The {@link com.lunagameserve.compression.BitWriter} to write
+     *            all encoded values to.
+     */
+    public XorFloatWriter(BitWriter out) {
+        this.out = out;
+    }
+
+    /**
+     * Encodes a single {@code float} against the value written before it.
+     *
+     * @param f The {@code float} to write.
+     *
+     * @throws IOException If the underlying
+     *                     {@link com.lunagameserve.compression.BitWriter}
+     *                     cannot be written to for any reason.
+     */
+    public void writeFloat(float f) throws IOException {
+        int bits = Float.floatToRawIntBits(f);
+        if (first) {
+            out.writeBits(bits, 32);
+            previous = bits;
+            first = false;
+            return;
+        }
+
+        int xor = bits ^ previous;
+        previous = bits;
+        if (xor == 0) {
+            out.writeZero();
+            return;
+        }
+
+        int lead = Integer.numberOfLeadingZeros(xor);
+        int trail = Integer.numberOfTrailingZeros(xor);
+        if (leading >= 0 && lead >= leading && trail >= trailing) {
+            int meaningful = 32 - leading - trailing;
+            /* Control bits 1, 0 followed by the XOR inside the old window */
+            out.writeBits(1L | ((xor >>> trailing) & 0xFFFFFFFFL) << 2,
+                          2 + meaningful);
+        } else {
+            leading = lead;
+            trailing = trail;
+            int meaningful = 32 - lead - trail;
+            /* Control bits 1, 1, then the new window and the XOR inside it */
+            out.writeBits(3L |
+                          (long)lead << 2 |
+                          (long)(meaningful - 1) << 7 |
+                          ((xor >>> trail) & 0xFFFFFFFFL) << 12,
+                          12 + meaningful);
+        }
+    }
+
+    /**
+     * Encodes a section of a {@code float[]}, one value at a time.
+     *
+     * @param src The {@code float[]} holding the values to write.
+     *
+     * @param off The index of the first value in {@code src} to write.
+     *
+     * @param len The number of values from {@code src} to write.
+     *
+     * @throws IOException If the underlying
+     *                     {@link com.lunagameserve.compression.BitWriter}
+     *                     cannot be written to for any reason.
+     */
+    public void writeFloats(float[] src, int off, int len) throws IOException {
+        for (int i = off; i < off + len; i++) {
+            writeFloat(src[i]);
+        }
+    }
+
+    /**
+     * Forgets all history, so that the next value written is encoded as the
+     * first value of a new stream.
+     */
+    public void reset() {
+        previous = 0;
+        first = true;
+        leading = -1;
+        trailing = 0;
+    }
+}
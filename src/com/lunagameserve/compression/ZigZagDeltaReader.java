@@ -0,0 +1,106 @@
+package com.lunagameserve.compression;
+
+import java.io.IOException;
+
+/**
+ * Reads a stream of quantized {@code int}s which was written by a
+ * {@link com.lunagameserve.compression.ZigZagDeltaWriter}.
+ *
+ * @author Six
+ * @since October 17, 2026
+ * @see com.lunagameserve.compression.ZigZagDeltaWriter
+ */
+public class ZigZagDeltaReader {
+
+    /**
+     * The {@link com.lunagameserve.compression.BitReader} that all encoded
+     * values are read from.
+     */
+    private final BitReader in;
+
+    /**
+     * The number of bits of the difference held by each group.
+     */
+    private final int groupBits;
+
+    /**
+     * The last value read.
+     */
+    private int previous = 0;
+
+    /**
+     * Constructs a new
+     * {@link com.lunagameserve.compression.ZigZagDeltaReader} which reads
+     * its encoded values from a specified
+     * {@link com.lunagameserve.compression.BitReader}.
+     *
+     * @param in The {@link com.lunagameserve.compression.BitReader} to read
+     *           all encoded values from.
+     *
+     * @param groupBits The number of bits of the difference held by each
+     *                  group. This must match the
+     *                  {@link com.lunagameserve.compression.ZigZagDeltaWriter}
+     *                  which wrote the stream.
+     *
+     * @throws IllegalArgumentException If {@code groupBits} is not between
+     *                                  1 and 31.
+     */
+    public ZigZagDeltaReader(BitReader in, int groupBits) {
+        if (groupBits < 1 || groupBits > 31) {
+            throw new IllegalArgumentException(
+                    "Group bits must be between 1 and 31: " + groupBits);
+        }
+        this.in = in;
+        this.groupBits = groupBits;
+    }
+
+    /**
+     * Decodes the next {@code int} of this channel.
+     *
+     * @return The next {@code int} of this channel.
+     *
+     * @throws IOException If the underlying
+     *                     {@link com.lunagameserve.compression.BitReader}
+     *                     cannot be read from, or the varint is longer than
+     *                     an {@code int}.
+     *
+     * @throws java.io.EOFException If the stream ends part way through a
+     *                              value.
+     */
+    public int readInt() throws IOException {
+        int mask = (1 << groupBits) - 1;
+        int zigZag = 0;
+        int shift = 0;
+        int group;
+        do {
+            if (shift >= 32) {
+                throw new IOException("Varint longer than an int.");
+            }
+            group = (int)in.readLongBits(groupBits + 1);
+            zigZag |= (group & mask) << shift;
+            shift += groupBits;
+        } while ((group >>> groupBits) != 0);
+
+        previous += unZigZag(zigZag);
+        return previous;
+    }
+
+    /**
+     * Reverses {@link ZigZagDeltaWriter#zigZag(int)}.
+     *
+     * @param zigZag The mapped value.
+     *
+     * @return The signed value which {@code zigZag} was mapped from.
+     */
+    public static int unZigZag(int zigZag) {
+        return (zigZag >>> 1) ^ -(zigZag & 1);
+    }
+
+    /**
+     * Forgets all history, so that the next value read is decoded as the
+     * first value of a new stream.
+     */
+    public void reset() {
+        previous = 0;
+    }
+}
@@ -0,0 +1,113 @@
+package com.lunagameserve.compression;
+
+import java.io.IOException;
+
+/**
+ * Writes a stream of quantized {@code int}s to a
+ * {@link com.lunagameserve.compression.BitWriter} as the differences
+ * between neighbouring values. Neighbouring sensor samples are close
+ * together, so most differences are small, and small differences are
+ * written in few bits.
+ * <p>
+ *     Each difference is zig-zag encoded, so that {@code 0, -1, 1, -2, 2}
+ *     become {@code 0, 1, 2, 3, 4}, then written as a varint of
+ *     {@code groupBits}-bit groups, least significant group first. Each
+ *     group is followed by one bit which is {@code 1} if another group
+ *     follows. With {@code groupBits} of 3 each group is a nybble, and an
+ *     unchanged value costs four bits.
+ * </p>
+ * <p>
+ *     The first value of a stream is written as its difference from zero.
+ *     One {@link com.lunagameserve.compression.ZigZagDeltaWriter} should be
+ *     used per channel, so that each channel is differenced against its own
+ *     history.
+ * </p>
+ *
+ * @author Six
+ * @since October 17, 2026
+ * @see com.lunagameserve.compression.ZigZagDeltaReader
+ */
+public class ZigZagDeltaWriter {
+
+    /**
+     * The {@link com.lunagameserve.compression.BitWriter} that all encoded
+     * values are written to.
+     */
+    private final BitWriter out;
+
+    /**
+     * The number of bits of the difference held by each group.
+     */
+    private final int groupBits;
+
+    /**
+     * The last value written.
+     */
+    private int previous = 0;
+
+    /**
+     * Constructs a new
+     * {@link com.lunagameserve.compression.ZigZagDeltaWriter} which writes
+     * its encoded values to a specified
+     * {@link com.lunagameserve.compression.BitWriter}.
+     *
+     * @param out The {@link com.lunagameserve.compression.BitWriter} to write
+     *            all encoded values to.
+     *
+     * @param groupBits The number of bits of the difference held by each
+     *                  group, from 1 to 31.
+     *
+     * @throws IllegalArgumentException If {@code groupBits} is out of range.
+     */
+    public ZigZagDeltaWriter(BitWriter out, int groupBits) {
+        if (groupBits < 1 || groupBits > 31) {
+            throw new IllegalArgumentException(
+                    "Group bits must be between 1 and 31: " + groupBits);
+        }
+        this.out = out;
+        this.groupBits = groupBits;
+    }
+
+    /**
+     * Encodes a single {@code int} against the value written before it.
+     *
+     * @param value The {@code int} to write.
+     *
+     * @throws IOException If the underlying
+     *                     {@link com.lunagameserve.compression.BitWriter}
+     *                     cannot be written to for any reason.
+     */
+    public void writeInt(int value) throws IOException {
+        int delta = value - previous;
+        previous = value;
+
+        int zigZag = zigZag(delta);
+        int mask = (1 << groupBits) - 1;
+        while ((zigZag & ~mask) != 0) {
+            out.writeBits((zigZag & mask) | (1 << groupBits), groupBits + 1);
+            zigZag >>>= groupBits;
+        }
+        out.writeBits(zigZag, groupBits + 1);
+    }
+
+    /**
+     * Maps a signed {@code int} to an unsigned one, so that values near
+     * zero, of either sign, map to small values.
+     *
+     * @param value The value to map.
+     *
+     * @return {@code 2 * value} if {@code value} is not negative, else
+     *         {@code -2 * value - 1}.
+     */
+    public static int zigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    /**
+     * Forgets all history, so that the next value written is encoded as the
+     * first value of a new stream.
+     */
+    public void reset() {
+        previous = 0;
+    }
+}
@@ -1,14 +1,67 @@
 package com.lunagameserve.compression.test;
 
+import com.lunagameserve.acceleration.AccelerationAdaptiveEncoder;
+import com.lunagameserve.acceleration.AccelerationCollection;
+import com.lunagameserve.acceleration.AccelerationCompressor;
+import com.lunagameserve.acceleration.AccelerationSeries;
+import com.lunagameserve.acceleration.AccelerationSessionReader;
+import com.lunagameserve.acceleration.AccelerationSessionWriter;
+import com.lunagameserve.acceleration.AccelerationStreamDecoder;
+import com.lunagameserve.acceleration.AccelerationStreamEncoder;
+import com.lunagameserve.acceleration.RateDistortion;
 import com.lunagameserve.compression.BitReader;
 import com.lunagameserve.compression.BitWriter;
+import com.lunagameserve.compression.BlockIndex;
 import com.lunagameserve.compression.ByteReader;
 import com.lunagameserve.compression.ByteWriter;
+import com.lunagameserve.compression.CodecMetrics;
+import com.lunagameserve.compression.CodecOptions;
+import com.lunagameserve.compression.ContextModel;
+import com.lunagameserve.compression.DeflateMode;
+import com.lunagameserve.compression.FloatRingBuffer;
+import com.lunagameserve.compression.FloatSeries;
+import com.lunagameserve.compression.FrameReader;
+import com.lunagameserve.compression.FrameWriter;
+import com.lunagameserve.compression.LinearPredictionReader;
+import com.lunagameserve.compression.LinearPredictionWriter;
+import com.lunagameserve.compression.ParallelGZIPOutputStream;
+import com.lunagameserve.compression.QualityReport;
+import com.lunagameserve.compression.Quantization;
+import com.lunagameserve.compression.Quantizer;
+import com.lunagameserve.compression.QuantizedBlockReader;
+import com.lunagameserve.compression.QuantizedBlockWriter;
+import com.lunagameserve.compression.RangeDecoder;
+import com.lunagameserve.compression.RangeEncoder;
+import com.lunagameserve.compression.RansReader;
+import com.lunagameserve.compression.RansWriter;
+import com.lunagameserve.compression.TimestampReader;
+import com.lunagameserve.compression.TimestampWriter;
+import com.lunagameserve.compression.XorFloatReader;
+import com.lunagameserve.compression.XorFloatWriter;
+import com.lunagameserve.compression.ZigZagDeltaReader;
+import com.lunagameserve.compression.ZigZagDeltaWriter;
+import com.lunagameserve.light.LightAdaptiveEncoder;
+import com.lunagameserve.light.LightCompressor;
+import com.lunagameserve.rotation.QuaternionSeries;
+import com.lunagameserve.rotation.RotationCompressor;
+import com.lunagameserve.storage.SegmentStore;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
 
 /**
  * A small test suite meant to test the correctness of the
@@ -99,6 +152,1800 @@ public enum BitIOTest {
             reader.read(buffer);
             return new String(buffer).equals(s);
         }
+    },
+    /**
+     * A short test which verifies that words of up to 64 bits written by
+     * {@link com.lunagameserve.compression.BitWriter#writeBits(long, int)}
+     * keep the same LSB-first layout as writing them one bit at a time.
+     */
+    WideWords {
+        /** {@inheritDoc} */
+        @Override
+        protected boolean run() throws IOException {
+            long[] words = {0xDEADBEEFCAFEBABEL, 5L, -1L, 0x123456789L};
+            int[] widths = {64, 3, 61, 37};
+
+            ByteArrayOutputStream bitwise = new ByteArrayOutputStream();
+            BitWriter single = new BitWriter(bitwise);
+            setup();
+            for (int i = 0; i < words.length; i++) {
+                writer.writeBits(words[i], widths[i]);
+                for (int b = 0; b < widths[i]; b++) {
+                    single.writeBit((int)(words[i] >>> b));
+                }
+            }
+            single.close();
+
+            flip();
+            return Arrays.equals(bitwise.toByteArray(),
+                                  byteOut.toByteArray()) &&
+                   reader.readBits(32) == (int)words[0] &&
+                   reader.readBits(32) == (int)(words[0] >>> 32) &&
+                   reader.readBits(3) == 5;
+        }
+    },
+    /**
+     * A short test which verifies that bulk {@code byte[]} writes survive
+     * being written at a position which is not aligned to a byte.
+     */
+    UnalignedBulk {
+        /** {@inheritDoc} */
+        @Override
+        protected boolean run() throws IOException {
+            byte[] buffer = new byte[1000];
+            for (int i = 0; i < buffer.length; i++) {
+                buffer[i] = (byte)(i * 31);
+            }
+
+            setup();
+            writer.writeBits(3, 2);
+            writer.write(buffer);
+
+            flip();
+            if (reader.readBits(2) != 3) {
+                return false;
+            }
+            for (byte b : buffer) {
+                if ((byte)reader.readBits(8) != b) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    },
+    /**
+     * A short test which verifies that a
+     * {@link com.lunagameserve.compression.BitReader} can peek at, skip over
+     * and read 64-bit words while keeping track of its bit position, even
+     * when a skip empties a full accumulator.
+     */
+    PeekSkip {
+        /** {@inheritDoc} */
+        @Override
+        protected boolean run() throws IOException {
+            setup();
+            for (int i = 0; i < 8; i++) {
+                writer.writeBits(0xF0, 8);
+            }
+            writer.writeBits(9, 8);
+
+            flip();
+            reader.peekBits(1);
+            if (reader.skipBits(64) != 64 || reader.readBits(8) != 9) {
+                return false;
+            }
+
+            setup();
+            for (int i = 0; i < 10000; i++) {
+                writer.writeBits(i, 13);
+            }
+            writer.writeBits(0x0123456789ABCDEFL, 64);
+
+            flip();
+            if (reader.peekBits(13) != 0 || reader.readBits(13) != 0) {
+                return false;
+            }
+            if (reader.skipBits(13L * 4998) != 13L * 4998 ||
+                reader.peekBits(13) != 4999 ||
+                reader.bitPosition() != 13L * 4999) {
+                return false;
+            }
+            reader.skipBits(13L * 5001);
+            return reader.readLongBits(64) == 0x0123456789ABCDEFL &&
+                   reader.bitPosition() == 13L * 10000 + 64;
+        }
+    },
+    /**
+     * A short test which verifies that the bulk array methods of
+     * {@link com.lunagameserve.compression.ByteWriter} and
+     * {@link com.lunagameserve.compression.ByteReader} round trip, and that
+     * a short read is reported rather than filled with garbage.
+     */
+    BulkValues {
+        /** {@inheritDoc} */
+        @Override
+        protected boolean run() throws IOException {
+            float[] floats = new float[1000];
+            long[] longs = new long[300];
+            for (int i = 0; i < floats.length; i++) {
+                floats[i] = i * 0.37f - 100f;
+            }
+            for (int i = 0; i < longs.length; i++) {
+                longs[i] = i * 0x0123456789L;
+            }
+
+            setup();
+            writer.writeBit(1);
+            ByteWriter w = new ByteWriter(writer);
+            w.writeFloats(floats, 0, floats.length);
+            w.writeLongs(longs, 0, longs.length);
+            w.writeFloat(floats[1]);
+
+            flip();
+            reader.readBit();
+            ByteReader r = new ByteReader(reader);
+            float[] readFloats = new float[floats.length];
+            long[] readLongs = new long[longs.length];
+            r.readFloats(readFloats, 0, readFloats.length);
+            r.readLongs(readLongs, 0, readLongs.length);
+            if (!Arrays.equals(floats, readFloats) ||
+                !Arrays.equals(longs, readLongs) ||
+                r.readFloat() != floats[1]) {
+                return false;
+            }
+            try {
+                r.readLong();
+                return false;
+            } catch (EOFException e) {
+                return true;
+            }
+        }
+    },
+    /**
+     * A short test which verifies that a
+     * {@link com.lunagameserve.compression.XorFloatWriter} and a
+     * {@link com.lunagameserve.compression.XorFloatReader} round trip every
+     * bit of their values, including repeats, signed zeros and {@code NaN}s.
+     */
+    XorFloats {
+        /** {@inheritDoc} */
+        @Override
+        protected boolean run() throws IOException {
+            float[] floats = {9.81f, 9.81f, 9.80f, -0f, 0f, Float.NaN,
+                              Float.MAX_VALUE, Float.MIN_VALUE, 1e-30f,
+                              -3.5f, -3.5f, 12345.678f};
+
+            setup();
+            XorFloatWriter w = new XorFloatWriter(writer);
+            w.writeFloats(floats, 0, floats.length);
+
+            flip();
+            XorFloatReader r = new XorFloatReader(reader);
+            for (float f : floats) {
+                if (Float.floatToRawIntBits(r.readFloat()) !=
+                    Float.floatToRawIntBits(f)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    },
+    /**
+     * A short test which verifies that a
+     * {@link com.lunagameserve.compression.TimestampWriter} and a
+     * {@link com.lunagameserve.compression.TimestampReader} round trip a
+     * jittery 5 millisecond cadence exactly when lossless, and within half a
+     * millisecond, at under two bits per sample, when rounded to
+     * milliseconds.
+     */
+    Timestamps {
+        /** {@inheritDoc} */
+        @Override
+        protected boolean run() throws IOException {
+            Random random = new Random(7);
+            long[] times = new long[10000];
+            times[0] = 123456789012345L;
+            for (int i = 1; i < times.length; i++) {
+                times[i] = times[i - 1] + 5000000L +
+                           random.nextInt(200000) - 100000;
+            }
+            times[5000] += 40000000L;
+
+            setup();
+            new TimestampWriter(writer, TimestampWriter.LOSSLESS)
+                    .writeTimestamps(times, 0, times.length);
+            flip();
+            long[] exact = new long[times.length];
+            new TimestampReader(reader, TimestampWriter.LOSSLESS)
+                    .readTimestamps(exact, 0, exact.length);
+            if (!Arrays.equals(times, exact)) {
+                return false;
+            }
+
+            setup();
+            new TimestampWriter(writer, TimestampWriter.MILLISECONDS)
+                    .writeTimestamps(times, 0, times.length);
+            flip();
+            if (byteOut.size() * 8 > times.length * 2) {
+                return false;
+            }
+            TimestampReader r = new TimestampReader(reader,
+                    TimestampWriter.MILLISECONDS);
+            for (long t : times) {
+                if (Math.abs(r.readTimestamp() - t) > 500000L) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    },
+    /**
+     * A short test which verifies that a
+     * {@link com.lunagameserve.compression.QuantizedBlockWriter} keeps an
+     * outlier from costing precision outside of its own block, and that a
+     * {@link com.lunagameserve.compression.QuantizedBlockReader} finds the
+     * end of the stream on its own.
+     */
+    QuantizedBlocks {
+        /** {@inheritDoc} */
+        @Override
+        protected boolean run() throws IOException {
+            float[][] samples = new float[1000][2];
+            for (int i = 0; i < samples.length; i++) {
+                samples[i][0] = (float)Math.sin(i * 0.01);
+                samples[i][1] = i;
+            }
+            samples[10][0] = 1000f;
+
+            setup();
+            QuantizedBlockWriter w = new QuantizedBlockWriter(writer, 2, 8,
+                                                              100);
+            for (float[] sample : samples) {
+                w.append(sample);
+            }
+            w.finish();
+            writer.writeBits(0x5A, 8);
+
+            flip();
+            QuantizedBlockReader r = new QuantizedBlockReader(reader, 2, 8);
+            FloatSeries[] dst = {new FloatSeries(), new FloatSeries()};
+            int blocks = 0;
+            while (r.readBlock(dst) >= 0) {
+                blocks++;
+            }
+            if (blocks != 10 || dst[0].size() != samples.length ||
+                reader.readBits(8) != 0x5A) {
+                return false;
+            }
+            for (int i = 100; i < samples.length; i++) {
+                if (Math.abs(dst[0].get(i) - samples[i][0]) > 0.005f ||
+                    Math.abs(dst[1].get(i) - samples[i][1]) > 0.25f) {
+                    return false;
+                }
+            }
+
+            /* A NaN costs only its own sample, not the whole block */
+            setup();
+            w = new QuantizedBlockWriter(writer, 1, 8, 10);
+            for (int i = 0; i < 10; i++) {
+                w.append(new float[] {i == 5 ? Float.NaN : i});
+            }
+            w.append(new float[] {Float.NaN});
+            w.finish();
+            flip();
+            r = new QuantizedBlockReader(reader, 1, 8);
+            FloatSeries[] one = {new FloatSeries()};
+            while (r.readBlock(one) >= 0) {
+                /* Read every block */
+            }
+            if (one[0].size() != 11 || Float.isNaN(one[0].get(10))) {
+                return false;
+            }
+            for (int i = 0; i < 10; i++) {
+                if (i != 5 && Math.abs(one[0].get(i) - i) > 0.02f) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    },
+    /**
+     * A short test which verifies that the bit positions recorded by a
+     * {@link com.lunagameserve.compression.BitWriter} into a
+     * {@link com.lunagameserve.compression.BlockIndex} can be skipped to by a
+     * {@link com.lunagameserve.compression.BitReader}, and that the index
+     * survives being written and refuses a corrupt size.
+     */
+    IndexedSeek {
+        /** {@inheritDoc} */
+        @Override
+        protected boolean run() throws IOException {
+            BlockIndex index = new BlockIndex();
+            setup();
+            for (int block = 0; block < 100; block++) {
+                index.add(block * 1000L, writer.bitPosition());
+                writer.writeBits(block, 7 + block % 5);
+                if (block % 10 == 0) {
+                    writer.write(new byte[block * 50]);
+                }
+            }
+
+            flip();
+            BitReader data = reader;
+            setup();
+            index.writeTo(new ByteWriter(writer));
+            flip();
+            index = BlockIndex.readFrom(new ByteReader(reader));
+            reader = data;
+
+            int b = index.find(63500L);
+            if (b != 63 || index.find(-5L) != 0 || index.find(99999L) != 99) {
+                return false;
+            }
+            reader.skipBits(index.getBitOffset(b));
+            if (reader.readBits(7 + b % 5) != b) {
+                return false;
+            }
+            reader.skipBits(index.getBitOffset(90) - reader.bitPosition());
+            if (reader.readBits(7) != 90) {
+                return false;
+            }
+
+            /* Indexes read back with 0 or 1 entries must still grow */
+            for (int entries = 0; entries < 2; entries++) {
+                BlockIndex small = new BlockIndex();
+                for (int i = 0; i < entries; i++) {
+                    small.add(i, i * 8L);
+                }
+                setup();
+                small.writeTo(new ByteWriter(writer));
+                flip();
+                small = BlockIndex.readFrom(new ByteReader(reader));
+                for (int i = entries; i < 100; i++) {
+                    small.add(i, i * 8L);
+                }
+                if (small.size() != 100 || small.getBitOffset(99) != 792L ||
+                    small.find(50L) != 50) {
+                    return false;
+                }
+            }
+
+            setup();
+            new ByteWriter(writer).writeInt(-1);
+            flip();
+            try {
+                BlockIndex.readFrom(new ByteReader(reader));
+                return false;
+            } catch (IOException e) {
+                return true;
+            }
+        }
+    },
+    /**
+     * A short test which verifies that a
+     * {@link com.lunagameserve.compression.FloatRingBuffer} hands samples
+     * across threads in order, wraps correctly, and counts the samples it
+     * drops when full.
+     */
+    RingBuffer {
+        /** {@inheritDoc} */
+        @Override
+        protected boolean run() throws IOException {
+            FloatRingBuffer full = new FloatRingBuffer(5, 2);
+            float[] sample = new float[2];
+            for (int i = 0; i < 10; i++) {
+                full.offer(sample, i);
+            }
+            if (full.capacity() != 8 || full.accepted() != 8 ||
+                full.overruns() != 2) {
+                return false;
+            }
+
+            final int count = 100000;
+            final FloatRingBuffer ring = new FloatRingBuffer(64, 2);
+            Thread producer = new Thread() {
+                @Override
+                public void run() {
+                    float[] v = new float[2];
+                    for (int i = 0; i < count; i++) {
+                        v[0] = i;
+                        v[1] = -i;
+                        while (!ring.offer(v, i)) {
+                            Thread.yield();
+                        }
+                    }
+                }
+            };
+            producer.start();
+
+            float[] values = new float[32 * 2];
+            long[] timestamps = new long[32];
+            int next = 0;
+            while (next < count) {
+                int n = ring.drain(values, timestamps, 32);
+                for (int i = 0; i < n; i++, next++) {
+                    if (timestamps[i] != next || values[i * 2] != next ||
+                        values[i * 2 + 1] != -next) {
+                        return false;
+                    }
+                }
+                if (n == 0) {
+                    Thread.yield();
+                }
+            }
+            return ring.accepted() == count && ring.size() == 0;
+        }
+    },
+    /**
+     * A short test which verifies that a
+     * {@link com.lunagameserve.compression.ZigZagDeltaWriter} and a
+     * {@link com.lunagameserve.compression.ZigZagDeltaReader} round trip
+     * every group size, including differences as wide as an {@code int}, and
+     * that an unchanged 3-bit group value costs a nybble.
+     */
+    ZigZagDeltas {
+        /** {@inheritDoc} */
+        @Override
+        protected boolean run() throws IOException {
+            int[] values = {0, 0, 1, -1, 2, 127, 64, 64, 65, 3,
+                            Integer.MAX_VALUE, Integer.MIN_VALUE, 0};
+
+            for (int groupBits = 1; groupBits <= 31; groupBits++) {
+                setup();
+                ZigZagDeltaWriter w = new ZigZagDeltaWriter(writer, groupBits);
+                for (int v : values) {
+                    w.writeInt(v);
+                }
+
+                flip();
+                ZigZagDeltaReader r = new ZigZagDeltaReader(reader, groupBits);
+                for (int v : values) {
+                    if (r.readInt() != v) {
+                        return false;
+                    }
+                }
+            }
+
+            setup();
+            ZigZagDeltaWriter w = new ZigZagDeltaWriter(writer, 3);
+            for (int i = 0; i < 16; i++) {
+                w.writeInt(5);
+            }
+            return writer.bitPosition() == 8 + 15 * 4;
+        }
+    },
+    /**
+     * A short test which verifies that a
+     * {@link com.lunagameserve.compression.RansWriter} and a
+     * {@link com.lunagameserve.compression.RansReader} round trip symbols
+     * of several models interleaved with raw bits, stop exactly at the end
+     * of their stream, and spend well under a bit on a common symbol.
+     */
+    Rans {
+        /** {@inheritDoc} */
+        @Override
+        protected boolean run() throws IOException {
+            Random random = new Random(17);
+            int[] models = new int[5000];
+            int[] values = new int[models.length];
+
+            setup();
+            writer.writeBits(5, 3);
+            RansWriter w = new RansWriter(writer, 1, 16, 256);
+            for (int i = 0; i < models.length; i++) {
+                models[i] = random.nextInt(4);
+                if (models[i] == 3) {
+                    values[i] = random.nextInt(1 << 12);
+                    w.writeBits(values[i], 12);
+                } else {
+                    values[i] = Math.min(
+                            (int)Math.abs(random.nextGaussian() * 4),
+                            models[i] == 0 ? 0 : models[i] == 1 ? 15 : 255);
+                    w.writeSymbol(models[i], values[i]);
+                }
+            }
+            w.finish();
+            writer.writeBits(0x1234, 16);
+
+            flip();
+            if (reader.readBits(3) != 5) {
+                return false;
+            }
+            RansReader r = new RansReader(reader, 1, 16, 256);
+            for (int i = 0; i < models.length; i++) {
+                int value = models[i] == 3 ? r.readBits(12)
+                                           : r.readSymbol(models[i]);
+                if (value != values[i]) {
+                    return false;
+                }
+            }
+            if (reader.readBits(16) != 0x1234) {
+                return false;
+            }
+
+            setup();
+            w = new RansWriter(writer, 2);
+            for (int i = 0; i < 8000; i++) {
+                w.writeSymbol(0, i % 100 == 0 ? 1 : 0);
+            }
+            w.finish();
+            return writer.bitPosition() < 8000 / 4;
+        }
+    },
+    /**
+     * A short test which verifies that a
+     * {@link com.lunagameserve.compression.RangeEncoder} and a
+     * {@link com.lunagameserve.compression.RangeDecoder} round trip bits,
+     * trees and the values of a
+     * {@link com.lunagameserve.compression.ContextModel}, stop exactly at
+     * the end of their stream, and learn a skewed bit to well under a bit.
+     */
+    RangeCoder {
+        /** {@inheritDoc} */
+        @Override
+        protected boolean run() throws IOException {
+            Random random = new Random(23);
+            int[] values = new int[3000];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = i % 3 == 2 ? random.nextInt()
+                          : (int)(Math.sin(i * 0.01) * 50 +
+                                  random.nextGaussian() * 2);
+            }
+
+            setup();
+            writer.writeBits(5, 3);
+            RangeEncoder encoder = new RangeEncoder(writer);
+            short[] bits = RangeEncoder.newModel(2);
+            short[] tree = RangeEncoder.newModel(16);
+            ContextModel model = new ContextModel(3);
+            for (int i = 0; i < values.length; i++) {
+                encoder.encodeBit(bits, i & 1, i % 10 == 0 ? 1 : 0);
+                encoder.encodeTree(tree, 0, 4, i & 15);
+                model.write(encoder, i % 3, values[i]);
+            }
+            encoder.finish();
+            writer.writeBits(0x1234, 16);
+
+            flip();
+            if (reader.readBits(3) != 5) {
+                return false;
+            }
+            RangeDecoder decoder = new RangeDecoder(reader);
+            bits = RangeEncoder.newModel(2);
+            tree = RangeEncoder.newModel(16);
+            model = new ContextModel(3);
+            for (int i = 0; i < values.length; i++) {
+                if (decoder.decodeBit(bits, i & 1) != (i % 10 == 0 ? 1 : 0) ||
+                    decoder.decodeTree(tree, 0, 4) != (i & 15) ||
+                    model.read(decoder, i % 3) != values[i]) {
+                    return false;
+                }
+            }
+            decoder.finish();
+            if (reader.readBits(16) != 0x1234) {
+                return false;
+            }
+
+            setup();
+            encoder = new RangeEncoder(writer);
+            bits = RangeEncoder.newModel(1);
+            for (int i = 0; i < 8000; i++) {
+                encoder.encodeBit(bits, 0, i % 100 == 0 ? 1 : 0);
+            }
+            encoder.finish();
+            return writer.bitPosition() < 8000 / 4;
+        }
+    },
+    /**
+     * Verifies that a
+     * {@link com.lunagameserve.compression.LinearPredictionReader} rebuilds
+     * every bit of blocks written by a
+     * {@link com.lunagameserve.compression.LinearPredictionWriter}, whether
+     * they are predicted or written verbatim, and that a smooth integer
+     * signal is predicted in few bits.
+     */
+    LinearPrediction {
+        /** {@inheritDoc} */
+        @Override
+        protected boolean run() throws IOException {
+            Random random = new Random(29);
+            float[][] blocks = new float[7][];
+            blocks[0] = new float[1000];
+            for (int i = 0; i < blocks[0].length; i++) {
+                blocks[0][i] = (float)(9.8 + Math.sin(i * 0.02) * 3 +
+                                       random.nextGaussian() * 0.01);
+            }
+            blocks[1] = new float[777];
+            for (int i = 0; i < blocks[1].length; i++) {
+                blocks[1][i] = Math.round(200 * Math.sin(i * 0.01));
+            }
+            blocks[2] = new float[] {1f, -0f, Float.NaN, 3f};
+            blocks[3] = new float[] {1e-30f, 1e30f, 2f};
+            blocks[4] = new float[] {-2.5f};
+            /* Units too large for the exponent field of a header */
+            blocks[5] = new float[] {
+                    (float)Math.scalb(1.0, 120), (float)Math.scalb(1.0, 121),
+                    (float)Math.scalb(3.0, 120)
+            };
+            blocks[6] = new float[] {
+                    (float)Math.scalb(1.0, 107), (float)Math.scalb(1.0, 108)
+            };
+
+            setup();
+            LinearPredictionWriter lpc = new LinearPredictionWriter(writer);
+            for (float[] block : blocks) {
+                lpc.writeBlock(block, block.length);
+            }
+            writer.writeBits(0x5A, 8);
+
+            flip();
+            LinearPredictionReader lpcIn = new LinearPredictionReader(reader);
+            for (float[] block : blocks) {
+                float[] read = new float[block.length];
+                lpcIn.readBlock(read, read.length);
+                for (int i = 0; i < block.length; i++) {
+                    if (Float.floatToRawIntBits(read[i]) !=
+                        Float.floatToRawIntBits(block[i])) {
+                        return false;
+                    }
+                }
+            }
+            if (reader.readBits(8) != 0x5A) {
+                return false;
+            }
+
+            setup();
+            lpc = new LinearPredictionWriter(writer);
+            lpc.writeBlock(blocks[1], blocks[1].length);
+            return writer.bitPosition() < blocks[1].length * 4;
+        }
+    },
+    /**
+     * Verifies that the smallest-three
+     * {@link com.lunagameserve.rotation.RotationCompressor}s give back every
+     * rotation of a slowly turning device, through every largest component
+     * and both signs, to within a fraction of a degree.
+     */
+    SmallestThree {
+        /** {@inheritDoc} */
+        @Override
+        protected boolean run() throws IOException {
+            QuaternionSeries quaternions = new QuaternionSeries();
+            for (int i = 0; i < 2000; i++) {
+                double angle = i * 0.01;
+                double ax = Math.sin(i * 0.003);
+                double ay = Math.cos(i * 0.002);
+                double az = 0.5;
+                double norm = Math.sqrt(ax * ax + ay * ay + az * az);
+                double s = Math.sin(angle / 2) / norm;
+                quaternions.add((float)(ax * s), (float)(ay * s),
+                                (float)(az * s), (float)Math.cos(angle / 2));
+            }
+
+            RotationCompressor[] compressors = {
+                    RotationCompressor.SmallestThree,
+                    RotationCompressor.SmallestThreeDelta
+            };
+            for (RotationCompressor compressor : compressors) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                compressor.write(out, quaternions);
+                QuaternionSeries decoded = compressor.read(
+                        new ByteArrayInputStream(out.toByteArray()),
+                        new QuaternionSeries());
+                if (decoded.size() != quaternions.size() ||
+                    out.size() > 4 + quaternions.size() * 4) {
+                    return false;
+                }
+                for (int i = 0; i < quaternions.size(); i++) {
+                    double dot = 0;
+                    for (int c = 0; c < 4; c++) {
+                        dot += quaternions.get(c, i) * decoded.get(c, i);
+                    }
+                    double degrees =
+                            Math.toDegrees(2 * Math.acos(
+                                    Math.min(1, Math.abs(dot))));
+                    if (degrees > 0.25) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+    },
+    /**
+     * Verifies that a {@link com.lunagameserve.compression.Quantizer} keeps
+     * its error bound for both bit depths and error bounds, over ranges of
+     * very different scales, and survives its header.
+     */
+    Quantizers {
+        /** {@inheritDoc} */
+        @Override
+        protected boolean run() throws IOException {
+            Random random = new Random(31);
+            float[][] ranges = {
+                    {-9.81f, 9.81f}, {0f, 40000f}, {1e6f, 1e6f + 3f},
+                    {-1e-3f, 2e-3f}, {5f, 5f}
+            };
+            int[] depths = {1, 3, 8, 24};
+            float[] errors = {0.05f, 0.5f};
+            Quantization[] quantizations =
+                    new Quantization[depths.length + errors.length];
+            float[] limits = new float[quantizations.length];
+            for (int i = 0; i < depths.length; i++) {
+                quantizations[i] = Quantization.bits(depths[i]);
+                limits[i] = Float.POSITIVE_INFINITY;
+            }
+            for (int i = 0; i < errors.length; i++) {
+                quantizations[depths.length + i] =
+                        Quantization.maxError(errors[i]);
+                limits[depths.length + i] = errors[i];
+            }
+
+            for (float[] range : ranges) {
+                for (int q = 0; q < quantizations.length; q++) {
+                    Quantizer quantizer;
+                    try {
+                        quantizer = quantizations[q].fit(range[0], range[1]);
+                    } catch (IllegalArgumentException e) {
+                        /* Only a bound too fine for 24 bits may be refused */
+                        if (q < depths.length) {
+                            return false;
+                        }
+                        continue;
+                    }
+
+                    setup();
+                    ByteWriter bytes = new ByteWriter(writer);
+                    quantizer.writeTo(bytes);
+                    flip();
+                    Quantizer read = Quantizer.readFrom(new ByteReader(reader));
+                    if (read.bits() != quantizer.bits() ||
+                        read.step() != quantizer.step()) {
+                        return false;
+                    }
+
+                    double bound = quantizer.maxError();
+                    if (bound > limits[q]) {
+                        return false;
+                    }
+                    for (int i = 0; i < 2000; i++) {
+                        float v = i == 0 ? range[0] : i == 1 ? range[1]
+                                : range[0] + random.nextFloat() *
+                                  (range[1] - range[0]);
+                        v = Math.max(range[0], Math.min(range[1], v));
+                        int level = quantizer.quantize(v);
+                        if (level >>> quantizer.bits() != 0 ||
+                            Math.abs(read.dequantize(level) - (double)v) >
+                                    bound) {
+                            return false;
+                        }
+                    }
+                }
+            }
+
+            try {
+                Quantization.maxError(1e-6f).fit(0f, 1000f);
+                return false;
+            } catch (IllegalArgumentException e) {
+                return true;
+            }
+        }
+    },
+    /**
+     * Verifies that an
+     * {@link com.lunagameserve.acceleration.AccelerationCollection} round
+     * trips through both its row and its column byte layouts, that its
+     * extremes ignore {@code NaN} samples, and that a negative point count
+     * is refused.
+     */
+    Columns {
+        /** {@inheritDoc} */
+        @Override
+        protected boolean run() throws IOException {
+            AccelerationCollection points = new AccelerationCollection();
+            for (int i = 0; i < 1000; i++) {
+                points.addPoint(i * 0.5f, -i, (float)Math.sin(i), i * 7L);
+            }
+            points.addPoint(Float.NaN, Float.NaN, Float.NaN, 7000L);
+            if (points.maxX() != 499.5f || points.minY() != -999f ||
+                points.maxZ() > 1f || points.minZ() < -1f) {
+                return false;
+            }
+
+            ByteArrayOutputStream rows = new ByteArrayOutputStream();
+            ByteArrayOutputStream columns = new ByteArrayOutputStream();
+            points.writeAsBytes(rows);
+            points.writeColumnsAsBytes(columns);
+            if (columns.size() != 4 + points.byteSize()) {
+                return false;
+            }
+            AccelerationCollection fromRows = new AccelerationCollection();
+            AccelerationCollection fromColumns = new AccelerationCollection();
+            fromColumns.addPoint(1f, 2f, 3f, 4L);
+            fromRows.readFromBytes(
+                    new ByteArrayInputStream(rows.toByteArray()));
+            fromColumns.readColumnsFromBytes(
+                    new ByteArrayInputStream(columns.toByteArray()));
+            for (AccelerationCollection read : new AccelerationCollection[] {
+                    fromRows, fromColumns}) {
+                if (read.size() != points.size() ||
+                    read.maxX() != points.maxX() ||
+                    read.minY() != points.minY()) {
+                    return false;
+                }
+                for (int i = 0; i < points.size(); i++) {
+                    if (Float.floatToIntBits(read.getX(i)) !=
+                        Float.floatToIntBits(points.getX(i)) ||
+                        Float.floatToIntBits(read.getY(i)) !=
+                        Float.floatToIntBits(points.getY(i)) ||
+                        Float.floatToIntBits(read.getZ(i)) !=
+                        Float.floatToIntBits(points.getZ(i)) ||
+                        read.getTimestamp(i) != points.getTimestamp(i)) {
+                        return false;
+                    }
+                }
+            }
+
+            try {
+                fromColumns.readColumnsFromBytes(
+                        new ByteArrayInputStream(new byte[] {-1, -1, -1, -1}));
+                return false;
+            } catch (IOException e) {
+                return true;
+            }
+        }
+    },
+    /**
+     * Verifies that a {@link com.lunagameserve.compression.FloatSeries}
+     * grows past its capacity, keeps its extremes, copies out and round
+     * trips through its byte layout, and checks its indices.
+     */
+    Series {
+        /** {@inheritDoc} */
+        @Override
+        protected boolean run() throws IOException {
+            float[] values = new float[300];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = (i * 37 % 101) - 50.5f;
+            }
+            FloatSeries series = new FloatSeries(1);
+            series.add(values[0]);
+            series.addAll(values, 1, 99);
+            FloatSeries rest = new FloatSeries();
+            rest.addAll(values, 100, 200);
+            series.addAll(rest);
+            if (series.size() != values.length ||
+                !Arrays.equals(series.toArray(), values) ||
+                series.max() != 49.5f || series.min() != -50.5f) {
+                return false;
+            }
+            float[] copy = new float[12];
+            series.copyTo(290, copy, 2, 10);
+            for (int i = 0; i < 10; i++) {
+                if (copy[i + 2] != values[290 + i]) {
+                    return false;
+                }
+            }
+
+            setup();
+            series.writeTo(new ByteWriter(writer));
+            flip();
+            FloatSeries read = new FloatSeries();
+            read.add(1f);
+            read.clear();
+            read.readFrom(new ByteReader(reader), values.length);
+            if (!Arrays.equals(read.toArray(), values) ||
+                read.max() != series.max() || read.min() != series.min()) {
+                return false;
+            }
+
+            read.clear();
+            if (!read.isEmpty()) {
+                return false;
+            }
+            try {
+                read.max();
+                return false;
+            } catch (IndexOutOfBoundsException e) {
+                /* An empty series has no extremes */
+            }
+            try {
+                series.copyTo(295, copy, 0, 10);
+                return false;
+            } catch (IndexOutOfBoundsException e) {
+                /* Expected */
+            }
+
+            /* A NaN must not hide the extremes, which Quantized fits to */
+            FloatSeries gap = new FloatSeries();
+            for (int i = 0; i < 10; i++) {
+                gap.add(i == 5 ? Float.NaN : 100f + i);
+            }
+            if (gap.min() != 100f || gap.max() != 109f) {
+                return false;
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            LightCompressor.Quantized.write(out, gap);
+            read = LightCompressor.Quantized.read(
+                    new ByteArrayInputStream(out.toByteArray()), read);
+            for (int i = 0; i < 10; i++) {
+                if (i != 5 && Math.abs(read.get(i) - gap.get(i)) > 0.05f) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    },
+    /**
+     * Verifies that every
+     * {@link com.lunagameserve.acceleration.AccelerationCompressor} and
+     * {@link com.lunagameserve.light.LightCompressor} reports a stream cut
+     * short with an {@link java.io.EOFException}, rather than returning
+     * fewer or made up points.
+     */
+    Truncated {
+        /** {@inheritDoc} */
+        @Override
+        protected boolean run() throws IOException {
+            Random random = new Random(19);
+            AccelerationCollection points = new AccelerationCollection();
+            FloatSeries light = new FloatSeries();
+            for (int i = 0; i < 1000; i++) {
+                points.addPoint((float)Math.sin(i * 0.01) * 9f,
+                                (float)random.nextGaussian(),
+                                9.81f + (float)Math.cos(i * 0.02),
+                                i * 5000000L);
+                light.add(100f + 50f * (float)Math.sin(i * 0.01) +
+                          (float)random.nextGaussian());
+            }
+
+            for (AccelerationCompressor c : AccelerationCompressor.values()) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                c.write(out, points);
+                byte[] bytes = out.toByteArray();
+                for (int cut = 0; cut < 3; cut++) {
+                    try {
+                        c.read(new ByteArrayInputStream(bytes, 0,
+                                                        bytes.length * cut / 3),
+                               new AccelerationSeries());
+                        return false;
+                    } catch (EOFException e) {
+                        /* Expected */
+                    }
+                }
+            }
+            for (LightCompressor c : LightCompressor.values()) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                c.write(out, light);
+                byte[] bytes = out.toByteArray();
+                for (int cut = 0; cut < 3; cut++) {
+                    try {
+                        c.read(new ByteArrayInputStream(bytes, 0,
+                                                        bytes.length * cut / 3),
+                               new FloatSeries());
+                        return false;
+                    } catch (EOFException e) {
+                        /* Expected */
+                    }
+                }
+            }
+            return true;
+        }
+    },
+    /**
+     * Verifies that an
+     * {@link com.lunagameserve.acceleration.AccelerationStreamEncoder} cuts
+     * frames when they reach their size, when their first point grows too
+     * old, and when flushed, and that an
+     * {@link com.lunagameserve.acceleration.AccelerationStreamDecoder} reads
+     * back every point and timestamp, one frame at a time, up to the end
+     * marker.
+     */
+    StreamFrames {
+        /** {@inheritDoc} */
+        @Override
+        protected boolean run() throws IOException {
+            AccelerationCollection points = new AccelerationCollection();
+            for (int i = 0; i < 350; i++) {
+                points.addPoint(i * 0.25f, -i, (float)Math.sin(i),
+                                1000000000L + i * 5000000L);
+            }
+
+            /* 250 points at 100 per frame with a flush, then 100 points
+             * 5 ms apart with at most 50 ms per frame */
+            ByteArrayOutputStream bySize = new ByteArrayOutputStream();
+            AccelerationStreamEncoder encoder = new AccelerationStreamEncoder(
+                    AccelerationCompressor.GorillaXor, 100, Long.MAX_VALUE,
+                    TimestampWriter.LOSSLESS);
+            encoder.open(bySize);
+            for (int i = 0; i < 250; i++) {
+                encoder.append(points.getX(i), points.getY(i),
+                               points.getZ(i), points.getTimestamp(i));
+            }
+            encoder.flush();
+            encoder.close();
+
+            ByteArrayOutputStream byAge = new ByteArrayOutputStream();
+            encoder = new AccelerationStreamEncoder(
+                    AccelerationCompressor.GorillaXor, 1000, 50000000L,
+                    TimestampWriter.LOSSLESS);
+            encoder.open(byAge);
+            for (int i = 250; i < points.size(); i++) {
+                encoder.append(points.getX(i), points.getY(i),
+                               points.getZ(i), points.getTimestamp(i));
+            }
+            encoder.close();
+
+            int[][] frames = {
+                    {100, 100, 50},
+                    {11, 11, 11, 11, 11, 11, 11, 11, 11, 1}
+            };
+            ByteArrayOutputStream[] streams = {bySize, byAge};
+            AccelerationCollection read = new AccelerationCollection();
+            for (int s = 0; s < streams.length; s++) {
+                AccelerationStreamDecoder decoder =
+                        new AccelerationStreamDecoder(
+                                AccelerationCompressor.GorillaXor,
+                                new ByteArrayInputStream(
+                                        streams[s].toByteArray()));
+                for (int frame : frames[s]) {
+                    int before = read.size();
+                    if (!decoder.readFrame(read) ||
+                        read.size() - before != frame) {
+                        return false;
+                    }
+                }
+                if (decoder.readFrame(read)) {
+                    return false;
+                }
+            }
+
+            if (read.size() != points.size()) {
+                return false;
+            }
+            for (int i = 0; i < points.size(); i++) {
+                if (read.getX(i) != points.getX(i) ||
+                    read.getY(i) != points.getY(i) ||
+                    read.getZ(i) != points.getZ(i) ||
+                    read.getTimestamp(i) != points.getTimestamp(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    },
+    /**
+     * Verifies that one
+     * {@link com.lunagameserve.acceleration.AccelerationCompressor} can be
+     * written with from two threads at once, each getting exactly the bytes
+     * it would get alone.
+     */
+    ConcurrentCodecs {
+        /** {@inheritDoc} */
+        @Override
+        protected boolean run() throws IOException {
+            final AccelerationCollection[] inputs = {
+                    new AccelerationCollection(), new AccelerationCollection()
+            };
+            Random random = new Random(16);
+            for (int i = 0; i < 2000; i++) {
+                inputs[0].addPoint((float)Math.sin(i * 0.01) * 9f,
+                                   (float)random.nextGaussian(),
+                                   9.81f, i * 5000000L);
+                inputs[1].addPoint(random.nextFloat() * 1000f, i, -i,
+                                   i * 1000000L);
+            }
+
+            for (final AccelerationCompressor c :
+                    AccelerationCompressor.values()) {
+                final byte[][] expected = new byte[inputs.length][];
+                for (int t = 0; t < inputs.length; t++) {
+                    ByteArrayOutputStream out = new ByteArrayOutputStream();
+                    c.write(out, inputs[t]);
+                    expected[t] = out.toByteArray();
+                }
+
+                final boolean[] matched = new boolean[inputs.length];
+                Thread[] threads = new Thread[inputs.length];
+                for (int t = 0; t < inputs.length; t++) {
+                    final int input = t;
+                    threads[t] = new Thread() {
+                        @Override
+                        public void run() {
+                            try {
+                                for (int i = 0; i < 10; i++) {
+                                    ByteArrayOutputStream out =
+                                            new ByteArrayOutputStream();
+                                    c.write(out, inputs[input]);
+                                    if (!Arrays.equals(out.toByteArray(),
+                                                       expected[input])) {
+                                        return;
+                                    }
+                                }
+                                matched[input] = true;
+                            } catch (IOException e) {
+                                /* Leaves matched unset */
+                            }
+                        }
+                    };
+                    threads[t].start();
+                }
+                for (int t = 0; t < inputs.length; t++) {
+                    try {
+                        threads[t].join();
+                    } catch (InterruptedException e) {
+                        return false;
+                    }
+                    if (!matched[t]) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+    },
+    /**
+     * Verifies that a {@link com.lunagameserve.storage.SegmentStore} rolls
+     * over to a new segment only once a frame no longer fits, including
+     * frames which fill a segment exactly, carries on appending after
+     * being reopened, and that a
+     * {@link com.lunagameserve.storage.SegmentStore.Cursor} reads every frame
+     * in order across segments, including frames appended after it caught
+     * up.
+     */
+    Segments {
+        /** {@inheritDoc} */
+        @Override
+        protected boolean run() throws IOException {
+            File directory = File.createTempFile("segments", "");
+            if (!directory.delete()) {
+                return false;
+            }
+            try {
+                /* 4 + 28 bytes fills half a segment, and 4 + 60 bytes a
+                 * whole one */
+                int[] lengths = {28, 28, 1, 60, 1, 2, 3};
+                int[] segments = {1, 1, 2, 3, 4, 4, 4};
+                byte[][] frames = new byte[lengths.length][];
+                for (int i = 0; i < frames.length; i++) {
+                    frames[i] = new byte[lengths[i]];
+                    Arrays.fill(frames[i], (byte)(i + 1));
+                }
+
+                SegmentStore store = new SegmentStore(directory, 64);
+                for (int i = 0; i < 4; i++) {
+                    store.append(frames[i], 0, frames[i].length);
+                    if (store.segmentCount() != segments[i]) {
+                        return false;
+                    }
+                }
+                try {
+                    store.append(new byte[61], 0, 61);
+                    return false;
+                } catch (IllegalArgumentException e) {
+                    /* Too large for any segment */
+                }
+                store.close();
+
+                store = new SegmentStore(directory, 64);
+                SegmentStore.Cursor cursor = store.cursor();
+                for (int i = 0; i < 6; i++) {
+                    if (i >= 4) {
+                        store.append(ByteBuffer.wrap(frames[i]));
+                        if (store.segmentCount() != segments[i]) {
+                            return false;
+                        }
+                    }
+                    if (!ByteBuffer.wrap(frames[i]).equals(cursor.next())) {
+                        return false;
+                    }
+                }
+                if (cursor.next() != null) {
+                    return false;
+                }
+                store.close();
+
+                store = new SegmentStore(directory, 64);
+                store.append(frames[6], 0, frames[6].length);
+                store.close();
+                cursor = store.cursor();
+                for (int i = 0; i < frames.length; i++) {
+                    if (!ByteBuffer.wrap(frames[i]).equals(cursor.next())) {
+                        return false;
+                    }
+                }
+                return cursor.next() == null &&
+                       store.segmentCount() == segments[6];
+            } finally {
+                File[] files = directory.listFiles();
+                if (files != null) {
+                    for (File file : files) {
+                        //noinspection ResultOfMethodCallIgnored
+                        file.delete();
+                    }
+                }
+                //noinspection ResultOfMethodCallIgnored
+                directory.delete();
+            }
+        }
+    },
+    /**
+     * Verifies that a
+     * {@link com.lunagameserve.compression.ParallelGZIPOutputStream} writes a
+     * gzip member which a {@link java.util.zip.GZIPInputStream} reads back
+     * exactly, whether empty, exactly one block or many blocks, and that a
+     * gzip codec written with {@link DeflateMode#Parallel} reads back like
+     * one written serially.
+     */
+    ParallelGZip {
+        /** {@inheritDoc} */
+        @Override
+        protected boolean run() throws IOException {
+            Random random = new Random(12);
+            byte[] data = new byte[10500];
+            for (int i = 0; i < data.length; i++) {
+                data[i] = (byte)(i % 97 < 60 ? i % 7 : random.nextInt());
+            }
+            ForkJoinPool pool = new ForkJoinPool(2);
+            try {
+                for (int len : new int[] {0, 1, 1000, 1001, data.length}) {
+                    ByteArrayOutputStream out = new ByteArrayOutputStream();
+                    ParallelGZIPOutputStream gz =
+                            new ParallelGZIPOutputStream(
+                                    out, 1000, Deflater.DEFAULT_COMPRESSION,
+                                    pool);
+                    if (len > 0) {
+                        gz.write(data[0]);
+                        gz.write(data, 1, len - 1);
+                    }
+                    gz.close();
+
+                    GZIPInputStream in = new GZIPInputStream(
+                            new ByteArrayInputStream(out.toByteArray()));
+                    byte[] read = new byte[len + 1];
+                    int n = 0;
+                    int r;
+                    while (n < read.length &&
+                           (r = in.read(read, n, read.length - n)) > 0) {
+                        n += r;
+                    }
+                    if (n != len || in.read() != -1 ||
+                        !Arrays.equals(Arrays.copyOf(read, len),
+                                       Arrays.copyOf(data, len))) {
+                        return false;
+                    }
+                }
+            } finally {
+                pool.shutdown();
+            }
+
+            AccelerationCollection points = new AccelerationCollection();
+            for (int i = 0; i < 20000; i++) {
+                points.addPoint(i % 50, random.nextFloat(), -i, i * 5000L);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            AccelerationCompressor.StandardGZip.write(out, points,
+                    CodecOptions.DEFAULT.withDeflateMode(DeflateMode.Parallel));
+            AccelerationSeries read = AccelerationCompressor.StandardGZip.read(
+                    new ByteArrayInputStream(out.toByteArray()),
+                    new AccelerationSeries());
+            if (read.size() != points.size()) {
+                return false;
+            }
+            for (int i = 0; i < points.size(); i++) {
+                if (read.getX().get(i) != points.getX(i) ||
+                    read.getY().get(i) != points.getY(i) ||
+                    read.getZ().get(i) != points.getZ(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    },
+    /**
+     * Verifies that a {@link com.lunagameserve.compression.CodecMetrics}
+     * counts calls, failures, bytes and samples, and that its latency
+     * histogram holds every call, both when recorded directly and through
+     * {@link com.lunagameserve.acceleration.AccelerationCompressor#write}
+     * and
+     * {@link com.lunagameserve.acceleration.AccelerationCompressor#read}.
+     */
+    Metrics {
+        /** {@inheritDoc} */
+        @Override
+        protected boolean run() throws IOException {
+            CodecMetrics metrics = new CodecMetrics();
+            if (metrics.encodes().calls != 0 ||
+                metrics.encodes().percentileNanos(50) != 0) {
+                return false;
+            }
+
+            long start = System.nanoTime();
+            metrics.recordEncode(start, -1L, 100, 40, 25, false);
+            metrics.recordEncode(start, -1L, 60, 0, 15, true);
+            metrics.recordDecode(start, -1L, 40, 100, 25, false);
+            CodecMetrics.Snapshot encodes = metrics.encodes();
+            CodecMetrics.Snapshot decodes = metrics.decodes();
+            if (encodes.calls != 2 || encodes.failures != 1 ||
+                encodes.bytesIn != 160 || encodes.bytesOut != 40 ||
+                encodes.samples != 40 || encodes.nanos < 0 ||
+                decodes.calls != 1 || decodes.failures != 0 ||
+                decodes.bytesIn != 40 || decodes.bytesOut != 100) {
+                return false;
+            }
+            long counted = 0;
+            for (int i = 0; i < CodecMetrics.BUCKETS; i++) {
+                counted += encodes.histogram(i);
+            }
+            if (counted != 2 ||
+                encodes.percentileNanos(50) > encodes.percentileNanos(100) ||
+                encodes.percentileNanos(100) * 2 < encodes.nanos) {
+                return false;
+            }
+            metrics.reset();
+            if (metrics.encodes().calls != 0 ||
+                metrics.decodes().histogram(0) != 0) {
+                return false;
+            }
+
+            AccelerationCompressor c =
+                    AccelerationCompressor.UncompressedBuffer;
+            AccelerationCollection points = new AccelerationCollection();
+            for (int i = 0; i < 10; i++) {
+                points.addPoint(i, -i, 9.81f, i * 1000000L);
+            }
+            CodecMetrics.Snapshot before = c.metrics().encodes();
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            c.write(out, points);
+            byte[] bytes = out.toByteArray();
+            try {
+                c.write(new OutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        throw new IOException("Full");
+                    }
+                }, points);
+                return false;
+            } catch (IOException e) {
+                /* Expected */
+            }
+            CodecMetrics.Snapshot after = c.metrics().encodes();
+            if (after.calls - before.calls != 2 ||
+                after.failures - before.failures != 1 ||
+                after.samples - before.samples != 20 ||
+                after.bytesOut - before.bytesOut != bytes.length) {
+                return false;
+            }
+
+            before = c.metrics().decodes();
+            c.read(new ByteArrayInputStream(bytes), new AccelerationSeries());
+            try {
+                c.read(new ByteArrayInputStream(bytes, 0, bytes.length / 2),
+                       new AccelerationSeries());
+                return false;
+            } catch (EOFException e) {
+                /* Expected */
+            }
+            after = c.metrics().decodes();
+            return after.calls - before.calls == 2 &&
+                   after.failures - before.failures == 1 &&
+                   after.samples - before.samples >= 10;
+        }
+    },
+    /**
+     * Verifies that
+     * {@link com.lunagameserve.acceleration.AccelerationCompressor#Quantized}
+     * and {@link com.lunagameserve.light.LightCompressor#Quantized} quantize
+     * each write with the {@link com.lunagameserve.compression.CodecOptions}
+     * it is given, even when threads write with different ones at once, and
+     * that the last {@link com.lunagameserve.compression.Quantization} given
+     * applies to every later channel.
+     */
+    QuantizationOptions {
+        /** {@inheritDoc} */
+        @Override
+        protected boolean run() throws IOException {
+            final CodecOptions[] options = {
+                    CodecOptions.DEFAULT.withQuantization(
+                            Quantization.bits(3)),
+                    CodecOptions.DEFAULT.withQuantization(
+                            Quantization.maxError(0.01f),
+                            Quantization.maxError(0.1f))
+            };
+            if (options[0].quantization(2).toString().equals(
+                    options[1].quantization(2).toString()) ||
+                !options[1].quantization(1).toString().equals(
+                        options[1].quantization(2).toString()) ||
+                !CodecOptions.DEFAULT.quantization(2).toString().equals(
+                        Quantization.bits(8).toString())) {
+                return false;
+            }
+
+            final AccelerationCollection points = new AccelerationCollection();
+            final FloatSeries light = new FloatSeries();
+            Random random = new Random(25);
+            for (int i = 0; i < 2000; i++) {
+                points.addPoint((float)Math.sin(i * 0.01) * 9f,
+                                (float)random.nextGaussian(),
+                                9.81f, i * 5000000L);
+                light.add(100f + 50f * (float)Math.sin(i * 0.01));
+            }
+
+            final byte[][] expected = new byte[options.length][];
+            final byte[][] expectedLight = new byte[options.length][];
+            for (int t = 0; t < options.length; t++) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                AccelerationCompressor.Quantized.write(out, points,
+                                                       options[t]);
+                expected[t] = out.toByteArray();
+                out = new ByteArrayOutputStream();
+                LightCompressor.Quantized.write(out, light, options[t]);
+                expectedLight[t] = out.toByteArray();
+            }
+            if (Arrays.equals(expected[0], expected[1]) ||
+                Arrays.equals(expectedLight[0], expectedLight[1])) {
+                return false;
+            }
+
+            AccelerationSeries decoded = AccelerationCompressor.Quantized.read(
+                    new ByteArrayInputStream(expected[1]),
+                    new AccelerationSeries());
+            FloatSeries decodedLight = LightCompressor.Quantized.read(
+                    new ByteArrayInputStream(expectedLight[1]),
+                    new FloatSeries());
+            for (int i = 0; i < points.size(); i++) {
+                if (Math.abs(decoded.getX().get(i) - points.getX(i)) > 0.01f ||
+                    Math.abs(decoded.getY().get(i) - points.getY(i)) > 0.1f ||
+                    Math.abs(decoded.getZ().get(i) - points.getZ(i)) > 0.1f ||
+                    Math.abs(decodedLight.get(i) - light.get(i)) > 0.01f) {
+                    return false;
+                }
+            }
+
+            final boolean[] matched = new boolean[options.length];
+            Thread[] threads = new Thread[options.length];
+            for (int t = 0; t < options.length; t++) {
+                final int option = t;
+                threads[t] = new Thread() {
+                    @Override
+                    public void run() {
+                        try {
+                            for (int i = 0; i < 10; i++) {
+                                ByteArrayOutputStream out =
+                                        new ByteArrayOutputStream();
+                                AccelerationCompressor.Quantized.write(
+                                        out, points, options[option]);
+                                if (!Arrays.equals(out.toByteArray(),
+                                                   expected[option])) {
+                                    return;
+                                }
+                                out = new ByteArrayOutputStream();
+                                LightCompressor.Quantized.write(
+                                        out, light, options[option]);
+                                if (!Arrays.equals(out.toByteArray(),
+                                                   expectedLight[option])) {
+                                    return;
+                                }
+                            }
+                            matched[option] = true;
+                        } catch (IOException e) {
+                            /* Leaves matched unset */
+                        }
+                    }
+                };
+                threads[t].start();
+            }
+            for (int t = 0; t < options.length; t++) {
+                try {
+                    threads[t].join();
+                } catch (InterruptedException e) {
+                    return false;
+                }
+                if (!matched[t]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    },
+    /**
+     * Verifies that the default
+     * {@link com.lunagameserve.acceleration.AccelerationAdaptiveEncoder}
+     * and {@link com.lunagameserve.light.LightAdaptiveEncoder} read back
+     * exactly, that an error bound is kept when lossy compressors may be
+     * chosen, that each frame starts with the ordinal of its compressor,
+     * that an unknown ordinal is refused, and that neither encoder records
+     * its trials in the metrics of its candidates.
+     */
+    AdaptiveBlocks {
+        /** {@inheritDoc} */
+        @Override
+        protected boolean run() throws IOException {
+            Random random = new Random(18);
+            AccelerationCollection points = new AccelerationCollection();
+            FloatSeries light = new FloatSeries();
+            for (int i = 0; i < 1000; i++) {
+                float noise = (i / 300) % 2 == 0 ? 0f
+                        : (float)random.nextGaussian() * 3f;
+                points.addPoint((float)Math.sin(i * 0.01) * 9f + noise,
+                                noise, 9.81f, i * 5000000L);
+                light.add(100f + 50f * (float)Math.sin(i * 0.01) + noise);
+            }
+            CodecMetrics.Snapshot before =
+                    AccelerationCompressor.GorillaXor.metrics().encodes();
+            CodecMetrics.Snapshot beforeLight =
+                    LightCompressor.GorillaXor.metrics().encodes();
+
+            AccelerationAdaptiveEncoder encoder =
+                    new AccelerationAdaptiveEncoder();
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            encoder.write(out, points);
+            byte[] bytes = out.toByteArray();
+            FloatSeries x = new FloatSeries();
+            FloatSeries y = new FloatSeries();
+            FloatSeries z = new FloatSeries();
+            AccelerationAdaptiveEncoder.read(new ByteArrayInputStream(bytes),
+                                             x, y, z);
+            if (x.size() != points.size()) {
+                return false;
+            }
+            for (int i = 0; i < points.size(); i++) {
+                if (x.get(i) != points.getX(i) || y.get(i) != points.getY(i) ||
+                    z.get(i) != points.getZ(i)) {
+                    return false;
+                }
+            }
+
+            FrameReader frames = new FrameReader(
+                    new ByteArrayInputStream(bytes));
+            int count = 0;
+            while (frames.readFrame() >= 0) {
+                AccelerationCompressor c =
+                        AccelerationCompressor.values()[frames.frame()[0]];
+                if (!AccelerationAdaptiveEncoder.losslessCandidates()
+                        .contains(c)) {
+                    return false;
+                }
+                count++;
+            }
+            long chosen = 0;
+            for (AccelerationCompressor c : AccelerationCompressor.values()) {
+                chosen += encoder.getChoiceCount(c);
+            }
+            int blocks = (points.size() +
+                          AccelerationAdaptiveEncoder.DEFAULT_BLOCK_SIZE - 1) /
+                         AccelerationAdaptiveEncoder.DEFAULT_BLOCK_SIZE;
+            if (count != blocks || chosen != blocks) {
+                return false;
+            }
+
+            LightAdaptiveEncoder lightEncoder = new LightAdaptiveEncoder();
+            out = new ByteArrayOutputStream();
+            lightEncoder.write(out, light);
+            FloatSeries decodedLight = new FloatSeries();
+            LightAdaptiveEncoder.read(
+                    new ByteArrayInputStream(out.toByteArray()),
+                    decodedLight);
+            if (decodedLight.size() != light.size()) {
+                return false;
+            }
+            for (int i = 0; i < light.size(); i++) {
+                if (decodedLight.get(i) != light.get(i)) {
+                    return false;
+                }
+            }
+
+            encoder = new AccelerationAdaptiveEncoder(
+                    EnumSet.complementOf(
+                            EnumSet.of(AccelerationCompressor.Adaptive)),
+                    128, 32, 0.05f, Double.POSITIVE_INFINITY);
+            out = new ByteArrayOutputStream();
+            encoder.write(out, points);
+            x.clear();
+            y.clear();
+            z.clear();
+            AccelerationAdaptiveEncoder.read(
+                    new ByteArrayInputStream(out.toByteArray()), x, y, z);
+            lightEncoder = new LightAdaptiveEncoder(
+                    EnumSet.complementOf(EnumSet.of(LightCompressor.Adaptive)),
+                    128, 32, 0.5f, Double.POSITIVE_INFINITY);
+            out = new ByteArrayOutputStream();
+            lightEncoder.write(out, light);
+            decodedLight.clear();
+            LightAdaptiveEncoder.read(
+                    new ByteArrayInputStream(out.toByteArray()),
+                    decodedLight);
+            if (x.size() != points.size() ||
+                decodedLight.size() != light.size()) {
+                return false;
+            }
+            for (int i = 0; i < points.size(); i++) {
+                if (Math.abs(x.get(i) - points.getX(i)) > 0.05f ||
+                    Math.abs(y.get(i) - points.getY(i)) > 0.05f ||
+                    Math.abs(z.get(i) - points.getZ(i)) > 0.05f ||
+                    Math.abs(decodedLight.get(i) - light.get(i)) > 0.5f) {
+                    return false;
+                }
+            }
+
+            if (AccelerationCompressor.GorillaXor.metrics().encodes().calls !=
+                        before.calls ||
+                LightCompressor.GorillaXor.metrics().encodes().calls !=
+                        beforeLight.calls) {
+                return false;
+            }
+
+            int[] unknown = {
+                    AccelerationCompressor.Adaptive.ordinal(), 255
+            };
+            for (int ordinal : unknown) {
+                out = new ByteArrayOutputStream();
+                FrameWriter writer = new FrameWriter(out);
+                writer.writeFrame(new byte[] {(byte)ordinal, 0, 0}, 0, 3);
+                writer.close();
+                try {
+                    AccelerationAdaptiveEncoder.read(
+                            new ByteArrayInputStream(out.toByteArray()),
+                            x, y, z);
+                    return false;
+                } catch (IOException e) {
+                    /* Expected */
+                }
+            }
+            return true;
+        }
+    },
+    /**
+     * Verifies that an
+     * {@link com.lunagameserve.acceleration.AccelerationSessionReader} reads
+     * back consecutive one second windows of a recording written by an
+     * {@link com.lunagameserve.acceleration.AccelerationSessionWriter}, even
+     * where a window starts in the block the one before it ended in, and
+     * refuses a window which starts in a block already read past.
+     */
+    SessionRanges {
+        /** {@inheritDoc} */
+        @Override
+        protected boolean run() throws IOException {
+            final long second = 1000000000L;
+            final long period = second / 200;
+            ByteArrayOutputStream dataOut = new ByteArrayOutputStream();
+            ByteArrayOutputStream indexOut = new ByteArrayOutputStream();
+            AccelerationSessionWriter session = new AccelerationSessionWriter(
+                    dataOut, indexOut, 12, 128,
+                    TimestampWriter.MILLISECONDS);
+            for (int i = 0; i < 2000; i++) {
+                session.append((float)Math.sin(i * 0.01) * 9f, i % 7,
+                               9.81f, i * period);
+            }
+            session.close();
+
+            AccelerationSessionReader sessionIn =
+                    new AccelerationSessionReader(
+                            new ByteArrayInputStream(dataOut.toByteArray()),
+                            new ByteArrayInputStream(indexOut.toByteArray()));
+            if (sessionIn.getIndex().size() != 16) {
+                return false;
+            }
+            for (int s = 0; s < 10; s++) {
+                AccelerationCollection window = new AccelerationCollection();
+                if (sessionIn.readRange(s * second, (s + 1) * second,
+                                        window) != 200 ||
+                    window.size() != 200) {
+                    return false;
+                }
+                for (int j = 0; j < 200; j++) {
+                    int i = s * 200 + j;
+                    if (window.getTimestamp(j) != i * period ||
+                        Math.abs(window.getX(j) -
+                                 (float)Math.sin(i * 0.01) * 9f) > 0.01f ||
+                        Math.abs(window.getY(j) - i % 7) > 0.01f) {
+                        return false;
+                    }
+                }
+            }
+
+            try {
+                sessionIn.readRange(0L, second, new AccelerationCollection());
+                return false;
+            } catch (IllegalStateException e) {
+                sessionIn.close();
+                return true;
+            }
+        }
+    },
+    /**
+     * Verifies the error figures of a
+     * {@link com.lunagameserve.compression.QualityReport} against values
+     * worked out by hand. It also checks that a lossless codec reports no
+     * error, and that a {@link com.lunagameserve.acceleration.RateDistortion}
+     * table bounds the error of every block-quantized row and is written as
+     * one CSV line per row.
+     */
+    Quality {
+        /** {@inheritDoc} */
+        @Override
+        protected boolean run() throws IOException {
+            /* Errors {0, 0, 0, -1} about a mean of 2.5: noise 1, signal 5 */
+            FloatSeries off = new FloatSeries();
+            FloatSeries exact = new FloatSeries();
+            for (int i = 1; i <= 4; i++) {
+                off.add(i == 4 ? 5f : i);
+                exact.add(-i);
+            }
+            QualityReport report = new QualityReport(
+                    new float[][] {{1f, 2f, 3f, 4f}, {-1f, -2f, -3f, -4f}},
+                    new FloatSeries[] {off, exact}, 0.5, 8);
+            if (report.samples != 4 || report.decodedSamples != 4 ||
+                report.bitsPerSample != 16.0 ||
+                Math.abs(report.rmse[0] - 0.5) > 1e-12 ||
+                report.maxError[0] != 1.0 ||
+                Math.abs(report.snr[0] - 10.0 * Math.log10(5.0)) > 1e-9 ||
+                report.rmse[1] != 0.0 || report.maxError[1] != 0.0 ||
+                report.snr[1] != Double.POSITIVE_INFINITY) {
+                return false;
+            }
+
+            AccelerationCollection points = new AccelerationCollection();
+            for (int i = 0; i < 1000; i++) {
+                points.addPoint((float)Math.sin(i * 0.01) * 9f, i % 50,
+                                9.81f + (float)Math.cos(i * 0.03),
+                                i * 5000000L);
+            }
+            report = AccelerationCompressor.GorillaXor.quality(points);
+            for (int c = 0; c < 3; c++) {
+                if (report.rmse[c] != 0.0 || report.maxError[c] != 0.0 ||
+                    report.snr[c] != Double.POSITIVE_INFINITY) {
+                    return false;
+                }
+            }
+
+            List<RateDistortion.Row> rows = RateDistortion.table(points);
+            int codecs = AccelerationCompressor.values().length;
+            if (rows.size() != codecs + RateDistortion.MAX_BITS) {
+                return false;
+            }
+            float[] ranges = {
+                    points.maxX() - points.minX(),
+                    points.maxY() - points.minY(),
+                    points.maxZ() - points.minZ()
+            };
+            for (int b = 1; b <= RateDistortion.MAX_BITS; b++) {
+                RateDistortion.Row row = rows.get(codecs + b - 1);
+                if (!RateDistortion.QUANTIZED.equals(row.codec) ||
+                    row.bits != b) {
+                    return false;
+                }
+                for (int c = 0; c < 3; c++) {
+                    double halfStep = ranges[c] / ((1 << b) - 1) / 2.0;
+                    if (row.report.maxError[c] > halfStep * 1.01 + 1e-6 ||
+                        row.report.rmse[c] > row.report.maxError[c]) {
+                        return false;
+                    }
+                }
+            }
+            if (rows.get(codecs + RateDistortion.MAX_BITS - 1).report.rmse[0]
+                    >= rows.get(codecs).report.rmse[0]) {
+                return false;
+            }
+
+            StringWriter csv = new StringWriter();
+            RateDistortion.writeCsv(rows, csv);
+            String[] lines = csv.toString().split("\n");
+            if (lines.length != rows.size() + 1 ||
+                !lines[0].startsWith("codec,bits,")) {
+                return false;
+            }
+            for (int i = 1; i < lines.length; i++) {
+                if (lines[i].split(",").length != 14 ||
+                    !lines[i].startsWith(rows.get(i - 1).codec + ",")) {
+                    return false;
+                }
+            }
+            return lines[lines.length - 1].startsWith(
+                    RateDistortion.QUANTIZED + "," + RateDistortion.MAX_BITS +
+                    ",");
+        }
     };
 
     /**
@@ -130,7 +1977,7 @@ public enum BitIOTest {
      * A {@link java.io.ByteArrayOutputStream} used as a bridge between
      * {@link #reader} and {@link #writer} for testing purposes.
      */
-    private ByteArrayOutputStream byteOut;
+    protected ByteArrayOutputStream byteOut;
 
     /**
      * Sets up {@link #writer} for general IO testing. This must be called
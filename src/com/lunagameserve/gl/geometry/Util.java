@@ -9,15 +9,31 @@ public class Util {
     }
 
     public static float[] quaternionToEuclidean(float[] q) {
-        return new float[] {
-                (float)(Math.atan2(2 * (q[0] * q[1] + q[2] * q[3]),
-                                  1 - 2 * (q[1] * q[1] + q[2] * q[2])) +
-                                  Math.PI),
-                (float)(Math.asin(2 * (q[0] * q[2] - q[3] * q[1])) +
-                        Math.PI),
-                (float)(Math.atan2(2 * (q[0] * q[3] + q[1] * q[2]),
-                                  1 - 2 * (q[2] * q[2] + q[3] * q[3])) +
-                                  Math.PI)
-        };
+        float[] eulers = new float[3];
+        quaternionToEuclidean(q, 0, eulers);
+        return eulers;
+    }
+
+    /**
+     * Converts a quaternion to Euler angles without allocating.
+     *
+     * @param q The array holding the quaternion.
+     *
+     * @param off The index in {@code q} of the quaternion's first value.
+     *
+     * @param dst The array to write the three angles into.
+     */
+    public static void quaternionToEuclidean(float[] q, int off, float[] dst) {
+        float q0 = q[off];
+        float q1 = q[off + 1];
+        float q2 = q[off + 2];
+        float q3 = q[off + 3];
+        dst[0] = (float)(Math.atan2(2 * (q0 * q1 + q2 * q3),
+                                    1 - 2 * (q1 * q1 + q2 * q2)) +
+                         Math.PI);
+        dst[1] = (float)(Math.asin(2 * (q0 * q2 - q3 * q1)) + Math.PI);
+        dst[2] = (float)(Math.atan2(2 * (q0 * q3 + q1 * q2),
+                                    1 - 2 * (q2 * q2 + q3 * q3)) +
+                         Math.PI);
     }
 }
@@ -0,0 +1,484 @@
+package com.lunagameserve.light;
+
+import com.lunagameserve.compression.CodecMetrics;
+import com.lunagameserve.compression.CodecOptions;
+import com.lunagameserve.compression.FloatSeries;
+import com.lunagameserve.compression.FrameReader;
+import com.lunagameserve.compression.FrameWriter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.EnumSet;
+
+/**
+ * Compresses a {@link com.lunagameserve.compression.FloatSeries} of light
+ * samples block by block, choosing the
+ * {@link com.lunagameserve.light.LightCompressor} which suits each block
+ * best.
+ * <p>
+ *     Compressors are chosen just as by
+ *     {@link com.lunagameserve.acceleration.AccelerationAdaptiveEncoder}:
+ *     the first {@code trialSize} samples of a block are encoded with the
+ *     candidates, and the smallest within {@code maxError} and
+ *     {@code maxNanosPerSample} writes the block. Every candidate is only
+ *     trialled every {@link #FULL_TRIAL_INTERVAL} blocks, and the
+ *     {@link #SHORTLIST_SIZE} best in between. Each block is a frame
+ *     holding the ordinal of the chosen compressor in one byte, followed by
+ *     that compressor's output.
+ * </p>
+ * <p>
+ *     By default only {@link #losslessCandidates()} are chosen from, so
+ *     every sample reads back exactly. Trials and blocks are not recorded
+ *     in the {@link com.lunagameserve.compression.CodecMetrics} of each
+ *     candidate.
+ * </p>
+ * <p>
+ *     A {@link LightAdaptiveEncoder} reuses its buffers between calls, so
+ *     should be used by one thread at a time.
+ * </p>
+ *
+ * @author Six
+ * @since October 17, 2026
+ * @see com.lunagameserve.light.LightCompressor#Adaptive
+ */
+public class LightAdaptiveEncoder {
+
+    /**
+     * The number of samples in each block, unless told otherwise.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 256;
+
+    /**
+     * The number of samples of each block trial-encoded, unless told
+     * otherwise.
+     */
+    public static final int DEFAULT_TRIAL_SIZE = 64;
+
+    /**
+     * The number of blocks from one trial of every candidate to the next.
+     */
+    public static final int FULL_TRIAL_INTERVAL = 16;
+
+    /**
+     * The number of the best candidates of the last full trial which are
+     * trialled again for each block in between.
+     */
+    public static final int SHORTLIST_SIZE = 3;
+
+    /**
+     * The compressors which may be chosen.
+     */
+    private final LightCompressor[] candidates;
+
+    /**
+     * The number of samples in each block.
+     */
+    private final int blockSize;
+
+    /**
+     * The number of samples of each block trial-encoded.
+     */
+    private final int trialSize;
+
+    /**
+     * The largest absolute error allowed.
+     */
+    private final float maxError;
+
+    /**
+     * The largest mean encode cost, in nanoseconds per sample, allowed.
+     */
+    private final double maxNanosPerSample;
+
+    /**
+     * The number of blocks each compressor has been chosen for, by ordinal.
+     */
+    private final long[] choices = new long[LightCompressor.values().length];
+
+    /**
+     * The samples of the block being written.
+     */
+    private final FloatSeries block = new FloatSeries();
+
+    /**
+     * The samples of the block being trial-encoded.
+     */
+    private final FloatSeries trial = new FloatSeries();
+
+    /**
+     * The decoded trial or block, for measuring error.
+     */
+    private final FloatSeries decoded = new FloatSeries();
+
+    /**
+     * The trial encoding of a single candidate.
+     */
+    private final ByteArrayOutputStream trialBytes =
+            new ByteArrayOutputStream();
+
+    /**
+     * The candidates, by index, in the order they will be tried for the
+     * block being written.
+     */
+    private final int[] order;
+
+    /**
+     * The size of each candidate's trial encoding.
+     */
+    private final int[] sizes;
+
+    /**
+     * The largest error of each candidate's trial encoding.
+     */
+    private final double[] errors;
+
+    /**
+     * The mean encode cost of each candidate, in nanoseconds per sample.
+     */
+    private final double[] costs;
+
+    /**
+     * The cost of every trial encode of each candidate, kept apart from the
+     * {@link com.lunagameserve.compression.CodecMetrics} of the candidate
+     * itself.
+     */
+    private final CodecMetrics[] trialMetrics;
+
+    /**
+     * How each candidate fits the bounds: {@code 0} within both,
+     * {@code 1} within the error bound only, {@code 2} within neither.
+     */
+    private final int[] groups;
+
+    /**
+     * The group of the best candidate of the last full trial.
+     */
+    private int bestGroup;
+
+    /**
+     * The frame being written.
+     */
+    private final ByteArrayOutputStream frame = new ByteArrayOutputStream();
+
+    /**
+     * Constructs a new {@link LightAdaptiveEncoder} which may choose any of
+     * the {@link #losslessCandidates()}, with no CPU budget.
+     */
+    public LightAdaptiveEncoder() {
+        this(losslessCandidates(), DEFAULT_BLOCK_SIZE, DEFAULT_TRIAL_SIZE,
+             Float.POSITIVE_INFINITY, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Constructs a new {@link LightAdaptiveEncoder}.
+     *
+     * @param candidates The compressors which may be chosen. This may not
+     *                   include {@link LightCompressor#Adaptive}.
+     *
+     * @param blockSize The number of samples in each block.
+     *
+     * @param trialSize The number of samples of each block to trial-encode.
+     *
+     * @param maxError The largest absolute error allowed, or
+     *                 {@link Float#POSITIVE_INFINITY} for no bound, which
+     *                 should only be given with lossless candidates.
+     *
+     * @param maxNanosPerSample The largest mean encode cost allowed, in
+     *                          nanoseconds per sample, or
+     *                          {@link Double#POSITIVE_INFINITY} for no
+     *                          budget.
+     *
+     * @throws IllegalArgumentException If {@code candidates} is empty or
+     *                                  includes
+     *                                  {@link LightCompressor#Adaptive}, or
+     *                                  a size is not positive.
+     */
+    public LightAdaptiveEncoder(EnumSet<LightCompressor> candidates,
+                                int blockSize, int trialSize, float maxError,
+                                double maxNanosPerSample) {
+        if (candidates.isEmpty() ||
+            candidates.contains(LightCompressor.Adaptive)) {
+            throw new IllegalArgumentException(
+                    "Candidates must be non-empty and not Adaptive.");
+        }
+        if (blockSize <= 0 || trialSize <= 0) {
+            throw new IllegalArgumentException(
+                    "Block and trial sizes must be positive.");
+        }
+        this.candidates =
+                candidates.toArray(new LightCompressor[candidates.size()]);
+        this.blockSize = blockSize;
+        this.trialSize = Math.min(trialSize, blockSize);
+        this.maxError = maxError;
+        this.maxNanosPerSample = maxNanosPerSample;
+
+        int n = this.candidates.length;
+        this.order = new int[n];
+        this.sizes = new int[n];
+        this.errors = new double[n];
+        this.costs = new double[n];
+        this.groups = new int[n];
+        this.trialMetrics = new CodecMetrics[n];
+        for (int i = 0; i < n; i++) {
+            this.trialMetrics[i] = new CodecMetrics();
+        }
+    }
+
+    /**
+     * Gets the compressors which read back exactly the samples they were
+     * given, which a default {@link LightAdaptiveEncoder} chooses among.
+     *
+     * @return A new set of the lossless compressors, which may be changed.
+     */
+    public static EnumSet<LightCompressor> losslessCandidates() {
+        return EnumSet.of(LightCompressor.Uncompressed,
+                          LightCompressor.StandardGZip,
+                          LightCompressor.GorillaXor,
+                          LightCompressor.LinearPrediction);
+    }
+
+    /**
+     * Writes every sample of a
+     * {@link com.lunagameserve.compression.FloatSeries}, block by block
+     * with {@link CodecOptions#DEFAULT}, then the end of stream marker.
+     * Like every {@link com.lunagameserve.light.LightCompressor}, this
+     * closes {@code out} when done.
+     *
+     * @param out The {@link java.io.OutputStream} to write to.
+     *
+     * @param points The samples to write.
+     *
+     * @throws IOException If {@code out} cannot be written to for any
+     *                     reason.
+     */
+    public void write(OutputStream out, FloatSeries points)
+            throws IOException {
+        write(out, points, CodecOptions.DEFAULT);
+    }
+
+    /**
+     * Writes every sample of a
+     * {@link com.lunagameserve.compression.FloatSeries}, block by block,
+     * then the end of stream marker. Like every
+     * {@link com.lunagameserve.light.LightCompressor}, this closes
+     * {@code out} when done.
+     *
+     * @param out The {@link java.io.OutputStream} to write to.
+     *
+     * @param points The samples to write.
+     *
+     * @param options The settings to write every block with.
+     *
+     * @throws IOException If {@code out} cannot be written to for any
+     *                     reason.
+     */
+    public void write(OutputStream out, FloatSeries points,
+                      CodecOptions options) throws IOException {
+        FrameWriter frames = new FrameWriter(out);
+        for (int start = 0; start < points.size(); start += blockSize) {
+            int len = Math.min(blockSize, points.size() - start);
+            copy(points, start, len, block);
+            copy(points, start, Math.min(trialSize, len), trial);
+
+            if (start / blockSize % FULL_TRIAL_INTERVAL == 0 ||
+                rank(SHORTLIST_SIZE, options) > bestGroup) {
+                bestGroup = rank(candidates.length, options);
+            }
+            LightCompressor chosen = null;
+            for (int r = 0; chosen == null; r++) {
+                LightCompressor c = candidates[order[r]];
+                frame.reset();
+                frame.write(c.ordinal());
+                c.encode(frame, block, options);
+                if (r == order.length - 1 || verify(c)) {
+                    chosen = c;
+                }
+            }
+            choices[chosen.ordinal()]++;
+            frames.writeFrame(frame);
+        }
+        frames.close();
+    }
+
+    /**
+     * Gets the number of blocks a compressor has been chosen for by this
+     * {@link LightAdaptiveEncoder}.
+     *
+     * @param compressor The compressor to count.
+     *
+     * @return The number of blocks {@code compressor} has written.
+     */
+    public long getChoiceCount(LightCompressor compressor) {
+        return choices[compressor.ordinal()];
+    }
+
+    /**
+     * Reads every block written by
+     * {@link #write(OutputStream, FloatSeries)}, appending its samples.
+     *
+     * @param in The {@link java.io.InputStream} to read from.
+     *
+     * @param lightPoints The samples to append to.
+     *
+     * @throws IOException If {@code in} cannot be read from, or names a
+     *                     compressor which does not exist.
+     */
+    public static void read(InputStream in, FloatSeries lightPoints)
+            throws IOException {
+        LightCompressor[] all = LightCompressor.values();
+        FrameReader frames = new FrameReader(in);
+        FloatSeries decoded = new FloatSeries();
+        int len;
+        while ((len = frames.readFrame()) >= 0) {
+            int ordinal = frames.frame()[0] & 0xFF;
+            if (ordinal >= all.length ||
+                all[ordinal] == LightCompressor.Adaptive) {
+                throw new IOException("Unknown compressor: " + ordinal);
+            }
+            all[ordinal].decode(
+                    new ByteArrayInputStream(frames.frame(), 1, len - 1),
+                    decoded);
+            lightPoints.addAll(decoded);
+        }
+    }
+
+    /**
+     * Trial-encodes {@link #trial} with the first candidates of
+     * {@link #order}, and sorts them into the order they should be tried
+     * in: those within both bounds, smallest first, then those within the
+     * error bound, cheapest first, then the rest, most accurate first. The
+     * candidates after them keep their place from an earlier trial.
+     *
+     * @param count The number of candidates to trial. If this is every
+     *              candidate, {@link #order} is filled afresh.
+     *
+     * @param options The settings to write each trial with.
+     *
+     * @return The group of the best candidate trialled.
+     *
+     * @throws IOException Never, as only in-memory streams are used.
+     */
+    private int rank(int count, CodecOptions options) throws IOException {
+        boolean full = count >= candidates.length;
+        count = Math.min(count, candidates.length);
+        for (int r = 0; r < count; r++) {
+            int i = full ? r : order[r];
+            LightCompressor c = candidates[i];
+            trialBytes.reset();
+            long startNanos = System.nanoTime();
+            c.encode(trialBytes, trial, options);
+            trialMetrics[i].recordEncode(startNanos, -1L, trial.size() * 4L,
+                                         trialBytes.size(), trial.size(),
+                                         false);
+            sizes[i] = trialBytes.size();
+            if (maxError == Float.POSITIVE_INFINITY) {
+                errors[i] = 0.0;
+            } else {
+                c.decode(new ByteArrayInputStream(trialBytes.toByteArray()),
+                         decoded);
+                errors[i] = error(trial, decoded);
+            }
+            costs[i] = trialMetrics[i].encodeNanosPerSample();
+            groups[i] = !(errors[i] <= maxError) ? 2
+                      : costs[i] <= maxNanosPerSample ? 0 : 1;
+
+            /* Insertion sort; there are only a handful of candidates. */
+            int j = r;
+            while (j > 0 && before(i, order[j - 1])) {
+                order[j] = order[j - 1];
+                j--;
+            }
+            order[j] = i;
+        }
+        return groups[order[0]];
+    }
+
+    /**
+     * Compares two candidates by the order they should be tried in.
+     *
+     * @param a The index of one candidate.
+     *
+     * @param b The index of another candidate.
+     *
+     * @return {@code true} if {@code a} should be tried before {@code b}.
+     */
+    private boolean before(int a, int b) {
+        if (groups[a] != groups[b]) {
+            return groups[a] < groups[b];
+        }
+        switch (groups[a]) {
+            case 0: return sizes[a] < sizes[b];
+            case 1: return costs[a] < costs[b];
+            default:
+                /* NaN errors sort last. */
+                return errors[a] < errors[b] ||
+                       (Double.isNaN(errors[b]) && !Double.isNaN(errors[a]));
+        }
+    }
+
+    /**
+     * Checks that the block just written into {@link #frame} is within the
+     * error bound. The trial only covers the start of a block, so a block
+     * which changes partway through may not be.
+     *
+     * @param c The compressor the block was written with.
+     *
+     * @return {@code true} if there is no error bound, or the block is
+     *         within it.
+     *
+     * @throws IOException Never, as only in-memory streams are used.
+     */
+    private boolean verify(LightCompressor c) throws IOException {
+        if (maxError == Float.POSITIVE_INFINITY) {
+            return true;
+        }
+        byte[] bytes = frame.toByteArray();
+        c.decode(new ByteArrayInputStream(bytes, 1, bytes.length - 1),
+                 decoded);
+        return error(block, decoded) <= maxError;
+    }
+
+    /**
+     * Gets the largest absolute error between some samples and their
+     * decoded values.
+     *
+     * @param original The samples which were written.
+     *
+     * @param decoded The values which were read back.
+     *
+     * @return The largest error, or {@code NaN}, which no bound accepts, if
+     *         any sample was not read back or was read back as {@code NaN}.
+     */
+    private static double error(FloatSeries original, FloatSeries decoded) {
+        if (decoded.size() < original.size()) {
+            return Double.NaN;
+        }
+        double max = 0.0;
+        for (int i = 0; i < original.size(); i++) {
+            max = Math.max(max, Math.abs(original.get(i) - decoded.get(i)));
+        }
+        return max;
+    }
+
+    /**
+     * Replaces the contents of a series with a run of samples from another.
+     *
+     * @param src The series to copy from.
+     *
+     * @param off The index in {@code src} of the first sample to copy.
+     *
+     * @param len The number of samples to copy.
+     *
+     * @param dst The series to copy into, which is cleared first.
+     */
+    private static void copy(FloatSeries src, int off, int len,
+                             FloatSeries dst) {
+        dst.clear();
+        for (int i = off; i < off + len; i++) {
+            dst.add(src.get(i));
+        }
+    }
+}
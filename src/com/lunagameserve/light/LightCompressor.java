@@ -3,77 +3,104 @@ package com.lunagameserve.light;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
-import com.lunagameserve.acceleration.AccelerationCollection;
 import com.lunagameserve.compression.*;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.util.ArrayList;
 import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
 
 /**
  * Created by sixstring982 on 4/8/15.
  */
-public enum LightCompressor {
+public enum LightCompressor
+        implements Compressor<FloatSeries, FloatSeries> {
     Uncompressed {
         @Override
-        public void write(OutputStream out, ArrayList<Float> collection)
+        protected void encode(OutputStream out, FloatSeries collection,
+                              CodecOptions options)
                 throws IOException {
             ByteWriter writer = new ByteWriter(out);
-            for (Float f : collection) {
-                writer.writeFloat(f);
-            }
+            writer.writeInt(collection.size());
+            collection.writeTo(writer);
             writer.close();
         }
 
         @Override
-        public void read(InputStream in) throws IOException {
-            super.read(in);
+        protected void decode(InputStream in, FloatSeries lightPoints)
+                throws IOException {
+            super.decode(in, lightPoints);
             ByteReader reader = new ByteReader(in);
-            while (in.available() > 0) {
-                lightPoints.add(reader.readFloat());
-            }
+            lightPoints.readFrom(reader, reader.readInt());
             in.close();
         }
     },
     StandardGZip {
         @Override
-        public void write(OutputStream out, ArrayList<Float> collection)
+        protected void encode(OutputStream out, FloatSeries collection,
+                              CodecOptions options)
                 throws IOException {
-            GZIPOutputStream gz = new GZIPOutputStream(out);
+            OutputStream gz = options.deflateMode().open(out);
             ByteWriter writer = new ByteWriter(gz);
-            for (Float f : collection) {
-                writer.writeFloat(f);
-            }
+            writer.writeInt(collection.size());
+            collection.writeTo(writer);
             writer.close();
         }
 
         @Override
-        public void read(InputStream in) throws IOException {
-            super.read(in);
-            GZIPInputStream gz = new GZIPInputStream(in);
+        protected void decode(InputStream in, FloatSeries lightPoints)
+                throws IOException {
+            super.decode(in, lightPoints);
+            InputStream gz = new GZIPInputStream(in);
             ByteReader reader = new ByteReader(gz);
-            while (gz.available() > 0) {
-                lightPoints.add(reader.readFloat());
+            lightPoints.readFrom(reader, reader.readInt());
+            reader.close();
+        }
+    },
+    GorillaXor {
+        @Override
+        protected void encode(OutputStream out, FloatSeries collection,
+                              CodecOptions options)
+                throws IOException {
+            BitWriter bwrite = new BitWriter(out);
+            ByteWriter writer = new ByteWriter(bwrite);
+            writer.writeInt(collection.size());
+
+            XorFloatWriter xor = new XorFloatWriter(bwrite);
+            for (int i = 0; i < collection.size(); i++) {
+                xor.writeFloat(collection.get(i));
+            }
+            writer.close();
+        }
+
+        @Override
+        protected void decode(InputStream in, FloatSeries lightPoints)
+                throws IOException {
+            super.decode(in, lightPoints);
+            BitReader bread = new BitReader(in);
+            ByteReader reader = new ByteReader(bread);
+            int size = reader.readInt();
+
+            XorFloatReader xor = new XorFloatReader(bread);
+            for (int i = 0; i < size; i++) {
+                lightPoints.add(xor.readFloat());
             }
             reader.close();
         }
     },
     NybbleDownsampling {
 
-        private final int NYBBLE_SIZE = 3;
-
         @Override
-        public void write(OutputStream out, ArrayList<Float> collection)
+        protected void encode(OutputStream out, FloatSeries collection,
+                              CodecOptions options)
                 throws IOException {
             BitWriter bwrite = new BitWriter(out);
             ByteWriter writer = new ByteWriter(bwrite);
 
-            float min = minPoint(collection);
-            float max = maxPoint(collection);
+            float min = collection.min();
+            float max = collection.max();
             float binSize =
                     /* Need to add 0.001f for weird lossy rounding error,
                      * shouldn't make a difference */
@@ -81,9 +108,10 @@ public enum LightCompressor {
 
             writer.writeFloat(min);
             writer.writeFloat(max);
+            writer.writeInt(collection.size());
 
-            for (Float f : collection) {
-                int val = (int)((f - min) / binSize);
+            for (int i = 0; i < collection.size(); i++) {
+                int val = (int)((collection.get(i) - min) / binSize);
                 bwrite.writeBits(val, NYBBLE_SIZE);
 
             }
@@ -91,17 +119,19 @@ public enum LightCompressor {
         }
 
         @Override
-        public void read(InputStream in) throws IOException {
-            super.read(in);
+        protected void decode(InputStream in, FloatSeries lightPoints)
+                throws IOException {
+            super.decode(in, lightPoints);
             BitReader bread = new BitReader(in);
             ByteReader reader = new ByteReader(bread);
 
             float min = reader.readFloat();
             float max = reader.readFloat();
             float binSize = (float)((max - min) / Math.pow(2, NYBBLE_SIZE));
+            int size = reader.readInt();
 
-            while (in.available() > 0) {
-                int bin = bread.readBits(NYBBLE_SIZE);
+            for (int i = 0; i < size; i++) {
+                int bin = (int)bread.readLongBits(NYBBLE_SIZE);
                 lightPoints.add((bin * binSize) + min);
             }
 
@@ -110,17 +140,16 @@ public enum LightCompressor {
     },
     NybbleDownsamplingGZIP {
 
-        private final int NYBBLE_SIZE = 3;
-
         @Override
-        public void write(OutputStream out, ArrayList<Float> collection)
+        protected void encode(OutputStream out, FloatSeries collection,
+                              CodecOptions options)
                 throws IOException {
-            GZIPOutputStream gz = new GZIPOutputStream(out);
+            OutputStream gz = options.deflateMode().open(out);
             BitWriter bwrite = new BitWriter(gz);
             ByteWriter writer = new ByteWriter(bwrite);
 
-            float min = minPoint(collection);
-            float max = maxPoint(collection);
+            float min = collection.min();
+            float max = collection.max();
             float binSize =
                     /* Need to add 0.001f for weird lossy rounding error,
                      * shouldn't make a difference */
@@ -128,9 +157,10 @@ public enum LightCompressor {
 
             writer.writeFloat(min);
             writer.writeFloat(max);
+            writer.writeInt(collection.size());
 
-            for (Float f : collection) {
-                int val = (int)((f - min) / binSize);
+            for (int i = 0; i < collection.size(); i++) {
+                int val = (int)((collection.get(i) - min) / binSize);
                 bwrite.writeBits(val, NYBBLE_SIZE);
 
             }
@@ -138,41 +168,407 @@ public enum LightCompressor {
         }
 
         @Override
-        public void read(InputStream in) throws IOException {
-            super.read(in);
-            GZIPInputStream gz = new GZIPInputStream(in);
+        protected void decode(InputStream in, FloatSeries lightPoints)
+                throws IOException {
+            super.decode(in, lightPoints);
+            InputStream gz = new GZIPInputStream(in);
             BitReader bread = new BitReader(gz);
             ByteReader reader = new ByteReader(bread);
 
             float min = reader.readFloat();
             float max = reader.readFloat();
             float binSize = (float)((max - min) / Math.pow(2, NYBBLE_SIZE));
+            int size = reader.readInt();
+
+            for (int i = 0; i < size; i++) {
+                int bin = (int)bread.readLongBits(NYBBLE_SIZE);
+                lightPoints.add((bin * binSize) + min);
+            }
+
+            reader.close();
+        }
+    },
+    /**
+     * A {@link LightCompressor} which splits samples into blocks and writes
+     * each with whichever lossless compressor suits it best, as chosen by a
+     * default {@link com.lunagameserve.light.LightAdaptiveEncoder}.
+     */
+    Adaptive {
+
+        /** {@inheritDoc} */
+        @Override
+        protected void encode(OutputStream out, FloatSeries collection,
+                              CodecOptions options)
+                throws IOException {
+            new LightAdaptiveEncoder().write(out, collection, options);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void decode(InputStream in, FloatSeries lightPoints)
+                throws IOException {
+            super.decode(in, lightPoints);
+            LightAdaptiveEncoder.read(in, lightPoints);
+        }
+    },
+    /**
+     * A {@link LightCompressor} which quantizes each sample like
+     * {@link #NybbleDownsampling}, but writes the zig-zag encoded difference
+     * from the previous sample as a varint of single bits, so an unchanged
+     * sample costs two bits.
+     */
+    NybbleDownsamplingDelta {
+
+        /** {@inheritDoc} */
+        @Override
+        protected void encode(OutputStream out, FloatSeries collection,
+                              CodecOptions options)
+                throws IOException {
+            BitWriter bwrite = new BitWriter(out);
+            ByteWriter writer = new ByteWriter(bwrite);
+
+            float min = collection.min();
+            float max = collection.max();
+            float binSize =
+                    /* The same rounding allowance as NybbleDownsampling */
+                    (float)((max - min) / Math.pow(2, NYBBLE_SIZE)) + 0.001f;
+
+            writer.writeFloat(min);
+            writer.writeFloat(max);
+            writer.writeInt(collection.size());
+
+            ZigZagDeltaWriter deltas = new ZigZagDeltaWriter(bwrite, 1);
+            for (int i = 0; i < collection.size(); i++) {
+                deltas.writeInt((int)((collection.get(i) - min) / binSize));
+            }
+            writer.close();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void decode(InputStream in, FloatSeries lightPoints)
+                throws IOException {
+            super.decode(in, lightPoints);
+            BitReader bread = new BitReader(in);
+            ByteReader reader = new ByteReader(bread);
+
+            float min = reader.readFloat();
+            float max = reader.readFloat();
+            float binSize = (float)((max - min) / Math.pow(2, NYBBLE_SIZE));
+            int size = reader.readInt();
+
+            ZigZagDeltaReader deltas = new ZigZagDeltaReader(bread, 1);
+            for (int i = 0; i < size; i++) {
+                lightPoints.add((deltas.readInt() * binSize) + min);
+            }
+
+            reader.close();
+        }
+    },
+    /**
+     * A {@link LightCompressor} which quantizes each sample like
+     * {@link #NybbleDownsampling}, then codes the zig-zag encoded difference
+     * from the previous sample with a
+     * {@link com.lunagameserve.compression.RansWriter} instead of GZIP.
+     */
+    NybbleDownsamplingRans {
+
+        /**
+         * The alphabet of the samples, which holds every zig-zag encoded
+         * difference between two nybble values.
+         */
+        private static final int ALPHABET = 2 << NYBBLE_SIZE;
+
+        /** {@inheritDoc} */
+        @Override
+        protected void encode(OutputStream out, FloatSeries collection,
+                              CodecOptions options)
+                throws IOException {
+            BitWriter bwrite = new BitWriter(out);
+            ByteWriter writer = new ByteWriter(bwrite);
+
+            float min = collection.min();
+            float max = collection.max();
+            float binSize =
+                    /* The same rounding allowance as NybbleDownsampling */
+                    (float)((max - min) / Math.pow(2, NYBBLE_SIZE)) + 0.001f;
+
+            writer.writeFloat(min);
+            writer.writeFloat(max);
+            writer.writeInt(collection.size());
+
+            RansWriter rans = new RansWriter(bwrite, ALPHABET);
+            int previous = 0;
+            for (int i = 0; i < collection.size(); i++) {
+                int val = (int)((collection.get(i) - min) / binSize);
+                rans.writeSymbol(0, ZigZagDeltaWriter.zigZag(val - previous));
+                previous = val;
+            }
+            rans.finish();
+            writer.close();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void decode(InputStream in, FloatSeries lightPoints)
+                throws IOException {
+            super.decode(in, lightPoints);
+            BitReader bread = new BitReader(in);
+            ByteReader reader = new ByteReader(bread);
+
+            float min = reader.readFloat();
+            float max = reader.readFloat();
+            float binSize = (float)((max - min) / Math.pow(2, NYBBLE_SIZE));
+            int size = reader.readInt();
 
-            while (gz.available() > 0) {
-                int bin = bread.readBits(NYBBLE_SIZE);
+            RansReader rans = new RansReader(bread, ALPHABET);
+            int bin = 0;
+            for (int i = 0; i < size; i++) {
+                bin += ZigZagDeltaReader.unZigZag(rans.readSymbol(0));
                 lightPoints.add((bin * binSize) + min);
             }
 
+            reader.close();
+        }
+    },
+    /**
+     * A lossless {@link LightCompressor} which predicts each value from the
+     * values before it with a per-block linear predictor, and Rice codes the
+     * prediction error, through a
+     * {@link com.lunagameserve.compression.LinearPredictionWriter}.
+     */
+    LinearPrediction {
+
+        /** {@inheritDoc} */
+        @Override
+        protected void encode(OutputStream out, FloatSeries collection,
+                              CodecOptions options)
+                throws IOException {
+            BitWriter bwrite = new BitWriter(out);
+            ByteWriter writer = new ByteWriter(bwrite);
+            writer.writeInt(collection.size());
+
+            LinearPredictionWriter lpc = new LinearPredictionWriter(bwrite);
+            int blockSize = LinearPredictionWriter.BLOCK_SIZE;
+            float[] block = new float[blockSize];
+            for (int start = 0; start < collection.size();
+                 start += blockSize) {
+                int count = Math.min(blockSize, collection.size() - start);
+                collection.copyTo(start, block, 0, count);
+                lpc.writeBlock(block, count);
+            }
+            writer.close();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void decode(InputStream in, FloatSeries lightPoints)
+                throws IOException {
+            super.decode(in, lightPoints);
+            BitReader bread = new BitReader(in);
+            ByteReader reader = new ByteReader(bread);
+            int size = reader.readInt();
+
+            LinearPredictionReader lpc = new LinearPredictionReader(bread);
+            int blockSize = LinearPredictionWriter.BLOCK_SIZE;
+            float[] block = new float[blockSize];
+            for (int start = 0; start < size; start += blockSize) {
+                int count = Math.min(blockSize, size - start);
+                lpc.readBlock(block, count);
+                lightPoints.addAll(block, 0, count);
+            }
+            reader.close();
+        }
+    },
+    /**
+     * A {@link LightCompressor} which quantizes each value with a
+     * {@link com.lunagameserve.compression.Quantizer} fitted to the range of
+     * the values, as chosen by
+     * {@link com.lunagameserve.compression.CodecOptions#quantization(int)},
+     * and writes the quantizer as a header so that any stream can be read
+     * without knowing how it was configured. The levels are then coded with
+     * an adaptive range coder through a
+     * {@link com.lunagameserve.compression.ContextModel}.
+     */
+    Quantized {
+
+        /** {@inheritDoc} */
+        @Override
+        protected void encode(OutputStream out, FloatSeries collection,
+                              CodecOptions options)
+                throws IOException {
+            Quantizer quantizer = options.quantization(0).fit(
+                    collection.min(), collection.max());
+            BitWriter bwrite = new BitWriter(out);
+            ByteWriter writer = new ByteWriter(bwrite);
+            writer.writeInt(collection.size());
+            quantizer.writeTo(writer);
+
+            RangeEncoder encoder = new RangeEncoder(bwrite);
+            ContextModel model = new ContextModel(1);
+            for (int i = 0; i < collection.size(); i++) {
+                model.write(encoder, 0, quantizer.quantize(collection.get(i)));
+            }
+            encoder.finish();
+            writer.close();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void decode(InputStream in, FloatSeries lightPoints)
+                throws IOException {
+            super.decode(in, lightPoints);
+            BitReader bread = new BitReader(in);
+            ByteReader reader = new ByteReader(bread);
+            int size = reader.readInt();
+            Quantizer quantizer = Quantizer.readFrom(reader);
+
+            RangeDecoder decoder = new RangeDecoder(bread);
+            ContextModel model = new ContextModel(1);
+            for (int i = 0; i < size; i++) {
+                lightPoints.add(quantizer.dequantize(model.read(decoder, 0)));
+            }
+            decoder.finish();
             reader.close();
         }
     };
 
-    protected ArrayList<Float> lightPoints = new ArrayList<Float>();
+    /**
+     * The size of the "nybble" written by the nybble compression
+     * algorithms.
+     */
+    protected static final int NYBBLE_SIZE = 3;
+
+    /**
+     * The cost of every encode and decode done by this
+     * {@link LightCompressor}.
+     */
+    private final CodecMetrics metrics = new CodecMetrics();
+
+    /**
+     * Compresses a {@link com.lunagameserve.compression.FloatSeries} with
+     * {@link CodecOptions#DEFAULT}, and records its cost in
+     * {@link #metrics()}.
+     *
+     * @param out The {@link java.io.OutputStream} to write to.
+     *
+     * @param collection The values to compress.
+     *
+     * @throws IOException If {@code out} cannot be written to for any
+     *                     reason.
+     */
+    @Override
+    public final void write(OutputStream out, FloatSeries collection)
+            throws IOException {
+        write(out, collection, CodecOptions.DEFAULT);
+    }
+
+    /**
+     * Compresses a {@link com.lunagameserve.compression.FloatSeries} with
+     * {@link #encode(OutputStream, FloatSeries, CodecOptions)}, and records
+     * its cost in {@link #metrics()}. This may be called from any number of
+     * threads at once, each with its own settings.
+     *
+     * @param out The {@link java.io.OutputStream} to write to.
+     *
+     * @param collection The values to compress.
+     *
+     * @param options The settings to write with.
+     *
+     * @throws IOException If {@code out} cannot be written to for any
+     *                     reason.
+     */
+    public final void write(OutputStream out, FloatSeries collection,
+                            CodecOptions options) throws IOException {
+        long startNanos = System.nanoTime();
+        long startAllocated = CodecMetrics.allocatedBytes();
+        CountedOutputStream counted = new CountedOutputStream(out);
+        boolean failed = true;
+        try {
+            encode(counted, collection, options);
+            failed = false;
+        } finally {
+            metrics.recordEncode(startNanos, startAllocated,
+                                 collection.size() * 4L, counted.count(),
+                                 collection.size(), failed);
+        }
+    }
+
+    /**
+     * Decompresses values written by
+     * {@link #write(java.io.OutputStream, FloatSeries)} with
+     * {@link #decode(java.io.InputStream, FloatSeries)}, and records its cost
+     * in {@link #metrics()}. This may be called from any number of threads
+     * at once, as long as each passes its own {@code dst}.
+     *
+     * @param in The {@link java.io.InputStream} to read from.
+     *
+     * @param dst The {@link com.lunagameserve.compression.FloatSeries} to
+     *            decode into. This is cleared first.
+     *
+     * @return {@code dst}.
+     *
+     * @throws IOException If {@code in} cannot be read from for any reason.
+     */
+    @Override
+    public final FloatSeries read(InputStream in, FloatSeries dst)
+            throws IOException {
+        long startNanos = System.nanoTime();
+        long startAllocated = CodecMetrics.allocatedBytes();
+        CountedInputStream counted = new CountedInputStream(in);
+        boolean failed = true;
+        try {
+            decode(counted, dst);
+            failed = false;
+        } finally {
+            metrics.recordDecode(startNanos, startAllocated, counted.count(),
+                                 dst.size() * 4L, dst.size(), failed);
+        }
+        return dst;
+    }
 
-    public abstract void write(OutputStream out,
-                               ArrayList<Float> collection) throws IOException;
+    /** {@inheritDoc} */
+    @Override
+    public CodecMetrics metrics() {
+        return metrics;
+    }
 
-    public void read(InputStream in) throws IOException {
+    /**
+     * Encodes values. {@link #write} calls this, and records its cost in
+     * {@link #metrics()}.
+     *
+     * @param out The {@link java.io.OutputStream} to write to.
+     *
+     * @param collection The values to encode.
+     *
+     * @param options The settings to write with.
+     *
+     * @throws IOException If {@code out} cannot be written to for any
+     *                     reason.
+     */
+    protected abstract void encode(OutputStream out, FloatSeries collection,
+                                   CodecOptions options) throws IOException;
+
+    /**
+     * Decodes values into an empty series. Overrides call this first, then
+     * append the values in order.
+     *
+     * @param in The {@link java.io.InputStream} to read from.
+     *
+     * @param lightPoints The values to append to. This is cleared here.
+     *
+     * @throws IOException If {@code in} cannot be read from for any reason.
+     */
+    protected void decode(InputStream in, FloatSeries lightPoints)
+            throws IOException {
         lightPoints.clear();
     }
 
-    public StreamStats ratio(ArrayList<Float> points) {
+    /** {@inheritDoc} */
+    @Override
+    public StreamStats ratio(FloatSeries points) throws IOException {
         ByteArrayOutputStream out = new ByteArrayOutputStream();
-        try {
-            write(out, points);
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        write(out, points);
 
         byte[] bytes = out.toByteArray();
 
@@ -180,33 +576,44 @@ public enum LightCompressor {
                 (double)bytes.length / (points.size() * 4), bytes.length);
     }
 
-    protected float maxPoint(ArrayList<Float> points) {
-        float max = points.get(0);
-        for (int i = 1; i < points.size(); i++) {
-            max = Math.max(points.get(i), max);
-        }
-        return max;
-    }
-
-    protected float minPoint(ArrayList<Float> points) {
-        float min = points.get(0);
-        for (int i = 1; i < points.size(); i++) {
-            min = Math.min(points.get(i), min);
-        }
-        return min;
+    /**
+     * Writes a {@link com.lunagameserve.compression.FloatSeries} with this
+     * {@link LightCompressor}, reads it back, and reports both the
+     * compressed size and the error.
+     *
+     * @param points The values to evaluate this compressor on.
+     *
+     * @return A single-channel
+     *         {@link com.lunagameserve.compression.QualityReport}.
+     *
+     * @throws IOException If {@code points} cannot be written or read back
+     *                     for any reason.
+     */
+    public QualityReport quality(FloatSeries points) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        write(out, points);
+        byte[] bytes = out.toByteArray();
+        FloatSeries decoded =
+                read(new ByteArrayInputStream(bytes), new FloatSeries());
+
+        double ratio = points.isEmpty() ? 0.0
+                : (double)bytes.length / (points.size() * 4);
+        return new QualityReport(new float[][] {points.toArray()},
+                                 new FloatSeries[] {decoded}, ratio,
+                                 bytes.length);
     }
 
-    protected float heightDelta(ArrayList<Float> points) {
-        return maxPoint(points) - minPoint(points);
+    protected float heightDelta(FloatSeries points) {
+        return points.max() - points.min();
     }
 
 
 
-    public void render(Canvas c, int color) {
+    public void render(Canvas c, FloatSeries lightPoints, int color) {
 
         float dx = ((float)c.getWidth()) / ((float)lightPoints.size());
         float dy = ((float) c.getHeight()) / (heightDelta(lightPoints));
-        float sy = minPoint(lightPoints);
+        float sy = lightPoints.min();
 
         Paint paint = new Paint();
         paint.setColor(color);
@@ -0,0 +1,85 @@
+package com.lunagameserve.light;
+
+import com.lunagameserve.compression.FloatSeries;
+import com.lunagameserve.compression.FrameReader;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Decodes a stream of frames written by a
+ * {@link com.lunagameserve.light.LightStreamEncoder}, one frame at a time.
+ *
+ * @author Six
+ * @since October 17, 2026
+ * @see com.lunagameserve.light.LightStreamEncoder
+ */
+public class LightStreamDecoder {
+
+    /**
+     * The {@link com.lunagameserve.light.LightCompressor} which each frame
+     * was compressed with.
+     */
+    private final LightCompressor compressor;
+
+    /**
+     * The {@link com.lunagameserve.compression.FrameReader} which frames are
+     * read through.
+     */
+    private final FrameReader frames;
+
+    /**
+     * The samples of the frame last decoded, reused for every frame.
+     */
+    private final FloatSeries decoded = new FloatSeries();
+
+    /**
+     * Constructs a new {@link com.lunagameserve.light.LightStreamDecoder}.
+     *
+     * @param compressor The {@link com.lunagameserve.light.LightCompressor}
+     *                   which each frame was compressed with.
+     *
+     * @param in The {@link java.io.InputStream} to read all frames from.
+     */
+    public LightStreamDecoder(LightCompressor compressor, InputStream in) {
+        this.compressor = compressor;
+        this.frames = new FrameReader(in);
+    }
+
+    /**
+     * Decodes the next frame of this stream, appending its samples to a
+     * {@link com.lunagameserve.compression.FloatSeries}.
+     *
+     * @param dst The {@link com.lunagameserve.compression.FloatSeries} to
+     *            append the decoded samples to.
+     *
+     * @return {@code true} if a frame was decoded, or {@code false} if the
+     *         end of the stream has been reached.
+     *
+     * @throws IOException If the underlying {@link java.io.InputStream}
+     *                     cannot be read from, or a frame cannot be decoded,
+     *                     for any reason.
+     */
+    public boolean readFrame(FloatSeries dst) throws IOException {
+        int len = frames.readFrame();
+        if (len < 0) {
+            return false;
+        }
+        compressor.read(new ByteArrayInputStream(frames.frame(), 0, len),
+                        decoded);
+        dst.addAll(decoded);
+        return true;
+    }
+
+    /**
+     * Closes this decoder, also closing its underlying
+     * {@link java.io.InputStream}.
+     *
+     * @throws IOException If the underlying {@link java.io.InputStream}
+     *                     cannot be closed for any reason.
+     */
+    public void close() throws IOException {
+        frames.close();
+    }
+}
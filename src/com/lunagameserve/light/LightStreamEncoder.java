@@ -0,0 +1,177 @@
+package com.lunagameserve.light;
+
+import com.lunagameserve.compression.FloatSeries;
+import com.lunagameserve.compression.FrameWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A push-style encoder which compresses light samples as they arrive, rather
+ * than needing a whole {@link com.lunagameserve.compression.FloatSeries} up
+ * front. Samples are held until {@code frameSize} of them have arrived, then
+ * compressed by a {@link com.lunagameserve.light.LightCompressor} and written
+ * through a {@link com.lunagameserve.compression.FrameWriter}, so that no
+ * more than one frame is ever held in memory.
+ *
+ * @author Six
+ * @since October 17, 2026
+ * @see com.lunagameserve.light.LightStreamDecoder
+ */
+public class LightStreamEncoder {
+
+    /**
+     * The number of samples held in a frame, unless told otherwise.
+     */
+    public static final int DEFAULT_FRAME_SIZE = 256;
+
+    /**
+     * The {@link com.lunagameserve.light.LightCompressor} used to compress
+     * each frame.
+     */
+    private final LightCompressor compressor;
+
+    /**
+     * The largest number of samples held in a single frame.
+     */
+    private final int frameSize;
+
+    /**
+     * The samples of the frame currently being filled. This is cleared, but
+     * never shrunk, each time a frame is written.
+     */
+    private final FloatSeries pending;
+
+    /**
+     * The buffer each frame is compressed into before being written.
+     */
+    private final ByteArrayOutputStream frameBytes =
+            new ByteArrayOutputStream();
+
+    /**
+     * The {@link com.lunagameserve.compression.FrameWriter} which frames are
+     * written through, or {@code null} if this encoder is not open.
+     */
+    private FrameWriter frames;
+
+    /**
+     * Constructs a new {@link com.lunagameserve.light.LightStreamEncoder}
+     * with frames of {@link #DEFAULT_FRAME_SIZE} samples.
+     *
+     * @param compressor The {@link com.lunagameserve.light.LightCompressor}
+     *                   used to compress each frame.
+     */
+    public LightStreamEncoder(LightCompressor compressor) {
+        this(compressor, DEFAULT_FRAME_SIZE);
+    }
+
+    /**
+     * Constructs a new {@link com.lunagameserve.light.LightStreamEncoder}.
+     *
+     * @param compressor The {@link com.lunagameserve.light.LightCompressor}
+     *                   used to compress each frame.
+     *
+     * @param frameSize The largest number of samples held in a single frame.
+     *
+     * @throws IllegalArgumentException if {@code frameSize} is not positive.
+     */
+    public LightStreamEncoder(LightCompressor compressor, int frameSize) {
+        if (frameSize < 1) {
+            throw new IllegalArgumentException("Frame size must be at least" +
+                                               " 1.");
+        }
+        this.compressor = compressor;
+        this.frameSize = frameSize;
+        this.pending = new FloatSeries(
+                Math.min(frameSize, DEFAULT_FRAME_SIZE));
+    }
+
+    /**
+     * Starts a new stream of frames.
+     *
+     * @param out The {@link java.io.OutputStream} to write all frames to.
+     *
+     * @throws IllegalStateException if this encoder is already open.
+     */
+    public void open(OutputStream out) {
+        if (frames != null) {
+            throw new IllegalStateException("Encoder is already open.");
+        }
+        frames = new FrameWriter(out);
+        pending.clear();
+    }
+
+    /**
+     * Appends a single sample to the frame being filled, writing the frame
+     * if it is now full.
+     *
+     * @param value The sample to append.
+     *
+     * @throws IOException If a frame cannot be written for any reason.
+     *
+     * @throws IllegalStateException if this encoder is not open.
+     */
+    public void append(float value) throws IOException {
+        checkOpen();
+        pending.add(value);
+        if (pending.size() >= frameSize) {
+            writeFrame();
+        }
+    }
+
+    /**
+     * Writes the frame being filled, however few samples it holds, and
+     * flushes the underlying {@link java.io.OutputStream}.
+     *
+     * @throws IOException If the frame cannot be written for any reason.
+     *
+     * @throws IllegalStateException if this encoder is not open.
+     */
+    public void flush() throws IOException {
+        checkOpen();
+        writeFrame();
+        frames.flush();
+    }
+
+    /**
+     * Writes the frame being filled and the end of stream marker, then
+     * closes the underlying {@link java.io.OutputStream}. This encoder may
+     * then be opened again.
+     *
+     * @throws IOException If the stream cannot be finished for any reason.
+     *
+     * @throws IllegalStateException if this encoder is not open.
+     */
+    public void close() throws IOException {
+        checkOpen();
+        writeFrame();
+        frames.close();
+        frames = null;
+    }
+
+    /**
+     * Compresses and writes every pending sample as a single frame, if
+     * there are any.
+     *
+     * @throws IOException If the frame cannot be written for any reason.
+     */
+    private void writeFrame() throws IOException {
+        if (!pending.isEmpty()) {
+            frameBytes.reset();
+            compressor.write(frameBytes, pending);
+            frames.writeFrame(frameBytes);
+            pending.clear();
+        }
+    }
+
+    /**
+     * Throws an {@link java.lang.IllegalStateException} if this encoder is
+     * not open.
+     */
+    private void checkOpen() {
+        if (frames == null) {
+            throw new IllegalStateException("Encoder is not open.");
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.lunagameserve.rotation;
+
+import com.lunagameserve.compression.ByteReader;
+import com.lunagameserve.compression.ByteWriter;
+import com.lunagameserve.compression.FloatSeries;
+
+import java.io.IOException;
+
+/**
+ * A growable series of orientations, held as unit quaternions in the
+ * {@code x, y, z, w} order of Android's rotation vector. Storing the
+ * quaternions themselves, rather than Euler angles, needs no trigonometry
+ * per sample and has no gimbal lock.
+ * <p>
+ *     Each component is kept in its own
+ *     {@link com.lunagameserve.compression.FloatSeries}, so a
+ *     {@link QuaternionSeries} is both what a
+ *     {@link com.lunagameserve.rotation.RotationCompressor} writes and what
+ *     it decodes into.
+ * </p>
+ *
+ * @author Six
+ * @since October 17, 2026
+ */
+public class QuaternionSeries {
+
+    /**
+     * The index of the x component.
+     */
+    public static final int X = 0;
+
+    /**
+     * The index of the y component.
+     */
+    public static final int Y = 1;
+
+    /**
+     * The index of the z component.
+     */
+    public static final int Z = 2;
+
+    /**
+     * The index of the w, or scalar, component.
+     */
+    public static final int W = 3;
+
+    /**
+     * The values of each component, indexed by {@link #X}, {@link #Y},
+     * {@link #Z} and {@link #W}.
+     */
+    private final FloatSeries[] components = {
+            new FloatSeries(), new FloatSeries(),
+            new FloatSeries(), new FloatSeries()
+    };
+
+    /**
+     * Appends a quaternion.
+     *
+     * @param x The x component.
+     *
+     * @param y The y component.
+     *
+     * @param z The z component.
+     *
+     * @param w The w component.
+     */
+    public void add(float x, float y, float z, float w) {
+        components[X].add(x);
+        components[Y].add(y);
+        components[Z].add(z);
+        components[W].add(w);
+    }
+
+    /**
+     * Appends the quaternion of a rotation vector sample. Devices which
+     * only report the first three values leave the w component zero, so a
+     * zero w is rebuilt from the other three, which is also exact for a
+     * quaternion whose w really is zero.
+     *
+     * @param src The array holding the sample.
+     *
+     * @param off The index in {@code src} of the sample's x component.
+     */
+    public void addRotationVector(float[] src, int off) {
+        float x = src[off];
+        float y = src[off + 1];
+        float z = src[off + 2];
+        float w = src[off + 3];
+        if (w == 0f) {
+            w = (float)Math.sqrt(Math.max(0f, 1f - x * x - y * y - z * z));
+        }
+        add(x, y, z, w);
+    }
+
+    /**
+     * Gets a single component of a quaternion.
+     *
+     * @param component The component, from {@link #X} to {@link #W}.
+     *
+     * @param i The index of the quaternion.
+     *
+     * @return The component's value.
+     */
+    public float get(int component, int i) {
+        return components[component].get(i);
+    }
+
+    /**
+     * Copies a quaternion into an array, in {@code x, y, z, w} order.
+     *
+     * @param i The index of the quaternion.
+     *
+     * @param dst The array to copy into.
+     *
+     * @param off The index in {@code dst} of the x component.
+     */
+    public void get(int i, float[] dst, int off) {
+        for (int c = X; c <= W; c++) {
+            dst[off + c] = components[c].get(i);
+        }
+    }
+
+    /**
+     * Gets every value of a single component.
+     *
+     * @param component The component, from {@link #X} to {@link #W}.
+     *
+     * @return The component's values, which may be modified.
+     */
+    public FloatSeries getComponent(int component) {
+        return components[component];
+    }
+
+    /**
+     * Gets the number of quaternions in this {@link QuaternionSeries}.
+     *
+     * @return The number of quaternions.
+     */
+    public int size() {
+        return components[X].size();
+    }
+
+    /**
+     * Removes every quaternion, keeping the capacity of each component.
+     */
+    public void clear() {
+        for (FloatSeries component : components) {
+            component.clear();
+        }
+    }
+
+    /**
+     * Writes the number of quaternions, then every value of each component
+     * in turn, to a {@link com.lunagameserve.compression.ByteWriter}.
+     *
+     * @param writer The {@link com.lunagameserve.compression.ByteWriter} to
+     *               write to.
+     *
+     * @throws IOException If {@code writer} cannot be written to for any
+     *                     reason.
+     */
+    public void writeTo(ByteWriter writer) throws IOException {
+        writer.writeInt(size());
+        for (FloatSeries component : components) {
+            component.writeTo(writer);
+        }
+    }
+
+    /**
+     * Reads quaternions written by {@link #writeTo(ByteWriter)}, appending
+     * them to this {@link QuaternionSeries}.
+     *
+     * @param reader The {@link com.lunagameserve.compression.ByteReader} to
+     *               read from.
+     *
+     * @throws IOException If {@code reader} cannot be read from for any
+     *                     reason.
+     */
+    public void readFrom(ByteReader reader) throws IOException {
+        int count = reader.readInt();
+        for (FloatSeries component : components) {
+            component.readFrom(reader, count);
+        }
+    }
+}
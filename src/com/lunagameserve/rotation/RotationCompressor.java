@@ -0,0 +1,436 @@
+package com.lunagameserve.rotation;
+
+import com.lunagameserve.compression.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * An enumeration of compression algorithms for orientations held as
+ * quaternions in a {@link com.lunagameserve.rotation.QuaternionSeries}.
+ * <p>
+ *     The smallest-three compressors rely on every quaternion being of unit
+ *     length: they drop its largest component, which the other three give
+ *     back, and make it positive, as {@code q} and {@code -q} are the same
+ *     rotation. The other three components then lie within
+ *     {@code [-1/sqrt(2), 1/sqrt(2)]}, so all of their bits go to that
+ *     range. A decoded quaternion may therefore be the negation of the one
+ *     written.
+ * </p>
+ *
+ * @author Six
+ * @since October 17, 2026
+ */
+public enum RotationCompressor
+        implements Compressor<QuaternionSeries, QuaternionSeries> {
+    /**
+     * A {@link RotationCompressor} which performs no compression. Used as a
+     * benchmark.
+     */
+    Uncompressed {
+
+        /** {@inheritDoc} */
+        @Override
+        protected void encode(OutputStream out, QuaternionSeries quaternions)
+                throws IOException {
+            ByteWriter writer = new ByteWriter(out);
+            quaternions.writeTo(writer);
+            writer.close();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void decode(InputStream in, QuaternionSeries quaternions)
+                throws IOException {
+            super.decode(in, quaternions);
+            ByteReader reader = new ByteReader(in);
+            quaternions.readFrom(reader);
+            reader.close();
+        }
+    },
+    /**
+     * A {@link RotationCompressor} which writes each quaternion as the
+     * index of its largest component in two bits, then its other three
+     * components in {@link #COMPONENT_BITS} bits each, for 32 bits per
+     * quaternion.
+     */
+    SmallestThree {
+
+        /** {@inheritDoc} */
+        @Override
+        protected void encode(OutputStream out, QuaternionSeries quaternions)
+                throws IOException {
+            BitWriter bwrite = new BitWriter(out);
+            ByteWriter writer = new ByteWriter(bwrite);
+            writer.writeInt(quaternions.size());
+
+            int[] quantized = new int[3];
+            for (int i = 0; i < quaternions.size(); i++) {
+                int largest = smallestThree(quaternions, i, quantized);
+                bwrite.writeBits(largest, 2);
+                for (int c = 0; c < 3; c++) {
+                    bwrite.writeBits(quantized[c], COMPONENT_BITS);
+                }
+            }
+            writer.close();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void decode(InputStream in, QuaternionSeries quaternions)
+                throws IOException {
+            super.decode(in, quaternions);
+            BitReader bread = new BitReader(in);
+            ByteReader reader = new ByteReader(bread);
+            int size = reader.readInt();
+
+            int[] quantized = new int[3];
+            float[] scratch = new float[4];
+            int shift = 32 - COMPONENT_BITS;
+            for (int i = 0; i < size; i++) {
+                int largest = (int)bread.readLongBits(2);
+                for (int c = 0; c < 3; c++) {
+                    quantized[c] = ((int)bread.readLongBits(COMPONENT_BITS)
+                            << shift) >> shift;
+                }
+                addSmallestThree(quaternions, largest, quantized, scratch);
+            }
+            reader.close();
+        }
+    },
+    /**
+     * A {@link RotationCompressor} which quantizes each quaternion like
+     * {@link #SmallestThree}, but writes each component as its difference
+     * from the same component of the quaternion before it, with a
+     * {@link com.lunagameserve.compression.ZigZagDeltaWriter}. Each
+     * quaternion is preceded by a bit which is {@code 1} if its largest
+     * component changed, in which case the new index follows and the
+     * differences start again from zero.
+     */
+    SmallestThreeDelta {
+
+        /** {@inheritDoc} */
+        @Override
+        protected void encode(OutputStream out, QuaternionSeries quaternions)
+                throws IOException {
+            BitWriter bwrite = new BitWriter(out);
+            ByteWriter writer = new ByteWriter(bwrite);
+            writer.writeInt(quaternions.size());
+
+            ZigZagDeltaWriter[] deltas = new ZigZagDeltaWriter[3];
+            for (int c = 0; c < 3; c++) {
+                deltas[c] = new ZigZagDeltaWriter(bwrite, DELTA_GROUP_BITS);
+            }
+            int[] quantized = new int[3];
+            int previous = -1;
+            for (int i = 0; i < quaternions.size(); i++) {
+                int largest = smallestThree(quaternions, i, quantized);
+                if (largest == previous) {
+                    bwrite.writeZero();
+                } else {
+                    bwrite.writeOne();
+                    bwrite.writeBits(largest, 2);
+                    for (ZigZagDeltaWriter delta : deltas) {
+                        delta.reset();
+                    }
+                    previous = largest;
+                }
+                for (int c = 0; c < 3; c++) {
+                    deltas[c].writeInt(quantized[c]);
+                }
+            }
+            writer.close();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void decode(InputStream in, QuaternionSeries quaternions)
+                throws IOException {
+            super.decode(in, quaternions);
+            BitReader bread = new BitReader(in);
+            ByteReader reader = new ByteReader(bread);
+            int size = reader.readInt();
+
+            ZigZagDeltaReader[] deltas = new ZigZagDeltaReader[3];
+            for (int c = 0; c < 3; c++) {
+                deltas[c] = new ZigZagDeltaReader(bread, DELTA_GROUP_BITS);
+            }
+            int[] quantized = new int[3];
+            float[] scratch = new float[4];
+            int largest = 0;
+            for (int i = 0; i < size; i++) {
+                if (bread.readLongBits(1) == 1) {
+                    largest = (int)bread.readLongBits(2);
+                    for (ZigZagDeltaReader delta : deltas) {
+                        delta.reset();
+                    }
+                }
+                for (int c = 0; c < 3; c++) {
+                    quantized[c] = deltas[c].readInt();
+                }
+                addSmallestThree(quaternions, largest, quantized, scratch);
+            }
+            reader.close();
+        }
+    };
+
+    /**
+     * The number of bits of each of the three smallest components, sign
+     * included. At 10 bits a component is within about {@code 0.0007} of
+     * its true value, or about a tenth of a degree of rotation.
+     */
+    protected static final int COMPONENT_BITS = 10;
+
+    /**
+     * The largest quantized magnitude of a component.
+     */
+    private static final int MAX_QUANTIZED = (1 << (COMPONENT_BITS - 1)) - 1;
+
+    /**
+     * The largest magnitude of any component but the largest of a unit
+     * quaternion.
+     */
+    private static final float MAX_SMALLEST = (float)(1 / Math.sqrt(2));
+
+    /**
+     * The number of bits in each varint group of
+     * {@link #SmallestThreeDelta}.
+     */
+    private static final int DELTA_GROUP_BITS = 3;
+
+    /**
+     * The cost of every encode and decode done by this
+     * {@link RotationCompressor}.
+     */
+    private final CodecMetrics metrics = new CodecMetrics();
+
+    /**
+     * Compresses a {@link com.lunagameserve.rotation.QuaternionSeries} with
+     * {@link #encode(java.io.OutputStream, QuaternionSeries)}, and records
+     * its cost in {@link #metrics()}.
+     *
+     * @param out The {@link java.io.OutputStream} to write to.
+     *
+     * @param quaternions The quaternions to compress.
+     *
+     * @throws IOException If {@code out} cannot be written to for any
+     *                     reason.
+     */
+    @Override
+    public final void write(OutputStream out, QuaternionSeries quaternions)
+            throws IOException {
+        long startNanos = System.nanoTime();
+        long startAllocated = CodecMetrics.allocatedBytes();
+        CountedOutputStream counted = new CountedOutputStream(out);
+        boolean failed = true;
+        try {
+            encode(counted, quaternions);
+            failed = false;
+        } finally {
+            metrics.recordEncode(startNanos, startAllocated,
+                                 quaternions.size() * 16L, counted.count(),
+                                 quaternions.size(), failed);
+        }
+    }
+
+    /**
+     * Decompresses quaternions written by
+     * {@link #write(java.io.OutputStream, QuaternionSeries)} with
+     * {@link #decode(java.io.InputStream, QuaternionSeries)}, and records
+     * its cost in {@link #metrics()}. This may be called from any number of
+     * threads at once, as long as each passes its own {@code dst}.
+     *
+     * @param in The {@link java.io.InputStream} to read from.
+     *
+     * @param dst The {@link com.lunagameserve.rotation.QuaternionSeries} to
+     *            decode into. This is cleared first.
+     *
+     * @return {@code dst}.
+     *
+     * @throws IOException If {@code in} cannot be read from for any reason.
+     */
+    @Override
+    public final QuaternionSeries read(InputStream in, QuaternionSeries dst)
+            throws IOException {
+        long startNanos = System.nanoTime();
+        long startAllocated = CodecMetrics.allocatedBytes();
+        CountedInputStream counted = new CountedInputStream(in);
+        boolean failed = true;
+        try {
+            decode(counted, dst);
+            failed = false;
+        } finally {
+            metrics.recordDecode(startNanos, startAllocated, counted.count(),
+                                 dst.size() * 16L, dst.size(), failed);
+        }
+        return dst;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CodecMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * Writes every quaternion of a
+     * {@link com.lunagameserve.rotation.QuaternionSeries}.
+     *
+     * @param out The {@link java.io.OutputStream} to write to. This is
+     *            closed once every quaternion has been written.
+     *
+     * @param quaternions The quaternions to write.
+     *
+     * @throws IOException If {@code out} cannot be written to for any
+     *                     reason.
+     */
+    protected abstract void encode(OutputStream out,
+                                   QuaternionSeries quaternions)
+            throws IOException;
+
+    /**
+     * Decodes quaternions into an empty series. Overrides call this first,
+     * then append the quaternions in order.
+     *
+     * @param in The {@link java.io.InputStream} to read from.
+     *
+     * @param quaternions The quaternions to append to. This is cleared here.
+     *
+     * @throws IOException If {@code in} cannot be read from for any reason.
+     */
+    protected void decode(InputStream in, QuaternionSeries quaternions)
+            throws IOException {
+        quaternions.clear();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public StreamStats ratio(QuaternionSeries quaternions)
+            throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        write(out, quaternions);
+
+        byte[] bytes = out.toByteArray();
+
+        return new StreamStats(
+                (double)bytes.length / (quaternions.size() * 16),
+                bytes.length);
+    }
+
+    /**
+     * Writes a {@link com.lunagameserve.rotation.QuaternionSeries} with this
+     * {@link RotationCompressor}, reads it back, and reports both the
+     * compressed size and the error of each component. Each original
+     * quaternion is negated where its decoded one was, so that only error
+     * in the rotation is counted.
+     *
+     * @param quaternions The quaternions to evaluate this compressor on.
+     *
+     * @return A four-channel
+     *         {@link com.lunagameserve.compression.QualityReport}, in
+     *         {@code x, y, z, w} order.
+     *
+     * @throws IOException If {@code quaternions} cannot be written or read
+     *                     back for any reason.
+     */
+    public QualityReport quality(QuaternionSeries quaternions)
+            throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        write(out, quaternions);
+        byte[] bytes = out.toByteArray();
+        QuaternionSeries decoded = read(new ByteArrayInputStream(bytes),
+                                        new QuaternionSeries());
+
+        int n = Math.min(quaternions.size(), decoded.size());
+        float[][] original = new float[4][quaternions.size()];
+        for (int i = 0; i < quaternions.size(); i++) {
+            float dot = 0f;
+            if (i < n) {
+                for (int c = 0; c < 4; c++) {
+                    dot += quaternions.get(c, i) * decoded.get(c, i);
+                }
+            }
+            for (int c = 0; c < 4; c++) {
+                original[c][i] = dot < 0 ? -quaternions.get(c, i)
+                                         : quaternions.get(c, i);
+            }
+        }
+        FloatSeries[] channels = new FloatSeries[4];
+        for (int c = 0; c < 4; c++) {
+            channels[c] = decoded.getComponent(c);
+        }
+
+        double ratio = quaternions.size() == 0 ? 0.0
+                : (double)bytes.length / (quaternions.size() * 16);
+        return new QualityReport(original, channels, ratio, bytes.length);
+    }
+
+    /**
+     * Normalizes a quaternion and quantizes its three smallest components,
+     * after negating it if needed so that its largest component is
+     * positive.
+     *
+     * @param quaternions The series holding the quaternion.
+     *
+     * @param i The index of the quaternion.
+     *
+     * @param quantized The array to store the three quantized components
+     *                  in, in component order.
+     *
+     * @return The index of the largest component, which was dropped.
+     */
+    private static int smallestThree(QuaternionSeries quaternions, int i,
+                                     int[] quantized) {
+        int largest = 0;
+        float norm = 0f;
+        for (int c = 0; c < 4; c++) {
+            float v = quaternions.get(c, i);
+            norm += v * v;
+            if (Math.abs(v) > Math.abs(quaternions.get(largest, i))) {
+                largest = c;
+            }
+        }
+        norm = norm > 0f ? (float)Math.sqrt(norm) : 1f;
+        float scale = quaternions.get(largest, i) < 0 ? -1f / norm
+                                                       : 1f / norm;
+
+        for (int c = 0, k = 0; c < 4; c++) {
+            if (c != largest) {
+                float v = quaternions.get(c, i) * scale / MAX_SMALLEST;
+                int q = Math.round(v * MAX_QUANTIZED);
+                quantized[k++] = Math.max(-MAX_QUANTIZED,
+                                          Math.min(MAX_QUANTIZED, q));
+            }
+        }
+        return largest;
+    }
+
+    /**
+     * Rebuilds a quaternion from its three quantized smallest components,
+     * and appends it to a series.
+     *
+     * @param quaternions The series to append to.
+     *
+     * @param largest The index of the dropped largest component.
+     *
+     * @param quantized The three quantized components, in component order.
+     *
+     * @param q An array of four values to build the quaternion in.
+     */
+    private static void addSmallestThree(QuaternionSeries quaternions,
+                                         int largest, int[] quantized,
+                                         float[] q) {
+        float sum = 0f;
+        for (int c = 0, k = 0; c < 4; c++) {
+            if (c != largest) {
+                q[c] = quantized[k++] * MAX_SMALLEST / MAX_QUANTIZED;
+                sum += q[c] * q[c];
+            }
+        }
+        q[largest] = (float)Math.sqrt(Math.max(0f, 1f - sum));
+        quaternions.add(q[0], q[1], q[2], q[3]);
+    }
+}
@@ -0,0 +1,350 @@
+package com.lunagameserve.storage;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An append-only store of encoded frames, kept in a directory of fixed-size,
+ * memory-mapped segment files.
+ * <p>
+ *     Each frame is written to the current segment as its length, as a
+ *     big-endian {@code int}, followed by its bytes. Segment files are
+ *     created full of zeros, so the first zero length in a segment marks
+ *     where its frames end. When a frame does not fit in what is left of the
+ *     current segment, a new segment is started. Frames are written straight
+ *     into the mapped segment, and are read back by a {@link Cursor} as
+ *     read-only slices of a mapped segment, so no frame ever passes through
+ *     a heap {@code byte[]}.
+ * </p>
+ * <p>
+ *     <b><i>Note:</i></b>
+ *     A {@link com.lunagameserve.storage.SegmentStore} is not thread-safe.
+ *     Frames only reach the disk for certain once {@link #force()} or
+ *     {@link #close()} has been called.
+ * </p>
+ *
+ * @author Six
+ * @since October 17, 2026
+ */
+public class SegmentStore {
+
+    /**
+     * The size, in bytes, of each segment file, unless told otherwise.
+     */
+    public static final int DEFAULT_SEGMENT_SIZE = 4 << 20;
+
+    /**
+     * The name every segment file starts with.
+     */
+    private static final String PREFIX = "segment-";
+
+    /**
+     * The name every segment file ends with.
+     */
+    private static final String SUFFIX = ".seg";
+
+    /**
+     * The number of bytes taken by the length of each frame.
+     */
+    private static final int HEADER_SIZE = 4;
+
+    /**
+     * The directory which holds every segment file.
+     */
+    private final File directory;
+
+    /**
+     * The size, in bytes, of each segment file.
+     */
+    private final int segmentSize;
+
+    /**
+     * Every segment file of this store, oldest first.
+     */
+    private final List<File> segments = new ArrayList<File>();
+
+    /**
+     * The {@link java.nio.channels.FileChannel} of the segment being
+     * appended to.
+     */
+    private FileChannel channel;
+
+    /**
+     * The writable mapping of the segment being appended to, positioned
+     * where the next frame will be written.
+     */
+    private MappedByteBuffer tail;
+
+    /**
+     * Opens the {@link com.lunagameserve.storage.SegmentStore} in a
+     * specified directory, with segments of {@link #DEFAULT_SEGMENT_SIZE}
+     * bytes.
+     *
+     * @param directory The directory holding the store. This is created if
+     *                  it does not exist.
+     *
+     * @throws IOException If the store cannot be opened for any reason.
+     */
+    public SegmentStore(File directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Opens the {@link com.lunagameserve.storage.SegmentStore} in a
+     * specified directory. Any segments already in the directory are kept,
+     * and new frames are appended after the last frame of the newest one.
+     *
+     * @param directory The directory holding the store. This is created if
+     *                  it does not exist.
+     *
+     * @param segmentSize The size, in bytes, of each new segment file. This
+     *                    bounds the size of a single frame.
+     *
+     * @throws IOException If the store cannot be opened for any reason.
+     */
+    public SegmentStore(File directory, int segmentSize) throws IOException {
+        if (segmentSize <= HEADER_SIZE) {
+            throw new IllegalArgumentException("Segments must be larger than" +
+                                               " " + HEADER_SIZE + " bytes.");
+        }
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create " + directory);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+
+        File[] existing = directory.listFiles(new FilenameFilter() {
+            @Override
+            public boolean accept(File dir, String name) {
+                return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+            }
+        });
+        if (existing != null) {
+            Arrays.sort(existing);
+            segments.addAll(Arrays.asList(existing));
+        }
+
+        if (segments.isEmpty()) {
+            roll();
+        } else {
+            File last = segments.get(segments.size() - 1);
+            RandomAccessFile file = new RandomAccessFile(last, "rw");
+            channel = file.getChannel();
+            tail = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                               file.length());
+            tail.position(frameEnd(tail));
+        }
+    }
+
+    /**
+     * Appends a section of a {@code byte[]} as a single frame, starting a
+     * new segment first if it does not fit in the current one.
+     *
+     * @param frame The {@code byte[]} holding the frame.
+     *
+     * @param off The index of the first byte of the frame.
+     *
+     * @param len The length of the frame, in bytes.
+     *
+     * @throws IOException If a new segment is needed and cannot be created.
+     *
+     * @throws IllegalArgumentException if the frame is empty, or too large
+     *                                  to fit in a single segment.
+     */
+    public void append(byte[] frame, int off, int len) throws IOException {
+        reserve(len);
+        tail.putInt(len);
+        tail.put(frame, off, len);
+    }
+
+    /**
+     * Appends the remaining bytes of a {@link java.nio.ByteBuffer} as a
+     * single frame, starting a new segment first if it does not fit in the
+     * current one. The position of {@code frame} is advanced to its limit.
+     *
+     * @param frame The {@link java.nio.ByteBuffer} holding the frame.
+     *
+     * @throws IOException If a new segment is needed and cannot be created.
+     *
+     * @throws IllegalArgumentException if the frame is empty, or too large
+     *                                  to fit in a single segment.
+     */
+    public void append(ByteBuffer frame) throws IOException {
+        reserve(frame.remaining());
+        tail.putInt(frame.remaining());
+        tail.put(frame);
+    }
+
+    /**
+     * Gets the number of segment files held by this store.
+     *
+     * @return The number of segment files held by this store.
+     */
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Creates a new {@link Cursor} which reads every frame of this store,
+     * oldest first, including frames appended after it was created.
+     *
+     * @return A new {@link Cursor} positioned before the first frame.
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Forces every frame appended so far out to the disk.
+     */
+    public void force() {
+        tail.force();
+    }
+
+    /**
+     * Forces every frame appended so far out to the disk and closes the
+     * segment being appended to. This store must not be appended to
+     * afterwards, though existing {@link Cursor}s may still be used.
+     *
+     * @throws IOException If the segment cannot be closed for any reason.
+     */
+    public void close() throws IOException {
+        tail.force();
+        channel.close();
+    }
+
+    /**
+     * Makes sure a frame of a specified length fits in the current segment,
+     * starting a new one if it does not.
+     *
+     * @param len The length of the frame, in bytes.
+     *
+     * @throws IOException If a new segment cannot be created.
+     */
+    private void reserve(int len) throws IOException {
+        if (len <= 0 || len > segmentSize - HEADER_SIZE) {
+            throw new IllegalArgumentException("Frames must be from 1 to " +
+                    (segmentSize - HEADER_SIZE) + " bytes, not " + len + ".");
+        }
+        if (tail.remaining() < HEADER_SIZE + len) {
+            roll();
+        }
+    }
+
+    /**
+     * Closes the segment being appended to, if any, and creates and maps a
+     * new one.
+     *
+     * @throws IOException If the new segment cannot be created.
+     */
+    private void roll() throws IOException {
+        if (channel != null) {
+            tail.force();
+            channel.close();
+        }
+        File next = new File(directory,
+                String.format("%s%08d%s", PREFIX, segments.size(), SUFFIX));
+        RandomAccessFile file = new RandomAccessFile(next, "rw");
+        file.setLength(segmentSize);
+        channel = file.getChannel();
+        tail = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        segments.add(next);
+    }
+
+    /**
+     * Finds the position just after the last frame of a segment.
+     *
+     * @param segment The mapped segment to search.
+     *
+     * @return The position of the first zero length, or the end of the
+     *         segment if there is no room for another frame.
+     */
+    private static int frameEnd(ByteBuffer segment) {
+        int pos = 0;
+        while (segment.limit() - pos >= HEADER_SIZE) {
+            int len = segment.getInt(pos);
+            if (len <= 0 || len > segment.limit() - pos - HEADER_SIZE) {
+                break;
+            }
+            pos += HEADER_SIZE + len;
+        }
+        return pos;
+    }
+
+    /**
+     * Reads the frames of a {@link com.lunagameserve.storage.SegmentStore},
+     * oldest first. Each segment is mapped read-only as it is reached, and
+     * every frame is handed out as a slice of that mapping.
+     */
+    public class Cursor {
+
+        /**
+         * The index of the segment being read, or {@code -1} before the
+         * first call to {@link #next()}.
+         */
+        private int segment = -1;
+
+        /**
+         * The read-only mapping of the segment being read, positioned at
+         * the next frame.
+         */
+        private MappedByteBuffer current;
+
+        /**
+         * Gets the next frame of the store.
+         *
+         * @return A read-only {@link java.nio.ByteBuffer} holding exactly
+         *         the next frame, or {@code null} if every frame appended so
+         *         far has been read.
+         *
+         * @throws IOException If a segment cannot be mapped for any reason.
+         */
+        public ByteBuffer next() throws IOException {
+            while (true) {
+                if (current != null && current.remaining() >= HEADER_SIZE) {
+                    int len = current.getInt(current.position());
+                    if (len > 0 &&
+                        len <= current.remaining() - HEADER_SIZE) {
+                        current.position(current.position() + HEADER_SIZE);
+                        ByteBuffer frame = current.slice();
+                        frame.limit(len);
+                        current.position(current.position() + len);
+                        return frame.asReadOnlyBuffer();
+                    }
+                }
+                if (segment + 1 >= segments.size()) {
+                    return null;
+                }
+                current = map(segments.get(++segment));
+            }
+        }
+
+        /**
+         * Maps a whole segment file read-only.
+         *
+         * @param file The segment file to map.
+         *
+         * @return A read-only mapping of {@code file}.
+         *
+         * @throws IOException If {@code file} cannot be mapped for any
+         *                     reason.
+         */
+        private MappedByteBuffer map(File file) throws IOException {
+            RandomAccessFile raf = new RandomAccessFile(file, "r");
+            try {
+                return raf.getChannel().map(FileChannel.MapMode.READ_ONLY,
+                                            0, raf.length());
+            } finally {
+                raf.close();
+            }
+        }
+    }
+}